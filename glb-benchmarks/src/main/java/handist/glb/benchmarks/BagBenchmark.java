@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.benchmarks;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Warmup;
+
+import handist.glb.Bag;
+import handist.glb.BagCodec;
+import handist.glb.util.Fold;
+
+/**
+ * Common micro-benchmarks of the operations the {@link handist.glb.GLBcomputer}
+ * performs on a {@link Bag}: {@link Bag#process(int, Fold)},
+ * {@link Bag#split(boolean)}, {@link Bag#merge(Bag)} and the Java
+ * serialization of the loot sent to remote places. For bags implementing
+ * {@link BagCodec}, the encoding and decoding of the loot which replace its
+ * serialization are also measured. The number of bytes produced by both
+ * mechanisms is compared by {@link LootCodecBenchmark}.
+ * <p>
+ * Each example provides a subclass which creates the bags of its problem. The
+ * state in which the operations are measured is controlled by parameter
+ * {@link #explored}: the bag first processes this amount of work before the
+ * measured operation takes place. As all these operations modify the bags,
+ * each invocation needs bags of its own. Preparing them before every
+ * invocation would leave the measurement of these short operations dominated
+ * by the timer overhead. Instead, a batch of {@value #BATCH} sets of bags is
+ * prepared before each iteration and each invocation consumes the next one,
+ * the iteration timing the whole batch in {@link Mode#SingleShotTime} mode.
+ *
+ * @param <B>
+ *            type of the bag measured
+ * @param <R>
+ *            type of the result of the bag
+ * @author Patrick Finnerty
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = BagBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = BagBenchmark.BATCH)
+@Fork(1)
+public abstract class BagBenchmark<B extends Bag<B, R> & Serializable, R extends Fold<R> & Serializable> {
+
+    /** Number of invocations timed by each iteration */
+    public static final int BATCH = 1000;
+
+    /**
+     * Amount of work processed by the bags before the measured operation
+     */
+    @Param({ "0", "5000" })
+    public int explored;
+
+    /** Amount of work processed by benchmark {@link #process()} */
+    @Param({ "511" })
+    public int workAmount;
+
+    /** Bags of a worker in the state given by {@link #explored} */
+    protected List<B> bags;
+
+    /** Fragments split from bags in the state given by {@link #explored} */
+    protected List<B> loots;
+
+    /** Empty bags, as held by the queues of the GLB */
+    protected List<B> receivers;
+
+    /** Result instance given to the bags */
+    protected R result;
+
+    /** Serialized forms of the {@link #loots} */
+    protected List<byte[]> serializedLoots;
+
+    /**
+     * Forms of the {@link #loots} encoded by their {@link BagCodec},
+     * {@code null} if the bag does not implement this interface
+     */
+    protected List<byte[]> encodedLoots;
+
+    /** Index of the bags used by the next invocation */
+    protected int next;
+
+    /**
+     * Creates an empty bag
+     *
+     * @return a new bag without any work
+     */
+    protected abstract B emptyBag();
+
+    /**
+     * Creates an empty result
+     *
+     * @return a new result instance with the neutral value
+     */
+    protected abstract R emptyResult();
+
+    /**
+     * Creates a bag containing the whole problem
+     *
+     * @return a new bag initialized with the whole problem
+     */
+    protected abstract B initialBag();
+
+    /**
+     * Creates a bag containing the whole problem and processes
+     * {@link #explored} work from it
+     *
+     * @return a bag in the state considered by the benchmarks
+     */
+    protected B preparedBag() {
+        final B b = initialBag();
+        if (explored > 0) {
+            b.process(explored, result);
+        }
+        return b;
+    }
+
+    /**
+     * Prepares the batch of bags consumed by the invocations of an iteration
+     *
+     * @throws IOException
+     *             if the loot cannot be serialized
+     */
+    @Setup(Level.Iteration)
+    public void prepare() throws IOException {
+        result = emptyResult();
+        bags = new ArrayList<>(BATCH);
+        loots = new ArrayList<>(BATCH);
+        receivers = new ArrayList<>(BATCH);
+        serializedLoots = new ArrayList<>(BATCH);
+        encodedLoots = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            final B loot = preparedBag().split(false);
+            bags.add(preparedBag());
+            loots.add(loot);
+            receivers.add(emptyBag());
+            serializedLoots.add(RoundTrip.serialize(loot));
+            encodedLoots.add(loot instanceof BagCodec
+                    ? ((BagCodec<?>) loot).toBytes()
+                    : null);
+        }
+        next = 0;
+    }
+
+    /**
+     * Decodes some loot with the {@link BagCodec} of the bag, as done by a
+     * thief receiving it. Only meaningful for bags implementing this
+     * interface.
+     *
+     * @return the decoded loot
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public B decode() {
+        final int i = next++;
+        return ((BagCodec<B>) receivers.get(i))
+                .decode(ByteBuffer.wrap(encodedLoots.get(i)));
+    }
+
+    /**
+     * Deserializes some loot, as done by a thief receiving it
+     *
+     * @return the deserialized loot
+     * @throws IOException
+     *             if thrown during the deserialization
+     * @throws ClassNotFoundException
+     *             if thrown during the deserialization
+     */
+    @Benchmark
+    public Object deserialize() throws IOException, ClassNotFoundException {
+        return RoundTrip.deserialize(serializedLoots.get(next++));
+    }
+
+    /**
+     * Encodes some loot with its {@link BagCodec}, as done by a victim
+     * sending it. Only meaningful for bags implementing this interface.
+     *
+     * @return the encoded loot
+     */
+    @Benchmark
+    public byte[] encode() {
+        return ((BagCodec<?>) loots.get(next++)).toBytes();
+    }
+
+    /**
+     * Merges some loot into a bag in progress, as done by a worker
+     *
+     * @return the bag
+     */
+    @Benchmark
+    public B merge() {
+        final int i = next++;
+        final B bag = bags.get(i);
+        bag.merge(loots.get(i));
+        return bag;
+    }
+
+    /**
+     * Merges some loot into an empty bag, as done when feeding the queues
+     *
+     * @return the receiving bag
+     */
+    @Benchmark
+    public B mergeIntoEmpty() {
+        final int i = next++;
+        final B receiver = receivers.get(i);
+        receiver.merge(loots.get(i));
+        return receiver;
+    }
+
+    /**
+     * Processes {@link #workAmount} work from the bag
+     *
+     * @return the bag
+     */
+    @Benchmark
+    public B process() {
+        final B bag = bags.get(next++);
+        bag.process(workAmount, result);
+        return bag;
+    }
+
+    /**
+     * Serializes some loot, as done by a victim sending it
+     *
+     * @return the serialized loot
+     * @throws IOException
+     *             if thrown during the serialization
+     */
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return RoundTrip.serialize(loots.get(next++));
+    }
+
+    /**
+     * Splits the bag when work is requested by another worker
+     *
+     * @return the fragment split from the bag
+     */
+    @Benchmark
+    public B split() {
+        return bags.get(next++).split(false);
+    }
+
+    /**
+     * Splits the bag, taking all its content if it cannot be split, as done on
+     * the queues of the GLB
+     *
+     * @return the fragment split from the bag
+     */
+    @Benchmark
+    public B splitTakeAll() {
+        return bags.get(next++).split(true);
+    }
+}
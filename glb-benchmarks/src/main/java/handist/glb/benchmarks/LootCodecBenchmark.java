@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.benchmarks;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import handist.glb.Bag;
+import handist.glb.BagCodec;
+import handist.glb.examples.nqueens.BitNQueens;
+import handist.glb.examples.nqueens.NQueens;
+import handist.glb.examples.pentomino.Answer;
+import handist.glb.examples.pentomino.Pentomino;
+import handist.glb.examples.pentomino.PentominoBenchmark;
+import handist.glb.examples.synthetic.Distribution;
+import handist.glb.examples.synthetic.SyntheticBag;
+import handist.glb.examples.synthetic.SyntheticResult;
+import handist.glb.examples.synthetic.SyntheticWorkload;
+import handist.glb.examples.tsp.TspBag;
+import handist.glb.examples.tsp.TspParser;
+import handist.glb.examples.tsp.TspResult;
+import handist.glb.examples.uts.MultiworkerUTS;
+import handist.glb.examples.uts.Sum;
+import handist.glb.util.Fold;
+import handist.glb.util.Serialization;
+
+/**
+ * Benchmark comparing the {@link BagCodec} of the bundled examples with the
+ * default Java serialization for the transfer of loot between places.
+ * <p>
+ * Each example is explored sequentially. Every time the given number of work
+ * units has been processed, some loot is split from the bag as if a thief
+ * had stolen it. The loot is serialized and deserialized with the default
+ * Java serialization and encoded and decoded with its {@link BagCodec}, the
+ * decoded loot being merged back into the bag. The result of each exploration
+ * is printed so that it can be checked against the expected value, validating
+ * the codec.
+ * <p>
+ * For each example, the number of steals performed is printed along with the
+ * average number of bytes and time taken per steal by each mechanism, for
+ * instance:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar handist.glb.benchmarks.LootCodecBenchmark \
+ *      -q 12 -u 10 -t bays29.tsp -c 17
+ * </pre>
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class LootCodecBenchmark {
+
+    /**
+     * Measures taken for an example
+     */
+    static class Measure {
+        /** Total number of bytes encoded by the {@link BagCodec} */
+        long codecBytes;
+        /** Total time taken to encode and decode the loot in nanoseconds */
+        long codecTime;
+        /** Total number of bytes of the serialized loot */
+        long javaBytes;
+        /**
+         * Total time taken to serialize and deserialize the loot in
+         * nanoseconds
+         */
+        long javaTime;
+        /** Number of steals performed */
+        long steals;
+
+        @Override
+        public String toString() {
+            final long s = Math.max(steals, 1);
+            return steals + ";" + javaBytes / s + ";" + javaTime / 1e3 / s
+                    + ";" + codecBytes / s + ";" + codecTime / 1e3 / s + ";";
+        }
+    }
+
+    /**
+     * Prepares the various options that can be given to the program
+     *
+     * @return an {@link Options} instance containing all the possible options
+     *         that can be given to the main program
+     */
+    private static Options commandOptions() {
+        final Options opts = new Options();
+        opts.addOption("q", "queens", true,
+                "board width of the N-Queens problems (default 11)");
+        opts.addOption("p", "pentomino", true,
+                "width of the standard pentomino board, its height being 60 divided by the width (default 20)");
+        opts.addOption("u", "uts", true,
+                "depth of the UTS tree with branching factor 4 (default 10)");
+        opts.addOption("s", "synthetic", true,
+                "depth of the synthetic tree (default 8)");
+        opts.addOption("z", "nodeBytes", true,
+                "serialized size in bytes of each pending synthetic node (default 0)");
+        opts.addOption("t", "tsp", true,
+                "TSP problem file (the TSP is skipped if not given)");
+        opts.addOption("c", "cities", true,
+                "number of cities of the TSP problem kept (default all)");
+        opts.addOption("g", "grain", true,
+                "work units processed between two steals (default 1024)");
+        opts.addOption("r", "repetitions", true,
+                "number of runs of each example (default 2)");
+        return opts;
+    }
+
+    /**
+     * Explores the given bag to completion, splitting some loot every
+     * {@code grain} work units and measuring its transfer with both the
+     * default serialization and the {@link BagCodec} of the bag.
+     *
+     * @param <R>
+     *            type of the result
+     * @param <B>
+     *            type of the bag
+     * @param bag
+     *            bag to explore
+     * @param result
+     *            result given to the bag during its exploration and into
+     *            which the bag submits its result at the end
+     * @param grain
+     *            number of work units processed between two steals
+     * @return the measures taken
+     * @throws IOException
+     *             if the loot could not be serialized
+     * @throws ClassNotFoundException
+     *             if the serialized loot could not be deserialized
+     */
+    static <R extends Fold<R> & Serializable, B extends Bag<B, R> & BagCodec<B> & Serializable> Measure measure(
+            B bag, R result, int grain)
+            throws IOException, ClassNotFoundException {
+        final Measure m = new Measure();
+        while (!bag.isEmpty()) {
+            bag.process(grain, result);
+            if (!bag.isSplittable()) {
+                continue;
+            }
+            final B loot = bag.split(false);
+
+            long start = System.nanoTime();
+            final byte[] serialized = Serialization.toBytes(loot);
+            Serialization.fromBytes(serialized);
+            m.javaTime += System.nanoTime() - start;
+            m.javaBytes += serialized.length;
+
+            start = System.nanoTime();
+            final byte[] encoded = loot.toBytes();
+            final B decoded = bag.decode(ByteBuffer.wrap(encoded));
+            m.codecTime += System.nanoTime() - start;
+            m.codecBytes += encoded.length;
+
+            bag.merge(decoded);
+            m.steals++;
+        }
+        bag.submit(result);
+        return m;
+    }
+
+    /**
+     * Launches the benchmark
+     *
+     * @param args
+     *            sizes of the problems explored, see {@link #commandOptions()}
+     */
+    public static void main(String[] args) {
+        final Options programOptions = commandOptions();
+        final CommandLineParser parser = new DefaultParser();
+        CommandLine cmd = null;
+        try {
+            cmd = parser.parse(programOptions, args);
+        } catch (final ParseException e1) {
+            System.err.println(e1.getLocalizedMessage());
+            final HelpFormatter formatter = new HelpFormatter();
+            formatter.printHelp("java [...] LootCodecBenchmark [options]",
+                    programOptions);
+            return;
+        }
+
+        final int queens = Integer.parseInt(cmd.getOptionValue('q', "11"));
+        final int width = Integer.parseInt(cmd.getOptionValue('p', "20"));
+        final int utsDepth = Integer.parseInt(cmd.getOptionValue('u', "10"));
+        final int syntheticDepth = Integer
+                .parseInt(cmd.getOptionValue('s', "8"));
+        final int nodeBytes = Integer.parseInt(cmd.getOptionValue('z', "0"));
+        final String tspFile = cmd.getOptionValue('t');
+        final int cities = Integer
+                .parseInt(cmd.getOptionValue('c', "" + Byte.MAX_VALUE));
+        final int grain = Integer.parseInt(cmd.getOptionValue('g', "1024"));
+        final int repetitions = Integer
+                .parseInt(cmd.getOptionValue('r', "2"));
+
+        System.out.println(
+                "Run;Bag;Result;Steals;Java bytes/steal;Java time/steal (us);Codec bytes/steal;Codec time/steal (us);");
+        try {
+            for (int run = 0; run < repetitions; run++) {
+                final BitNQueens problem = new BitNQueens(queens);
+                problem.initParallel();
+                final BitNQueens bitQueens = new BitNQueens(queens);
+                bitQueens.merge(problem);
+                final Answer bitAnswer = new Answer(queens);
+                Measure m = measure(bitQueens, bitAnswer, grain);
+                System.out.println(run + ";BitNQueens;" + bitAnswer.solutions
+                        + ";" + m);
+
+                final NQueens nQueens = new NQueens(queens);
+                nQueens.init();
+                final Answer answer = new Answer(queens);
+                m = measure(nQueens, answer, grain);
+                System.out.println(
+                        run + ";NQueens;" + answer.solutions + ";" + m);
+
+                final Pentomino pentomino = PentominoBenchmark
+                        .standardBoard(width);
+                final Answer pentominoAnswer = new Answer(pentomino.NB_PIECE);
+                m = measure(pentomino, pentominoAnswer, grain);
+                System.out.println(run + ";Pentomino;"
+                        + pentominoAnswer.solutions + ";" + m);
+
+                final MultiworkerUTS uts = new MultiworkerUTS(64, 4);
+                uts.seed(19, utsDepth);
+                final Sum sum = new Sum(0);
+                m = measure(uts, sum, grain);
+                System.out.println(run + ";MultiworkerUTS;" + sum.sum + ";" + m);
+
+                final SyntheticWorkload workload = new SyntheticWorkload(0,
+                        syntheticDepth, 4, Distribution.CONSTANT, 100,
+                        Distribution.CONSTANT, 0, 0, 10, nodeBytes);
+                final SyntheticBag synthetic = new SyntheticBag(workload);
+                synthetic.init();
+                final SyntheticResult syntheticResult = new SyntheticResult();
+                m = measure(synthetic, syntheticResult, grain);
+                System.out.println(run + ";SyntheticBag;"
+                        + syntheticResult.nodes + ";" + m);
+
+                if (tspFile != null) {
+                    final TspBag tsp = new TspBag(
+                            TspParser.parseFile(tspFile, cities));
+                    tsp.init();
+                    final TspResult tspResult = new TspResult();
+                    m = measure(tsp, tspResult, grain);
+                    System.out.println(run + ";TspBag;"
+                            + tspResult.bestSolution + ";" + m);
+                }
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            System.err.println("Error during the benchmark");
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * Java serialization to and from byte arrays, as performed when the bags are
+ * transferred between places.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public final class RoundTrip {
+
+    /**
+     * Deserializes an object from the given bytes
+     *
+     * @param bytes
+     *            serialized form of an object
+     * @return the deserialized object
+     * @throws IOException
+     *             if the bytes cannot be read
+     * @throws ClassNotFoundException
+     *             if the class of the object is not found
+     */
+    public static Object deserialize(byte[] bytes)
+            throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Serializes the given object into a byte array
+     *
+     * @param o
+     *            the object to serialize
+     * @return the serialized form of the object
+     * @throws IOException
+     *             if the object cannot be serialized
+     */
+    public static byte[] serialize(Serializable o) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Private constructor, this class only contains static methods */
+    private RoundTrip() {
+    }
+}
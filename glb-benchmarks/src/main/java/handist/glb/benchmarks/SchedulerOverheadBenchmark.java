@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import apgas.GlobalRuntime;
+import handist.glb.Configuration;
+import handist.glb.GLBcomputer;
+import handist.glb.GLBfactory;
+
+/**
+ * Measures the overhead of the scheduling performed by a single-place
+ * {@link GLBcomputer} compared to the sequential processing of the same
+ * {@link SpinBag}.
+ * <p>
+ * Both benchmarks report the number of nodes processed per second through the
+ * {@link Nodes} counter. As the APGAS runtime and the {@link GLBcomputer} are
+ * set up with system properties, each combination of parameters runs in its
+ * own JVM. The sequential baseline does not depend on the number of workers
+ * and is repeated for each of them.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulerOverheadBenchmark {
+
+    /**
+     * Counter of the nodes processed during each iteration, reported by JMH as
+     * a throughput
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Nodes {
+
+        /** Number of nodes processed since the beginning of the iteration */
+        public long nodes;
+
+        /** Resets the counter at the beginning of each iteration */
+        @Setup(Level.Iteration)
+        public void clear() {
+            nodes = 0;
+        }
+    }
+
+    /** Number of iterations of the xorshift generator performed per node */
+    @Param({ "20", "200" })
+    public int cost;
+
+    /** Instrumentation level of the {@link GLBcomputer} */
+    @Param({ Configuration.GLBM_INSTRUMENTATION_OFF })
+    public String instrumentation;
+
+    /** Minimum number of nodes a split fragment can contain */
+    @Param({ "64" })
+    public int minSplit;
+
+    /** Number of nodes of the computation */
+    @Param({ "1000000" })
+    public long size;
+
+    /** Number of nodes processed before the workers check the runtime */
+    @Param({ "511" })
+    public int workUnit;
+
+    /** Number of workers of the {@link GLBcomputer} */
+    @Param({ "1", "2", "4", "8" })
+    public int workers;
+
+    /** Single place computer used by benchmark {@link #glb(Nodes)} */
+    private GLBcomputer computer;
+
+    /**
+     * Checks that the computation processed every node
+     *
+     * @param r
+     *            result of the computation
+     */
+    private void check(SpinResult r) {
+        if (r.nodes != size) {
+            throw new IllegalStateException(
+                    "Processed " + r.nodes + " nodes instead of " + size);
+        }
+    }
+
+    /**
+     * Processes the nodes with the {@link GLBcomputer}
+     *
+     * @param counter
+     *            counter of the nodes processed
+     * @return result of the computation
+     */
+    @Benchmark
+    public SpinResult glb(Nodes counter) {
+        final int c = cost;
+        final int m = minSplit;
+        final SpinResult r = computer.compute(new SpinBag(size, c, m),
+                () -> new SpinResult(), () -> new SpinBag(0, c, m));
+        check(r);
+        counter.nodes += size;
+        return r;
+    }
+
+    /**
+     * Processes the nodes sequentially, calling {@link SpinBag#process} with
+     * the same work unit as the {@link GLBcomputer} workers
+     *
+     * @param counter
+     *            counter of the nodes processed
+     * @return result of the computation
+     */
+    @Benchmark
+    public SpinResult sequential(Nodes counter) {
+        final SpinResult r = new SpinResult();
+        final SpinBag bag = new SpinBag(size, cost, minSplit);
+        while (!bag.isEmpty()) {
+            bag.process(workUnit, r);
+        }
+        bag.submit(r);
+        check(r);
+        counter.nodes += size;
+        return r;
+    }
+
+    /**
+     * Sets up the APGAS runtime with a single place and the
+     * {@link GLBcomputer} with the parameters of the benchmark
+     *
+     * @throws ReflectiveOperationException
+     *             if thrown by {@link GLBfactory#setupGLB()}
+     */
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        System.setProperty(apgas.Configuration.APGAS_PLACES, "1");
+        System.setProperty(Configuration.GLBM_WORKERS,
+                String.valueOf(workers));
+        System.setProperty(Configuration.GLBM_WORKUNIT,
+                String.valueOf(workUnit));
+        System.setProperty(Configuration.GLBM_INSTRUMENTATION,
+                instrumentation);
+        computer = GLBfactory.setupGLB();
+    }
+
+    /** Closes the computer and shuts down the APGAS runtime */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        computer.close();
+        GlobalRuntime.getRuntime().shutdown();
+    }
+}
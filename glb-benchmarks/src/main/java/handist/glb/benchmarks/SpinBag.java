@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.benchmarks;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+
+import handist.glb.Bag;
+
+/**
+ * Synthetic {@link Bag} whose nodes are independent and all have the same
+ * cost. Each node consists in a fixed number of iterations of a xorshift
+ * generator whose outcome is accumulated into a checksum so that the
+ * computation cannot be eliminated by the JIT compiler.
+ * <p>
+ * The nodes are held as ranges of indices. A range can only be split if it
+ * contains at least twice the minimum split size given to the constructor,
+ * which controls how finely the work can be distributed between workers.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class SpinBag implements Bag<SpinBag, SpinResult>, Serializable {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = -2302930659624525015L;
+
+    /**
+     * Performs the computation of a node
+     *
+     * @param node
+     *            index of the node
+     * @param cost
+     *            number of iterations performed
+     * @return outcome of the computation
+     */
+    static long spin(long node, int cost) {
+        long x = node | 1;
+        for (int i = 0; i < cost; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+        }
+        return x;
+    }
+
+    /** Checksum of the nodes processed by this bag */
+    long checksum;
+
+    /** Number of iterations performed for each node */
+    final int cost;
+
+    /** Minimum number of nodes a split fragment can contain */
+    final int minSplit;
+
+    /** Number of nodes processed by this bag */
+    long processed;
+
+    /** Ranges of nodes to process as {from, to} pairs, bound excluded */
+    final ArrayDeque<long[]> ranges;
+
+    /**
+     * Constructor
+     *
+     * Creates a bag containing nodes 0 to {@code nodes} excluded.
+     *
+     * @param nodes
+     *            number of nodes in this bag
+     * @param nodeCost
+     *            number of iterations performed for each node
+     * @param minimumSplit
+     *            minimum number of nodes a split fragment can contain
+     */
+    public SpinBag(long nodes, int nodeCost, int minimumSplit) {
+        cost = nodeCost;
+        minSplit = Math.max(1, minimumSplit);
+        ranges = new ArrayDeque<>();
+        if (nodes > 0) {
+            ranges.add(new long[] { 0, nodes });
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    @Override
+    public boolean isSplittable() {
+        if (ranges.size() > 1) {
+            return true;
+        }
+        final long[] r = ranges.peekLast();
+        return r != null && r[1] - r[0] >= 2 * minSplit;
+    }
+
+    @Override
+    public void merge(SpinBag b) {
+        ranges.addAll(b.ranges);
+        checksum += b.checksum;
+        processed += b.processed;
+    }
+
+    @Override
+    public void process(int workAmount, SpinResult sharedObject) {
+        long c = checksum;
+        while (workAmount > 0 && !ranges.isEmpty()) {
+            final long[] r = ranges.peekFirst();
+            final long stop = Math.min(r[1], r[0] + workAmount);
+            for (long node = r[0]; node < stop; node++) {
+                c += spin(node, cost);
+            }
+            workAmount -= stop - r[0];
+            processed += stop - r[0];
+            r[0] = stop;
+            if (r[0] >= r[1]) {
+                ranges.pollFirst();
+            }
+        }
+        checksum = c;
+    }
+
+    @Override
+    public SpinBag split(boolean takeAll) {
+        final SpinBag loot = new SpinBag(0, cost, minSplit);
+        if (ranges.size() > 1) {
+            loot.ranges.add(ranges.pollLast());
+        } else if (isSplittable()) {
+            final long[] r = ranges.peekLast();
+            final long middle = r[0] + (r[1] - r[0]) / 2;
+            loot.ranges.add(new long[] { middle, r[1] });
+            r[1] = middle;
+        } else if (takeAll) {
+            loot.ranges.addAll(ranges);
+            ranges.clear();
+        }
+        return loot;
+    }
+
+    @Override
+    public void submit(SpinResult r) {
+        r.nodes += processed;
+        r.checksum += checksum;
+    }
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.benchmarks;
+
+import java.io.Serializable;
+
+import handist.glb.util.Fold;
+
+/**
+ * Result of the computation of {@link SpinBag}s
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class SpinResult implements Fold<SpinResult>, Serializable {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = 6244302093557364002L;
+
+    /** Sum of the outcomes of the nodes processed */
+    public long checksum;
+
+    /** Number of nodes processed */
+    public long nodes;
+
+    @Override
+    public void fold(SpinResult r) {
+        nodes += r.nodes;
+        checksum += r.checksum;
+    }
+}
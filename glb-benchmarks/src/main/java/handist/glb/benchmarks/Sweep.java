@@ -0,0 +1,480 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import handist.glb.Configuration;
+
+/**
+ * Driver running one of the examples over a grid of configurations.
+ * <p>
+ * Each point of the grid is a combination of values of the system properties
+ * given with option {@code -g}, for instance {@code -g apgas.places=1,2,4 -g
+ * glb.workunit=64,511}. Every run of the example is a new JVM launched on the
+ * local host with the properties of the point. When property
+ * {@code apgas.places} is greater than 1, the APGAS runtime of this JVM spawns
+ * the other places on the local host. The arguments given after {@code --} are
+ * passed to the example:
+ *
+ * <pre>
+ * java -cp benchmarks.jar handist.glb.benchmarks.Sweep \
+ *      -e handist.glb.examples.nqueens.ParallelBitNQueens \
+ *      -g apgas.places=1,2,4 -g glb.workunit=64,511,2048 -r 5 -- -n 14
+ * </pre>
+ *
+ * The timings of each run are read from the report written by the example
+ * (see property {@value Configuration#GLBM_REPORT}), which the driver sets to
+ * a directory of its own for each run. The answer of each run is extracted
+ * from the standard output of the example with a regular expression and must
+ * be identical for all runs. The runs of the different points are interleaved
+ * to even out the effects of the machine load.
+ * <p>
+ * The output directory contains the standard and error outputs and the report
+ * of each run along with file {@code sweep.csv}, which compares the
+ * computation time of each point to that of the first point of the grid. The
+ * efficiency is the speedup divided by the ratio of the number of workers
+ * (places times workers per place) of both points.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class Sweep {
+
+    /** Default expression used to extract the answer of an example */
+    private static final String DEFAULT_ANSWER = "(?:Solutions|Nodes);([^;]*);";
+
+    /** Pattern of the names of the run information files of the reports */
+    private static final Pattern REPORT = Pattern
+            .compile("report-(\\d+)-run\\.csv");
+
+    /**
+     * Prepares the various options that can be given to the program
+     *
+     * @return an {@link Options} instance containing all the possible options
+     *         that can be given to the main program
+     */
+    private static Options commandOptions() {
+        final Options opts = new Options();
+        opts.addRequiredOption("e", "example", true,
+                "main class of the example to run");
+        opts.addOption("g", "grid", true,
+                "property and its values, for instance glb.workunit=64,511 (repeatable)");
+        opts.addOption("r", "repetitions", true,
+                "number of runs of each point (default 3)");
+        opts.addOption("o", "output", true,
+                "output directory (default sweep)");
+        opts.addOption("j", "jvm", true,
+                "options passed to each JVM, for instance \"-Xmx4g\"");
+        opts.addOption("c", "classpath", true,
+                "class path of the launched JVMs (default: that of this JVM)");
+        opts.addOption("a", "answer", true,
+                "regular expression extracting the answer from the output of the example (default "
+                        + DEFAULT_ANSWER + ")");
+        opts.addOption("x", "expected", true,
+                "expected answer, by default the answer of the first run");
+        opts.addOption("t", "timeout", true,
+                "maximum duration of a run in seconds (default 3600)");
+        return opts;
+    }
+
+    /**
+     * Builds the points of the grid as the cartesian product of the values of
+     * each property
+     *
+     * @param grid
+     *            each property followed by its values
+     * @return the list of points, each point associating a value to each
+     *         property
+     */
+    static List<Map<String, String>> points(List<String[]> grid) {
+        List<Map<String, String>> points = new ArrayList<>();
+        points.add(new HashMap<>());
+        for (final String[] property : grid) {
+            final List<Map<String, String>> next = new ArrayList<>();
+            for (final Map<String, String> p : points) {
+                for (int i = 1; i < property.length; i++) {
+                    final Map<String, String> point = new HashMap<>(p);
+                    point.put(property[0], property[i]);
+                    next.add(point);
+                }
+            }
+            points = next;
+        }
+        return points;
+    }
+
+    /**
+     * Reads the run information of the last report written in the given
+     * directory
+     *
+     * @param directory
+     *            directory of a run
+     * @return the {@code key,value} pairs of the report, or {@code null} if
+     *         the example did not write any report
+     * @throws IOException
+     *             if an I/O error occurs when reading the report
+     */
+    static Map<String, String> readReport(Path directory) throws IOException {
+        Path last = null;
+        int lastIndex = -1;
+        try (DirectoryStream<Path> files = Files
+                .newDirectoryStream(directory)) {
+            for (final Path f : files) {
+                final Matcher m = REPORT.matcher(f.getFileName().toString());
+                if (m.matches() && Integer.parseInt(m.group(1)) > lastIndex) {
+                    lastIndex = Integer.parseInt(m.group(1));
+                    last = f;
+                }
+            }
+        }
+        if (last == null) {
+            return null;
+        }
+        final Map<String, String> values = new HashMap<>();
+        for (final String line : Files.readAllLines(last,
+                StandardCharsets.UTF_8)) {
+            final int comma = line.indexOf(',');
+            if (comma > 0) {
+                values.put(line.substring(0, comma),
+                        line.substring(comma + 1).replace("\"", ""));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Launches the sweep
+     *
+     * @param args
+     *            see {@link #commandOptions()}, the arguments following
+     *            {@code --} being passed to the example
+     */
+    public static void main(String[] args) {
+        final Options programOptions = commandOptions();
+        final CommandLineParser parser = new DefaultParser();
+        CommandLine cmd = null;
+        try {
+            cmd = parser.parse(programOptions, args);
+        } catch (final ParseException e1) {
+            System.err.println(e1.getLocalizedMessage());
+            final HelpFormatter formatter = new HelpFormatter();
+            formatter.printHelp(
+                    "java [...] Sweep -e <class> [-g <property>=<v1>,<v2>...]... [-r <integer>] [-- <example arguments>]",
+                    programOptions);
+            return;
+        }
+
+        final List<String[]> grid = new ArrayList<>();
+        if (cmd.hasOption('g')) {
+            for (final String g : cmd.getOptionValues('g')) {
+                final int equal = g.indexOf('=');
+                if (equal <= 0) {
+                    System.err.println("Malformed grid parameter: " + g);
+                    return;
+                }
+                final List<String> property = new ArrayList<>();
+                property.add(g.substring(0, equal));
+                property.addAll(
+                        Arrays.asList(g.substring(equal + 1).split(",")));
+                grid.add(property.toArray(new String[0]));
+            }
+        }
+
+        final Sweep s = new Sweep(cmd.getOptionValue('e'), cmd.getArgList(),
+                grid, Paths.get(cmd.getOptionValue('o', "sweep")));
+        s.repetitions = Integer.parseInt(cmd.getOptionValue('r', "3"));
+        s.classpath = cmd.getOptionValue('c',
+                System.getProperty("java.class.path"));
+        if (cmd.hasOption('j')) {
+            s.jvmOptions = Arrays
+                    .asList(cmd.getOptionValue('j').trim().split("\\s+"));
+        }
+        s.answer = Pattern.compile(cmd.getOptionValue('a', DEFAULT_ANSWER),
+                Pattern.MULTILINE);
+        s.expected = cmd.getOptionValue('x');
+        s.timeout = Long.parseLong(cmd.getOptionValue('t', "3600"));
+
+        try {
+            s.run();
+            s.writeTable(System.out);
+            try (PrintStream out = new PrintStream(
+                    s.output.resolve("sweep.csv").toFile(), "UTF-8")) {
+                s.writeTable(out);
+            }
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Sweep interrupted: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    /** Regular expression extracting the answer from the output of a run */
+    Pattern answer;
+
+    /** Arguments passed to the example */
+    final List<String> arguments;
+
+    /** Class path of the launched JVMs */
+    String classpath;
+
+    /** Main class of the example */
+    final String example;
+
+    /** Expected answer, {@code null} to use the answer of the first run */
+    String expected;
+
+    /** Grid of properties, each property being followed by its values */
+    final List<String[]> grid;
+
+    /** Options passed to the launched JVMs */
+    List<String> jvmOptions;
+
+    /** Output directory */
+    final Path output;
+
+    /** Points of the grid */
+    final List<Map<String, String>> points;
+
+    /** Number of runs of each point */
+    int repetitions;
+
+    /**
+     * Results of the runs of each point, a {@code null} value indicating a
+     * failed run
+     */
+    final List<List<Map<String, String>>> results;
+
+    /** Maximum duration of a run in seconds */
+    long timeout;
+
+    /**
+     * Constructor
+     *
+     * @param exampleClass
+     *            main class of the example run
+     * @param exampleArguments
+     *            arguments passed to the example
+     * @param properties
+     *            grid of properties, each property being followed by its
+     *            values
+     * @param directory
+     *            output directory
+     */
+    public Sweep(String exampleClass, List<String> exampleArguments,
+            List<String[]> properties, Path directory) {
+        example = exampleClass;
+        arguments = exampleArguments;
+        grid = properties;
+        output = directory;
+        points = points(grid);
+        results = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++) {
+            results.add(new ArrayList<>());
+        }
+        answer = Pattern.compile(DEFAULT_ANSWER, Pattern.MULTILINE);
+        classpath = System.getProperty("java.class.path");
+        jvmOptions = new ArrayList<>();
+        repetitions = 3;
+        timeout = 3600;
+    }
+
+    /**
+     * Launches one run of a point of the grid and checks its answer
+     *
+     * @param point
+     *            index of the point
+     * @param run
+     *            index of the run
+     * @return the run information of the report written by the example, or
+     *         {@code null} if the run failed
+     * @throws IOException
+     *             if an I/O error occurs when launching the run or reading its
+     *             outputs
+     * @throws InterruptedException
+     *             if interrupted while waiting for the run to complete
+     */
+    Map<String, String> launch(int point, int run)
+            throws IOException, InterruptedException {
+        final Path directory = output.resolve("point-" + point)
+                .resolve("run-" + run);
+        Files.createDirectories(directory);
+
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java")
+                .toString());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(classpath);
+        for (final Map.Entry<String, String> e : points.get(point)
+                .entrySet()) {
+            command.add("-D" + e.getKey() + "=" + e.getValue());
+        }
+        command.add("-D" + Configuration.GLBM_REPORT + "="
+                + directory.toAbsolutePath());
+        command.add(example);
+        command.addAll(arguments);
+
+        final File stdout = directory.resolve("stdout.txt").toFile();
+        final Process p = new ProcessBuilder(command).redirectOutput(stdout)
+                .redirectError(directory.resolve("stderr.txt").toFile())
+                .start();
+        if (!p.waitFor(timeout, TimeUnit.SECONDS)) {
+            p.destroyForcibly();
+            System.err.println("Point " + point + " run " + run
+                    + ": timed out after " + timeout + "s");
+            return null;
+        }
+        if (p.exitValue() != 0) {
+            System.err.println("Point " + point + " run " + run
+                    + ": exited with status " + p.exitValue());
+            return null;
+        }
+
+        final String out = new String(Files.readAllBytes(stdout.toPath()),
+                StandardCharsets.UTF_8);
+        final Matcher m = answer.matcher(out);
+        if (!m.find()) {
+            System.err.println(
+                    "Point " + point + " run " + run + ": no answer found");
+            return null;
+        }
+        final StringBuilder a = new StringBuilder();
+        for (int g = 1; g <= m.groupCount(); g++) {
+            a.append(g > 1 ? " " : "").append(m.group(g));
+        }
+        if (m.groupCount() == 0) {
+            a.append(m.group());
+        }
+        if (expected == null) {
+            expected = a.toString();
+        } else if (!expected.equals(a.toString())) {
+            System.err.println("Point " + point + " run " + run
+                    + ": wrong answer " + a + ", expected " + expected);
+            return null;
+        }
+
+        final Map<String, String> report = readReport(directory);
+        if (report == null) {
+            System.err.println(
+                    "Point " + point + " run " + run + ": no report written");
+        }
+        return report;
+    }
+
+    /**
+     * Launches all the runs of the sweep
+     *
+     * @throws IOException
+     *             if an I/O error occurs when launching a run
+     * @throws InterruptedException
+     *             if interrupted while waiting for a run to complete
+     */
+    public void run() throws IOException, InterruptedException {
+        Files.createDirectories(output);
+        for (int run = 0; run < repetitions; run++) {
+            for (int point = 0; point < points.size(); point++) {
+                final Map<String, String> r = launch(point, run);
+                results.get(point).add(r);
+                if (r != null) {
+                    System.err.println("Point " + point + " " + points.get(point)
+                            + " run " + run + ": " + r.get("computationTime")
+                            + "s");
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the comparison table of the points of the grid
+     *
+     * @param out
+     *            output stream to which the table is written
+     */
+    public void writeTable(PrintStream out) {
+        out.print("Point;");
+        for (final String[] property : grid) {
+            out.print(property[0] + ";");
+        }
+        out.println(
+                "Places;Workers;Runs;Failures;Mean (s);Min (s);Stddev (s);Speedup;Efficiency;");
+
+        double referenceTime = 0;
+        double referenceWorkers = 0;
+        for (int point = 0; point < points.size(); point++) {
+            int runs = 0;
+            double sum = 0;
+            double squares = 0;
+            double min = Double.MAX_VALUE;
+            double workers = 0;
+            String places = "";
+            String perPlace = "";
+            for (final Map<String, String> r : results.get(point)) {
+                if (r == null) {
+                    continue;
+                }
+                final double t = Double.parseDouble(r.get("computationTime"));
+                runs++;
+                sum += t;
+                squares += t * t;
+                min = Math.min(min, t);
+                places = r.get("places");
+                perPlace = r.get("workers");
+                workers = Double.parseDouble(places)
+                        * Double.parseDouble(perPlace);
+            }
+
+            out.print(point + ";");
+            for (final String[] property : grid) {
+                out.print(points.get(point).get(property[0]) + ";");
+            }
+            out.print(places + ";" + perPlace + ";" + runs + ";"
+                    + (results.get(point).size() - runs) + ";");
+            if (runs == 0) {
+                out.println(";;;;;");
+                continue;
+            }
+            final double mean = sum / runs;
+            final double stddev = Math
+                    .sqrt(Math.max(0, squares / runs - mean * mean));
+            if (point == 0) {
+                referenceTime = mean;
+                referenceWorkers = workers;
+            }
+            final double speedup = referenceTime == 0 ? 0
+                    : referenceTime / mean;
+            out.println(mean + ";" + min + ";" + stddev + ";" + speedup + ";"
+                    + speedup * referenceWorkers / workers + ";");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+/**
+ * Package containing the JMH micro-benchmarks of the Global Load Balancer.
+ * <p>
+ * Class {@link handist.glb.benchmarks.BagBenchmark} gathers the benchmarks
+ * common to all {@link handist.glb.Bag} implementations. Its subclasses are
+ * located in the packages of the examples they measure so that they can access
+ * the package-private members of the bags.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+package handist.glb.benchmarks;
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.nqueens;
+
+import org.openjdk.jmh.annotations.Param;
+
+import handist.glb.benchmarks.BagBenchmark;
+import handist.glb.examples.pentomino.Answer;
+
+/**
+ * Micro-benchmarks of the {@link BitNQueens} bag
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class BitNQueensBenchmark extends BagBenchmark<BitNQueens, Answer> {
+
+    /** Width of the board */
+    @Param({ "12", "15" })
+    public int n;
+
+    @Override
+    protected BitNQueens emptyBag() {
+        return new BitNQueens(n);
+    }
+
+    @Override
+    protected Answer emptyResult() {
+        return new Answer(n);
+    }
+
+    @Override
+    protected BitNQueens initialBag() {
+        final BitNQueens b = new BitNQueens(n);
+        b.initParallel();
+        return b;
+    }
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.nqueens;
+
+import org.openjdk.jmh.annotations.Param;
+
+import handist.glb.benchmarks.BagBenchmark;
+import handist.glb.examples.pentomino.Answer;
+
+/**
+ * Micro-benchmarks of the {@link NQueens} bag
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class NQueensBenchmark extends BagBenchmark<NQueens, Answer> {
+
+    /** Width of the board */
+    @Param({ "12", "15" })
+    public int n;
+
+    @Override
+    protected NQueens emptyBag() {
+        return new NQueens(n);
+    }
+
+    @Override
+    protected Answer emptyResult() {
+        return new Answer(n);
+    }
+
+    @Override
+    protected NQueens initialBag() {
+        final NQueens b = new NQueens(n);
+        b.init();
+        return b;
+    }
+}
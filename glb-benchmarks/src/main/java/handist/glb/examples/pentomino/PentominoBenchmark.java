@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.pentomino;
+
+import org.openjdk.jmh.annotations.Param;
+
+import handist.glb.benchmarks.BagBenchmark;
+import handist.glb.examples.pentomino.Pentomino.PentominoType;
+
+/**
+ * Micro-benchmarks of the {@link Pentomino} bag on the standard 60 tiles
+ * boards, without symmetries.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class PentominoBenchmark extends BagBenchmark<Pentomino, Answer> {
+
+    /** Width of the board, its height is deduced to obtain 60 tiles */
+    @Param({ "10", "15", "20" })
+    public int width;
+
+    @Override
+    protected Pentomino emptyBag() {
+        return new Pentomino(PentominoType.STANDARD);
+    }
+
+    @Override
+    protected Answer emptyResult() {
+        return new Answer(12);
+    }
+
+    @Override
+    protected Pentomino initialBag() {
+        return standardBoard(width);
+    }
+
+    /**
+     * Creates a bag containing the whole standard pentomino problem without
+     * symmetries. As {@link PentominoType} is package-private, this method
+     * lets the benchmarks of other packages build the problem.
+     *
+     * @param width
+     *            width of the board, its height being 60 divided by the width
+     * @return a new bag initialized with the whole problem
+     */
+    public static Pentomino standardBoard(int width) {
+        final Pentomino p = new Pentomino(PentominoType.STANDARD, width,
+                60 / width);
+        p.init(PentominoType.STANDARD, true, null);
+        return p;
+    }
+}
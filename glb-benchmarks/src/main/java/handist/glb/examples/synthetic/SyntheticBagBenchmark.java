@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.synthetic;
+
+import org.openjdk.jmh.annotations.Param;
+
+import handist.glb.benchmarks.BagBenchmark;
+
+/**
+ * Micro-benchmarks of the {@link SyntheticBag} with an imbalanced tree. The
+ * number of bytes per node controls the cost of the serialization of the loot.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class SyntheticBagBenchmark
+        extends BagBenchmark<SyntheticBag, SyntheticResult> {
+
+    /** Depth of the tree */
+    @Param({ "10" })
+    public int depth;
+
+    /** Serialized size of each pending node */
+    @Param({ "0", "256" })
+    public int nodeBytes;
+
+    /**
+     * Builds the workload explored from the parameters
+     *
+     * @return the workload explored
+     */
+    private SyntheticWorkload workload() {
+        return new SyntheticWorkload(19, depth, 4, Distribution.EXPONENTIAL,
+                100, Distribution.EXPONENTIAL, 4, 3, 10, nodeBytes);
+    }
+
+    @Override
+    protected SyntheticBag emptyBag() {
+        return new SyntheticBag(workload());
+    }
+
+    @Override
+    protected SyntheticResult emptyResult() {
+        return new SyntheticResult();
+    }
+
+    @Override
+    protected SyntheticBag initialBag() {
+        final SyntheticBag b = new SyntheticBag(workload());
+        b.init();
+        return b;
+    }
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.tsp;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Param;
+
+import handist.glb.benchmarks.BagBenchmark;
+
+/**
+ * Micro-benchmarks of the {@link TspBag} bag. The problem considered is a
+ * randomly generated symmetric instance with the number of cities given as
+ * parameter.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TspBagBenchmark extends BagBenchmark<TspBag, TspResult> {
+
+    /** Number of cities of the problem */
+    @Param({ "14", "20" })
+    public int cities;
+
+    /** Problem considered, generated once per number of cities */
+    private TspProblem problem;
+
+    /**
+     * Generates a random symmetric TSP problem in the same way as the
+     * {@link TspParser} builds problems from files.
+     *
+     * @param size
+     *            number of cities
+     * @return the generated problem
+     */
+    static TspProblem randomProblem(int size) {
+        final Random random = new Random(size);
+        final int[][] matrix = new int[size][size];
+        int minimum = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            matrix[i][i] = Integer.MAX_VALUE;
+            for (int j = 0; j < i; j++) {
+                final int cost = 1 + random.nextInt(1000);
+                matrix[i][j] = cost;
+                matrix[j][i] = cost;
+                minimum = Math.min(minimum, cost);
+            }
+        }
+        final int[] bound = new int[size];
+        Arrays.fill(bound, minimum);
+        Arrays.parallelPrefix(bound, (a, b) -> a + b);
+        return new TspProblem("random", "random" + size, matrix, bound);
+    }
+
+    @Override
+    protected TspBag emptyBag() {
+        return new TspBag(getProblem());
+    }
+
+    @Override
+    protected TspResult emptyResult() {
+        return new TspResult();
+    }
+
+    /**
+     * Returns the problem considered, generating it on the first call
+     *
+     * @return the TSP problem used by the benchmarks
+     */
+    private TspProblem getProblem() {
+        if (problem == null || problem.adjacencyMatrix.length != cities) {
+            problem = randomProblem(cities);
+        }
+        return problem;
+    }
+
+    @Override
+    protected TspBag initialBag() {
+        final TspBag b = new TspBag(getProblem());
+        b.init();
+        return b;
+    }
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.uts;
+
+import org.openjdk.jmh.annotations.Param;
+
+import handist.glb.benchmarks.BagBenchmark;
+
+/**
+ * Micro-benchmarks of the {@link MultiworkerUTS} bag
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class MultiworkerUTSBenchmark extends BagBenchmark<MultiworkerUTS, Sum> {
+
+    /** Branching factor of the tree */
+    @Param({ "4" })
+    public int branching;
+
+    /** Depth of the tree */
+    @Param({ "13", "17" })
+    public int depth;
+
+    @Override
+    protected MultiworkerUTS emptyBag() {
+        return new MultiworkerUTS(64, branching);
+    }
+
+    @Override
+    protected Sum emptyResult() {
+        return new Sum(0);
+    }
+
+    @Override
+    protected MultiworkerUTS initialBag() {
+        final MultiworkerUTS b = new MultiworkerUTS(64, branching);
+        b.seed(19, depth);
+        return b;
+    }
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Optional interface for {@link Bag} implementations able to encode their
+ * content into raw bytes, bypassing the default Java serialization when some
+ * loot is sent from a victim to a thief.
+ * <p>
+ * When the loot obtained by splitting a bag implements this interface,
+ * {@link GLBcomputer} encodes it into a byte array on the victim and only
+ * ships that array to the thief. On the thief, the loot is rebuilt by calling
+ * {@link #decode(ByteBuffer)} on the local intra-place queue of the
+ * computation. This gives the decoding access to the problem data held by the
+ * local instances (distance matrix, precomputed constants, ...) which
+ * therefore does not need to be part of the encoding.
+ * <p>
+ * Method {@link #decode(ByteBuffer)} is called concurrently with the workers
+ * of the place and must not rely on or modify the mutable state of the
+ * instance on which it is called.
+ *
+ * @author Patrick Finnerty
+ *
+ * @param <B>
+ *            type of the bag implementing this interface
+ */
+public interface BagCodec<B> {
+
+    /**
+     * Decodes some loot encoded by {@link #encode(ByteBuffer)} on another
+     * place. The content of the returned instance is the same as that of the
+     * encoded instance.
+     *
+     * @param buffer
+     *            buffer positioned at the start of the encoding
+     * @return a new instance holding the decoded loot
+     */
+    public B decode(ByteBuffer buffer);
+
+    /**
+     * Writes the content of this instance into the given buffer.
+     *
+     * @param buffer
+     *            buffer with at least {@link #encodedSize()} bytes remaining
+     */
+    public void encode(ByteBuffer buffer);
+
+    /**
+     * Returns the number of bytes needed to encode this instance. The value
+     * returned may be larger than the number of bytes actually written by
+     * {@link #encode(ByteBuffer)}.
+     *
+     * @return upper bound of the size of the encoding in bytes
+     */
+    public int encodedSize();
+
+    /**
+     * Encodes this instance into an array of bytes of the exact size of the
+     * encoding.
+     *
+     * @return the encoding of this instance
+     */
+    public default byte[] toBytes() {
+        final ByteBuffer buffer = ByteBuffer.allocate(encodedSize());
+        encode(buffer);
+        return buffer.position() == buffer.capacity() ? buffer.array()
+                : Arrays.copyOf(buffer.array(), buffer.position());
+    }
+}
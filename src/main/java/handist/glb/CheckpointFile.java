@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped files in which a place writes the checkpoints of its state.
+ * <p>
+ * The checkpoints are written alternately into two slot files so that the
+ * previous checkpoint remains valid while the next one is written. Each slot
+ * starts with a header holding the sequence number of the checkpoint, the
+ * length of its content and a CRC32 checksum. The header is only marked valid
+ * once the content has been forced to the storage device.
+ * <p>
+ * The writes are incremental: the content of the last checkpoint written into
+ * each slot is kept and only the blocks of {@value #BLOCK} bytes which differ
+ * from it are copied into the mapped file. As the bags of most computations
+ * only change partially between two checkpoints, this limits the number of
+ * pages dirtied and flushed at each checkpoint.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+final class CheckpointFile {
+
+    /** Marker of a valid slot header */
+    static final int MAGIC = 0x474c4243;
+
+    /**
+     * Size in bytes of the header: marker, sequence number, content length and
+     * checksum
+     */
+    static final int HEADER = 20;
+
+    /** Size of the blocks compared with the previous checkpoint */
+    static final int BLOCK = 4096;
+
+    /**
+     * Returns the path of the given slot file of a place
+     *
+     * @param directory
+     *            directory containing the checkpoint files
+     * @param place
+     *            id of the place
+     * @param slot
+     *            0 or 1
+     * @return path of the slot file
+     */
+    static Path slot(String directory, int place, int slot) {
+        return Paths.get(directory, "glb-place-" + place + "-" + slot + ".ckpt");
+    }
+
+    /**
+     * Returns the sequence number of the valid checkpoint contained in the
+     * given slot file of a place
+     *
+     * @param directory
+     *            directory containing the checkpoint files
+     * @param place
+     *            id of the place
+     * @param slot
+     *            0 or 1
+     * @return the sequence number of the checkpoint, or {@code -1} if the slot
+     *         does not contain a complete checkpoint
+     * @throws IOException
+     *             if the slot file exists but could not be read
+     */
+    static long sequence(String directory, int place, int slot)
+            throws IOException {
+        final Path path = slot(directory, place, slot);
+        if (!Files.exists(path)) {
+            return -1;
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel
+                    .map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return content(buffer) == null ? -1 : buffer.getLong(4);
+        }
+    }
+
+    /**
+     * Reads the content of the checkpoint with the given sequence number
+     *
+     * @param directory
+     *            directory containing the checkpoint files
+     * @param place
+     *            id of the place
+     * @param sequence
+     *            sequence number of the checkpoint
+     * @return the content of the checkpoint, or {@code null} if this place does
+     *         not hold a valid checkpoint with this sequence number
+     * @throws IOException
+     *             if the slot file exists but could not be read
+     */
+    static byte[] read(String directory, int place, long sequence)
+            throws IOException {
+        final Path path = slot(directory, place, (int) (sequence & 1));
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel
+                    .map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final byte[] content = content(buffer);
+            return content != null && buffer.getLong(4) == sequence ? content
+                    : null;
+        }
+    }
+
+    /**
+     * Checks the header of a mapped slot file and returns its content
+     *
+     * @param buffer
+     *            the whole slot file
+     * @return the content of the slot, or {@code null} if the header is not
+     *         marked valid or if the checksum does not match
+     */
+    private static byte[] content(MappedByteBuffer buffer) {
+        if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC) {
+            return null;
+        }
+        final int length = buffer.getInt(12);
+        if (length < 0 || length > buffer.capacity() - HEADER) {
+            return null;
+        }
+        final byte[] content = new byte[length];
+        buffer.position(HEADER);
+        buffer.get(content);
+        final CRC32 crc = new CRC32();
+        crc.update(content, 0, length);
+        return (int) crc.getValue() == buffer.getInt(16) ? content : null;
+    }
+
+    /** Directory containing the checkpoint files */
+    final String directory;
+
+    /** Id of the place writing the checkpoints */
+    final int place;
+
+    /**
+     * Content of the last checkpoint written into each slot by this instance,
+     * {@code null} if the slot was not written yet
+     */
+    private final byte[][] previous = new byte[2][];
+
+    /** Number of bytes actually copied into the mapped files */
+    long bytesWritten;
+
+    /**
+     * Constructor
+     *
+     * @param directory
+     *            directory containing the checkpoint files, created if it does
+     *            not exist
+     * @param place
+     *            id of the place writing the checkpoints
+     * @throws IOException
+     *             if the directory could not be created
+     */
+    CheckpointFile(String directory, int place) throws IOException {
+        this.directory = directory;
+        this.place = place;
+        Files.createDirectories(Paths.get(directory));
+    }
+
+    /**
+     * Writes a checkpoint into the slot corresponding to the parity of its
+     * sequence number. Only the blocks which differ from the content
+     * previously written into this slot are copied. The slot is invalidated
+     * during the write and marked valid again once its content is forced to
+     * the storage device.
+     *
+     * @param sequence
+     *            sequence number of the checkpoint
+     * @param content
+     *            the serialized state of the place
+     * @throws IOException
+     *             if the slot file could not be written
+     */
+    synchronized void write(long sequence, byte[] content) throws IOException {
+        final int s = (int) (sequence & 1);
+        final byte[] old = previous[s];
+        try (FileChannel channel = FileChannel.open(slot(directory, place, s),
+                StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            final MappedByteBuffer buffer = channel.map(
+                    FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER + (long) content.length);
+            buffer.putInt(0, 0);
+            buffer.force();
+            for (int offset = 0; offset < content.length; offset += BLOCK) {
+                final int length = Math.min(BLOCK, content.length - offset);
+                if (old == null || !sameBlock(old, content, offset, length)) {
+                    buffer.position(HEADER + offset);
+                    buffer.put(content, offset, length);
+                    bytesWritten += length;
+                }
+            }
+            final CRC32 crc = new CRC32();
+            crc.update(content, 0, content.length);
+            buffer.putLong(4, sequence);
+            buffer.putInt(12, content.length);
+            buffer.putInt(16, (int) crc.getValue());
+            buffer.force();
+            buffer.putInt(0, MAGIC);
+            buffer.force();
+        }
+        previous[s] = content;
+    }
+
+    /**
+     * Indicates if a block of the new content is identical in the previous
+     * content
+     *
+     * @param old
+     *            previous content of the slot
+     * @param content
+     *            new content
+     * @param offset
+     *            index of the first byte of the block
+     * @param length
+     *            length of the block
+     * @return {@code true} if the block does not need to be copied
+     */
+    private static boolean sameBlock(byte[] old, byte[] content, int offset,
+            int length) {
+        if (offset + length > old.length) {
+            return false;
+        }
+        for (int i = offset; i < offset + length; i++) {
+            if (old[i] != content[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
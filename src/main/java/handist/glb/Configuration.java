@@ -33,6 +33,9 @@ import handist.glb.util.HypercubeStrategy;
  * {@link handist.glb.util.HypercubeStrategy})</li>
  * <li>The number of random steals performed by a place that runs out of work
  * before using hte lifeline stealing scheme (default {@code 1})
+ * <li>The level of instrumentation of the runtime recorded in the
+ * {@link PlaceLogger} of each place (default
+ * {@value #GLBM_INSTRUMENTATION_FULL})
  * </ul>
  *
  * Those settings can be set using the command line when launching the program
@@ -131,6 +134,231 @@ public final class Configuration implements Serializable {
      */
     public static final String GLBM_DEFAULT_WHISPERING_INTERVAL = "500000000";
 
+    /**
+     * Property used to set the interval at which snapshots of the result are
+     * gathered into place 0 when a {@link handist.glb.util.SnapshotListener}
+     * is set with {@link GLBcomputer#setSnapshotListener}. Should be a whole
+     * number in nanoseconds.
+     */
+    public static final String GLBM_SNAPSHOT_INTERVAL = "glb.snapshotinterval";
+
+    /**
+     * Default setting for property {@link #GLBM_SNAPSHOT_INTERVAL}: 1 second
+     */
+    public static final String GLBM_DEFAULT_SNAPSHOT_INTERVAL = "1000000000";
+
+    /**
+     * Property used to enable the estimation of the progress of the
+     * computations whose initial bag implements {@link Estimable}. The value
+     * is the number of random probes performed before the computation starts
+     * and then at each interval set with property
+     * {@link #GLBM_ESTIMATION_INTERVAL}. Estimation is disabled if this
+     * property is not set or set to 0.
+     *
+     * @see ProgressEstimator
+     */
+    public static final String GLBM_ESTIMATION = "glb.estimation";
+
+    /**
+     * Property used to set the interval at which the estimation of the
+     * progress of the computation is refined. Should be a whole number in
+     * nanoseconds.
+     */
+    public static final String GLBM_ESTIMATION_INTERVAL = "glb.estimationinterval";
+
+    /**
+     * Default setting for property {@link #GLBM_ESTIMATION_INTERVAL}: 1 second
+     */
+    public static final String GLBM_DEFAULT_ESTIMATION_INTERVAL = "1000000000";
+
+    /**
+     * Property used to enable the checkpointing of the computations. The value
+     * is the local directory of each host in which the places write their
+     * checkpoint files. Checkpointing is disabled if this property is not set.
+     *
+     * @see GLBcomputer#restart
+     */
+    public static final String GLBM_CHECKPOINT = "glb.checkpoint";
+
+    /**
+     * Property used to set the interval between two checkpoints of the
+     * computation. Should be a whole number in nanoseconds.
+     */
+    public static final String GLBM_CHECKPOINT_INTERVAL = "glb.checkpointinterval";
+
+    /**
+     * Default setting for property {@link #GLBM_CHECKPOINT_INTERVAL}: 1 minute
+     */
+    public static final String GLBM_DEFAULT_CHECKPOINT_INTERVAL = "60000000000";
+
+    /**
+     * Property used to enable the compression of the loot and of the results
+     * sent between places. The value is the size in bytes above which the
+     * payloads are compressed. Compression is disabled if this property is
+     * not set.
+     *
+     * @see GLBcomputer#setCompression(int)
+     */
+    public static final String GLBM_COMPRESSION = "glb.compression";
+
+    /**
+     * Property used to enable the aggregation of the control messages (steal
+     * requests, lifeline registrations and whispers) sent between places. The
+     * value is the time in nanoseconds for which a message can be held back
+     * to be sent along with others bound to the same place. Aggregation is
+     * disabled if this property is not set.
+     *
+     * @see GLBcomputer#setAggregation(java.time.Duration, int)
+     */
+    public static final String GLBM_AGGREGATION = "glb.aggregation";
+
+    /**
+     * Property used to set the number of control messages bound to a place
+     * after which they are sent without waiting for the end of the
+     * aggregation window set with {@link #GLBM_AGGREGATION}
+     */
+    public static final String GLBM_AGGREGATION_SIZE = "glb.aggregation.size";
+
+    /** Default value if {@link #GLBM_AGGREGATION_SIZE} is not defined. */
+    public static final String GLBM_DEFAULT_AGGREGATION_SIZE = "16";
+
+    /**
+     * Property used to enable the transfer of loot through shared memory
+     * between the places running on the same host. The value is a directory
+     * local to each host in which the memory-mapped rings are created,
+     * typically {@code /dev/shm}. Shared memory transfers are disabled if this
+     * property is not set. The files, named {@code glb-<session>-*}, are
+     * deleted when the computer is closed or when the JVM exits. Those left
+     * by a crashed process have to be removed by hand.
+     *
+     * @see GLBcomputer#setSharedMemory(String, String, int)
+     */
+    public static final String GLBM_SHARED_MEMORY = "glb.sharedmemory";
+
+    /**
+     * Property used to set the capacity in bytes of each of the rings used
+     * with {@link #GLBM_SHARED_MEMORY}
+     */
+    public static final String GLBM_SHARED_MEMORY_SIZE = "glb.sharedmemory.size";
+
+    /** Default value if {@link #GLBM_SHARED_MEMORY_SIZE} is not defined. */
+    public static final String GLBM_DEFAULT_SHARED_MEMORY_SIZE = "4194304";
+
+    /**
+     * Property used to set the number of threads of each place dedicated to
+     * the messages of the load balancing protocol. The workers are then
+     * limited so as to leave these threads free and no longer yield. If this
+     * property is not set, all the threads may run workers and the workers
+     * yield to let the messages be handled.
+     *
+     * @see GLBcomputer#setCommunicationThreads(int)
+     */
+    public static final String GLBM_COMMUNICATION_THREADS = "glb.communicationthreads";
+
+    /**
+     * Property used to set the amount of runtime information recorded by each
+     * place during the computation. Possible values are
+     * {@value #GLBM_INSTRUMENTATION_OFF}, {@value #GLBM_INSTRUMENTATION_COUNTERS}
+     * and {@value #GLBM_INSTRUMENTATION_FULL}. If a tuner is set with property
+     * {@link #GLBM_TUNERCLASS}, the full instrumentation is used regardless of
+     * this setting as tuners rely on the timing information.
+     */
+    public static final String GLBM_INSTRUMENTATION = "glb.instrumentation";
+
+    /**
+     * Instrumentation level for which no runtime information is recorded by
+     * the places. Only the global timings of the computation are available
+     * through {@link GLBcomputer#getLog()}.
+     */
+    public static final String GLBM_INSTRUMENTATION_OFF = "off";
+
+    /**
+     * Instrumentation level for which the places only count the load balance
+     * events (steals, queue operations, ...) without timing them.
+     */
+    public static final String GLBM_INSTRUMENTATION_COUNTERS = "counters";
+
+    /**
+     * Instrumentation level for which the places count the load balance events
+     * and track the time spent with each number of workers. This is the
+     * default setting.
+     */
+    public static final String GLBM_INSTRUMENTATION_FULL = "full";
+
+    /**
+     * Instrumentation level used by the places, one of
+     * {@value #GLBM_INSTRUMENTATION_OFF},
+     * {@value #GLBM_INSTRUMENTATION_COUNTERS} or
+     * {@value #GLBM_INSTRUMENTATION_FULL}.
+     */
+    public final String instrumentation;
+
+    /**
+     * Property used to enable the recording of the events of each place in
+     * ring buffers (package {@link handist.glb.trace}). The value is the number
+     * of events each buffer can hold, each worker and the communication
+     * activities of each place having their own buffer. Tracing is disabled if
+     * this property is not set or set to 0.
+     */
+    public static final String GLBM_TRACE = "glb.trace";
+
+    /**
+     * Property used to register a {@link GLBPlaceMXBean} in the platform MBean
+     * server of each place, allowing the computation to be monitored with JMX
+     * clients. Disabled unless this property is set to {@code true}.
+     */
+    public static final String GLBM_JMX = "glb.jmx";
+
+    /**
+     * Property used to record the serialized size of the loot which is sent
+     * through the serialization of the APGAS runtime. Measuring it requires
+     * serializing the loot one more time before it is sent, which is why it is
+     * disabled unless this property is set to {@code true}. The size of loot
+     * encoded with a {@link BagCodec} or compressed is always recorded, as it
+     * comes for free.
+     *
+     * @see PlaceLogger#lootSize
+     */
+    public static final String GLBM_LOOT_SIZE = "glb.lootsize";
+
+    /**
+     * Property used to set the directory in which a {@link Report} is written
+     * each time the logs of a computation are gathered with
+     * {@link GLBcomputer#getLog()}. No report is written if this property is
+     * not set.
+     */
+    public static final String GLBM_REPORT = "glb.report";
+
+    /**
+     * Property used to emulate the latency of a cluster network when running
+     * several places on a single host. The value is the latency in
+     * nanoseconds added to each steal, loot and whisperer message exchanged
+     * between places. Network emulation is disabled if neither this property
+     * nor {@link #GLBM_EMULATION_BANDWIDTH} is set.
+     *
+     * @see handist.glb.simulation.NetworkModel
+     */
+    public static final String GLBM_EMULATION_LATENCY = "glb.emulation.latency";
+
+    /**
+     * Property used to emulate the bandwidth of a cluster network when running
+     * several places on a single host. The value is the bandwidth in bytes per
+     * second, the delivery of the loot being delayed by the time needed to
+     * transfer its serialized form. Setting this property makes every place
+     * serialize the loot it sends once more to measure it, unless its size is
+     * already measured by the full instrumentation level.
+     *
+     * @see #GLBM_EMULATION_LATENCY
+     */
+    public static final String GLBM_EMULATION_BANDWIDTH = "glb.emulation.bandwidth";
+
+    /**
+     * Number of events kept by each trace buffer, 0 if tracing is disabled.
+     *
+     * @see #GLBM_TRACE
+     */
+    public final int traceCapacity;
+
     /**
      * Period in nanoseconds at which the whisper mechanism may propagate
      * information between hosts during the computation.
@@ -224,7 +452,9 @@ public final class Configuration implements Serializable {
                 + " Initial Work Unit: " + originalN
                 + " Initial Random Steals: " + originalW
                 + " Lifeline Strategy: " + z + " Tuner: " + tuner
-                + " Initial Tuning Interval: " + originalT;
+                + " Initial Tuning Interval: " + originalT
+                + " Instrumentation: " + instrumentation + " Trace capacity: "
+                + traceCapacity;
     }
 
     /**
@@ -258,10 +488,16 @@ public final class Configuration implements Serializable {
      *            interval at which the whisperer is called to possibly
      *            propagate the information contained in the local shared object
      *            to other processes
+     * @param instrumentationLevel
+     *            amount of runtime information recorded by each place
+     * @param traceBufferCapacity
+     *            number of events kept by each trace buffer, 0 to disable
+     *            tracing
      */
     protected Configuration(int places, int workers, int workUnit,
             int randomSteal, String lifeline, long tuningTimeout,
-            String tunerClass, long whispererInterval) {
+            String tunerClass, long whispererInterval,
+            String instrumentationLevel, int traceBufferCapacity) {
         p = places;
         x = workers;
         n = workUnit;
@@ -273,5 +509,7 @@ public final class Configuration implements Serializable {
         originalW = w;
         tuner = tunerClass;
         whisperInterval = whispererInterval;
+        instrumentation = instrumentationLevel;
+        traceCapacity = traceBufferCapacity;
     }
 }
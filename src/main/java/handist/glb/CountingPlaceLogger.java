@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import java.io.Serializable;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link PlaceLogger} implementation used when the instrumentation level is
+ * set to {@value Configuration#GLBM_INSTRUMENTATION_COUNTERS}. The event
+ * counters are kept but none of the timing information is recorded: the worker
+ * and lifeline answer thread transitions do not call {@link System#nanoTime()}
+ * and leave the accumulated times at 0. The steal latency and loot size
+ * histograms are left empty.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+class CountingPlaceLogger extends PlaceLogger {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = -1716318003658254313L;
+
+    /**
+     * Constructor
+     *
+     * @param placeConfig
+     *            configuration of the {@link GLBcomputer}
+     * @param placeId
+     *            integer identifier of the place this logger records activity
+     *            for
+     * @param clock
+     *            clock returning timestamps in nanoseconds, {@code null} to
+     *            use {@link System#nanoTime()}
+     */
+    CountingPlaceLogger(Configuration placeConfig, int placeId, LongSupplier clock) {
+        super(placeConfig, placeId, clock);
+    }
+
+    @Override
+    void lifelineAnswerThreadActive() {
+        lifelineThreadWokenUp++;
+    }
+
+    @Override
+    void lifelineAnswerThreadEnded() {
+    }
+
+    @Override
+    void lifelineAnswerThreadHold() {
+    }
+
+    @Override
+    void lifelineAnswerThreadInactive() {
+    }
+
+    @Override
+    void lifelineAnswerThreadStarted() {
+    }
+
+    @Override
+    void lifelineStealSucceeded(long latency, long sinceEstablishment) {
+        lifelineStealsSuccess.increment();
+    }
+
+    @Override
+    void lootDecoded(long time) {
+    }
+
+    @Override
+    void lootEncoded(long size, long time) {
+    }
+
+    @Override
+    long lootSent(Serializable loot) {
+        return -1;
+    }
+
+    @Override
+    boolean recordsTimings() {
+        return false;
+    }
+
+    @Override
+    void randomStealSucceeded(long latency) {
+        stealsSuccess.increment();
+    }
+
+    @Override
+    void workerResumed() {
+    }
+
+    @Override
+    void workerStarted() {
+        workerSpawned.increment();
+    }
+
+    @Override
+    void workerStealing() {
+    }
+
+    @Override
+    void workerStopped() {
+    }
+
+    @Override
+    long workerYieldStart() {
+        return 0;
+    }
+
+    @Override
+    void workerYieldStop(long yieldStart) {
+    }
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import java.util.Random;
+
+/**
+ * Optional interface for {@link Bag} implementations exploring a tree,
+ * allowing the size of the computation to be estimated before and during its
+ * execution.
+ * <p>
+ * The estimation relies on Knuth's estimator: a probe descends from the nodes
+ * held by the bag down to a leaf, choosing one child at random at each level.
+ * The product of the branching factors met along the way gives an unbiased
+ * estimate of the number of nodes of the tree. Averaging a number of probes
+ * gives the expected size of the computation, from which
+ * {@link ProgressEstimator} derives the progress and the remaining time of a
+ * running computation.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public interface Estimable {
+
+    /**
+     * Performs one random probe of the work held by this bag and returns the
+     * corresponding estimate of the work it contains. The estimate should be
+     * expressed in the unit of the work amount given to
+     * {@link Bag#process(int, handist.glb.util.Fold)} so that it can be
+     * compared with the work processed by the workers. This method should not
+     * modify this bag.
+     *
+     * @param random
+     *            source of randomness used to choose the branches of the probe
+     * @return estimate of the work contained in this bag
+     */
+    public double probe(Random random);
+}
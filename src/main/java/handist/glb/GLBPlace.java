@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Implementation of {@link GLBPlaceMXBean} reading the state of a
+ * {@link GLBcomputer} instance. All the values are read without any
+ * synchronization and may therefore be slightly inconsistent with one another.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+class GLBPlace implements GLBPlaceMXBean {
+
+    /**
+     * Registers a new {@link GLBPlace} for the given computer in the platform
+     * MBean server. Failures to register the MBean are reported on the error
+     * output but do not prevent the computation from taking place.
+     *
+     * @param computer
+     *            the {@link GLBcomputer} to monitor
+     * @param id
+     *            identifier of the computer, identical on every place and
+     *            unique to this computer
+     * @see #unregister(GLBcomputer)
+     */
+    static void register(GLBcomputer computer, String id) {
+        try {
+            final ObjectName name = objectName(id, computer.HOME.id);
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(new GLBPlace(computer), name);
+            computer.mbeanName = name;
+        } catch (final JMException e) {
+            System.err.println("Could not register the GLB MBean of place "
+                    + computer.HOME.id);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Unregisters the {@link GLBPlace} of the given computer from the platform
+     * MBean server. Has no effect if no MBean was registered for this
+     * computer.
+     *
+     * @param computer
+     *            the {@link GLBcomputer} which is discarded
+     */
+    static void unregister(GLBcomputer computer) {
+        final ObjectName name = computer.mbeanName;
+        if (name == null) {
+            return;
+        }
+        computer.mbeanName = null;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (final JMException e) {
+            System.err.println("Could not unregister the GLB MBean of place "
+                    + computer.HOME.id);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Gives the name under which the MBean of a computer is registered on a
+     * place
+     *
+     * @param id
+     *            identifier of the computer
+     * @param place
+     *            id of the place
+     * @return the name of the MBean of this computer on this place
+     * @throws JMException
+     *             if the name is malformed
+     */
+    static ObjectName objectName(String id, int place) throws JMException {
+        return new ObjectName("handist.glb:type=GLBPlace,computer=" + id
+                + ",place=" + place);
+    }
+
+    /** Computer whose state is exposed */
+    private final GLBcomputer computer;
+
+    /** Value of the work processed at the last rate computation */
+    private long lastWorkProcessed;
+
+    /** Timestamp of the last rate computation */
+    private long lastRateStamp;
+
+    /**
+     * Constructor
+     *
+     * @param c
+     *            computer whose state is exposed
+     */
+    GLBPlace(GLBcomputer c) {
+        computer = c;
+        lastRateStamp = System.nanoTime();
+    }
+
+    @Override
+    public double getEstimatedWork() {
+        final ProgressEstimator p = computer.progress;
+        return p == null ? -1 : p.getEstimatedWork();
+    }
+
+    @Override
+    public double getEstimatedRemainingTime() {
+        final ProgressEstimator p = computer.progress;
+        final Duration remaining = p == null ? null : p.getRemainingTime();
+        return remaining == null ? -1 : remaining.toMillis() / 1e3;
+    }
+
+    @Override
+    public long getInformationReceived() {
+        return computer.logger.communicationReceived.sum();
+    }
+
+    @Override
+    public long getInformationSent() {
+        return computer.logger.communicationSent;
+    }
+
+    @Override
+    public int getLifelinesEstablished() {
+        int established = 0;
+        for (final Boolean b : computer.lifelineEstablished.values()) {
+            if (b) {
+                established++;
+            }
+        }
+        return established;
+    }
+
+    @Override
+    public long getLifelineStealsAttempted() {
+        return computer.logger.lifelineStealsAttempted.sum();
+    }
+
+    @Override
+    public long getLifelineStealsReceived() {
+        return computer.logger.lifelineStealsReceived.sum();
+    }
+
+    @Override
+    public long getLifelineStealsSuccess() {
+        return computer.logger.lifelineStealsSuccess.sum();
+    }
+
+    @Override
+    public long getLifelineStealsSuffered() {
+        return computer.logger.lifelineStealsSuffered.sum();
+    }
+
+    @Override
+    public int getLifelineThievesPending() {
+        return computer.lifelineThieves.size();
+    }
+
+    @Override
+    public int getPlace() {
+        return computer.HOME.id;
+    }
+
+    @Override
+    public int getRandomSteals() {
+        return computer.CONFIGURATION.w;
+    }
+
+    @Override
+    public long getRandomStealsAttempted() {
+        return computer.logger.stealsAttempted.sum();
+    }
+
+    @Override
+    public long getRandomStealsReceived() {
+        return computer.logger.stealsReceived.sum();
+    }
+
+    @Override
+    public long getRandomStealsSuccess() {
+        return computer.logger.stealsSuccess.sum();
+    }
+
+    @Override
+    public long getRandomStealsSuffered() {
+        return computer.logger.stealsSuffered.sum();
+    }
+
+    @Override
+    public String getState() {
+        switch (computer.state) {
+        case 0:
+            return "running";
+        case -1:
+            return "stealing";
+        default:
+            return "inactive";
+        }
+    }
+
+    @Override
+    public int getWorkerCount() {
+        return computer.workerCount;
+    }
+
+    @Override
+    public long getWorkProcessed() {
+        return computer.logger.workProcessed.sum();
+    }
+
+    @Override
+    public synchronized double getWorkProcessedPerSecond() {
+        final long stamp = System.nanoTime();
+        final long processed = getWorkProcessed();
+        long delta = processed - lastWorkProcessed;
+        if (delta < 0) {
+            // A new computation started since the last call
+            delta = processed;
+        }
+        final double rate = delta * 1e9 / Math.max(1, stamp - lastRateStamp);
+        lastWorkProcessed = processed;
+        lastRateStamp = stamp;
+        return rate;
+    }
+
+    @Override
+    public int getWorkUnit() {
+        return computer.CONFIGURATION.n;
+    }
+
+    @Override
+    public boolean isInterQueueEmpty() {
+        return computer.interQueueEmpty;
+    }
+
+    @Override
+    public boolean isIntraQueueEmpty() {
+        return computer.intraQueueEmpty;
+    }
+}
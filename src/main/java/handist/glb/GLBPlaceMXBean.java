@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+/**
+ * Management interface exposing the live state of the {@link GLBcomputer} of
+ * a place. An instance is registered in the platform MBean server of each
+ * place under the name
+ * {@code handist.glb:type=GLBPlace,computer=<i>,place=<id>} where {@code <i>}
+ * is an identifier generated for each {@link GLBcomputer}, so that computers
+ * sharing the places can be monitored side by side. The MBeans of a computer
+ * are unregistered by {@link GLBcomputer#close()}. They can be observed
+ * during the computation with tools such as jconsole or VisualVM.
+ * <p>
+ * The counters are those of the {@link PlaceLogger} of the current (or last)
+ * computation and are therefore subject to the instrumentation level set with
+ * {@value Configuration#GLBM_INSTRUMENTATION}.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public interface GLBPlaceMXBean {
+
+    /**
+     * Total work of the computation launched from this place as currently
+     * estimated by its {@link ProgressEstimator}
+     *
+     * @return estimated total work, {@code -1} if the progress of the
+     *         computation is not estimated or if it was launched from another
+     *         place
+     * @see GLBcomputer#getProgress()
+     */
+    public double getEstimatedWork();
+
+    /**
+     * Time left before the computation launched from this place completes, as
+     * currently estimated by its {@link ProgressEstimator}
+     *
+     * @return estimated remaining time in seconds, {@code -1} if unknown
+     * @see GLBcomputer#getProgress()
+     */
+    public double getEstimatedRemainingTime();
+
+    /**
+     * Number of information exchanges received through the {@link Whisperer}
+     * mechanism
+     *
+     * @return count of information received
+     */
+    public long getInformationReceived();
+
+    /**
+     * Number of information exchanges sent through the {@link Whisperer}
+     * mechanism
+     *
+     * @return count of information sent
+     */
+    public long getInformationSent();
+
+    /**
+     * Indicates if the queue used for load balance with remote places is empty
+     *
+     * @return {@code true} if the inter place queue is empty
+     */
+    public boolean isInterQueueEmpty();
+
+    /**
+     * Indicates if the queue used for load balance between the workers of the
+     * place is empty
+     *
+     * @return {@code true} if the intra place queue is empty
+     */
+    public boolean isIntraQueueEmpty();
+
+    /**
+     * Number of lifelines this place has currently established on other places
+     *
+     * @return count of established lifelines
+     */
+    public int getLifelinesEstablished();
+
+    /**
+     * Number of lifeline steals attempted by this place
+     *
+     * @return count of lifeline steals attempted
+     */
+    public long getLifelineStealsAttempted();
+
+    /**
+     * Number of lifeline steals received by this place
+     *
+     * @return count of lifeline steals received
+     */
+    public long getLifelineStealsReceived();
+
+    /**
+     * Number of lifeline steals attempted by this place that were successful
+     *
+     * @return count of successful lifeline steals
+     */
+    public long getLifelineStealsSuccess();
+
+    /**
+     * Number of lifeline steals received by this place that were answered with
+     * some loot
+     *
+     * @return count of lifeline steals suffered
+     */
+    public long getLifelineStealsSuffered();
+
+    /**
+     * Number of lifeline thieves waiting for some work from this place
+     *
+     * @return count of pending lifeline thieves
+     */
+    public int getLifelineThievesPending();
+
+    /**
+     * Identifier of the place
+     *
+     * @return integer id of the place
+     */
+    public int getPlace();
+
+    /**
+     * Maximum number of random steals performed before turning to the
+     * lifelines, as currently set by the tuner
+     *
+     * @return current value of {@link Configuration#w}
+     */
+    public int getRandomSteals();
+
+    /**
+     * Number of random steals attempted by this place
+     *
+     * @return count of random steals attempted
+     */
+    public long getRandomStealsAttempted();
+
+    /**
+     * Number of random steals received by this place
+     *
+     * @return count of random steals received
+     */
+    public long getRandomStealsReceived();
+
+    /**
+     * Number of random steals attempted by this place that were successful
+     *
+     * @return count of successful random steals
+     */
+    public long getRandomStealsSuccess();
+
+    /**
+     * Number of random steals received by this place answered with some loot
+     *
+     * @return count of random steals suffered
+     */
+    public long getRandomStealsSuffered();
+
+    /**
+     * State of the place
+     *
+     * @return "running", "stealing" or "inactive"
+     */
+    public String getState();
+
+    /**
+     * Number of workers currently launched on the place. This count includes
+     * the workers that are temporarily yielding their thread.
+     *
+     * @return number of launched workers
+     */
+    public int getWorkerCount();
+
+    /**
+     * Total amount of work requested from the workers' bags with
+     * {@link Bag#process(int, handist.glb.util.Fold)} since the beginning of
+     * the computation. As bags may process less than the requested amount when
+     * they run out of work, this is an upper bound of the number of nodes
+     * processed.
+     *
+     * @return amount of work processed on this place
+     */
+    public long getWorkProcessed();
+
+    /**
+     * Rate at which work was processed on this place since the previous call
+     * to this method (or since the beginning of the computation on the first
+     * call).
+     *
+     * @return amount of work processed per second, as measured with
+     *         {@link #getWorkProcessed()}
+     */
+    public double getWorkProcessedPerSecond();
+
+    /**
+     * Amount of work processed by the workers before checking the runtime, as
+     * currently set by the tuner
+     *
+     * @return current value of {@link Configuration#n}
+     */
+    public int getWorkUnit();
+}
@@ -13,21 +13,48 @@ package handist.glb;
 
 import static apgas.Constructs.*;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinPool.ManagedBlocker;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.ObjectName;
 
 import apgas.GlobalRuntime;
 import apgas.Place;
+import apgas.SerializableJob;
 import apgas.util.PlaceLocalObject;
+import handist.glb.simulation.NetworkModel;
+import handist.glb.trace.PlaceTrace;
+import handist.glb.trace.Trace;
+import handist.glb.trace.TraceEvent;
 import handist.glb.tuning.Tuner;
+import handist.glb.util.Compressor;
 import handist.glb.util.Fold;
 import handist.glb.util.LifelineStrategy;
+import handist.glb.util.Satisfiable;
 import handist.glb.util.SerializableSupplier;
+import handist.glb.util.SnapshotListener;
+import handist.glb.util.Serialization;
 
 /**
  * Class {@link GLBcomputer} implements a lifeline-based work-stealing scheme
@@ -99,6 +126,239 @@ public class GLBcomputer extends PlaceLocalObject {
         }
     }
 
+    /**
+     * Periodic task gathering the deltas of the results of all places into
+     * place 0 and passing the running aggregate to the
+     * {@link SnapshotListener}. One instance is created for each computation
+     * launched while a listener is set.
+     *
+     * @see GLBcomputer#startSnapshots(SerializableSupplier)
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    class Snapshots implements Runnable {
+
+        /** Aggregate of the deltas received so far */
+        final Fold aggregate;
+
+        /** Listener to which the aggregate is passed after each snapshot */
+        final SnapshotListener listener;
+
+        /** Scheduled execution of this task */
+        ScheduledFuture<?> future;
+
+        /**
+         * Flag set when the computation has completed, after which no
+         * snapshot is taken anymore
+         */
+        boolean stopped;
+
+        @Override
+        public synchronized void run() {
+            if (stopped) {
+                return;
+            }
+            final Fold delta = snapshotDelta();
+            if (delta != null) {
+                aggregate.fold(delta);
+                listener.snapshot(aggregate);
+            }
+        }
+
+        /**
+         * Stops the snapshots. When this method returns, no snapshot is in
+         * progress and none will be taken anymore, allowing the results of the
+         * places to be gathered.
+         */
+        synchronized void stop() {
+            stopped = true;
+            future.cancel(false);
+        }
+
+        /**
+         * Constructor
+         *
+         * @param a
+         *            empty result instance in which the deltas are aggregated
+         * @param l
+         *            listener receiving the aggregate
+         */
+        Snapshots(Fold a, SnapshotListener l) {
+            aggregate = a;
+            listener = l;
+        }
+    }
+
+    /**
+     * Executor running the computations submitted with the asynchronous
+     * methods of this class one after the other on a single daemon thread.
+     * Only created on the place the asynchronous methods are called, the first
+     * time one of them is called.
+     *
+     * @see #asyncExecutor()
+     */
+    ExecutorService asyncExecutor;
+
+    /**
+     * Executor cancelling the computations whose deadline has expired, taking
+     * the snapshots of the result and refining the progress estimation. Only
+     * created on the place the computations using one of these features are
+     * launched from.
+     *
+     * @see #timer()
+     */
+    ScheduledExecutorService timer;
+
+    /**
+     * Estimate of the work contained in the loot discarded by this place after
+     * the computation was cancelled, for bags implementing {@link Measurable}
+     */
+    final LongAdder discardedWork = new LongAdder();
+
+    /**
+     * Number of probes performed at each round of the progress estimation, 0
+     * if the progress of the computations is not estimated
+     *
+     * @see #setProgressEstimation(int, Duration)
+     */
+    int estimationProbes;
+
+    /**
+     * Interval in nanoseconds between two rounds of the progress estimation
+     */
+    long estimationInterval;
+
+    /**
+     * Estimation of the progress of the last computation launched from this
+     * place, {@code null} if it was not estimated
+     */
+    volatile ProgressEstimator progress;
+
+    /**
+     * Local directory in which the checkpoints of this place are written,
+     * {@code null} if the computations are not checkpointed
+     *
+     * @see #setCheckpointing(String, Duration)
+     */
+    String checkpointDirectory;
+
+    /** Interval in nanoseconds between two checkpoints */
+    long checkpointInterval;
+
+    /**
+     * Files in which this place writes its checkpoints, created with the first
+     * checkpoint
+     */
+    CheckpointFile checkpointFile;
+
+    /**
+     * Executor writing the checkpoints of this place into the
+     * {@link #checkpointFile} while the computation resumes. Created with the
+     * first checkpoint.
+     *
+     * @see #checkpointWriter()
+     */
+    ExecutorService checkpointWriter;
+
+    /**
+     * Exception thrown by the last asynchronous write of a checkpoint of this
+     * place, reported when the next checkpoint is taken
+     */
+    volatile IOException checkpointFailure;
+
+    /**
+     * Lock preventing the computation from being paused for a checkpoint after
+     * it has completed on the place it was launched from
+     */
+    final Object checkpointLock = new Object();
+
+    /**
+     * Indicates if the current computation may still be paused to take a
+     * checkpoint. Guarded by {@link #checkpointLock}.
+     */
+    boolean checkpointsEnabled;
+
+    /**
+     * Sequence number of the last checkpoint taken from this place, numbering
+     * continues from the checkpoint restored by a restart
+     */
+    long checkpointSequence;
+
+    /** Number of checkpoints taken during the last computation */
+    long checkpointsTaken;
+
+    /**
+     * Time in nanoseconds the last computation spent paused for its
+     * checkpoints
+     */
+    long checkpointTime;
+
+    /**
+     * Buffers in which the control messages sent by this place are coalesced,
+     * {@code null} if aggregation is disabled
+     *
+     * @see #setAggregation(Duration, int)
+     */
+    MessageAggregator aggregator;
+
+    /**
+     * Indicates if the loot serialized by the APGAS runtime is serialized one
+     * more time to record its size in the {@link #logger}
+     *
+     * @see #setLootSizeMeasurement(boolean)
+     */
+    boolean lootSizeMeasured;
+
+    /**
+     * Rings through which loot is sent to the places running on the same
+     * host, {@code null} if shared memory transfers are disabled
+     *
+     * @see #setSharedMemory(String, String, int)
+     */
+    SharedMemory sharedMemory;
+
+    /**
+     * Name under which the {@link GLBPlaceMXBean} of this computer is
+     * registered on this place, {@code null} if it is not registered
+     *
+     * @see GLBPlace#register(GLBcomputer, String)
+     */
+    ObjectName mbeanName;
+
+    /**
+     * Number of threads of the {@link #POOL} kept free of workers to run the
+     * activities of the load balancing protocol, 0 if the workers yield to
+     * let these activities run
+     *
+     * @see #setCommunicationThreads(int)
+     */
+    int communicationThreads;
+
+    /**
+     * Compressor of the loot and results sent by this place, {@code null} if
+     * compression is disabled
+     *
+     * @see #setCompression(int)
+     */
+    Compressor compressor;
+
+    /**
+     * Flag indicating the current computation was cancelled on this place.
+     * Once set, the workers stop processing their bag, the queues are no
+     * longer used and the loot received is discarded.
+     *
+     * @see #abort(long, boolean)
+     */
+    volatile boolean cancelled;
+
+    /**
+     * Flag indicating the current computation was stopped on this place to
+     * take a checkpoint rather than cancelled. Only meaningful while
+     * {@link #cancelled} is set.
+     *
+     * @see #checkpointAll(long)
+     */
+    volatile boolean checkpointing;
+
     /**
      * Lock used to periodically call the method that will spread the
      * information contained in the shared memory.
@@ -113,6 +373,13 @@ public class GLBcomputer extends PlaceLocalObject {
      */
     volatile boolean communicatorThreadShutdown;
 
+    /**
+     * Number of the current computation, incremented on every place each time
+     * the place is prepared for a new computation. Used to ignore the
+     * cancellation of a computation which has already completed.
+     */
+    long computationNumber;
+
     /**
      * {@link Logger} instance used to gather the {@link PlaceLogger}s of each
      * place and hold runtime information common to the whole computation.
@@ -121,6 +388,14 @@ public class GLBcomputer extends PlaceLocalObject {
      */
     Logger computationLog;
 
+    /**
+     * {@link Trace} instance used to gather the {@link PlaceTrace}s of each
+     * place after a computation.
+     *
+     * @see #getTrace()
+     */
+    Trace computationTrace;
+
     /**
      * Configuration of this instance. Holds all the configuration information,
      * including the initial configuration used and the parameters currently in
@@ -128,6 +403,17 @@ public class GLBcomputer extends PlaceLocalObject {
      */
     final Configuration CONFIGURATION;
 
+    /**
+     * Network emulated between the places, {@code null} if the messages are
+     * delivered without additional delay. When set, the load balance messages
+     * and the whisperer messages are held on their destination for the time
+     * given by this model before being handled.
+     *
+     * @see Configuration#GLBM_EMULATION_LATENCY
+     * @see #emulateTransfer(long)
+     */
+    final NetworkModel emulatedNetwork;
+
     /**
      * Array containing a flag for each worker (the worker's id is used as index
      * in the array). A {@code 1} value at index {@code i} indicates that the
@@ -197,10 +483,20 @@ public class GLBcomputer extends PlaceLocalObject {
      */
     ConcurrentHashMap<Integer, Boolean> lifelineEstablished;
 
+    /**
+     * Time stamps at which this place established its lifelines, indexed by
+     * the id of the place on which the lifeline was established. Holds
+     * {@link #NO_STAMP} for the lifelines established as part of the initial
+     * conditions in method
+     * {@link #reset(SerializableSupplier, SerializableSupplier, SerializableSupplier, SerializableSupplier)}.
+     * Used to measure the time needed for loot to come through a lifeline.
+     */
+    AtomicLongArray lifelineEstablishedStamps;
+
     /**
      * Collection used to record the lifeline thieves that have requested some
      * work from this place but could not be given some work straight away as
-     * part of method {@link #steal(int)}. The thieves stored in this member
+     * part of method {@link #steal(int, long)}. The thieves stored in this member
      * will be answered by the thread running the
      * {@link #lifelineAnswerThread()} when work becomes available.
      */
@@ -236,6 +532,21 @@ public class GLBcomputer extends PlaceLocalObject {
      */
     boolean logsGiven;
 
+    /**
+     * Value used in place of a time stamp when the sending time of a steal
+     * request answered by method {@link #deal(int, Bag, long, long)} is unknown or
+     * does not apply
+     */
+    static final long NO_STAMP = Long.MIN_VALUE;
+
+    /**
+     * Results of the jobs of a {@link JobPipeline} being gathered on place 0,
+     * indexed by the number of the job in the pipeline
+     *
+     * @see #pipelineGather(long, Fold)
+     */
+    final ConcurrentHashMap<Long, JobPipeline.Gather> pipelineGathers;
+
     /**
      * ForkJoinPool of the APGAS runtime used at this place to process the
      * activities. This member is kept in order for asynchronous
@@ -283,6 +594,20 @@ public class GLBcomputer extends PlaceLocalObject {
      */
     volatile boolean shutdown;
 
+    /**
+     * Listener receiving the snapshots of the result of the computations
+     * launched from this place, {@code null} if no snapshots are taken
+     *
+     * @see #setSnapshotListener(SnapshotListener, Duration)
+     */
+    @SuppressWarnings("rawtypes")
+    SnapshotListener snapshotListener;
+
+    /**
+     * Interval in nanoseconds between two snapshots of the result
+     */
+    long snapshotInterval;
+
     /**
      * State of this place.
      * <ul>
@@ -295,6 +620,20 @@ public class GLBcomputer extends PlaceLocalObject {
      */
     volatile int state;
 
+    /**
+     * Events recorded on this place during the computation, {@code null} if
+     * tracing is disabled.
+     *
+     * @see Configuration#GLBM_TRACE
+     */
+    PlaceTrace trace;
+
+    /**
+     * Indicates if the traces have already been gathered by method
+     * {@link #getTrace()} since the last computation.
+     */
+    boolean tracesGiven;
+
     /**
      * Instance responsible for tuning of the {@link GLBcomputer} various
      * parameters during the computation. Is given to the {@link #logger}
@@ -349,7 +688,7 @@ public class GLBcomputer extends PlaceLocalObject {
      * This collection is also used as the lock provider for synchronized blocks
      * when member {@link #workerCount} needs to be read or modified in a
      * protected manner. This includes segments of methods
-     * {@link #deal(int, Bag)} and
+     * {@link #deal(int, Bag, long, long)} and
      * {@link #workerProcess(GLBcomputer.WorkerBag)}.
      * <p>
      * <em>After the computation</em>, all the {@link Bag}s processed by the
@@ -373,10 +712,28 @@ public class GLBcomputer extends PlaceLocalObject {
      * activities to be performed. Those yields do not change the value of
      * {@link #workerCount} but are tracked separately in class member
      * {@link #logger} with methods {@link PlaceLogger#workerYieldStart()} and
-     * {@link PlaceLogger#workerYieldStop()}.
+     * {@link PlaceLogger#workerYieldStop(long)}.
      */
     int workerCount;
 
+    /**
+     * Maximum number of concurrent workers on this place. Equal to
+     * {@link Configuration#x} unless some threads of the {@link #POOL} are
+     * reserved for the load balancing protocol.
+     *
+     * @see #setCommunicationThreads(int)
+     */
+    int workerLimit;
+
+    /**
+     * Supplier of empty worker bags given to the last call to method
+     * {@link #reset(SerializableSupplier, SerializableSupplier, SerializableSupplier, SerializableSupplier)}.
+     * Used to renew the worker bags between the jobs of a {@link JobPipeline}
+     * without sending the supplier to every place again.
+     */
+    @SuppressWarnings("rawtypes")
+    SerializableSupplier<? extends Bag> workerInitializer;
+
     /**
      * Lock instance used by {@link #workerProcess(WorkerBag)} to yield their
      * execution to allow other activities (such as remote steals or lifeline
@@ -412,10 +769,20 @@ public class GLBcomputer extends PlaceLocalObject {
      * @param whisperInterval
      *            interval at which the shared object contents are propagated to
      *            neighboring nodes
+     * @param instrumentation
+     *            amount of runtime information recorded by the
+     *            {@link PlaceLogger} of this place
+     * @param traceCapacity
+     *            number of events kept in each trace buffer, 0 to disable
+     *            tracing
+     * @param network
+     *            network to emulate between the places, {@code null} to
+     *            deliver messages without additional delay
      */
     GLBcomputer(int workUnit, int randomSteals, LifelineStrategy s,
             int maximumConcurrentWorkers, long tuningTimeout, Tuner t,
-            long whisperInterval) {
+            long whisperInterval, String instrumentation, int traceCapacity,
+            NetworkModel network) {
         String tunerClass;
         if (t != null) {
             tunerClass = t.getClass().toString();
@@ -426,10 +793,11 @@ public class GLBcomputer extends PlaceLocalObject {
         CONFIGURATION = new Configuration(places().size(),
                 maximumConcurrentWorkers, workUnit, randomSteals,
                 s.getClass().toString(), tuningTimeout, tunerClass,
-                whisperInterval);
+                whisperInterval, instrumentation, traceCapacity);
 
         tunerLock = new TimeoutBlocker();
         communicatorLock = new TimeoutBlocker();
+        emulatedNetwork = network;
         tuner = t;
         POOL = (ForkJoinPool) GlobalRuntime.getRuntime().getExecutorService();
         HOME = here();
@@ -441,118 +809,1132 @@ public class GLBcomputer extends PlaceLocalObject {
         feedInterQueueRequested = new AtomicIntegerArray(CONFIGURATION.x);
 
         lifelineEstablished = new ConcurrentHashMap<>(LIFELINE.length);
+        lifelineEstablishedStamps = new AtomicLongArray(CONFIGURATION.p);
         lifelineThieves = new ConcurrentLinkedQueue<>();
-        logger = new PlaceLogger(CONFIGURATION, HOME.id);
+        pipelineGathers = new ConcurrentHashMap<>();
+        logger = PlaceLogger.newPlaceLogger(CONFIGURATION, HOME.id);
         workerBags = new ConcurrentLinkedQueue<>();
 
         lifelineAnswerLock = new Lock();
         workerAvailableLocks = new ConcurrentLinkedQueue<>();
         workerLock = new Lock();
         workerAvailableLocks.add(workerLock);
+        workerLimit = CONFIGURATION.x;
     }
 
     /**
-     * Sends the order to all places to gather their results in their
-     * {@link #result} member before sending it to place 0. This is done
-     * asynchronously, this method will block until all places have completed
-     * their {@link #collectResult} method.
+     * Cancels the given computation on this place and propagates the
+     * cancellation to the places linked to this place by lifelines. Has no
+     * effect if the computation was already cancelled on this place or if the
+     * place was prepared for a later computation.
+     * <p>
+     * The messages propagating the cancellation are counted by the
+     * {@code finish} of the caller, which guarantees that they are handled
+     * before the computation they cancel completes.
+     *
+     * @param computation
+     *            number of the cancelled computation
+     * @param checkpoint
+     *            {@code true} if the computation is only paused to take a
+     *            checkpoint, {@code false} if it is cancelled
+     * @see #computationNumber
      */
-    void collectAllResult() {
-        finish(() -> {
-            for (final Place p : places()) {
-                asyncAt(p, () -> collectResult());
-            }
-        });
+    void abort(long computation, boolean checkpoint) {
+        if (stop(computation, checkpoint)) {
+            spreadCancellation(computation, checkpoint);
+        }
     }
 
     /**
-     * Makes the place gather the results contained by all its bags into its
-     * member {@link #result}. If this place ({@link #HOME}) is not place 0,
-     * sends the content of the result to place 0 to be merged with all the
-     * other results there.
+     * Sends the cancellation of the given computation to the places linked to
+     * this place by a lifeline in either direction. As each place forwards the
+     * cancellation the first time it receives it, it reaches every place.
+     *
+     * @param computation
+     *            number of the cancelled computation
+     * @param checkpoint
+     *            {@code true} if the computation is only paused to take a
+     *            checkpoint
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
-    void collectResult() {
-        synchronized (result) { // Synchronized in case this is place 0 and
-                                // remote
-                                // results are going to merge in
-            for (final WorkerBag wb : workerBags) {
-                wb.bag.submit(result);
+    void spreadCancellation(long computation, boolean checkpoint) {
+        for (final int l : LIFELINE) {
+            asyncAt(place(l), () -> abort(computation, checkpoint));
+        }
+        for (final int l : REVERSE_LIFELINE) {
+            asyncAt(place(l), () -> abort(computation, checkpoint));
+        }
+    }
+
+    /**
+     * Stops the given computation on this place. The workers abandon their bag
+     * and the queues at their next iteration, the thieves waiting for an
+     * answer resume and the loot received afterwards is discarded.
+     * <p>
+     * When the computation is only paused to take a checkpoint, the workers
+     * put their bag back into {@link #workerBags} with its remaining content
+     * and the loot received is kept in the {@link #interPlaceQueue}. A
+     * cancellation received while the computation is paused turns the pause
+     * into a cancellation.
+     *
+     * @param computation
+     *            number of the cancelled computation
+     * @param checkpoint
+     *            {@code true} if the computation is paused to take a
+     *            checkpoint, {@code false} if it is cancelled
+     * @return {@code true} if the computation was stopped by this call or if
+     *         its pause was turned into a cancellation, {@code false} if it
+     *         was already stopped or is not the current computation of this
+     *         place
+     */
+    boolean stop(long computation, boolean checkpoint) {
+        synchronized (workerBags) {
+            if (computation != computationNumber) {
+                return false;
+            }
+            if (!cancelled) {
+                checkpointing = checkpoint;
+                cancelled = true;
+            } else if (checkpoint || !checkpointing) {
+                return false;
+            } else {
+                checkpointing = false; // The pause becomes a cancellation
+            }
+        }
+        if (!checkpoint) {
+            synchronized (intraPlaceQueue) {
+                intraQueueEmpty = true;
+                interQueueEmpty = true;
             }
         }
+        workerLock.unblock(); // Yielding workers notice the cancellation
+        synchronized (this) {
+            notifyAll(); // Thieves stop waiting for an answer
+        }
+        return true;
+    }
 
-        final Fold r = result;
-        if (HOME.id != 0) {
-            asyncAt(place(0), () -> {
-                synchronized (result) { // Synchronized to avoid concurrent
-                                        // merging/gathering on place 0
-                    result.fold(r);
-                }
+    /**
+     * Makes the workers of this computer yield with the lock of the given
+     * computer on this place. Used for computers sharing the threads of the
+     * places, so that the arrival of an activity of any of them releases the
+     * worker which yielded to let it run.
+     *
+     * @param other
+     *            computer whose yield lock is shared with this computer
+     */
+    void shareYieldLock(GLBcomputer other) {
+        workerLock = other.workerLock;
+        workerAvailableLocks = other.workerAvailableLocks;
+    }
+
+    /**
+     * Returns the executor running the asynchronous computations, creating it
+     * if necessary.
+     *
+     * @return the executor of the asynchronous computations
+     */
+    synchronized ExecutorService asyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = Executors.newSingleThreadExecutor(r -> {
+                final Thread t = new Thread(r, "GLB-async-computation");
+                t.setDaemon(true);
+                return t;
             });
         }
+        return asyncExecutor;
     }
 
     /**
-     * Communication task that relies on a whispering scheme to propagate
-     * information. Is shut down by setting the flag
-     * {@link #communicatorThreadShutdown} to {@code true}.
+     * Returns the executor cancelling the computations whose deadline has
+     * expired, taking the snapshots of the result and refining the progress
+     * estimation, creating it if necessary. It has one thread for each of
+     * these tasks so that a deadline can expire while the places are being
+     * queried.
+     *
+     * @return the executor in charge of the deadlines, snapshots and
+     *         estimations
      */
-    @SuppressWarnings("unchecked")
-    void communicatorThread() {
-        while (!communicatorThreadShutdown) {
-            final long lastCall = System.nanoTime();
-            communicatorLock
-                    .setNextWakeup(lastCall + CONFIGURATION.whisperInterval);
-            try {
-                ForkJoinPool.managedBlock(tunerLock);
-            } catch (final InterruptedException e) {
-                // Ignore
-            }
-            workerLock.unblock();
-            if (whisperer.hasValueToShare(result)) {
-                logger.communicationSent++;
-                final Serializable s = whisperer.getInformation(result);
-                for (final int l : LIFELINE) {
-                    uncountedAsyncAt(place(l), () -> {
-                        workerLock.unblock();
-                        logger.communicationReceived.incrementAndGet();
-                        whisperer.integrateInformation(s, result);
-                    });
-                }
-            }
+    synchronized ScheduledExecutorService timer() {
+        if (timer == null) {
+            timer = Executors.newScheduledThreadPool(3, r -> {
+                final Thread t = new Thread(r, "GLB-timer");
+                t.setDaemon(true);
+                return t;
+            });
         }
+        return timer;
     }
 
     /**
-     * Computes the given bag and returns the aggregated result of this
-     * computation.
+     * Schedules the cancellation of the current computation once the given
+     * deadline has expired. Has no effect if {@code deadline} is {@code null}.
      *
-     * @param <R>
-     *            type of the result produced by the computation
-     * @param <B>
-     *            type of the computation bag
-     * @param bag
-     *            the computation to be performed
-     * @param initResultSupplier
-     *            function that provides new empty result instances
-     * @param emptyBagSupplier
-     *            function that provides new empty computation bag instances
-     * @return aggregated result of the computation
+     * @param deadline
+     *            time allowed to the computation, may be {@code null}
+     * @return the scheduled cancellation, to be cancelled if the computation
+     *         completes before its deadline, or {@code null} if no deadline was
+     *         given
      */
-    public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> R compute(
-            B bag, SerializableSupplier<R> initResultSupplier,
-            SerializableSupplier<B> emptyBagSupplier) {
-        return compute(bag, initResultSupplier, emptyBagSupplier,
-                emptyBagSupplier);
+    ScheduledFuture<?> scheduleDeadline(Duration deadline) {
+        if (deadline == null) {
+            return null;
+        }
+        final long computation = computationNumber;
+        return timer().schedule(() -> cancel(computation),
+                deadline.toNanos(), TimeUnit.NANOSECONDS);
     }
 
     /**
-     * Computes the given bag and returns the result of the distributed
-     * computation.
+     * Sets the listener receiving snapshots of the result while the
+     * computations launched from this place are in progress. The snapshots are
+     * taken at the interval set with property
+     * {@value Configuration#GLBM_SNAPSHOT_INTERVAL}, 1 second by default. The
+     * result type of the computation needs to implement method
+     * {@link Fold#delta()} for the snapshots to contain anything.
      *
      * @param <R>
-     *            type parameter for the result produced by the computation
-     * @param <B>
+     *            type of the result of the computations
+     * @param listener
+     *            listener receiving the snapshots, {@code null} to stop taking
+     *            snapshots
+     * @see #setSnapshotListener(SnapshotListener, Duration)
+     */
+    public <R extends Fold<R> & Serializable> void setSnapshotListener(
+            SnapshotListener<R> listener) {
+        setSnapshotListener(listener, Duration.ofNanos(Long.parseLong(
+                System.getProperty(Configuration.GLBM_SNAPSHOT_INTERVAL,
+                        Configuration.GLBM_DEFAULT_SNAPSHOT_INTERVAL))));
+    }
+
+    /**
+     * Sets the listener receiving snapshots of the result while the
+     * computations launched from this place are in progress. At the given
+     * interval, each place submits the part of its result accumulated since
+     * the previous snapshot (method {@link Fold#delta()}). The deltas are
+     * folded along a binary tree rooted in place 0 and added to a running
+     * aggregate which is passed to the listener.
+     * <p>
+     * The listener applies to the computations launched afterwards with the
+     * {@code compute} and {@code computeWhisperedResult} methods of this
+     * instance.
+     *
+     * @param <R>
+     *            type of the result of the computations
+     * @param listener
+     *            listener receiving the snapshots, {@code null} to stop taking
+     *            snapshots
+     * @param interval
+     *            time between two snapshots
+     */
+    public <R extends Fold<R> & Serializable> void setSnapshotListener(
+            SnapshotListener<R> listener, Duration interval) {
+        snapshotInterval = interval.toNanos();
+        snapshotListener = listener;
+    }
+
+    /**
+     * Starts taking snapshots of the computation about to be launched if a
+     * {@link SnapshotListener} is set.
+     *
+     * @param resultInitializer
+     *            initializer for the running aggregate
+     * @return the periodic snapshot task, to be stopped once the computation
+     *         completes, or {@code null} if no listener is set
+     */
+    @SuppressWarnings("rawtypes")
+    Snapshots startSnapshots(
+            SerializableSupplier<? extends Fold> resultInitializer) {
+        final SnapshotListener listener = snapshotListener;
+        if (listener == null) {
+            return null;
+        }
+        final Snapshots snapshots = new Snapshots(resultInitializer.get(),
+                listener);
+        snapshots.future = timer().scheduleAtFixedRate(snapshots,
+                snapshotInterval, snapshotInterval, TimeUnit.NANOSECONDS);
+        return snapshots;
+    }
+
+    /**
+     * Returns the deltas of the results of this place and of the places below
+     * it in the snapshot reduction tree folded together. The children of place
+     * {@code i} in this binary tree are places {@code 2i+1} and {@code 2i+2}.
+     * Both children are queried concurrently so that the snapshot takes a
+     * time proportional to the depth of the tree rather than to the number of
+     * places.
+     *
+     * @return the folded deltas, or {@code null} if the result type does not
+     *         support snapshots
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    Fold snapshotDelta() {
+        final Fold[] delta = { result.delta() };
+        finish(() -> {
+            for (int child = 2 * HOME.id + 1; child <= 2 * HOME.id + 2
+                    && child < CONFIGURATION.p; child++) {
+                final Place p = place(child);
+                async(() -> {
+                    final Fold d = (Fold) at(p,
+                            () -> (Serializable) snapshotDelta());
+                    synchronized (delta) {
+                        if (delta[0] == null) {
+                            delta[0] = d;
+                        } else if (d != null) {
+                            delta[0].fold(d);
+                        }
+                    }
+                });
+            }
+        });
+        return delta[0];
+    }
+
+    /**
+     * Enables the estimation of the progress of the computations launched from
+     * this place whose initial bag implements {@link Estimable}. Before each
+     * computation, the given number of probes are performed on a copy of the
+     * initial bag to estimate the total work. The same number of probes are
+     * performed at each interval during the computation, along with the
+     * gathering of the work processed by the places. This method is called on
+     * every place with the values of properties
+     * {@value Configuration#GLBM_ESTIMATION} and
+     * {@value Configuration#GLBM_ESTIMATION_INTERVAL} when the computer is set
+     * up.
+     *
+     * @param probes
+     *            number of probes performed at each round, 0 to disable the
+     *            estimation
+     * @param interval
+     *            time between two rounds of estimation
+     * @see #getProgress()
+     */
+    public void setProgressEstimation(int probes, Duration interval) {
+        estimationInterval = interval.toNanos();
+        estimationProbes = probes;
+    }
+
+    /**
+     * Returns the estimation of the progress of the computation currently
+     * running, or of the last computation if none is running.
+     *
+     * @return the progress estimation, or {@code null} if the estimation is
+     *         disabled or if the initial bag of the computation does not
+     *         implement {@link Estimable}
+     * @see #setProgressEstimation(int, Duration)
+     */
+    public ProgressEstimator getProgress() {
+        return progress;
+    }
+
+    /**
+     * Starts the estimation of the progress of the computation about to be
+     * launched with the given initial bag. The first round of probes is
+     * performed before this method returns.
+     *
+     * @param work
+     *            initial bag of the computation
+     * @return the periodic refinement of the estimation, or {@code null} if the
+     *         progress of this computation is not estimated
+     */
+    @SuppressWarnings("rawtypes")
+    ScheduledFuture<?> startEstimation(Bag work) {
+        progress = null;
+        if (estimationProbes <= 0 || !(work instanceof Estimable)) {
+            return null;
+        }
+        // The probes are made on a copy as the initial bag is consumed by the
+        // computation
+        final Estimable copy = (Estimable) Serialization
+                .copy((Serializable) work);
+        if (copy == null) {
+            return null;
+        }
+        final ProgressEstimator estimator = new ProgressEstimator(copy,
+                estimationProbes, computationNumber);
+        estimator.sample();
+        progress = estimator;
+        return timer().scheduleAtFixedRate(() -> {
+            estimator.sample();
+            estimator.update(workProcessedBelow());
+        }, estimationInterval, estimationInterval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the refinement of the progress estimation and records the work
+     * processed by the completed computation
+     *
+     * @param estimation
+     *            periodic refinement of the estimation, may be {@code null}
+     */
+    void stopEstimation(ScheduledFuture<?> estimation) {
+        if (estimation != null) {
+            estimation.cancel(false);
+            progress.update(workProcessedBelow());
+        }
+    }
+
+    /**
+     * Sums the work processed by this place and by the places below it in the
+     * binary reduction tree also used for the snapshots. As in
+     * {@link #snapshotDelta()}, both children are queried concurrently.
+     *
+     * @return work processed since the beginning of the computation
+     */
+    long workProcessedBelow() {
+        final LongAdder processed = new LongAdder();
+        processed.add(logger.workProcessed.sum());
+        finish(() -> {
+            for (int child = 2 * HOME.id + 1; child <= 2 * HOME.id + 2
+                    && child < CONFIGURATION.p; child++) {
+                final Place p = place(child);
+                async(() -> processed
+                        .add(at(p, () -> workProcessedBelow())));
+            }
+        });
+        return processed.sum();
+    }
+
+    /**
+     * Enables the checkpointing of the computations launched from this place
+     * with the {@code compute} methods. At each interval, the computation is
+     * paused on every place, each place serializes its worker bags, its queues
+     * and its partial result, and the computation resumes while the state is
+     * written into memory-mapped files of the given directory. A computation
+     * interrupted by a failure can then be resumed from its last complete
+     * checkpoint with method
+     * {@link #restart(SerializableSupplier, SerializableSupplier, SerializableSupplier)}.
+     * This method is called on every place with the values of properties
+     * {@value Configuration#GLBM_CHECKPOINT} and
+     * {@value Configuration#GLBM_CHECKPOINT_INTERVAL} when the computer is set
+     * up.
+     *
+     * @param directory
+     *            local directory of each host in which the checkpoints are
+     *            written, {@code null} to disable checkpointing
+     * @param interval
+     *            time between two checkpoints
+     */
+    public void setCheckpointing(String directory, Duration interval) {
+        checkpointInterval = interval.toNanos();
+        checkpointDirectory = directory;
+    }
+
+    /**
+     * Enables the compression of the loot sent to thieves and of the result
+     * sent to place 0 at the end of the computations. Payloads larger than the
+     * given size are compressed, the compression being abandoned for a number
+     * of payloads when it does not pay off (see {@link Compressor}). Loot of
+     * bags implementing {@link BagCodec} is compressed after being encoded,
+     * other loot and results after being serialized by this place. The number
+     * of bytes before and after compression are recorded in the logger of
+     * each place. This method is called on every place with the value of
+     * property {@value Configuration#GLBM_COMPRESSION} when the computer is
+     * set up.
+     *
+     * @param threshold
+     *            minimum size in bytes of the payloads to compress, a negative
+     *            value to disable compression
+     */
+    public void setCompression(int threshold) {
+        compressor = threshold < 0 ? null : new Compressor(threshold);
+    }
+
+    /**
+     * Enables the measurement of the size of the loot which goes through the
+     * serialization of the APGAS runtime. The loot is then serialized one more
+     * time before being sent, its size being recorded in the histogram
+     * {@link PlaceLogger#lootSize} with the full instrumentation level. This
+     * method is called on every place with the value of property
+     * {@value Configuration#GLBM_LOOT_SIZE} when the computer is set up.
+     *
+     * @param measured
+     *            {@code true} to measure the size of the loot
+     */
+    public void setLootSizeMeasurement(boolean measured) {
+        lootSizeMeasured = measured;
+    }
+
+    /**
+     * Enables the aggregation of the control messages sent by this place.
+     * Steal requests, lifeline registrations and whispers bound to the same
+     * place are then coalesced into a single activity, sent once the given
+     * window has elapsed since the first of them was issued or once the given
+     * number of messages is reached, whichever comes first. The window should
+     * remain well below the 5 milliseconds a thief waits for the answer to a
+     * steal request. This method is called on every place with the values of
+     * properties {@value Configuration#GLBM_AGGREGATION} and
+     * {@value Configuration#GLBM_AGGREGATION_SIZE} when the computer is set
+     * up.
+     *
+     * @param window
+     *            maximum time a control message is held back, zero or
+     *            negative to disable aggregation
+     * @param threshold
+     *            number of messages bound to a place after which they are
+     *            sent without waiting for the end of the window
+     */
+    public void setAggregation(Duration window, int threshold) {
+        aggregator = window.isZero() || window.isNegative() ? null
+                : new MessageAggregator(CONFIGURATION.p, window.toNanos(),
+                        threshold);
+    }
+
+    /**
+     * Enables the transfer of loot through shared memory between the places
+     * running on the same host. Each place creates a marker in the given
+     * directory, which must be local to each host ({@code /dev/shm} on
+     * Linux), through which the places of the same host recognize each other.
+     * The loot sent to such a place is then written into a memory-mapped ring
+     * dedicated to the pair of places rather than being sent through the
+     * APGAS transport, only its position being sent to the thief (see
+     * {@link SharedMemory}). Loot which does not fit in the free space of the
+     * ring is sent through the regular transport. This method is called on
+     * every place with the values of properties
+     * {@value Configuration#GLBM_SHARED_MEMORY} and
+     * {@value Configuration#GLBM_SHARED_MEMORY_SIZE} when the computer is set
+     * up. The files previously created by this place for the computer are
+     * deleted.
+     *
+     * @param directory
+     *            host-local directory in which the rings are created,
+     *            {@code null} to disable shared memory transfers
+     * @param session
+     *            name given to the files of this computer, identical on every
+     *            place and unique to this computer
+     * @param capacity
+     *            capacity in bytes of each ring
+     * @throws UncheckedIOException
+     *             if the marker of this place could not be created
+     */
+    public void setSharedMemory(String directory, String session,
+            int capacity) {
+        if (sharedMemory != null) {
+            sharedMemory.close();
+            sharedMemory = null;
+        }
+        if (directory == null) {
+            return;
+        }
+        try {
+            sharedMemory = new SharedMemory(directory, session, HOME.id,
+                    CONFIGURATION.p, capacity);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sets the number of threads of each place dedicated to the load balancing
+     * protocol.
+     * <p>
+     * The steal requests, loot and other messages between places arrive as
+     * activities of the {@link ForkJoinPool} of the APGAS runtime, which the
+     * workers also occupy. By default, workers cooperatively yield their
+     * thread when such activities are waiting, which they only notice between
+     * two chunks of {@link Configuration#n} work units. The latency of steals
+     * then depends on the size of these chunks.
+     * <p>
+     * When a positive number of threads is given, the workers of each place are
+     * limited so that this number of threads of the pool is always left for
+     * the activities of the protocol. These activities start as soon as they
+     * arrive and the workers no longer yield. The remote activities have to
+     * remain activities of the APGAS pool so that the {@code finish} of the
+     * computation tracks the loot they send, which is why these threads are
+     * taken from the pool rather than from a separate executor. This method is
+     * called on every place with the value of property
+     * {@value Configuration#GLBM_COMMUNICATION_THREADS} when the computer is
+     * set up.
+     *
+     * @param threads
+     *            number of threads of the pool reserved for the protocol, 0 to
+     *            let the workers yield instead
+     */
+    public void setCommunicationThreads(int threads) {
+        communicationThreads = Math.max(0, threads);
+        workerLimit = communicationThreads == 0 ? CONFIGURATION.x
+                : Math.max(1, Math.min(CONFIGURATION.x,
+                        POOL.getParallelism() - communicationThreads));
+    }
+
+    /**
+     * Sends a control message of the load balancing protocol to another
+     * place. If aggregation is enabled, the message is placed in the buffer
+     * of its destination and a flusher is spawned if none is pending for that
+     * buffer.
+     *
+     * @param destination
+     *            id of the place on which the message is run
+     * @param message
+     *            the message
+     * @param counted
+     *            {@code true} if the activity of the message has to be tracked
+     *            by the enclosing {@code finish}, as is the case for steal
+     *            requests whose answer carries work, {@code false} otherwise
+     * @see #setAggregation(Duration, int)
+     */
+    void sendControl(int destination, SerializableJob message,
+            boolean counted) {
+        if (aggregator == null) {
+            final SerializableJob m = () -> {
+                emulateTransfer(0);
+                message.run();
+            };
+            if (counted) {
+                asyncAt(place(destination), m);
+            } else {
+                uncountedAsyncAt(place(destination), m);
+            }
+        } else if (aggregator.add(destination, message, counted)) {
+            if (counted) {
+                async(() -> flushControl(destination, true));
+            } else {
+                uncountedAsyncAt(HOME, () -> flushControl(destination, false));
+            }
+        }
+    }
+
+    /**
+     * Flusher activity spawned by {@link #sendControl(int, SerializableJob,
+     * boolean)}. Waits until the buffer of the destination is due and sends
+     * its content as a single activity.
+     *
+     * @param destination
+     *            id of the place whose buffer is flushed
+     * @param counted
+     *            {@code true} if this flusher runs within the {@code finish}
+     *            tracking the counted messages
+     */
+    void flushControl(int destination, boolean counted) {
+        aggregator.await(destination);
+        final SerializableJob[] batch = aggregator.take(destination, counted);
+        if (batch == null) {
+            return;
+        }
+        logger.batchSent(batch.length);
+        final SerializableJob b = () -> {
+            emulateTransfer(0);
+            for (final SerializableJob m : batch) {
+                m.run();
+            }
+        };
+        if (counted) {
+            asyncAt(place(destination), b);
+        } else {
+            uncountedAsyncAt(place(destination), b);
+        }
+    }
+
+    /**
+     * Returns the executor writing the checkpoints of this place, creating it
+     * if necessary along with the checkpoint files.
+     *
+     * @return the executor writing the checkpoints
+     * @throws IOException
+     *             if the checkpoint directory could not be created
+     */
+    synchronized ExecutorService checkpointWriter() throws IOException {
+        if (checkpointWriter == null) {
+            checkpointFile = new CheckpointFile(checkpointDirectory, HOME.id);
+            checkpointWriter = Executors.newSingleThreadExecutor(r -> {
+                final Thread t = new Thread(r, "GLB-checkpoint-writer");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return checkpointWriter;
+    }
+
+    /**
+     * Schedules the periodic checkpoints of the computation about to be
+     * launched if checkpointing is enabled
+     *
+     * @return the periodic checkpoint task, to be given to method
+     *         {@link #resumeAfterCheckpoints(ScheduledFuture)} once the
+     *         computation has stopped, or {@code null} if the computation is
+     *         not checkpointed
+     */
+    ScheduledFuture<?> scheduleCheckpoints() {
+        checkpointsTaken = 0;
+        checkpointTime = 0;
+        if (checkpointDirectory == null) {
+            return null;
+        }
+        final long computation = computationNumber;
+        synchronized (checkpointLock) {
+            checkpointsEnabled = true;
+        }
+        return timer().scheduleAtFixedRate(() -> pause(computation),
+                checkpointInterval, checkpointInterval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Pauses the given computation on every place to take a checkpoint. The
+     * {@code finish} launching the computation then returns once every place
+     * has stopped. This method returns once every place has been notified, so
+     * that no pause message is still in flight when the computation resumes.
+     *
+     * @param computation
+     *            number of the computation to pause
+     */
+    void pause(long computation) {
+        synchronized (checkpointLock) {
+            if (checkpointsEnabled && stop(computation, true)) {
+                finish(() -> spreadCancellation(computation, true));
+            }
+        }
+    }
+
+    /**
+     * Takes a checkpoint each time the computation was paused and resumes it,
+     * until it completes or is cancelled. Called on the place the computation
+     * was launched from once the {@code finish} of the computation returns.
+     *
+     * @param checkpoints
+     *            periodic checkpoint task, may be {@code null}
+     */
+    void resumeAfterCheckpoints(ScheduledFuture<?> checkpoints) {
+        for (;;) {
+            synchronized (checkpointLock) {
+                if (!checkpointing) {
+                    checkpointsEnabled = false;
+                    if (checkpoints != null) {
+                        checkpoints.cancel(false);
+                    }
+                    return;
+                }
+            }
+            final long pauseStart = System.nanoTime();
+            checkpointAll(++checkpointSequence);
+            checkpointsTaken++;
+            resumeAll();
+            checkpointTime += System.nanoTime() - pauseStart;
+            runResumed();
+        }
+    }
+
+    /**
+     * Resumes the computation on every place prepared by {@link #resumeAll()}
+     * and returns when it stops again
+     */
+    void runResumed() {
+        finish(() -> {
+            for (final Place p : places()) {
+                asyncAt(p, () -> {
+                    if (!cancelled) {
+                        resume();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Makes every place serialize its state for the checkpoint with the given
+     * sequence number. The state is written asynchronously after this method
+     * returns.
+     *
+     * @param sequence
+     *            sequence number of the checkpoint
+     */
+    void checkpointAll(long sequence) {
+        finish(() -> {
+            for (final Place p : places()) {
+                asyncAt(p, () -> checkpoint(sequence));
+            }
+        });
+    }
+
+    /**
+     * Serializes the state of this place, consisting of all its worker bags,
+     * its two queues and its partial result, and submits its write into the
+     * checkpoint files. Called while the computation is paused: the workers
+     * have all put their bag back into {@link #workerBags}.
+     *
+     * @param sequence
+     *            sequence number of the checkpoint
+     */
+    @SuppressWarnings("rawtypes")
+    void checkpoint(long sequence) {
+        final IOException failure = checkpointFailure;
+        if (failure != null) {
+            throw new UncheckedIOException(
+                    "Checkpoint of place " + HOME.id + " failed", failure);
+        }
+        try {
+            final ArrayList<Bag> bags = new ArrayList<>(workerBags.size());
+            for (final WorkerBag wb : workerBags) {
+                bags.add(wb.bag);
+            }
+            final byte[] content = Serialization.toBytes(new Object[] { bags,
+                    intraPlaceQueue, interPlaceQueue, result, intraQueueEmpty,
+                    interQueueEmpty });
+            checkpointWriter().execute(() -> {
+                try {
+                    checkpointFile.write(sequence, content);
+                } catch (final IOException e) {
+                    checkpointFailure = e;
+                }
+            });
+        } catch (final IOException e) {
+            throw new UncheckedIOException(
+                    "Checkpoint of place " + HOME.id + " failed", e);
+        }
+    }
+
+    /**
+     * Prepares every place to resume the paused computation. The flags of the
+     * protocol are reset on all places before any of them resumes so that the
+     * steals of the first places resumed are answered normally.
+     */
+    void resumeAll() {
+        finish(() -> {
+            for (final Place p : places()) {
+                asyncAt(p, () -> prepareResume());
+            }
+        });
+    }
+
+    /**
+     * Prepares this place to resume the computation after a checkpoint. The
+     * queues and their flags are left as they were when the computation was
+     * paused. The lifelines are cleared as every place resumes and establishes
+     * them again once it runs out of work. Has no effect if the pause was
+     * turned into a cancellation.
+     */
+    void prepareResume() {
+        synchronized (workerBags) {
+            if (!cancelled || !checkpointing) {
+                return;
+            }
+            checkpointing = false;
+            cancelled = false;
+            workerCount = 0;
+            state = -1;
+        }
+        lifelineThieves.clear();
+        for (final int i : LIFELINE) {
+            lifelineEstablished.put(i, false);
+            lifelineEstablishedStamps.set(i, NO_STAMP);
+        }
+    }
+
+    /**
+     * Restarts the last computation checkpointed in the directory set with
+     * property {@value Configuration#GLBM_CHECKPOINT}, for instance after the
+     * failure of the process which launched it. Every place reloads its worker
+     * bags, queues and partial result from the most recent checkpoint complete
+     * on all places, and the computation resumes from there, taking new
+     * checkpoints as it progresses.
+     * <p>
+     * The same number of places and workers per place as the checkpointed
+     * computation must be used. The initializers are used for the parts of the
+     * state which are not checkpointed and should be the same as those given
+     * to the original computation.
+     *
+     * @param <R>
+     *            type parameter for the result produced by the computation
+     * @param <B>
+     *            type parameter for the computation to perform
+     * @param resultInitializer
+     *            initializer for the result instance
+     * @param queueInitializer
+     *            initializer for the queue used for load balancing purposes
+     * @param workerInitializer
+     *            initializer for the workers bag
+     * @return instance of type R containing the result of the distributed
+     *         computation
+     * @throws IllegalStateException
+     *             if checkpointing is not enabled or if no checkpoint is
+     *             complete on all places
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> R restart(
+            SerializableSupplier<R> resultInitializer,
+            SerializableSupplier<B> queueInitializer,
+            SerializableSupplier<B> workerInitializer) {
+        if (checkpointDirectory == null) {
+            throw new IllegalStateException(
+                    "Property " + Configuration.GLBM_CHECKPOINT + " is not set");
+        }
+        final long initStart = System.nanoTime();
+        resetAll(resultInitializer, queueInitializer, workerInitializer, null);
+
+        // The most recent checkpoint valid on every place is restored, the
+        // available checkpoints of all places being gathered in one pass
+        final long[][] available = new long[CONFIGURATION.p][];
+        finish(() -> {
+            for (final Place p : places()) {
+                async(() -> available[p.id] = at(p,
+                        () -> availableCheckpoints()));
+            }
+        });
+        long sequence = -1;
+        for (final long candidate : available[HOME.id]) {
+            boolean complete = true;
+            for (final long[] a : available) {
+                complete &= hasCheckpoint(a, candidate);
+            }
+            if (complete) {
+                sequence = Math.max(sequence, candidate);
+            }
+        }
+        if (sequence < 0) {
+            throw new IllegalStateException("No checkpoint complete on all "
+                    + "places in " + checkpointDirectory);
+        }
+        final long restored = sequence;
+        finish(() -> {
+            for (final Place p : places()) {
+                asyncAt(p, () -> restore(restored));
+            }
+        });
+        checkpointSequence = restored;
+
+        final long start = System.nanoTime();
+        final ScheduledFuture<?> checkpoints = scheduleCheckpoints();
+        resumeAll();
+        runResumed();
+        resumeAfterCheckpoints(checkpoints);
+        final long computationFinish = System.nanoTime();
+        collectAllResult();
+        final long resultGathering = System.nanoTime();
+        computationLog = new Logger(initStart, start, computationFinish,
+                resultGathering, CONFIGURATION.p);
+        return (R) result;
+    }
+
+    /**
+     * Returns the sequence numbers of the valid checkpoints of this place
+     *
+     * @return the sequence numbers, {@code -1} for an empty slot
+     */
+    long[] availableCheckpoints() {
+        try {
+            return new long[] {
+                    CheckpointFile.sequence(checkpointDirectory, HOME.id, 0),
+                    CheckpointFile.sequence(checkpointDirectory, HOME.id, 1) };
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Indicates if a place holds a valid checkpoint with the given sequence
+     * number
+     *
+     * @param available
+     *            sequence numbers of the valid checkpoints of the place, as
+     *            returned by {@link #availableCheckpoints()}
+     * @param sequence
+     *            sequence number of the checkpoint
+     * @return {@code true} if the checkpoint can be restored on the place
+     */
+    static boolean hasCheckpoint(long[] available, long sequence) {
+        return sequence >= 0
+                && (available[0] == sequence || available[1] == sequence);
+    }
+
+    /**
+     * Reloads the state of this place from the checkpoint with the given
+     * sequence number. The place is left paused, ready for
+     * {@link #prepareResume()}.
+     *
+     * @param sequence
+     *            sequence number of the checkpoint
+     */
+    @SuppressWarnings("rawtypes")
+    void restore(long sequence) {
+        final Object[] state;
+        try {
+            state = (Object[]) Serialization.fromBytes(CheckpointFile
+                    .read(checkpointDirectory, HOME.id, sequence));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+        final List<?> bags = (List<?>) state[0];
+        if (bags.size() != CONFIGURATION.x) {
+            throw new IllegalStateException("Checkpoint of place " + HOME.id
+                    + " was taken with " + bags.size() + " workers instead of "
+                    + CONFIGURATION.x);
+        }
+        workerBags.clear();
+        for (int i = 0; i < bags.size(); i++) {
+            workerBags.add(new WorkerBag(i, (Bag) bags.get(i)));
+        }
+        intraPlaceQueue = (Bag) state[1];
+        interPlaceQueue = (Bag) state[2];
+        result = (Fold) state[3];
+        intraQueueEmpty = (Boolean) state[4];
+        interQueueEmpty = (Boolean) state[5];
+        synchronized (workerBags) {
+            cancelled = true;
+            checkpointing = true;
+        }
+    }
+
+    /**
+     * Cancels the computation currently running. The workers of every place
+     * stop processing their bag, the content of the queues is abandoned and
+     * the steals in progress fail. The method which launched the computation
+     * then returns the result gathered from the work processed until the
+     * cancellation, which may therefore be incomplete. This method returns
+     * when every place has been notified of the cancellation.
+     * <p>
+     * This method can be called from any thread on the place the computation
+     * was launched from. A computation can also cancel itself by using a
+     * result type implementing interface {@link Satisfiable}.
+     *
+     * @see #isCancelled()
+     */
+    public void cancel() {
+        cancel(computationNumber);
+    }
+
+    /**
+     * Cancels the given computation if it is still running
+     *
+     * @param computation
+     *            number of the computation to cancel
+     * @see #cancel()
+     */
+    void cancel(long computation) {
+        // This place is stopped directly as its workers may occupy all the
+        // threads until they notice the cancellation
+        if (stop(computation, false)) {
+            finish(() -> spreadCancellation(computation, false));
+        }
+    }
+
+    /**
+     * Releases the resources this computer holds on every place. Its
+     * {@link GLBPlaceMXBean}s are unregistered from the MBean servers of the
+     * places and the files used for the shared memory transfers are unmapped
+     * and deleted. This method should be called once the computer is no
+     * longer needed, and no computation should be submitted to it afterwards.
+     */
+    public void close() {
+        finish(() -> {
+            for (final Place p : places()) {
+                asyncAt(p, () -> {
+                    GLBPlace.unregister(this);
+                    setSharedMemory(null, null, 0);
+                });
+            }
+        });
+    }
+
+    /**
+     * Sends the order to all places to gather their results in their
+     * {@link #result} member before sending it to place 0. This is done
+     * asynchronously, this method will block until all places have completed
+     * their {@link #collectResult} method.
+     */
+    void collectAllResult() {
+        finish(() -> {
+            for (final Place p : places()) {
+                asyncAt(p, () -> collectResult());
+            }
+        });
+    }
+
+    /**
+     * Makes the place gather the results contained by all its bags into its
+     * member {@link #result}. If this place ({@link #HOME}) is not place 0,
+     * sends the content of the result to place 0 to be merged with all the
+     * other results there.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void collectResult() {
+        synchronized (result) { // Synchronized in case this is place 0 and
+                                // remote
+                                // results are going to merge in
+            for (final WorkerBag wb : workerBags) {
+                wb.bag.submit(result);
+            }
+        }
+
+        final Fold r = result;
+        if (HOME.id != 0 && compressor != null) {
+            final byte[] payload = compress(serialize((Serializable) r));
+            asyncAt(place(0), () -> {
+                final Fold remote = (Fold) deserialize(decompress(payload));
+                synchronized (result) {
+                    result.fold(remote);
+                }
+            });
+        } else if (HOME.id != 0) {
+            asyncAt(place(0), () -> {
+                synchronized (result) { // Synchronized to avoid concurrent
+                                        // merging/gathering on place 0
+                    result.fold(r);
+                }
+            });
+        }
+    }
+
+    /**
+     * Communication task that relies on a whispering scheme to propagate
+     * information. Is shut down by setting the flag
+     * {@link #communicatorThreadShutdown} to {@code true}.
+     */
+    @SuppressWarnings("unchecked")
+    void communicatorThread() {
+        while (!communicatorThreadShutdown) {
+            final long lastCall = System.nanoTime();
+            communicatorLock
+                    .setNextWakeup(lastCall + CONFIGURATION.whisperInterval);
+            try {
+                ForkJoinPool.managedBlock(tunerLock);
+            } catch (final InterruptedException e) {
+                // Ignore
+            }
+            workerLock.unblock();
+            if (whisperer.hasValueToShare(result)) {
+                logger.informationSent();
+                final Serializable s = whisperer.getInformation(result);
+                for (final int l : LIFELINE) {
+                    sendControl(l, () -> {
+                        workerLock.unblock();
+                        logger.informationReceived();
+                        whisperer.integrateInformation(s, result);
+                    }, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the given bag and returns the aggregated result of this
+     * computation.
+     *
+     * @param <R>
+     *            type of the result produced by the computation
+     * @param <B>
+     *            type of the computation bag
+     * @param bag
+     *            the computation to be performed
+     * @param initResultSupplier
+     *            function that provides new empty result instances
+     * @param emptyBagSupplier
+     *            function that provides new empty computation bag instances
+     * @return aggregated result of the computation
+     */
+    public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> R compute(
+            B bag, SerializableSupplier<R> initResultSupplier,
+            SerializableSupplier<B> emptyBagSupplier) {
+        return compute(bag, initResultSupplier, emptyBagSupplier,
+                emptyBagSupplier);
+    }
+
+    /**
+     * Computes the given bag and returns the result of the distributed
+     * computation.
+     *
+     * @param <R>
+     *            type parameter for the result produced by the computation
+     * @param <B>
      *            type parameter for the computation to perform
      * @param work
      *            initial work to be processed
@@ -565,20 +1947,94 @@ public class GLBcomputer extends PlaceLocalObject {
      * @return instance of type R containing the result of the distributed
      *         computation
      */
-    @SuppressWarnings("unchecked")
     public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> R compute(
             B work, SerializableSupplier<R> resultInitializer,
             SerializableSupplier<B> queueInitializer,
             SerializableSupplier<B> workerInitializer) {
+        return compute(work, resultInitializer, queueInitializer,
+                workerInitializer, null);
+    }
+
+    /**
+     * Computes the given bag for at most the specified duration and returns
+     * the aggregated result. If the computation has not completed when the
+     * deadline expires, it is cancelled as with method {@link #cancel()} and
+     * the result of the work processed so far is returned. This gives the best
+     * answer found within the allotted time for branch-and-bound problems.
+     *
+     * @param <R>
+     *            type of the result produced by the computation
+     * @param <B>
+     *            type of the computation bag
+     * @param bag
+     *            the computation to be performed
+     * @param initResultSupplier
+     *            function that provides new empty result instances
+     * @param emptyBagSupplier
+     *            function that provides new empty computation bag instances
+     * @param deadline
+     *            time allowed to the computation, counted once every place has
+     *            been initialized
+     * @return aggregated result of the computation, possibly partial
+     * @see Logger#unexploredWork
+     */
+    public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> R compute(
+            B bag, SerializableSupplier<R> initResultSupplier,
+            SerializableSupplier<B> emptyBagSupplier, Duration deadline) {
+        return compute(bag, initResultSupplier, emptyBagSupplier,
+                emptyBagSupplier, deadline);
+    }
+
+    /**
+     * Computes the given bag for at most the specified duration and returns
+     * the result of the distributed computation.
+     *
+     * @param <R>
+     *            type parameter for the result produced by the computation
+     * @param <B>
+     *            type parameter for the computation to perform
+     * @param work
+     *            initial work to be processed
+     * @param resultInitializer
+     *            initializer for the result instance
+     * @param queueInitializer
+     *            initializer for the queue used for load balancing purposes
+     * @param workerInitializer
+     *            initializer for the workers bag
+     * @param deadline
+     *            time allowed to the computation, counted once every place has
+     *            been initialized. The computation is not limited in time if
+     *            {@code null}.
+     * @return instance of type R containing the result of the distributed
+     *         computation, possibly partial if the deadline expired
+     * @see #compute(Bag, SerializableSupplier, SerializableSupplier, Duration)
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> R compute(
+            B work, SerializableSupplier<R> resultInitializer,
+            SerializableSupplier<B> queueInitializer,
+            SerializableSupplier<B> workerInitializer, Duration deadline) {
         // We reset every place
         final long initStart = System.nanoTime();
         resetAll(resultInitializer, queueInitializer, workerInitializer, null);
+        final ScheduledFuture<?> estimation = startEstimation(work);
 
         // We launch the computation
         final long start = System.nanoTime();
+        final ScheduledFuture<?> timeout = scheduleDeadline(deadline);
+        final Snapshots snapshots = startSnapshots(resultInitializer);
+        final ScheduledFuture<?> checkpoints = scheduleCheckpoints();
         workerCount = 1;
         state = 0;
         finish(() -> run(work));
+        resumeAfterCheckpoints(checkpoints);
+        if (timeout != null) {
+            timeout.cancel(false);
+        }
+        if (snapshots != null) {
+            snapshots.stop();
+        }
+        stopEstimation(estimation);
         final long computationFinish = System.nanoTime();
         // We gather the result back into place 0
         collectAllResult();
@@ -590,6 +2046,107 @@ public class GLBcomputer extends PlaceLocalObject {
         return (R) result;
     }
 
+    /**
+     * Submits the computation of the given bag and returns immediately. The
+     * computations submitted asynchronously are performed one after the other
+     * in their order of submission by a daemon thread of this place, leaving
+     * the calling thread free to prepare the next computation or to process the
+     * result of a previous one.
+     *
+     * @param <R>
+     *            type of the result produced by the computation
+     * @param <B>
+     *            type of the computation bag
+     * @param bag
+     *            the computation to be performed
+     * @param initResultSupplier
+     *            function that provides new empty result instances
+     * @param emptyBagSupplier
+     *            function that provides new empty computation bag instances
+     * @return future completed with the aggregated result of the computation
+     * @see #getLogAsync()
+     */
+    public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> CompletableFuture<R> computeAsync(
+            B bag, SerializableSupplier<R> initResultSupplier,
+            SerializableSupplier<B> emptyBagSupplier) {
+        return computeAsync(bag, initResultSupplier, emptyBagSupplier,
+                emptyBagSupplier);
+    }
+
+    /**
+     * Submits the computation of the given bag and returns immediately. The
+     * computation is performed as with method
+     * {@link #compute(Bag, SerializableSupplier, SerializableSupplier, SerializableSupplier)}
+     * once the computations previously submitted asynchronously have
+     * completed.
+     *
+     * @param <R>
+     *            type parameter for the result produced by the computation
+     * @param <B>
+     *            type parameter for the computation to perform
+     * @param work
+     *            initial work to be processed
+     * @param resultInitializer
+     *            initializer for the result instance
+     * @param queueInitializer
+     *            initializer for the queue used for load balancing purposes
+     * @param workerInitializer
+     *            initializer for the workers bag
+     * @return future completed with the result of the distributed computation,
+     *         or completed exceptionally if the computation fails
+     * @see #getLogAsync()
+     */
+    public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> CompletableFuture<R> computeAsync(
+            B work, SerializableSupplier<R> resultInitializer,
+            SerializableSupplier<B> queueInitializer,
+            SerializableSupplier<B> workerInitializer) {
+        return CompletableFuture.supplyAsync(() -> compute(work,
+                resultInitializer, queueInitializer, workerInitializer),
+                asyncExecutor());
+    }
+
+    /**
+     * Submits a computation with a periodic whisper based information sharing
+     * between the distributed processes and returns immediately. The
+     * computation is performed as with method
+     * {@link #computeWhisperedResult(Bag, SerializableSupplier, SerializableSupplier, SerializableSupplier, SerializableSupplier)}
+     * once the computations previously submitted asynchronously have
+     * completed.
+     *
+     * @param <R>
+     *            Type of the result produced by the computation
+     * @param <B>
+     *            Type of the computation
+     * @param <W>
+     *            Type in charge of performing the communication between the
+     *            hosts
+     * @param work
+     *            initial fragment of computation
+     * @param initResultSupplier
+     *            initializer for the result instance contained by each process
+     * @param emptyQueueSupplier
+     *            initializer for the queues used to balance the work between
+     *            the workers and between processes
+     * @param emptyBagSupplier
+     *            initializer for the worker's bag
+     * @param whispererSupplier
+     *            initializer for the instance in charge of handling the
+     *            communication of information during the computation
+     * @return future completed with the result of the computation
+     * @see #getLogAsync()
+     */
+    public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable, W extends Whisperer<? extends Serializable, R>> CompletableFuture<R> computeWhisperedResultAsync(
+            B work, SerializableSupplier<R> initResultSupplier,
+            SerializableSupplier<B> emptyQueueSupplier,
+            SerializableSupplier<B> emptyBagSupplier,
+            SerializableSupplier<W> whispererSupplier) {
+        return CompletableFuture.supplyAsync(
+                () -> computeWhisperedResult(work, initResultSupplier,
+                        emptyQueueSupplier, emptyBagSupplier,
+                        whispererSupplier),
+                asyncExecutor());
+    }
+
     /**
      * Launches the computation with a periodic whisper based information
      * sharing between the distributed processes. This method allows for
@@ -618,19 +2175,64 @@ public class GLBcomputer extends PlaceLocalObject {
      * @return instance of type <em>R</em> containing the result of the
      *         computation
      */
-    @SuppressWarnings("unchecked")
     public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable, W extends Whisperer<? extends Serializable, R>> R computeWhisperedResult(
             B work, SerializableSupplier<R> initResultSupplier,
             SerializableSupplier<B> emptyQueueSupplier,
             SerializableSupplier<B> emptyBagSupplier,
             SerializableSupplier<W> whispererSupplier) {
+        return computeWhisperedResult(work, initResultSupplier,
+                emptyQueueSupplier, emptyBagSupplier, whispererSupplier, null);
+    }
+
+    /**
+     * Launches the computation with a periodic whisper based information
+     * sharing between the distributed processes, for at most the specified
+     * duration. If the computation has not completed when the deadline expires,
+     * it is cancelled and the result of the work processed so far is returned.
+     *
+     * @param <R>
+     *            Type of the result produced by the computation
+     * @param <B>
+     *            Type of the computation
+     * @param <W>
+     *            Type in charge of performing the communication between the
+     *            hosts
+     * @param work
+     *            initial fragment of computation
+     * @param initResultSupplier
+     *            initializer for the result instance contained by each process
+     * @param emptyQueueSupplier
+     *            initializer for the queues used to balance the work between
+     *            the workers and between processes
+     * @param emptyBagSupplier
+     *            initializer for the worker's bag
+     * @param whispererSupplier
+     *            initializer for the instance in charge of handling the
+     *            communication of information during the computation
+     * @param deadline
+     *            time allowed to the computation, counted once every place has
+     *            been initialized. The computation is not limited in time if
+     *            {@code null}.
+     * @return instance of type <em>R</em> containing the result of the
+     *         computation, possibly partial if the deadline expired
+     * @see #compute(Bag, SerializableSupplier, SerializableSupplier, Duration)
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable, W extends Whisperer<? extends Serializable, R>> R computeWhisperedResult(
+            B work, SerializableSupplier<R> initResultSupplier,
+            SerializableSupplier<B> emptyQueueSupplier,
+            SerializableSupplier<B> emptyBagSupplier,
+            SerializableSupplier<W> whispererSupplier, Duration deadline) {
         // We reset every place
         final long initStart = System.nanoTime();
         resetAll(initResultSupplier, emptyQueueSupplier, emptyBagSupplier,
                 whispererSupplier);
+        final ScheduledFuture<?> estimation = startEstimation(work);
 
         // We launch the computation
         final long start = System.nanoTime();
+        final ScheduledFuture<?> timeout = scheduleDeadline(deadline);
+        final Snapshots snapshots = startSnapshots(initResultSupplier);
 
         finish(() -> {
             // First we launch a whisperer task on each host
@@ -651,6 +2253,13 @@ public class GLBcomputer extends PlaceLocalObject {
                 });
             }
         });
+        if (timeout != null) {
+            timeout.cancel(false);
+        }
+        if (snapshots != null) {
+            snapshots.stop();
+        }
+        stopEstimation(estimation);
         final long computationFinish = System.nanoTime();
         // We gather the result back into place 0
         collectAllResult();
@@ -718,18 +2327,47 @@ public class GLBcomputer extends PlaceLocalObject {
      *            random steal
      * @param loot
      *            the work that was stolen by this place
+     * @param size
+     *            size in bytes of the loot as sent by the victim, -1 if it was
+     *            not measured
+     * @param stamp
+     *            time stamp (taken on this place) at which the steal request
+     *            answered was sent, or {@link #NO_STAMP} if the loot is sent
+     *            through a lifeline that could not be answered immediately
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    void deal(int victim, Bag loot) {
+    void deal(int victim, Bag loot, long size, long stamp) {
         workerLock.unblock();
+        if (trace != null) {
+            trace.protocolEvent(TraceEvent.LOOT_RECEIVED, victim, size);
+        }
+        final long now = System.nanoTime();
+        final long latency = stamp == NO_STAMP ? -1 : now - stamp;
         if (victim < 0) {
-            logger.stealsSuccess.incrementAndGet();
+            logger.randomStealSucceeded(latency);
         } else {
-            logger.lifelineStealsSuccess.incrementAndGet();
+            final long established = lifelineEstablishedStamps.get(victim);
+            logger.lifelineStealSucceeded(latency,
+                    established == NO_STAMP ? -1 : now - established);
             lifelineEstablished.put(victim, false);
         }
 
         synchronized (workerBags) {
+            if (cancelled) {
+                if (checkpointing) {
+                    // The loot is kept for the resumption of the computation
+                    synchronized (intraPlaceQueue) {
+                        interPlaceQueue.merge(loot);
+                        interQueueEmpty = false;
+                    }
+                    return;
+                }
+                // The loot is discarded
+                if (loot instanceof Measurable) {
+                    discardedWork.add(((Measurable) loot).workEstimate());
+                }
+                return;
+            }
             switch (state) {
             case 0:
 
@@ -739,7 +2377,7 @@ public class GLBcomputer extends PlaceLocalObject {
                  */
                 synchronized (intraPlaceQueue) {
                     intraPlaceQueue.merge(loot);
-                    logger.intraQueueFedByLifeline.incrementAndGet();
+                    logger.intraQueueFilledByLifeline();
                     intraQueueEmpty = false;
                 }
 
@@ -780,6 +2418,40 @@ public class GLBcomputer extends PlaceLocalObject {
         run(loot);
     }
 
+    /**
+     * Holds the current thread for the time taken by a message of the given
+     * size to travel through the {@link #emulatedNetwork}. Called on the
+     * destination of a message before it is handled. Returns immediately if
+     * no network is emulated.
+     *
+     * @param bytes
+     *            size of the message in bytes, 0 or less for a control message
+     *            whose size is neglected
+     */
+    void emulateTransfer(long bytes) {
+        if (emulatedNetwork == null) {
+            return;
+        }
+        final TimeoutBlocker delay = new TimeoutBlocker();
+        delay.setNextWakeup(
+                System.nanoTime() + emulatedNetwork.transferTime(bytes));
+        try {
+            ForkJoinPool.managedBlock(delay);
+        } catch (final InterruptedException e) {
+            // The message is handled early, which does not hurt the program
+        }
+    }
+
+    /**
+     * Indicates if the last computation was cancelled, either by a call to
+     * method {@link #cancel()} or because its result became satisfied
+     *
+     * @return {@code true} if the last computation was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
     /**
      * Returns a Configuration instance showing the configuration of this GLB
      * instance.
@@ -792,27 +2464,131 @@ public class GLBcomputer extends PlaceLocalObject {
     }
 
     /**
-     * Gives back the log of the previous computation.
+     * Gives back the log of the previous computation. The first time this
+     * method is called after a computation, a {@link Report} is written if
+     * property {@value Configuration#GLBM_REPORT} is set.
      *
      * @return the {@link PlaceLogger} instance of this place
      */
     public Logger getLog() {
         if (!logsGiven) {
+            gatherLogs();
+
+            final String reportDirectory = System
+                    .getProperty(Configuration.GLBM_REPORT);
+            if (reportDirectory != null) {
+                try {
+                    Report.write(computationLog, CONFIGURATION,
+                            Paths.get(reportDirectory));
+                } catch (final IOException e) {
+                    System.err.println("Could not write the GLB report in "
+                            + reportDirectory);
+                    e.printStackTrace();
+                }
+            }
+        }
+        return computationLog;
+    }
+
+    /**
+     * Gives back the log of the last computation submitted asynchronously
+     * before this call. The logs are gathered by the thread performing the
+     * asynchronous computations, once the computation preceding this call has
+     * completed and before the computations submitted afterwards start. Calling
+     * this method right after
+     * {@link #computeAsync(Bag, SerializableSupplier, SerializableSupplier)}
+     * therefore gives the log of that computation.
+     *
+     * @return future completed with the log of the computation
+     * @see #getLog()
+     */
+    public CompletableFuture<Logger> getLogAsync() {
+        return CompletableFuture.supplyAsync(() -> getLog(), asyncExecutor());
+    }
+
+    /**
+     * Gathers the {@link PlaceLogger} of every place into member
+     * {@link #computationLog} on place 0.
+     */
+    void gatherLogs() {
+        finish(() -> {
+            for (final Place p : places()) {
+
+                asyncAt(p, () -> {
+                    final PlaceLogger l = logger;
+                    l.unexploredWork = unexploredWork();
+                    l.aggregate();
+                    asyncAt(place(0), () -> {
+                        computationLog.addPlaceLogger(l);
+                    });
+                });
+            }
+        });
+        computationLog.cancelled = cancelled;
+        final ProgressEstimator p = progress;
+        computationLog.estimatedWork = p == null ? -1
+                : p.getEstimatedWork();
+        computationLog.checkpoints = checkpointsTaken;
+        computationLog.checkpointTime = checkpointTime;
+        logsGiven = true;
+    }
+
+    /**
+     * Estimates the work left on this place by the last computation. This is
+     * the work contained in the bags of the workers, in the queues and in the
+     * loot discarded after the computation was cancelled.
+     *
+     * @return estimate of the work left on this place, {@code 0} if the
+     *         computation completed, {@code -1} if it was cancelled and the
+     *         bags do not implement {@link Measurable}
+     */
+    long unexploredWork() {
+        if (!cancelled) {
+            return 0;
+        }
+        if (!(intraPlaceQueue instanceof Measurable)
+                || !(interPlaceQueue instanceof Measurable)) {
+            return -1;
+        }
+        long work = discardedWork.sum()
+                + ((Measurable) intraPlaceQueue).workEstimate()
+                + ((Measurable) interPlaceQueue).workEstimate();
+        for (final WorkerBag wb : workerBags) {
+            if (!(wb.bag instanceof Measurable)) {
+                return -1;
+            }
+            work += ((Measurable) wb.bag).workEstimate();
+        }
+        return work;
+    }
 
+    /**
+     * Gives back the events recorded by all the places during the previous
+     * computation. Tracing needs to be enabled by setting property
+     * {@value Configuration#GLBM_TRACE}.
+     *
+     * @return the events recorded by each place, or {@code null} if tracing is
+     *         disabled
+     */
+    public Trace getTrace() {
+        if (CONFIGURATION.traceCapacity <= 0) {
+            return null;
+        }
+        if (!tracesGiven) {
+            computationTrace = new Trace(CONFIGURATION.p);
             finish(() -> {
                 for (final Place p : places()) {
-
                     asyncAt(p, () -> {
-                        final PlaceLogger l = logger;
+                        final PlaceTrace t = trace;
                         asyncAt(place(0), () -> {
-                            computationLog.addPlaceLogger(l);
+                            computationTrace.addPlaceTrace(t);
                         });
                     });
                 }
             });
-            logsGiven = true;
+            tracesGiven = true;
         }
-        return computationLog;
+        return computationTrace;
     }
 
     /**
@@ -842,7 +2618,7 @@ public class GLBcomputer extends PlaceLocalObject {
             }
             lifelineToAnswer = false;
             workerLock.unblock();
-            logger.lifelineThreadWokenUp++;
+            logger.lifelineThreadWokenUp();
 
             logger.lifelineAnswerThreadActive();
 
@@ -852,17 +2628,18 @@ public class GLBcomputer extends PlaceLocalObject {
             while (!lifelineThieves.isEmpty()) {
                 Bag loot;
                 synchronized (intraPlaceQueue) {
-                    if (interQueueEmpty) {
+                    if (interQueueEmpty || cancelled) {
                         break;
                     }
                     loot = interPlaceQueue.split(true);
-                    logger.interQueueSplit.incrementAndGet();
+                    logger.interQueueStolenFrom();
                     interQueueEmpty = interPlaceQueue.isEmpty();
                 }
                 // Send the loot
                 final int h = HOME.id;
-                asyncAt(place(lifelineThieves.poll()), () -> deal(h, loot));
-                logger.lifelineStealsSuffered.incrementAndGet();
+                final int thief = lifelineThieves.poll();
+                sendLoot(thief, h, loot, NO_STAMP);
+                logger.lifelineStealSuffered();
             }
             if (interQueueEmpty) {
                 requestInterQueueFeed();
@@ -889,18 +2666,18 @@ public class GLBcomputer extends PlaceLocalObject {
     Bag loot() {
         Bag loot = null;
         // Quick check on the other queue
-        if (!interQueueEmpty) {
+        if (!interQueueEmpty && !cancelled) {
             synchronized (intraPlaceQueue) {
                 if (!interQueueEmpty) {
                     // if (intraQueueEmpty && interPlaceQueue.isSplittable()) {
                     // intraPlaceQueue.merge(interPlaceQueue.split(false));
-                    // logger.interQueueSplit.incrementAndGet();
-                    // logger.intraQueueFed.incrementAndGet();
+                    // logger.interQueueStolenFrom();
+                    // logger.intraQueueFed.increment();
                     // intraQueueEmpty = intraPlaceQueue.isEmpty(); // Update
                     // flag
                     // }
                     loot = interPlaceQueue.split(true);
-                    logger.interQueueSplit.incrementAndGet();
+                    logger.interQueueStolenFrom();
                     interQueueEmpty = interPlaceQueue.isEmpty(); // Update flag
                 }
             }
@@ -925,17 +2702,29 @@ public class GLBcomputer extends PlaceLocalObject {
      */
     boolean performLifelineSteals() {
         for (int i = 0; i < LIFELINE.length; i++) {
+            if (cancelled) {
+                synchronized (workerBags) {
+                    state = -2;
+                }
+                return false;
+            }
             final int lifeline = LIFELINE[i];
             if (!lifelineEstablished.get(lifeline)) { // We check if the
                                                       // lifeline was
                                                       // previously established
                                                       // or not
 
-                logger.lifelineStealsAttempted.incrementAndGet();
+                logger.lifelineStealAttempted();
                 lifelineEstablished.put(lifeline, true);
+                if (trace != null) {
+                    trace.protocolEvent(TraceEvent.LIFELINE_ESTABLISHED,
+                            lifeline, 0);
+                }
 
                 final int h = HOME.id;
-                asyncAt(place(lifeline), () -> steal(h));
+                final long stamp = System.nanoTime();
+                lifelineEstablishedStamps.set(lifeline, stamp);
+                sendControl(lifeline, () -> steal(h, stamp), true);
             }
 
             synchronized (this) {
@@ -985,8 +2774,8 @@ public class GLBcomputer extends PlaceLocalObject {
         if (CONFIGURATION.p < 2) {
             return false;
         }
-        for (int i = 0; i < CONFIGURATION.w; i++) {
-            logger.stealsAttempted.incrementAndGet();
+        for (int i = 0; i < CONFIGURATION.w && !cancelled; i++) {
+            logger.randomStealAttempted();
             // Choose a victim
             int victim = random.nextInt(CONFIGURATION.p - 1);
             if (victim >= HOME.id) {
@@ -994,7 +2783,11 @@ public class GLBcomputer extends PlaceLocalObject {
             }
 
             final int h = HOME.id;
-            asyncAt(place(victim), () -> steal(-h - 1));
+            if (trace != null) {
+                trace.protocolEvent(TraceEvent.STEAL_SENT, victim, 0);
+            }
+            final long stamp = System.nanoTime();
+            sendControl(victim, () -> steal(-h - 1, stamp), true);
 
             synchronized (this) {
                 try {
@@ -1065,11 +2858,23 @@ public class GLBcomputer extends PlaceLocalObject {
 
         // Resetting the configuration to the initial values
         CONFIGURATION.reset();
+        computationNumber++;
+        cancelled = false;
+        discardedWork.reset();
 
         // Resetting the logger
-        logger = new PlaceLogger(CONFIGURATION, HOME.id);
+        logger = PlaceLogger.newPlaceLogger(CONFIGURATION, HOME.id);
         logsGiven = false;
 
+        // Resetting the event trace
+        tracesGiven = false;
+        if (CONFIGURATION.traceCapacity > 0) {
+            trace = new PlaceTrace(HOME.id, CONFIGURATION.x,
+                    CONFIGURATION.traceCapacity);
+        } else {
+            trace = null;
+        }
+
         // Resetting the field used to keep the result
         result = resultInitSupplier.get();
 
@@ -1088,6 +2893,7 @@ public class GLBcomputer extends PlaceLocalObject {
         shutdown = false;
 
         // Removing old bags and getting some new ones
+        this.workerInitializer = workerInitializer;
         workerBags.clear();
 
         for (int i = 0; i < CONFIGURATION.x; i++) {// We put as many new
@@ -1102,6 +2908,7 @@ public class GLBcomputer extends PlaceLocalObject {
         final boolean lifelinesOn = HOME.id != 0;
         for (final int i : LIFELINE) {
             lifelineEstablished.put(i, lifelinesOn);
+            lifelineEstablishedStamps.set(i, NO_STAMP);
         }
 
         // We establish lifelines on this place for initial work-stealing
@@ -1182,7 +2989,31 @@ public class GLBcomputer extends PlaceLocalObject {
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
     void run(Bag b) {
+        startPlaceActivities();
+
+        // Prepare the first worker to process the work given as parameter
+        workerBags.peek().bag.merge(b);
+
+        work(false);
+    }
+
+    /**
+     * Main procedure of a place resuming the computation after a checkpoint.
+     * <p>
+     * Spawns a worker for each worker bag which still holds work, or a single
+     * worker if only the queues hold work, and then proceeds as method
+     * {@link #run(Bag)}.
+     */
+    void resume() {
+        startPlaceActivities();
+        work(true);
+    }
 
+    /**
+     * Waits until the lifeline answer and tuner threads of the previous run of
+     * this place have exited and spawns new ones.
+     */
+    void startPlaceActivities() {
         // Wait until the previous lifeline and tuner threads exited
         while (!lifelineAnswerThreadExited || !tunerThreadExcited) {
         }
@@ -1200,15 +3031,29 @@ public class GLBcomputer extends PlaceLocalObject {
             tunerThreadExcited = false;
             uncountedAsyncAt(here(), () -> tunerThread());
         }
+    }
 
-        // Prepare the first worker to process the work given as parameter
-        workerBags.peek().bag.merge(b);
-
+    /**
+     * Alternates between processing the work of this place and stealing from
+     * other places until no work can be found, then shuts down the lifeline
+     * answer and tuner threads.
+     *
+     * @param resumed
+     *            {@code true} if the place resumes after a checkpoint, in which
+     *            case the first workers are spawned by {@link #resumeWorkers()}
+     */
+    void work(boolean resumed) {
+        boolean first = resumed;
         do {
             do {
-                // Spawn a first worker (which will spawn the others)
-                final WorkerBag workerBag = workerBags.poll();
-                finish(() -> workerProcess(workerBag)); // Working
+                if (first) {
+                    first = false;
+                    finish(() -> resumeWorkers());
+                } else {
+                    // Spawn a first worker (which will spawn the others)
+                    final WorkerBag workerBag = workerBags.poll();
+                    finish(() -> workerProcess(workerBag)); // Working
+                }
 
                 // All the workers have stopped, this place does not have any
                 // work and
@@ -1225,50 +3070,622 @@ public class GLBcomputer extends PlaceLocalObject {
         tunerLock.unblock(); // Unblocks the progress of the tuner thread
     }
 
+    /**
+     * Spawns a worker for each worker bag of this place which was left with
+     * work when the computation was paused, up to the {@link #workerLimit}.
+     * The content of these bags cannot be merged into a single bag as some bag
+     * implementations keep the state of the exploration in progress outside of
+     * their split-able part. The split-able part of the bags beyond the limit
+     * is placed into the {@link #intraPlaceQueue}, their remainder stays in
+     * {@link #workerBags} until a worker running out of work takes it over
+     * (see {@link #workerProcess(WorkerBag)}).
+     */
+    @SuppressWarnings("unchecked")
+    void resumeWorkers() {
+        final List<WorkerBag> bags = new ArrayList<>();
+        synchronized (workerBags) {
+            for (final Iterator<WorkerBag> it = workerBags.iterator(); it
+                    .hasNext();) {
+                final WorkerBag wb = it.next();
+                if (wb.bag.isEmpty()) {
+                    continue;
+                }
+                if (bags.size() < workerLimit) {
+                    it.remove();
+                    bags.add(wb);
+                } else {
+                    // Bags beyond the limit hand their split-able part to the
+                    // queue, the rest is picked up by a worker which stops
+                    synchronized (intraPlaceQueue) {
+                        while (wb.bag.isSplittable()) {
+                            intraPlaceQueue.merge(wb.bag.split(false));
+                        }
+                        intraQueueEmpty = intraPlaceQueue.isEmpty();
+                    }
+                }
+            }
+            if (bags.isEmpty() && !(intraQueueEmpty && interQueueEmpty)) {
+                // The worker will take its work from the queues
+                bags.add(workerBags.poll());
+            }
+            workerCount = bags.size();
+            state = bags.isEmpty() ? -1 : 0;
+        }
+        for (final WorkerBag wb : bags) {
+            async(() -> workerProcess(wb));
+        }
+    }
+
+    /**
+     * Takes the bag of an inactive worker and counts the worker about to be
+     * spawned with it in {@link #workerCount}, unless the {@link #workerLimit}
+     * is reached.
+     *
+     * @return the bag of the worker to spawn, or {@code null} if no new worker
+     *         can be spawned
+     */
+    WorkerBag reserveWorker() {
+        synchronized (workerBags) {
+            if (workerCount >= workerLimit) {
+                return null;
+            }
+            // polling of workerBags may yield null if a concurrent worker
+            // polled the last bag, check is necessary.
+            final WorkerBag wb = workerBags.poll();
+            if (wb != null) {
+                workerCount++;
+            }
+            return wb;
+        }
+    }
+
+    /**
+     * Removes from {@link #workerBags} a bag still containing some work, left
+     * there by {@link #resumeWorkers()} because of the {@link #workerLimit}.
+     * Called while holding the lock of {@link #workerBags}.
+     *
+     * @return a bag with work to process, or {@code null} if there are none
+     */
+    WorkerBag leftBag() {
+        for (final Iterator<WorkerBag> it = workerBags.iterator(); it
+                .hasNext();) {
+            final WorkerBag wb = it.next();
+            if (!wb.bag.isEmpty()) {
+                it.remove();
+                return wb;
+            }
+        }
+        return null;
+    }
+
     /**
      * May be called by a tuner to spuriously launch the feeding of the
      * intra-bag
      */
     public void spuriousIntraBagEmptied() {
-        logger.intraQueueEmptied.incrementAndGet();
+        logger.intraQueueDepleted();
         intraQueueEmpty = true;
     }
 
     /**
      * Method called asynchronously by a thief to steal work from this place.
      * <p>
+     * Only the split of the loot and the accounting of the steal are done
+     * while holding the lock of this object. The loot is encoded, compressed
+     * and sent after the lock is released so that the steal requests received
+     * in the meantime are not held up by the transfer.
      *
      * @param thief
      *            the integer id of the place performing the steal, or `(-id -
      *            1)` if this is a random steal
+     * @param stamp
+     *            time stamp taken by the thief when sending the steal request,
+     *            given back to the thief with the loot
      */
     @SuppressWarnings("rawtypes")
-    synchronized void steal(int thief) {
-        workerLock.unblock();
+    void steal(int thief, long stamp) {
+        final Bag loot;
+        synchronized (this) {
+            workerLock.unblock();
+            loot = loot();
 
-        final int h = HOME.id;
-        final Bag loot = loot();
+            if (thief >= 0) {
+                // A lifeline is trying to steal some work
+                logger.lifelineStealReceived();
+                if (trace != null) {
+                    trace.protocolEvent(TraceEvent.STEAL_RECEIVED, thief, 1);
+                }
+
+                if (loot == null) {
+                    // Steal does not immediately succeeds
+                    // The lifeline is registered to answer it later.
+                    lifelineThieves.offer(thief);
+                } else {
+                    logger.lifelineStealSuffered();
+                }
+            } else {
+                // A random thief is trying to steal some work
+                logger.randomStealReceived();
+                if (trace != null) {
+                    trace.protocolEvent(TraceEvent.STEAL_RECEIVED,
+                            -thief - 1, 0);
+                }
+                if (loot != null) {
+                    logger.randomStealSuffered();
+                }
+            }
+        }
 
+        if (loot == null) {
+            return;
+        }
         if (thief >= 0) {
-            // A lifeline is trying to steal some work
-            logger.lifelineStealsReceived.incrementAndGet();
+            sendLoot(thief, HOME.id, loot, stamp);
+        } else {
+            sendLoot(-thief - 1, -1, loot, stamp);
+        }
+    }
 
-            if (loot == null) {
-                // Steal does not immediately succeeds
-                // The lifeline is registered to answer it later.
-                lifelineThieves.offer(thief);
-            } else {
-                logger.lifelineStealsSuffered.incrementAndGet();
-                asyncAt(place(thief), () -> deal(h, loot));
+    /**
+     * Sends some loot to a thief and deals it there. If the loot implements
+     * {@link BagCodec}, only its encoding is shipped to the thief where it is
+     * decoded with the local {@link #intraPlaceQueue}. Otherwise, the loot
+     * goes through the serialization of the APGAS runtime. If the thief runs
+     * on the same host and shared memory is enabled, the encoded or
+     * serialized loot is written into the ring bound to the thief and only its
+     * position is sent.
+     *
+     * @param thief
+     *            place to which the loot is sent
+     * @param victim
+     *            value given to {@link #deal(int, Bag, long, long)} on the thief,
+     *            the id of this place for a lifeline steal, -1 for a random
+     *            steal
+     * @param loot
+     *            the loot sent
+     * @param stamp
+     *            stamp of the steal request answered, {@link #NO_STAMP} if
+     *            none
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void sendLoot(int thief, int victim, Bag loot, long stamp) {
+        final boolean encoded = loot instanceof BagCodec;
+        final boolean shared = sharedMemory != null
+                && sharedMemory.isColocated(thief);
+        if (shared && encoded && compressor == null) {
+            // The loot is encoded straight into the ring
+            final BagCodec codec = (BagCodec) loot;
+            final long start = System.nanoTime();
+            final long[] message = sharedMemory.write(thief,
+                    codec.encodedSize(), codec::encode);
+            if (message != null) {
+                logger.lootEncoded(message[2], System.nanoTime() - start);
+                ringDoorbell(thief, victim, message, encoded, stamp);
+                return;
+            }
+        }
+        if (encoded || compressor != null || shared) {
+            final long start = System.nanoTime();
+            final byte[] bytes = encoded ? ((BagCodec) loot).toBytes()
+                    : serialize((Serializable) loot);
+            logger.lootEncoded(bytes.length, System.nanoTime() - start);
+            final byte[] payload = compress(bytes);
+            if (shared) {
+                final long[] message = sharedMemory.write(thief,
+                        payload.length, b -> b.put(payload));
+                if (message != null) {
+                    ringDoorbell(thief, victim, message, encoded, stamp);
+                    return;
+                }
             }
+            final long size = payload.length;
+            if (trace != null) {
+                trace.protocolEvent(TraceEvent.LOOT_SENT, thief, size);
+            }
+            asyncAt(place(thief), () -> {
+                emulateTransfer(size);
+                deal(victim, decode(payload, encoded), size, stamp);
+            });
         } else {
-            // A random thief is trying to steal some work
-            logger.stealsReceived.incrementAndGet();
-            if (loot != null) {
-                logger.stealsSuffered.incrementAndGet();
-                asyncAt(place(-thief - 1), () -> deal(-1, loot));
+            final long size = lootSent(thief, loot);
+            asyncAt(place(thief), () -> {
+                emulateTransfer(size);
+                deal(victim, loot, size, stamp);
+            });
+        }
+    }
+
+    /**
+     * Sends to a co-located thief the position of some loot written into the
+     * ring bound to it. The loot is read from the ring and dealt on the thief.
+     *
+     * @param thief
+     *            place to which the loot is sent
+     * @param victim
+     *            value given to {@link #deal(int, Bag, long, long)} on the thief
+     * @param message
+     *            positions of the loot returned by
+     *            {@link SharedMemory#write(int, int, java.util.function.Consumer)}
+     * @param encoded
+     *            {@code true} if the loot was encoded by its
+     *            {@link BagCodec}, {@code false} if it was serialized
+     * @param stamp
+     *            stamp of the steal request answered
+     * @see #setSharedMemory(String, String, int)
+     */
+    void ringDoorbell(int thief, int victim, long[] message, boolean encoded,
+            long stamp) {
+        logger.lootShared(message[2]);
+        if (trace != null) {
+            trace.protocolEvent(TraceEvent.LOOT_SENT, thief, message[2]);
+        }
+        final int h = HOME.id;
+        asyncAt(place(thief), () -> {
+            emulateTransfer(0);
+            deal(victim, sharedMemory.read(h, message, b -> decode(b, encoded)),
+                    message[2], stamp);
+        });
+    }
+
+    /**
+     * Rebuilds some loot sent as bytes by another place. Called on the thief
+     * before the loot is dealt.
+     *
+     * @param payload
+     *            bytes received, compressed if {@link #compressor} is set
+     * @param encoded
+     *            {@code true} if the loot was encoded by its
+     *            {@link BagCodec}, {@code false} if it was serialized
+     * @return the decoded loot
+     * @see #sendLoot(int, int, Bag, long)
+     */
+    @SuppressWarnings("rawtypes")
+    Bag decode(byte[] payload, boolean encoded) {
+        final long start = System.nanoTime();
+        final byte[] bytes = decompress(payload);
+        final Bag loot = encoded
+                ? (Bag) ((BagCodec) intraPlaceQueue)
+                        .decode(ByteBuffer.wrap(bytes))
+                : (Bag) deserialize(bytes);
+        logger.lootDecoded(System.nanoTime() - start);
+        return loot;
+    }
+
+    /**
+     * Rebuilds some loot read from a shared memory ring. Encoded loot which
+     * is not compressed is decoded in place, without being copied out of the
+     * ring.
+     *
+     * @param payload
+     *            section of the ring holding the loot
+     * @param encoded
+     *            {@code true} if the loot was encoded by its
+     *            {@link BagCodec}, {@code false} if it was serialized
+     * @return the decoded loot
+     * @see #ringDoorbell(int, int, long[], boolean, long)
+     */
+    @SuppressWarnings("rawtypes")
+    Bag decode(ByteBuffer payload, boolean encoded) {
+        if (encoded && compressor == null) {
+            final long start = System.nanoTime();
+            final Bag loot = (Bag) ((BagCodec) intraPlaceQueue)
+                    .decode(payload);
+            logger.lootDecoded(System.nanoTime() - start);
+            return loot;
+        }
+        final byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return decode(bytes, encoded);
+    }
+
+    /**
+     * Passes the given payload to the {@link #compressor} if compression is
+     * enabled and records the sizes before and after compression in the
+     * {@link #logger}.
+     *
+     * @param bytes
+     *            the payload to send to another place
+     * @return the bytes to send, the payload itself if compression is
+     *         disabled
+     * @see #decompress(byte[])
+     */
+    byte[] compress(byte[] bytes) {
+        if (compressor == null) {
+            return bytes;
+        }
+        final byte[] frame = compressor.compress(bytes);
+        logger.payloadCompressed(bytes.length, frame.length);
+        return frame;
+    }
+
+    /**
+     * Restores a payload produced by {@link #compress(byte[])} on another
+     * place. As all places share the same setting, the payload is compressed
+     * if {@link #compressor} is set on this place.
+     *
+     * @param bytes
+     *            bytes received
+     * @return the original payload
+     */
+    byte[] decompress(byte[] bytes) {
+        return compressor == null ? bytes : Compressor.decompress(bytes);
+    }
+
+    /**
+     * Serializes the given object with the default Java serialization
+     *
+     * @param o
+     *            the object to serialize
+     * @return the serialized object
+     */
+    static byte[] serialize(Serializable o) {
+        try {
+            return Serialization.toBytes(o);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deserializes an object serialized by {@link #serialize(Serializable)}
+     *
+     * @param bytes
+     *            the serialized object
+     * @return the deserialized object
+     */
+    static Object deserialize(byte[] bytes) {
+        try {
+            return Serialization.fromBytes(bytes);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Records the sending of some loot in the {@link #logger} and in the
+     * {@link #trace} if tracing is enabled. The size of the loot is measured by
+     * serializing it, which the logger only does with the full instrumentation
+     * level if {@link #lootSizeMeasured} is set.
+     *
+     * @param thief
+     *            place to which the loot is sent
+     * @param loot
+     *            the loot sent
+     * @return size of the serialized loot in bytes, or -1 if it was not
+     *         needed by the logger, the trace or the {@link #emulatedNetwork}
+     */
+    @SuppressWarnings("rawtypes")
+    long lootSent(int thief, Bag loot) {
+        long size = lootSizeMeasured ? logger.lootSent((Serializable) loot)
+                : -1;
+        if (size < 0 && (trace != null || (emulatedNetwork != null
+                && emulatedNetwork.isBandwidthLimited()))) {
+            size = Serialization.sizeOf((Serializable) loot);
+        }
+        if (trace != null) {
+            trace.protocolEvent(TraceEvent.LOOT_SENT, thief, size);
+        }
+        return size;
+    }
+
+    /**
+     * Opens a {@link JobPipeline} to which computations can be submitted to be
+     * performed back to back on this computer. The pipeline occupies the thread
+     * running the asynchronous computations until it is closed: computations
+     * submitted with
+     * {@link #computeAsync(Bag, SerializableSupplier, SerializableSupplier)}
+     * after the pipeline was opened start once the pipeline is closed and its
+     * jobs have completed.
+     *
+     * @param <R>
+     *            type of the result produced by the jobs
+     * @param <B>
+     *            type of the jobs
+     * @param queueInitializer
+     *            initializer for the queues used for load balancing purposes,
+     *            reused by every job of the pipeline
+     * @param workerInitializer
+     *            initializer for the workers bag, reused by every job of the
+     *            pipeline
+     * @return the pipeline, to which jobs can be submitted
+     */
+    public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> JobPipeline<R, B> openPipeline(
+            SerializableSupplier<B> queueInitializer,
+            SerializableSupplier<B> workerInitializer) {
+        final JobPipeline<R, B> pipeline = new JobPipeline<>(this);
+        pipeline.completion = CompletableFuture.runAsync(
+                () -> runPipeline(pipeline, queueInitializer,
+                        workerInitializer),
+                asyncExecutor());
+        return pipeline;
+    }
+
+    /**
+     * Receives the result of a place for a job of a {@link JobPipeline}. Called
+     * on place 0.
+     *
+     * @param job
+     *            number of the job in the pipeline
+     * @param r
+     *            result of the place for that job
+     */
+    @SuppressWarnings("rawtypes")
+    void pipelineGather(long job, Fold r) {
+        if (pipelineGathers.get(job).add(r)) {
+            pipelineGathers.remove(job);
+        }
+    }
+
+    /**
+     * Called on every place between two jobs of a {@link JobPipeline}.
+     * Submits the result of the completed job (if any) to place 0 and prepares
+     * the place for the next job (if any).
+     * <p>
+     * Contrary to method
+     * {@link #reset(SerializableSupplier, SerializableSupplier, SerializableSupplier, SerializableSupplier)},
+     * no supplier other than that of the result is sent to the place. The
+     * queues and the {@link PlaceLogger} of the place are kept as they are
+     * empty when the previous job completes. The worker bags are renewed with
+     * the supplier kept in member {@link #workerInitializer} as they may still
+     * hold their contribution to the previous result. The flags and lifelines
+     * are then restored to their initial conditions.
+     *
+     * @param job
+     *            number of the completed job in the pipeline, or a negative
+     *            value if there is no result to submit
+     * @param resultInitializer
+     *            supplier of the neutral element of the result of the next
+     *            job, or {@code null} if there is no next job yet
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void pipelineSwap(long job,
+            SerializableSupplier<? extends Fold> resultInitializer) {
+        if (job >= 0) {
+            final Fold r = result;
+            for (final WorkerBag wb : workerBags) {
+                wb.bag.submit(r);
+            }
+            if (HOME.id == 0) {
+                pipelineGather(job, r);
+            } else {
+                uncountedAsyncAt(place(0), () -> pipelineGather(job, r));
+            }
+        }
+        if (resultInitializer == null) {
+            return;
+        }
+
+        result = resultInitializer.get();
+        computationNumber++;
+        cancelled = false;
+        discardedWork.reset();
+        for (final WorkerBag wb : workerBags) {
+            wb.bag = workerInitializer.get();
+        }
+        lifelineAnswerLock.reset();
+        workerLock.reset();
+        interQueueEmpty = interPlaceQueue.isEmpty();
+        intraQueueEmpty = intraPlaceQueue.isEmpty();
+        state = -2;
+        shutdown = false;
+        for (int i = 0; i < CONFIGURATION.x; i++) {
+            feedInterQueueRequested.set(i, 1);
+        }
+
+        final boolean lifelinesOn = HOME.id != 0;
+        for (final int i : LIFELINE) {
+            lifelineEstablished.put(i, lifelinesOn);
+            lifelineEstablishedStamps.set(i, NO_STAMP);
+        }
+        lifelineThieves.clear();
+        for (final int i : REVERSE_LIFELINE) {
+            if (i != 0) {
+                lifelineThieves.add(i);
+            }
+        }
+    }
+
+    /**
+     * Calls method {@link #pipelineSwap(long, SerializableSupplier)} on every
+     * place and returns when every place has done so. The results of the
+     * completed job may still be travelling to place 0 when this method
+     * returns.
+     *
+     * @param job
+     *            number of the completed job in the pipeline, or a negative
+     *            value if there is no result to gather
+     * @param resultInitializer
+     *            supplier of the neutral element of the result of the next
+     *            job, or {@code null} if there is no next job yet
+     */
+    @SuppressWarnings("rawtypes")
+    void pipelineSwapAll(long job,
+            SerializableSupplier<? extends Fold> resultInitializer) {
+        finish(() -> {
+            for (final Place p : places()) {
+                asyncAt(p, () -> pipelineSwap(job, resultInitializer));
+            }
+        });
+    }
+
+    /**
+     * Performs the jobs submitted to a pipeline until it is closed. The places
+     * are fully reset before the first job only.
+     *
+     * @param <R>
+     *            type of the result produced by the jobs
+     * @param <B>
+     *            type of the jobs
+     * @param pipeline
+     *            the pipeline whose jobs are performed
+     * @param queueInitializer
+     *            initializer for the queues used for load balancing purposes
+     * @param workerInitializer
+     *            initializer for the workers bag
+     */
+    <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> void runPipeline(
+            JobPipeline<R, B> pipeline,
+            SerializableSupplier<B> queueInitializer,
+            SerializableSupplier<B> workerInitializer) {
+        final long initStart = System.nanoTime();
+        JobPipeline.Job<R, B> job = pipeline.next();
+        if (job == null) {
+            computationLog = new Logger(initStart, initStart, initStart,
+                    initStart, CONFIGURATION.p);
+            logsGiven = true;
+            return;
+        }
+        resetAll(job.resultInitializer, queueInitializer, workerInitializer,
+                null);
+
+        final long start = System.nanoTime();
+        long computationFinish = start;
+        long jobNumber = 0;
+        final List<CompletableFuture<R>> gathering = new ArrayList<>();
+        while (job != null) {
+            final B work = job.bag;
+            workerCount = 1;
+            state = 0;
+            try {
+                finish(() -> run(work));
+            } catch (final RuntimeException e) {
+                job.result.completeExceptionally(e);
+                pipeline.abort(e);
+                throw e;
+            }
+            computationFinish = System.nanoTime();
+
+            // Gather the result of this job while preparing the next one, the
+            // next job starts without waiting for the gather to complete
+            JobPipeline.Job<R, B> next = pipeline.poll();
+            pipelineGathers.put(jobNumber,
+                    new JobPipeline.Gather(CONFIGURATION.p, job.result));
+            gathering.removeIf(CompletableFuture::isDone);
+            gathering.add(job.result);
+            pipelineSwapAll(jobNumber,
+                    next == null ? null : next.resultInitializer);
+            jobNumber++;
+
+            if (next == null) {
+                // Wait for the next job before preparing the places for it
+                next = pipeline.next();
+                if (next != null) {
+                    pipelineSwapAll(-1, next.resultInitializer);
+                }
             }
+            job = next;
+        }
+
+        // The logs are complete once the results of every job have arrived
+        for (final CompletableFuture<R> f : gathering) {
+            f.join();
         }
+
+        // Preparation for method getLog if it is called
+        computationLog = new Logger(initStart, start, computationFinish,
+                System.nanoTime(), CONFIGURATION.p);
     }
 
     /**
@@ -1338,7 +3755,7 @@ public class GLBcomputer extends PlaceLocalObject {
                     for (final int i : LIFELINE) {
                         lifelineEstablished.put(i, true);
                     }
-                    deal(-1, warmupBagSupplier.get());
+                    deal(-1, warmupBagSupplier.get(), 0, NO_STAMP);
                 });
             }
         });
@@ -1346,7 +3763,9 @@ public class GLBcomputer extends PlaceLocalObject {
 
         computationLog = new Logger(reset, start, end, end, CONFIGURATION.p);
 
-        return getLog();
+        // The warm-up logs are not written in reports
+        gatherLogs();
+        return computationLog;
     }
 
     /**
@@ -1392,23 +3811,28 @@ public class GLBcomputer extends PlaceLocalObject {
     void workerProcess(WorkerBag workerBag) {
         logger.workerStarted();
         final Bag bag = workerBag.bag; // Makes later accesses more compact
+        final PlaceTrace t = trace;
+        final int id = workerBag.workerId;
 
         for (;;) { // Infinite loop, not a mistake
             do {
+                if (cancelled) {
+                    break; // The remaining content of the bag is abandoned
+                }
+
                 /*
                  * 1. Checking if a new worker can be spawned
                  */
-                if (!workerBags.isEmpty() && bag.isSplittable()) {
-                    final WorkerBag wb = workerBags.poll();
-                    // polling of workerBags may yield null if a concurrent
-                    // worker polled
-                    // the last bag, check is necessary.
+                if (workerCount < workerLimit && !workerBags.isEmpty()
+                        && bag.isSplittable()) {
+                    final WorkerBag wb = reserveWorker();
                     if (wb != null) {
                         // We can spawn a new worker
-                        synchronized (workerBags) {
-                            workerCount++;
-                        }
                         wb.bag.merge(bag.split(false));
+                        if (t != null) {
+                            t.workerEvent(id, TraceEvent.SPLIT,
+                                    System.nanoTime(), 0);
+                        }
                         async(() -> workerProcess(wb));
                     }
                 }
@@ -1421,9 +3845,13 @@ public class GLBcomputer extends PlaceLocalObject {
                     if (bag.isSplittable()) {
                         synchronized (intraPlaceQueue) {
                             intraPlaceQueue.merge(bag.split(false));
-                            logger.intraQueueFedByWorker.incrementAndGet();
+                            logger.intraQueueFilledByWorker();
                             intraQueueEmpty = intraPlaceQueue.isEmpty();
                         }
+                        if (t != null) {
+                            t.workerEvent(id, TraceEvent.SPLIT,
+                                    System.nanoTime(), 1);
+                        }
                     }
                 }
 
@@ -1434,9 +3862,13 @@ public class GLBcomputer extends PlaceLocalObject {
                     if (bag.isSplittable()) {
                         synchronized (intraPlaceQueue) {
                             interPlaceQueue.merge(bag.split(false));
-                            logger.interQueueFed.incrementAndGet();
+                            logger.interQueueFilled();
                             interQueueEmpty = interPlaceQueue.isEmpty();
                         }
+                        if (t != null) {
+                            t.workerEvent(id, TraceEvent.SPLIT,
+                                    System.nanoTime(), 2);
+                        }
 
                         feedInterQueueRequested.set(workerBag.workerId, 0);
                     }
@@ -1455,11 +3887,11 @@ public class GLBcomputer extends PlaceLocalObject {
                 /*
                  * 5. Yield if need be
                  */
-                if (workerCount == CONFIGURATION.x
+                if (communicationThreads == 0 && workerCount == CONFIGURATION.x
                         && (POOL.hasQueuedSubmissions() || lifelineToAnswer)) {
                     final Lock l = workerAvailableLocks.poll();
                     if (l != null) {
-                        logger.workerYieldStart();
+                        final long yieldStart = logger.workerYieldStart();
                         try {
                             ForkJoinPool.managedBlock(l);
                         } catch (final InterruptedException e) {
@@ -1468,7 +3900,7 @@ public class GLBcomputer extends PlaceLocalObject {
                             // not throw the InterruptedException
                             e.printStackTrace();
                         }
-                        logger.workerYieldStop();
+                        logger.workerYieldStop(yieldStart);
 
                         l.reset(); // Reset the lock after usage
                         workerAvailableLocks.add(l);
@@ -1478,7 +3910,20 @@ public class GLBcomputer extends PlaceLocalObject {
                 /*
                  * 6. Process its bag
                  */
-                bag.process(CONFIGURATION.n, result);
+                final int n = CONFIGURATION.n;
+                if (t == null) {
+                    bag.process(n, result);
+                } else {
+                    final long start = System.nanoTime();
+                    bag.process(n, result);
+                    t.workerEvent(id, TraceEvent.PROCESS, start,
+                            System.nanoTime() - start);
+                }
+                logger.workProcessed(n);
+                if (result instanceof Satisfiable
+                        && ((Satisfiable) result).isSatisfied()) {
+                    abort(computationNumber, false);
+                }
 
             } while (!bag.isEmpty());// 7. Repeat previous steps until the bag
                                      // becomes
@@ -1499,7 +3944,7 @@ public class GLBcomputer extends PlaceLocalObject {
                                         // lifelineDeal.
 
                 // Attempt to steal some work from the intra-place bag
-                if (!intraQueueEmpty) {
+                if (!intraQueueEmpty && !cancelled) {
                     Bag loot = null;
                     synchronized (intraPlaceQueue) {
                         if (!intraQueueEmpty) {
@@ -1517,16 +3962,20 @@ public class GLBcomputer extends PlaceLocalObject {
                             if (intraPlaceQueue.isEmpty()) {
                                 // Flag update and event log
                                 intraQueueEmpty = true;
-                                logger.intraQueueEmptied.getAndIncrement();
+                                logger.intraQueueDepleted();
                             }
-                            logger.intraQueueSplit.incrementAndGet();
+                            logger.intraQueueStolenFrom();
                         }
                     }
                     if (loot != null) {
                         bag.merge(loot);
+                        if (t != null) {
+                            t.workerEvent(id, TraceEvent.MERGE,
+                                    System.nanoTime(), 1);
+                        }
                     }
 
-                } else if (!interQueueEmpty) { // Couldn't steal from
+                } else if (!interQueueEmpty && !cancelled) { // Couldn't steal from
                                                // intraQueue, try on
                                                // interQueue
                     Bag loot = null;
@@ -1534,21 +3983,21 @@ public class GLBcomputer extends PlaceLocalObject {
                         if (!interQueueEmpty) {
                             loot = interPlaceQueue.split(true); // Take from
                                                                 // interplace
-                            logger.interQueueSplit.incrementAndGet();
+                            logger.interQueueStolenFrom();
                             // interQueueEmpty = interPlaceQueue.isEmpty(); //
                             // Update the flag
 
                             if (interPlaceQueue.isEmpty()) {
                                 // Flag update and event log
                                 interQueueEmpty = true;
-                                logger.interQueueEmptied++;
+                                logger.interQueueDepleted();
                                 requestInterQueueFeed();
                             }
                             /*
                              * if (loot.isSplittable()) { // Put some work back
                              * into the intra queue
                              * intraPlaceQueue.merge(loot.split(false));
-                             * logger.intraQueueFed.incrementAndGet();
+                             * logger.intraQueueFed.increment();
                              * intraQueueEmpty = intraPlaceQueue.isEmpty(); //
                              * Update the flag }
                              */
@@ -1559,10 +4008,21 @@ public class GLBcomputer extends PlaceLocalObject {
                     // }
                     if (loot != null) {
                         bag.merge(loot);
+                        if (t != null) {
+                            t.workerEvent(id, TraceEvent.MERGE,
+                                    System.nanoTime(), 2);
+                        }
                     }
 
                 } else {// Both queues were empty. The worker stops.
+                    final WorkerBag left = cancelled ? null : leftBag();
                     workerBags.add(workerBag);
+                    if (left != null) {
+                        // A bag left by a resumption takes over this worker
+                        logger.workerStopped();
+                        async(() -> workerProcess(left));
+                        return;
+                    }
                     workerCount--;
                     if (workerCount == 0) {
                         state = -1; // No more workers, we are now in stealing
@@ -13,7 +13,14 @@ package handist.glb;
 
 import static apgas.Constructs.*;
 
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import apgas.Place;
 import apgas.util.PlaceLocalObject;
+import handist.glb.simulation.CostModel;
+import handist.glb.simulation.NetworkModel;
 import handist.glb.tuning.Tuner;
 import handist.glb.util.LifelineStrategy;
 
@@ -45,6 +52,81 @@ public final class GLBfactory {
      *             {@link Configuration#GLBM_LIFELINESTRATEGY} could not be used
      */
     public static GLBcomputer setupGLB() throws ReflectiveOperationException {
+        return setupGLB(workers());
+    }
+
+    /**
+     * Sets up several {@link GLBcomputer} instances sharing the workers of each
+     * place, allowing several computations to run concurrently.
+     * <p>
+     * Each computer has its own queues and results and can only run a number
+     * of concurrent workers proportional to its share of the number of workers
+     * set with property {@value Configuration#GLBM_WORKERS} (at least one). The
+     * workers of all the computers are scheduled on the threads of the APGAS
+     * runtime and yield their thread when activities of other computers are
+     * waiting and their computer uses all its workers. A short computation
+     * submitted to a computer with a small share therefore does not wait for
+     * the completion of a long computation running on another computer. The
+     * computations are submitted concurrently with method
+     * {@link GLBcomputer#computeAsync(Bag, handist.glb.util.SerializableSupplier, handist.glb.util.SerializableSupplier)}
+     * of each computer.
+     * <p>
+     * The other settings are read from the same properties as
+     * {@link #setupGLB()} and are common to all the computers.
+     *
+     * @param shares
+     *            share of the workers of each place given to each computer,
+     *            between 0 (exclusive) and 1. The sum of the shares should not
+     *            exceed 1 to avoid running more workers than there are
+     *            threads.
+     * @return one computer per share given as parameter
+     * @throws ReflectiveOperationException
+     *             if the class to be used for
+     *             {@link Configuration#GLBM_LIFELINESTRATEGY} could not be used
+     * @throws IllegalArgumentException
+     *             if a share is not between 0 (exclusive) and 1
+     */
+    public static GLBcomputer[] setupSharedGLB(double... shares)
+            throws ReflectiveOperationException {
+        final int nbWorkers = workers();
+        final GLBcomputer[] computers = new GLBcomputer[shares.length];
+        for (int i = 0; i < shares.length; i++) {
+            if (!(shares[i] > 0 && shares[i] <= 1)) {
+                throw new IllegalArgumentException(
+                        "Share " + shares[i] + " is not in ]0, 1]");
+            }
+            computers[i] = setupGLB(
+                    Math.max(1, (int) Math.round(shares[i] * nbWorkers)));
+        }
+
+        // A worker yields its thread to the activities of any computer, they
+        // therefore need to be able to release it
+        final GLBcomputer first = computers[0];
+        for (int i = 1; i < computers.length; i++) {
+            final GLBcomputer c = computers[i];
+            finish(() -> {
+                for (final Place p : places()) {
+                    asyncAt(p, () -> c.shareYieldLock(first));
+                }
+            });
+        }
+        return computers;
+    }
+
+    /**
+     * Sets up {@link GLBcomputer} instances with the given number of workers
+     * at each place, the other settings being read from the properties
+     * presented in class {@link Configuration}.
+     *
+     * @param nbWorkers
+     *            maximum number of concurrent workers on each place
+     * @return computing service instance
+     * @throws ReflectiveOperationException
+     *             if the class to be used for
+     *             {@link Configuration#GLBM_LIFELINESTRATEGY} could not be used
+     */
+    private static GLBcomputer setupGLB(int nbWorkers)
+            throws ReflectiveOperationException {
         final int workUnit = Integer
                 .parseInt(System.getProperty(Configuration.GLBM_WORKUNIT,
                         Configuration.GLBM_DEFAULT_WORKUNIT));
@@ -66,10 +148,6 @@ public final class GLBfactory {
         }
         final LifelineStrategy strategy = s;
 
-        final int nbWorkers = Integer.parseInt(System.getProperty(
-                Configuration.GLBM_WORKERS,
-                String.valueOf(Runtime.getRuntime().availableProcessors())));
-
         final long tuningInterval = Long.parseLong(
                 System.getProperty(Configuration.GLBM_TUNING_INTERVAL,
                         Configuration.GLBM_DEFAULT_TUNING_INTERVAL));
@@ -91,8 +169,166 @@ public final class GLBfactory {
                 System.getProperty(Configuration.GLBM_WHISPERING_INTERVAL,
                         Configuration.GLBM_DEFAULT_WHISPERING_INTERVAL));
 
-        return PlaceLocalObject.make(places(),
-                () -> new GLBcomputer(workUnit, randomSteals, strategy,
-                        nbWorkers, tuningInterval, tuner, whisperInterval));
+        final String instrumentation;
+        if (tuner != null) {
+            // Tuners rely on the timing information recorded by the loggers
+            instrumentation = Configuration.GLBM_INSTRUMENTATION_FULL;
+        } else {
+            instrumentation = System.getProperty(
+                    Configuration.GLBM_INSTRUMENTATION,
+                    Configuration.GLBM_INSTRUMENTATION_FULL);
+        }
+
+        final int traceCapacity = Integer
+                .parseInt(System.getProperty(Configuration.GLBM_TRACE, "0"));
+
+        final boolean jmx = Boolean.getBoolean(Configuration.GLBM_JMX);
+
+        final long latency = Long.parseLong(
+                System.getProperty(Configuration.GLBM_EMULATION_LATENCY, "0"));
+        final long bandwidth = Long.parseLong(System
+                .getProperty(Configuration.GLBM_EMULATION_BANDWIDTH, "0"));
+        final NetworkModel network = latency > 0 || bandwidth > 0
+                ? new NetworkModel(latency, bandwidth)
+                : null;
+
+        final int estimationProbes = Integer.parseInt(
+                System.getProperty(Configuration.GLBM_ESTIMATION, "0"));
+        final long estimationInterval = Long.parseLong(
+                System.getProperty(Configuration.GLBM_ESTIMATION_INTERVAL,
+                        Configuration.GLBM_DEFAULT_ESTIMATION_INTERVAL));
+
+        final String checkpointDirectory = System
+                .getProperty(Configuration.GLBM_CHECKPOINT);
+        final long checkpointInterval = Long.parseLong(
+                System.getProperty(Configuration.GLBM_CHECKPOINT_INTERVAL,
+                        Configuration.GLBM_DEFAULT_CHECKPOINT_INTERVAL));
+
+        final int compression = Integer.parseInt(
+                System.getProperty(Configuration.GLBM_COMPRESSION, "-1"));
+        final long aggregationWindow = Long.parseLong(
+                System.getProperty(Configuration.GLBM_AGGREGATION, "0"));
+        final int aggregationSize = Integer.parseInt(
+                System.getProperty(Configuration.GLBM_AGGREGATION_SIZE,
+                        Configuration.GLBM_DEFAULT_AGGREGATION_SIZE));
+        final String sharedMemory = System
+                .getProperty(Configuration.GLBM_SHARED_MEMORY);
+        final int sharedMemorySize = Integer.parseInt(
+                System.getProperty(Configuration.GLBM_SHARED_MEMORY_SIZE,
+                        Configuration.GLBM_DEFAULT_SHARED_MEMORY_SIZE));
+        final String session = UUID.randomUUID().toString();
+        final boolean lootSize = Boolean
+                .getBoolean(Configuration.GLBM_LOOT_SIZE);
+        final int communicationThreads = Integer.parseInt(System
+                .getProperty(Configuration.GLBM_COMMUNICATION_THREADS, "0"));
+
+        return PlaceLocalObject.make(places(), () -> {
+            final GLBcomputer computer = new GLBcomputer(workUnit,
+                    randomSteals, strategy, nbWorkers, tuningInterval, tuner,
+                    whisperInterval, instrumentation, traceCapacity, network);
+            computer.setProgressEstimation(estimationProbes,
+                    Duration.ofNanos(estimationInterval));
+            computer.setCheckpointing(checkpointDirectory,
+                    Duration.ofNanos(checkpointInterval));
+            computer.setCompression(compression);
+            computer.setLootSizeMeasurement(lootSize);
+            computer.setAggregation(Duration.ofNanos(aggregationWindow),
+                    aggregationSize);
+            computer.setSharedMemory(sharedMemory, session, sharedMemorySize);
+            computer.setCommunicationThreads(communicationThreads);
+            if (jmx) {
+                GLBPlace.register(computer, session);
+            }
+            return computer;
+        });
+    }
+
+    /**
+     * Sets up a {@link GLBsimulator} which simulates the given number of
+     * places within the current process. The settings of the simulated places
+     * are read from the same properties as those used by {@link #setupGLB()},
+     * with the exception of the whisperer and tracing settings which are not
+     * supported by the simulator. If no number of workers is specified, each
+     * simulated place uses a single worker.
+     *
+     * @param places
+     *            number of simulated places
+     * @param network
+     *            model of the network between the simulated places
+     * @param cost
+     *            model of the time taken to process the bags
+     * @return simulator to which computations can be submitted
+     * @throws ReflectiveOperationException
+     *             if the class to be used for
+     *             {@link Configuration#GLBM_LIFELINESTRATEGY} or
+     *             {@link Configuration#GLBM_TUNERCLASS} could not be used
+     */
+    public static GLBsimulator setupSimulator(int places, NetworkModel network,
+            CostModel cost) throws ReflectiveOperationException {
+        final int workUnit = Integer
+                .parseInt(System.getProperty(Configuration.GLBM_WORKUNIT,
+                        Configuration.GLBM_DEFAULT_WORKUNIT));
+
+        final int randomSteals = Integer
+                .parseInt(System.getProperty(Configuration.GLBM_RANDOMSTEALS,
+                        Configuration.GLBM_DEFAULT_RANDOMSTEALS));
+
+        final LifelineStrategy strategy = (LifelineStrategy) Class
+                .forName(System.getProperty(
+                        Configuration.GLBM_LIFELINESTRATEGY,
+                        Configuration.GLBM_DEFAULT_LIFELINESTRATEGY))
+                .newInstance();
+
+        final int nbWorkers = Integer
+                .parseInt(System.getProperty(Configuration.GLBM_WORKERS, "1"));
+
+        final long tuningInterval = Long.parseLong(
+                System.getProperty(Configuration.GLBM_TUNING_INTERVAL,
+                        Configuration.GLBM_DEFAULT_TUNING_INTERVAL));
+
+        // Each simulated place needs its own tuner instance
+        final String tunerClass = System
+                .getProperty(Configuration.GLBM_TUNERCLASS, null);
+        Supplier<Tuner> tuners = null;
+        if (tunerClass != null) {
+            final Class<?> c = Class.forName(tunerClass);
+            c.newInstance(); // Fails early if the tuner cannot be created
+            tuners = () -> {
+                try {
+                    return (Tuner) c.newInstance();
+                } catch (InstantiationException | IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+
+        final String instrumentation;
+        if (tuners != null) {
+            // Tuners rely on the timing information recorded by the loggers
+            instrumentation = Configuration.GLBM_INSTRUMENTATION_FULL;
+        } else {
+            instrumentation = System.getProperty(
+                    Configuration.GLBM_INSTRUMENTATION,
+                    Configuration.GLBM_INSTRUMENTATION_FULL);
+        }
+
+        final GLBsimulator simulator = new GLBsimulator(places, nbWorkers,
+                workUnit, randomSteals, strategy, tuningInterval, tuners,
+                instrumentation, network, cost);
+        simulator.setLootSizeMeasurement(
+                Boolean.getBoolean(Configuration.GLBM_LOOT_SIZE));
+        return simulator;
+    }
+
+    /**
+     * Returns the number of workers set with property
+     * {@value Configuration#GLBM_WORKERS}, the number of available processors
+     * by default
+     *
+     * @return number of workers on each place
+     */
+    private static int workers() {
+        return Integer.parseInt(System.getProperty(Configuration.GLBM_WORKERS,
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
     }
 }
@@ -0,0 +1,899 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import handist.glb.simulation.CostModel;
+import handist.glb.simulation.NetworkModel;
+import handist.glb.tuning.Tuner;
+import handist.glb.util.Fold;
+import handist.glb.util.LifelineStrategy;
+import handist.glb.util.Serialization;
+
+/**
+ * Discrete-event simulator of the load balance performed by
+ * {@link GLBcomputer}, allowing to evaluate lifeline strategies, tuners and
+ * parameters on a large number of places within a single Java process.
+ * <p>
+ * Each simulated place holds the same structures as a {@link GLBcomputer}:
+ * the bags of its workers, the intra-place and inter-place queues, its
+ * established lifelines and the lifeline thieves waiting for work. The
+ * decisions taken by the simulated workers and places follow those of methods
+ * {@code workerProcess}, {@code steal}, {@code deal} and {@code run} of
+ * {@link GLBcomputer}, but are taken against a simulated clock:
+ * <ul>
+ * <li>the bags are actually processed, the simulated time taken by each call
+ * to {@link Bag#process(int, Fold)} being decided by a {@link CostModel}
+ * <li>the messages exchanged between places are delivered after the time
+ * given by a {@link NetworkModel}, the loot being serialized to measure its
+ * size when the bandwidth is limited
+ * <li>a thief waits {@value #STEAL_WAIT} nanoseconds for the answer to each of
+ * its steal attempts, as {@link GLBcomputer} does
+ * <li>the lifeline thieves are answered as soon as the inter-place queue is
+ * fed by a worker, the lifeline answer thread being considered as always
+ * scheduled immediately. Its timings are not recorded.
+ * <li>workers never yield their thread as the simulated places process their
+ * incoming messages instantly
+ * </ul>
+ * The events of each place are recorded in a {@link PlaceLogger} whose clock
+ * is the simulated time, making the {@link Logger} obtained with
+ * {@link #getLog()} comparable to that of an actual computation. Tuners are
+ * called at their interval of simulated time, with a {@code null}
+ * {@link GLBcomputer}. The {@link Whisperer} mechanism is not simulated.
+ * <p>
+ * With a {@link CostModel#perWorkUnit(long)} cost model, the simulation is
+ * deterministic: the victims of random steals are chosen with the same seeds
+ * as {@link GLBcomputer} and simultaneous events are handled in the order they
+ * were scheduled.
+ *
+ * @author Patrick Finnerty
+ * @see GLBfactory#setupSimulator(int, NetworkModel, CostModel)
+ */
+public class GLBsimulator {
+
+    /**
+     * Event of the simulation, an action to perform at a given simulated time
+     */
+    static final class Event implements Comparable<Event> {
+
+        /** Action performed when the event occurs */
+        final Runnable action;
+
+        /** Order in which the event was scheduled, used to break ties */
+        final long sequence;
+
+        /** Simulated time at which the event occurs */
+        final long time;
+
+        /**
+         * Constructor
+         *
+         * @param t
+         *            simulated time of the event
+         * @param s
+         *            sequence number of the event
+         * @param a
+         *            action performed
+         */
+        Event(long t, long s, Runnable a) {
+            time = t;
+            sequence = s;
+            action = a;
+        }
+
+        @Override
+        public int compareTo(Event o) {
+            if (time != o.time) {
+                return Long.compare(time, o.time);
+            }
+            return Long.compare(sequence, o.sequence);
+        }
+    }
+
+    /**
+     * State of a simulated place, mirroring the members of
+     * {@link GLBcomputer}
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    final class SimulatedPlace {
+
+        /** Configuration of this place, modified by its tuner */
+        final Configuration conf;
+
+        /**
+         * Flags requesting each worker to feed the inter-place queue
+         */
+        final boolean[] feedInterQueueRequested;
+
+        /** Integer identifier of this place */
+        final int id;
+
+        /** Ids of the inactive workers */
+        final ArrayDeque<Integer> idleWorkers;
+
+        /** Queue used to answer the steals of remote places */
+        Bag interPlaceQueue;
+
+        /** Flag indicating {@link #interPlaceQueue} is empty */
+        boolean interQueueEmpty;
+
+        /** Queue used to balance the load between the workers of the place */
+        Bag intraPlaceQueue;
+
+        /** Flag indicating {@link #intraPlaceQueue} is empty */
+        boolean intraQueueEmpty;
+
+        /** Places on which this place establishes lifelines */
+        final int[] lifeline;
+
+        /** Indicates for each lifeline if it is established */
+        final boolean[] lifelineEstablished;
+
+        /** Time at which each lifeline was established */
+        final long[] lifelineEstablishedStamps;
+
+        /** Index of the next lifeline to establish when stealing */
+        int lifelineIndex;
+
+        /** Lifeline thieves waiting for some work from this place */
+        final ArrayDeque<Integer> lifelineThieves;
+
+        /** Logger recording the activity of this place */
+        PlaceLogger logger;
+
+        /** Number of random steals attempted since the place ran out of work */
+        int randomStealCount;
+
+        /** Random generator deciding the victims of random steals */
+        final Random random;
+
+        /** Result of the computation on this place */
+        Fold result;
+
+        /** Places that establish lifelines on this place */
+        final int[] reverseLifeline;
+
+        /** State of the place, 0 running, -1 stealing and -2 inactive */
+        int state;
+
+        /**
+         * Incremented each time a steal attempt completes, invalidating the
+         * pending time out of the attempt
+         */
+        long stealToken;
+
+        /** Tuner of this place, {@code null} if there are none */
+        final Tuner tuner;
+
+        /**
+         * Incremented each time the place becomes inactive, invalidating the
+         * pending tuner call
+         */
+        long tunerToken;
+
+        /** Bags of the workers */
+        final Bag[] workerBags;
+
+        /** Number of running workers */
+        int workerCount;
+
+        /**
+         * Constructor
+         *
+         * @param placeId
+         *            integer identifier of the place
+         */
+        SimulatedPlace(int placeId) {
+            id = placeId;
+            conf = getConfiguration();
+            feedInterQueueRequested = new boolean[workers];
+            idleWorkers = new ArrayDeque<>(workers);
+            lifeline = strategy.lifeline(id, places);
+            lifelineEstablished = new boolean[lifeline.length];
+            lifelineEstablishedStamps = new long[lifeline.length];
+            lifelineThieves = new ArrayDeque<>();
+            random = new Random(id);
+            reverseLifeline = strategy.reverseLifeline(id, places);
+            tuner = tuners == null ? null : tuners.get();
+            workerBags = new Bag[workers];
+        }
+
+        /**
+         * Answers the lifeline thieves with the content of the inter-place
+         * queue, as done by {@link GLBcomputer#lifelineAnswerThread()}
+         */
+        void answerLifelines() {
+            while (!lifelineThieves.isEmpty() && !interQueueEmpty) {
+                final Bag loot = interPlaceQueue.split(true);
+                logger.interQueueStolenFrom();
+                interQueueEmpty = interPlaceQueue.isEmpty();
+                final int thief = lifelineThieves.poll();
+                sendLoot(thief, loot, () -> simulatedPlaces[thief].deal(id,
+                        loot, GLBcomputer.NO_STAMP));
+                logger.lifelineStealSuffered();
+            }
+            if (interQueueEmpty) {
+                requestInterQueueFeed();
+            }
+        }
+
+        /**
+         * Receives some loot from a victim, as done by
+         * {@link GLBcomputer#deal(int, Bag, long, long)}
+         *
+         * @param victim
+         *            the victim, negative for a random steal
+         * @param loot
+         *            loot received
+         * @param stamp
+         *            time at which the steal was sent
+         */
+        void deal(int victim, Bag loot, long stamp) {
+            final long latency = stamp == GLBcomputer.NO_STAMP ? -1
+                    : now - stamp;
+            if (victim < 0) {
+                logger.randomStealSucceeded(latency);
+            } else {
+                int i = 0;
+                while (lifeline[i] != victim) {
+                    i++;
+                }
+                final long established = lifelineEstablishedStamps[i];
+                logger.lifelineStealSucceeded(latency,
+                        established == GLBcomputer.NO_STAMP ? -1
+                                : now - established);
+                lifelineEstablished[i] = false;
+            }
+
+            switch (state) {
+            case 0:
+                intraPlaceQueue.merge(loot);
+                logger.intraQueueFilledByLifeline();
+                intraQueueEmpty = false;
+                return;
+            case -1:
+                stealToken++; // Cancels the pending steal time out
+                state = 0;
+                startWorker(loot);
+                return;
+            default:
+                state = 0;
+                run(loot);
+            }
+        }
+
+        /**
+         * Takes some loot from the inter-place queue for a thief
+         *
+         * @return the loot or {@code null} if the queue is empty
+         */
+        Bag loot() {
+            Bag loot = null;
+            if (!interQueueEmpty) {
+                loot = interPlaceQueue.split(true);
+                logger.interQueueStolenFrom();
+                interQueueEmpty = interPlaceQueue.isEmpty();
+                if (interQueueEmpty) {
+                    requestInterQueueFeed();
+                }
+            }
+            return loot;
+        }
+
+        /**
+         * Establishes the next lifeline of this place and waits for an
+         * answer, as done by {@link GLBcomputer#performLifelineSteals()}
+         */
+        void nextLifelineSteal() {
+            if (lifelineIndex >= lifeline.length) {
+                state = -2; // No work came through the lifelines
+                tunerToken++;
+                return;
+            }
+            final int i = lifelineIndex;
+            if (!lifelineEstablished[i]) {
+                logger.lifelineStealAttempted();
+                lifelineEstablished[i] = true;
+                final long stamp = now;
+                lifelineEstablishedStamps[i] = stamp;
+                send(lifeline[i], () -> simulatedPlaces[lifeline[i]].steal(id,
+                        stamp));
+            }
+            final long token = ++stealToken;
+            schedule(now + STEAL_WAIT, () -> {
+                if (token == stealToken) {
+                    lifelineIndex++;
+                    nextLifelineSteal();
+                }
+            });
+        }
+
+        /**
+         * Attempts a random steal and waits for an answer, as done by
+         * {@link GLBcomputer#performRandomSteals()}
+         */
+        void nextRandomSteal() {
+            if (places < 2 || randomStealCount >= conf.w) {
+                lifelineIndex = 0;
+                nextLifelineSteal();
+                return;
+            }
+            randomStealCount++;
+            logger.randomStealAttempted();
+            int victim = random.nextInt(places - 1);
+            if (victim >= id) {
+                victim++;
+            }
+            final int v = victim;
+            final long stamp = now;
+            send(v, () -> simulatedPlaces[v].steal(-id - 1, stamp));
+            final long token = ++stealToken;
+            schedule(now + STEAL_WAIT, () -> {
+                if (token == stealToken) {
+                    nextRandomSteal();
+                }
+            });
+        }
+
+        /** Requests every worker to feed the inter-place queue */
+        void requestInterQueueFeed() {
+            for (int i = 0; i < feedInterQueueRequested.length; i++) {
+                feedInterQueueRequested[i] = true;
+            }
+        }
+
+        /**
+         * Restores the initial conditions of the place before a computation,
+         * as done by method {@code reset} of {@link GLBcomputer}
+         *
+         * @param resultInitializer
+         *            supplier of the neutral element of the result
+         * @param queueInitializer
+         *            supplier of empty queue bags
+         * @param workerInitializer
+         *            supplier of empty worker bags
+         */
+        void reset(Supplier<? extends Fold> resultInitializer,
+                Supplier<? extends Bag> queueInitializer,
+                Supplier<? extends Bag> workerInitializer) {
+            conf.reset();
+            logger = PlaceLogger.newPlaceLogger(conf, id, () -> now);
+            result = resultInitializer.get();
+            interPlaceQueue = queueInitializer.get();
+            intraPlaceQueue = queueInitializer.get();
+            interQueueEmpty = true;
+            intraQueueEmpty = true;
+            state = -2;
+            workerCount = 0;
+            idleWorkers.clear();
+            for (int i = 0; i < workers; i++) {
+                workerBags[i] = workerInitializer.get();
+                idleWorkers.add(i);
+                feedInterQueueRequested[i] = true;
+            }
+            final boolean lifelinesOn = id != 0;
+            for (int i = 0; i < lifeline.length; i++) {
+                lifelineEstablished[i] = lifelinesOn;
+                lifelineEstablishedStamps[i] = GLBcomputer.NO_STAMP;
+            }
+            lifelineThieves.clear();
+            for (final int i : reverseLifeline) {
+                if (i != 0) {
+                    lifelineThieves.add(i);
+                }
+            }
+        }
+
+        /**
+         * Starts the activity of an inactive place, as done by
+         * {@link GLBcomputer#run(Bag)}
+         *
+         * @param b
+         *            work given to the first worker
+         */
+        void run(Bag b) {
+            if (tuner != null) {
+                final long token = tunerToken;
+                final long lastCall = tuner.placeLaunched(logger, conf);
+                scheduleTuner(token, lastCall + conf.t);
+            }
+            startWorker(b);
+        }
+
+        /**
+         * Schedules the next call to the tuner of this place
+         *
+         * @param token
+         *            value of {@link #tunerToken} when the tuner was launched
+         * @param time
+         *            simulated time of the call
+         */
+        void scheduleTuner(long token, long time) {
+            schedule(time, () -> {
+                if (token == tunerToken) {
+                    scheduleTuner(token, tuner.tune(logger, conf, null) + conf.t);
+                }
+            });
+        }
+
+        /**
+         * Sends some loot to a thief, the transfer time depending on the size
+         * of the loot
+         *
+         * @param thief
+         *            destination of the loot
+         * @param loot
+         *            loot sent
+         * @param delivery
+         *            action performed on the thief when the loot arrives
+         */
+        void sendLoot(int thief, Bag loot, Runnable delivery) {
+            long size;
+            if (loot instanceof BagCodec) {
+                final long start = System.nanoTime();
+                size = ((BagCodec<?>) loot).toBytes().length;
+                logger.lootEncoded(size, System.nanoTime() - start);
+            } else {
+                size = lootSizeMeasured ? logger.lootSent((Serializable) loot)
+                        : -1;
+            }
+            if (size < 0 && network.isBandwidthLimited()) {
+                size = Serialization.sizeOf((Serializable) loot);
+            }
+            schedule(now + network.transferTime(size), delivery);
+        }
+
+        /**
+         * Starts a first worker with the given work
+         *
+         * @param b
+         *            work given to the worker
+         */
+        void startWorker(Bag b) {
+            randomStealCount = 0;
+            final int w = idleWorkers.poll();
+            workerBags[w].merge(b);
+            workerCount = 1;
+            logger.workerStarted();
+            workerStep(w);
+        }
+
+        /**
+         * Receives a steal request, as done by
+         * {@link GLBcomputer#steal(int, long)}
+         *
+         * @param thief
+         *            id of the lifeline thief, or {@code -id-1} for a random
+         *            thief
+         * @param stamp
+         *            time at which the request was sent
+         */
+        void steal(int thief, long stamp) {
+            final Bag loot = loot();
+            if (thief >= 0) {
+                logger.lifelineStealReceived();
+                if (loot == null) {
+                    lifelineThieves.offer(thief);
+                } else {
+                    logger.lifelineStealSuffered();
+                    sendLoot(thief, loot,
+                            () -> simulatedPlaces[thief].deal(id, loot, stamp));
+                }
+            } else {
+                logger.randomStealReceived();
+                if (loot != null) {
+                    logger.randomStealSuffered();
+                    final int t = -thief - 1;
+                    sendLoot(t, loot,
+                            () -> simulatedPlaces[t].deal(-1, loot, stamp));
+                }
+            }
+        }
+
+        /**
+         * Called when a worker has emptied its bag, as done by the end of
+         * {@link GLBcomputer#workerProcess(GLBcomputer.WorkerBag)}
+         *
+         * @param w
+         *            id of the worker
+         */
+        void workerOutOfWork(int w) {
+            logger.workerStealing();
+            Bag loot = null;
+            if (!intraQueueEmpty) {
+                loot = intraPlaceQueue.split(true);
+                if (intraPlaceQueue.isEmpty()) {
+                    intraQueueEmpty = true;
+                    logger.intraQueueDepleted();
+                }
+                logger.intraQueueStolenFrom();
+            } else if (!interQueueEmpty) {
+                loot = interPlaceQueue.split(true);
+                logger.interQueueStolenFrom();
+                if (interPlaceQueue.isEmpty()) {
+                    interQueueEmpty = true;
+                    logger.interQueueDepleted();
+                    requestInterQueueFeed();
+                }
+            }
+
+            if (loot == null) {
+                idleWorkers.add(w);
+                workerCount--;
+                logger.workerStopped();
+                if (workerCount == 0) {
+                    state = -1;
+                    nextRandomSteal();
+                }
+            } else {
+                workerBags[w].merge(loot);
+                logger.workerResumed();
+                workerStep(w);
+            }
+        }
+
+        /**
+         * Performs one iteration of the main loop of a worker, as done by
+         * {@link GLBcomputer#workerProcess(GLBcomputer.WorkerBag)}, and
+         * schedules the next one after the simulated time taken to process
+         * the bag
+         *
+         * @param w
+         *            id of the worker
+         */
+        void workerStep(int w) {
+            final Bag bag = workerBags[w];
+
+            // 1. Spawn a new worker if possible
+            if (!idleWorkers.isEmpty() && bag.isSplittable()) {
+                final int other = idleWorkers.poll();
+                workerCount++;
+                workerBags[other].merge(bag.split(false));
+                logger.workerStarted();
+                schedule(now, () -> workerStep(other));
+            }
+
+            // 2. Feed the intra-place queue
+            if (intraQueueEmpty && bag.isSplittable()) {
+                intraPlaceQueue.merge(bag.split(false));
+                logger.intraQueueFilledByWorker();
+                intraQueueEmpty = intraPlaceQueue.isEmpty();
+            }
+
+            // 3. Feed the inter-place queue
+            if (feedInterQueueRequested[w] && bag.isSplittable()) {
+                interPlaceQueue.merge(bag.split(false));
+                logger.interQueueFilled();
+                interQueueEmpty = interPlaceQueue.isEmpty();
+                feedInterQueueRequested[w] = false;
+            }
+
+            // 4. Answer the lifeline thieves
+            if (!lifelineThieves.isEmpty() && !interQueueEmpty) {
+                answerLifelines();
+            }
+
+            // 5. Process the bag
+            final int n = conf.n;
+            final long start = System.nanoTime();
+            bag.process(n, result);
+            final long measured = System.nanoTime() - start;
+            logger.workProcessed(n);
+
+            final long next = now + cost.processTime(measured, n);
+            if (bag.isEmpty()) {
+                schedule(next, () -> workerOutOfWork(w));
+            } else {
+                schedule(next, () -> workerStep(w));
+            }
+        }
+    }
+
+    /**
+     * Time in nanoseconds waited by a thief for the answer to a steal before
+     * attempting the next one, matching the wait performed by
+     * {@link GLBcomputer}
+     */
+    public static final long STEAL_WAIT = 5000000L;
+
+    /** Logger of the last computation */
+    Logger computationLog;
+
+    /** Model of the time taken to process the bags */
+    final CostModel cost;
+
+    /** Number of events processed during the last computation */
+    long eventCount;
+
+    /** Pending events */
+    final PriorityQueue<Event> events;
+
+    /** Level of instrumentation of the loggers */
+    final String instrumentation;
+
+    /** Indicates if the logs of the last computation were written */
+    boolean logsGiven;
+
+    /** Model of the network between the places */
+    final NetworkModel network;
+
+    /** Current simulated time in nanoseconds */
+    long now;
+
+    /** Number of simulated places */
+    final int places;
+
+    /** Maximum number of random steals before using the lifelines */
+    final int randomSteals;
+
+    /** Sequence number of the next event scheduled */
+    long sequence;
+
+    /** The simulated places */
+    final SimulatedPlace[] simulatedPlaces;
+
+    /** Lifeline strategy used between the places */
+    final LifelineStrategy strategy;
+
+    /** Name of the class of the tuners */
+    final String tunerName;
+
+    /** Supplier of the tuner of each place, {@code null} if none */
+    final Supplier<? extends Tuner> tuners;
+
+    /** Initial interval between tuner calls in nanoseconds */
+    final long tuningInterval;
+
+    /**
+     * Indicates if the loot without {@link BagCodec} is serialized to record
+     * its size
+     *
+     * @see #setLootSizeMeasurement(boolean)
+     */
+    boolean lootSizeMeasured;
+
+    /** Number of workers on each place */
+    final int workers;
+
+    /** Initial amount of work processed by workers between runtime checks */
+    final int workUnit;
+
+    /**
+     * Constructor
+     *
+     * @param placeCount
+     *            number of simulated places
+     * @param workerCount
+     *            number of concurrent workers on each place
+     * @param n
+     *            initial amount of work processed by workers between runtime
+     *            checks
+     * @param w
+     *            number of random steals attempted before using the lifelines
+     * @param s
+     *            lifeline strategy
+     * @param tuningTimeout
+     *            initial interval between tuner calls in nanoseconds
+     * @param tunerSupplier
+     *            supplier of the tuner of each place, {@code null} to disable
+     *            tuning
+     * @param instrumentationLevel
+     *            instrumentation level of the loggers, see
+     *            {@link Configuration#GLBM_INSTRUMENTATION}
+     * @param networkModel
+     *            model of the network between the places
+     * @param costModel
+     *            model of the time taken to process the bags
+     */
+    public GLBsimulator(int placeCount, int workerCount, int n, int w,
+            LifelineStrategy s, long tuningTimeout,
+            Supplier<? extends Tuner> tunerSupplier,
+            String instrumentationLevel, NetworkModel networkModel,
+            CostModel costModel) {
+        places = placeCount;
+        workers = workerCount;
+        workUnit = n;
+        randomSteals = w;
+        strategy = s;
+        tuningInterval = tuningTimeout;
+        tuners = tunerSupplier;
+        instrumentation = instrumentationLevel;
+        network = networkModel;
+        cost = costModel;
+        events = new PriorityQueue<>();
+        tunerName = tuners == null ? "null"
+                : tuners.get().getClass().getCanonicalName();
+        simulatedPlaces = new SimulatedPlace[places];
+        for (int i = 0; i < places; i++) {
+            simulatedPlaces[i] = new SimulatedPlace(i);
+        }
+    }
+
+    /**
+     * Simulates the computation of the given bag and returns its result.
+     *
+     * @param <R>
+     *            type of the result produced by the computation
+     * @param <B>
+     *            type of the computation bag
+     * @param bag
+     *            the computation to be performed
+     * @param initResultSupplier
+     *            function that provides new empty result instances
+     * @param emptyBagSupplier
+     *            function that provides new empty computation bag instances
+     * @return aggregated result of the computation
+     */
+    public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> R compute(
+            B bag, Supplier<R> initResultSupplier,
+            Supplier<B> emptyBagSupplier) {
+        return compute(bag, initResultSupplier, emptyBagSupplier,
+                emptyBagSupplier);
+    }
+
+    /**
+     * Simulates the computation of the given bag on the simulated places and
+     * returns its result. As with {@link GLBcomputer}, place 0 starts the
+     * computation with the given work.
+     *
+     * @param <R>
+     *            type parameter for the result produced by the computation
+     * @param <B>
+     *            type parameter for the computation to perform
+     * @param work
+     *            initial work to be processed
+     * @param resultInitializer
+     *            initializer for the result instance
+     * @param queueInitializer
+     *            initializer for the queue used for load balancing purposes
+     * @param workerInitializer
+     *            initializer for the workers bag
+     * @return instance of type R containing the result of the simulated
+     *         computation
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public <R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> R compute(
+            B work, Supplier<R> resultInitializer, Supplier<B> queueInitializer,
+            Supplier<B> workerInitializer) {
+        now = 0;
+        sequence = 0;
+        eventCount = 0;
+        events.clear();
+        for (final SimulatedPlace p : simulatedPlaces) {
+            p.reset(resultInitializer, queueInitializer, workerInitializer);
+        }
+
+        simulatedPlaces[0].state = 0;
+        simulatedPlaces[0].run(work);
+        while (!events.isEmpty()) {
+            final Event e = events.poll();
+            now = e.time;
+            eventCount++;
+            e.action.run();
+        }
+        final long end = now;
+
+        // Every place submits the result of its workers to place 0
+        final R result = (R) simulatedPlaces[0].result;
+        for (final SimulatedPlace p : simulatedPlaces) {
+            for (final Bag b : p.workerBags) {
+                b.submit(p.result);
+            }
+            if (p.id != 0) {
+                result.fold((R) p.result);
+            }
+        }
+
+        computationLog = new Logger(0, 0, end, end, places);
+        logsGiven = false;
+        return result;
+    }
+
+    /**
+     * Returns the configuration of the simulated places, as it was before the
+     * computation started.
+     *
+     * @return configuration of the simulated places
+     */
+    public Configuration getConfiguration() {
+        return new Configuration(places, workers, workUnit, randomSteals,
+                strategy.getClass().getCanonicalName(), tuningInterval,
+                tunerName, 0, instrumentation, 0);
+    }
+
+    /**
+     * Enables the measurement of the serialized size of the loot sent between
+     * the simulated places, as done by
+     * {@link GLBcomputer#setLootSizeMeasurement(boolean)}. The loot of bags
+     * implementing {@link BagCodec} is always measured.
+     *
+     * @param measured
+     *            {@code true} to measure the size of the loot
+     */
+    public void setLootSizeMeasurement(boolean measured) {
+        lootSizeMeasured = measured;
+    }
+
+    /**
+     * Returns the number of events processed during the last simulated
+     * computation
+     *
+     * @return number of events
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Gives back the log of the last simulated computation. The timings it
+     * contains are in simulated nanoseconds. As with
+     * {@link GLBcomputer#getLog()}, a {@link Report} is written the first
+     * time this method is called after a computation if property
+     * {@value Configuration#GLBM_REPORT} is set.
+     *
+     * @return the log of the last simulated computation
+     */
+    public Logger getLog() {
+        if (!logsGiven) {
+            for (final SimulatedPlace p : simulatedPlaces) {
+                p.logger.aggregate();
+                computationLog.addPlaceLogger(p.logger);
+            }
+            logsGiven = true;
+
+            final String reportDirectory = System
+                    .getProperty(Configuration.GLBM_REPORT);
+            if (reportDirectory != null) {
+                try {
+                    Report.write(computationLog, getConfiguration(),
+                            Paths.get(reportDirectory));
+                } catch (final IOException e) {
+                    System.err.println("Could not write the GLB report in "
+                            + reportDirectory);
+                    e.printStackTrace();
+                }
+            }
+        }
+        return computationLog;
+    }
+
+    /**
+     * Schedules an action at the given simulated time
+     *
+     * @param time
+     *            simulated time in nanoseconds
+     * @param action
+     *            action to perform
+     */
+    void schedule(long time, Runnable action) {
+        events.add(new Event(time, sequence++, action));
+    }
+
+    /**
+     * Sends a control message, whose size is neglected, to a place
+     *
+     * @param destination
+     *            the recipient of the message
+     * @param action
+     *            action performed on the recipient
+     */
+    void send(int destination, Runnable action) {
+        schedule(now + network.transferTime(0), action);
+    }
+}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import java.io.Serializable;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import handist.glb.util.Fold;
+import handist.glb.util.SerializableSupplier;
+
+/**
+ * Queue of computations performed back to back by a {@link GLBcomputer}.
+ * <p>
+ * Instances are obtained with method
+ * {@link GLBcomputer#openPipeline(SerializableSupplier, SerializableSupplier)}.
+ * Compared to successive calls to
+ * {@link GLBcomputer#compute(Bag, SerializableSupplier, SerializableSupplier, SerializableSupplier)},
+ * the jobs of a pipeline reuse the queues and {@link PlaceLogger} of each
+ * place, and the suppliers of bags are only sent to the places once. Between
+ * two jobs, a single message is sent to each place which both collects the
+ * result of the completed job and prepares the place for the next one. The
+ * results are then folded on place 0 while the next job is already running.
+ * <p>
+ * As the queues of each place are reused and the worker bags obtained from
+ * the same supplier, every job submitted to a pipeline needs to be compatible
+ * with the bags provided by the suppliers given when the pipeline was opened. The parameters adjusted by
+ * the {@link handist.glb.tuning.Tuner} are also kept from one job to the next.
+ *
+ * @param <R>
+ *            type of the result produced by the jobs
+ * @param <B>
+ *            type of the jobs
+ * @author Patrick Finnerty
+ */
+public final class JobPipeline<R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> {
+
+    /**
+     * Result of a job being gathered on place 0
+     */
+    @SuppressWarnings("rawtypes")
+    static final class Gather {
+
+        /** Result of the places already folded together */
+        Fold accumulator;
+
+        /** Future completed with the result of the job */
+        @SuppressWarnings("unchecked")
+        final CompletableFuture future;
+
+        /** Number of places whose result has not arrived yet */
+        final AtomicInteger remaining;
+
+        /**
+         * Constructor
+         *
+         * @param places
+         *            number of places sending their result
+         * @param f
+         *            future completed with the result of the job
+         */
+        Gather(int places, CompletableFuture f) {
+            remaining = new AtomicInteger(places);
+            future = f;
+        }
+
+        /**
+         * Folds the result of a place into the result of the job, completing
+         * the future of the job if it is the last one
+         *
+         * @param r
+         *            result of a place
+         * @return {@code true} if the result of every place has been folded
+         */
+        @SuppressWarnings("unchecked")
+        boolean add(Fold r) {
+            synchronized (this) {
+                if (accumulator == null) {
+                    accumulator = r;
+                } else {
+                    accumulator.fold(r);
+                }
+            }
+            if (remaining.decrementAndGet() == 0) {
+                future.complete(accumulator);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Job submitted to the pipeline
+     *
+     * @param <R>
+     *            type of the result produced by the job
+     * @param <B>
+     *            type of the job
+     */
+    static final class Job<R, B> {
+
+        /** Initial work of the job, {@code null} to close the pipeline */
+        final B bag;
+
+        /** Future completed with the result of the job */
+        final CompletableFuture<R> result;
+
+        /** Supplier of the neutral element of the result */
+        final SerializableSupplier<R> resultInitializer;
+
+        /**
+         * Constructor
+         *
+         * @param work
+         *            initial work of the job
+         * @param initializer
+         *            supplier of the neutral element of the result
+         */
+        Job(B work, SerializableSupplier<R> initializer) {
+            bag = work;
+            resultInitializer = initializer;
+            result = new CompletableFuture<>();
+        }
+    }
+
+    /** Flag set when {@link #close()} is called */
+    private volatile boolean closed;
+
+    /**
+     * Future completed when the last job of the pipeline has completed
+     */
+    CompletableFuture<Void> completion;
+
+    /** Computer performing the jobs */
+    private final GLBcomputer computer;
+
+    /** Jobs submitted and not yet started */
+    private final BlockingQueue<Job<R, B>> jobs;
+
+    /**
+     * Constructor
+     *
+     * @param c
+     *            computer performing the jobs of this pipeline
+     */
+    JobPipeline(GLBcomputer c) {
+        computer = c;
+        jobs = new LinkedBlockingQueue<>();
+    }
+
+    /**
+     * Fails the jobs that were submitted but not started, after a job of the
+     * pipeline failed
+     *
+     * @param cause
+     *            exception thrown by the failed job
+     */
+    void abort(Throwable cause) {
+        closed = true;
+        Job<R, B> j;
+        while ((j = jobs.poll()) != null) {
+            j.result.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Closes the pipeline. The jobs already submitted are performed, but no
+     * more jobs can be submitted.
+     *
+     * @return future completed with the log of all the jobs of the pipeline
+     *         once they have completed
+     */
+    public CompletableFuture<Logger> close() {
+        if (!closed) {
+            closed = true;
+            jobs.add(new Job<>(null, null));
+        }
+        return completion.thenApplyAsync(v -> computer.getLog(),
+                computer.asyncExecutor());
+    }
+
+    /**
+     * Returns the next job of the pipeline, waiting for one to be submitted if
+     * necessary
+     *
+     * @return the next job, or {@code null} if the pipeline is closed
+     */
+    Job<R, B> next() {
+        for (;;) {
+            try {
+                final Job<R, B> j = jobs.take();
+                return j.bag == null ? null : j;
+            } catch (final InterruptedException e) {
+                // Keep waiting for a job
+            }
+        }
+    }
+
+    /**
+     * Returns the next job of the pipeline if one has already been submitted
+     *
+     * @return the next job, or {@code null} if no job is pending. The job
+     *         marking the closure of the pipeline is left in the queue.
+     */
+    Job<R, B> poll() {
+        final Job<R, B> j = jobs.peek();
+        if (j == null || j.bag == null) {
+            return null;
+        }
+        return jobs.poll();
+    }
+
+    /**
+     * Submits a job to the pipeline
+     *
+     * @param bag
+     *            initial work of the job
+     * @param resultInitializer
+     *            supplier of the neutral element of the result of the job
+     * @return future completed with the result of the job
+     * @throws IllegalStateException
+     *             if the pipeline was closed
+     */
+    public CompletableFuture<R> submit(B bag,
+            SerializableSupplier<R> resultInitializer) {
+        if (closed) {
+            throw new IllegalStateException("The pipeline is closed");
+        }
+        final Job<R, B> j = new Job<>(bag, resultInitializer);
+        jobs.add(j);
+        return j.result;
+    }
+}
@@ -14,6 +14,7 @@ package handist.glb;
 import java.io.PrintStream;
 
 import handist.glb.PlaceLogger.TunerStamp;
+import handist.glb.util.Histogram;
 
 /**
  * Logger class for a distributed computation. Keeps information about the
@@ -25,6 +26,25 @@ import handist.glb.PlaceLogger.TunerStamp;
  */
 public class Logger {
 
+    /** Indicates if the computation was cancelled before its completion */
+    public boolean cancelled;
+
+    /**
+     * Total work of the computation as estimated by the
+     * {@link ProgressEstimator}, {@code -1} if the progress of the computation
+     * was not estimated
+     */
+    public double estimatedWork = -1;
+
+    /** Number of checkpoints taken during the computation */
+    public long checkpoints;
+
+    /**
+     * Time in nanoseconds during which the computation was paused to take the
+     * checkpoints
+     */
+    public long checkpointTime;
+
     /** Elapsed time during initialization */
     public long initializationTime;
 
@@ -37,21 +57,38 @@ public class Logger {
     /** Elapsed result gathering time in nanosecond */
     public long resultGatheringTime;
 
+    /**
+     * Estimate of the work left unexplored by a cancelled computation, summed
+     * over all places. Is {@code 0} for a computation which completed and
+     * {@code -1} if the amount of work left is unknown because the bags of the
+     * computation do not implement {@link Measurable}.
+     */
+    public long unexploredWork;
+
     /**
      * Adds the given {@link PlaceLogger} instance to the logs of each place.
      * The idle time of the place logger is adjusted to match the total time of
      * the computation (during the computation phase, each place starts slightly
      * after the beginning of the first place as some time is needed for the
-     * computation to propagate across all places).
+     * computation to propagate across all places). No correction is made if
+     * the place logger does not record the worker times.
      *
      * @param l
      *            the {@link PlaceLogger} instance of a certain place in the
      *            computation.
      */
     synchronized void addPlaceLogger(PlaceLogger l) {
-        final long loggerElapsed = l.lastEventTimeStamp - l.startTimeStamp;
-        final long idleCorrection = computationTime - loggerElapsed;
-        l.time[0] += idleCorrection;
+        if (l.recordsTimings()) {
+            final long loggerElapsed = l.lastEventTimeStamp
+                    - l.startTimeStamp;
+            final long idleCorrection = computationTime - loggerElapsed;
+            l.time[0] += idleCorrection;
+        }
+
+        if (unexploredWork >= 0) {
+            unexploredWork = l.unexploredWork < 0 ? -1
+                    : unexploredWork + l.unexploredWork;
+        }
 
         placeLogs[l.place] = l;
     }
@@ -67,6 +104,17 @@ public class Logger {
         out.println("Initialization time (s);" + initializationTime / 1e9);
         out.println("Computation time (s); " + computationTime / 1e9);
         out.println("Result gathering (s); " + resultGatheringTime / 1e9);
+        if (cancelled) {
+            out.println("Unexplored work; "
+                    + (unexploredWork < 0 ? "unknown" : unexploredWork));
+        }
+        if (estimatedWork >= 0) {
+            out.println("Estimated work; " + estimatedWork);
+        }
+        if (checkpoints > 0) {
+            out.println("Checkpoints; " + checkpoints);
+            out.println("Checkpoint time (s); " + checkpointTime / 1e9);
+        }
 
         // Print the general counters for each place
         out.println(
@@ -100,35 +148,108 @@ public class Logger {
         }
         out.println();
 
-        // Print the time spent with all the workers on each place
-        out.println("WORKER DATA");
-        out.println("Nb of worker spawned");
-        out.print("Place;");
-        for (int i = 0; i < placeLogs[0].time.length; i++) {
-            out.print(i + ";");
+        // Print the compression counters if compression was enabled
+        long totalUncompressed = 0;
+        for (final PlaceLogger l : placeLogs) {
+            totalUncompressed += l.uncompressedBytes.sum();
+        }
+        if (totalUncompressed > 0) {
+            out.println("COMPRESSION");
+            out.println("Place;Uncompressed bytes;Compressed bytes;Ratio;");
+            for (final PlaceLogger l : placeLogs) {
+                final long uncompressed = l.uncompressedBytes.sum();
+                final long compressed = l.compressedBytes.sum();
+                out.println(l.place + ";" + uncompressed + ";" + compressed
+                        + ";" + (uncompressed == 0 ? 1
+                                : (double) compressed / uncompressed)
+                        + ";");
+            }
+            out.println();
         }
-        out.println();
 
+        // Print the aggregation counters if control messages were aggregated
+        long totalBatches = 0;
         for (final PlaceLogger l : placeLogs) {
-            out.print(l.place + ";");
-            for (final long i : l.time) {
-                out.print(i / 1e9 + ";");
+            totalBatches += l.batchesSent.sum();
+        }
+        if (totalBatches > 0) {
+            out.println("AGGREGATION");
+            out.println("Place;Batches sent;Messages sent;Messages per batch;");
+            for (final PlaceLogger l : placeLogs) {
+                final long batches = l.batchesSent.sum();
+                final long messages = l.batchedMessages.sum();
+                out.println(l.place + ";" + batches + ";" + messages + ";"
+                        + (batches == 0 ? 0 : (double) messages / batches)
+                        + ";");
             }
             out.println();
         }
 
-        out.println("Nb of worker stealing");
-        out.print("Place;");
-        for (int i = 0; i < placeLogs[0].timeStealing.length; i++) {
-            out.print(i + ";");
-        }
-        out.println();
+        // Print the shared memory counters if loot went through shared memory
+        long totalShared = 0;
         for (final PlaceLogger l : placeLogs) {
-            out.print(l.place + ";");
-            for (final long i : l.timeStealing) {
-                out.print(i / 1e9 + ";");
+            totalShared += l.sharedTransfers.sum();
+        }
+        if (totalShared > 0) {
+            out.println("SHARED MEMORY");
+            out.println("Place;Transfers;Bytes;");
+            for (final PlaceLogger l : placeLogs) {
+                out.println(l.place + ";" + l.sharedTransfers.sum() + ";"
+                        + l.sharedBytes.sum() + ";");
+            }
+            out.println();
+        }
+
+        // Print the time spent with all the workers on each place if recorded
+        if (placeLogs[0].recordsTimings()) {
+            out.println("WORKER DATA");
+            out.println("Nb of worker spawned");
+            out.print("Place;");
+            for (int i = 0; i < placeLogs[0].time.length; i++) {
+                out.print(i + ";");
+            }
+            out.println();
+
+            for (final PlaceLogger l : placeLogs) {
+                out.print(l.place + ";");
+                for (final long i : l.time) {
+                    out.print(i / 1e9 + ";");
+                }
+                out.println();
+            }
+
+            out.println("Nb of worker stealing");
+            out.print("Place;");
+            for (int i = 0; i < placeLogs[0].timeStealing.length; i++) {
+                out.print(i + ";");
             }
             out.println();
+            for (final PlaceLogger l : placeLogs) {
+                out.print(l.place + ";");
+                for (final long i : l.timeStealing) {
+                    out.print(i / 1e9 + ";");
+                }
+                out.println();
+            }
+        }
+
+        // Print the distribution of the steal latencies and loot sizes
+        out.println("STEAL HISTOGRAMS");
+        out.println("Place;Histogram;Count;Mean;50%;90%;99%;99.9%;Max;");
+        for (final PlaceLogger l : placeLogs) {
+            printHistogram(out, l.place, "Random steal latency (s)",
+                    l.randomStealLatency, 1e9);
+            printHistogram(out, l.place, "Lifeline steal latency (s)",
+                    l.lifelineStealLatency, 1e9);
+            printHistogram(out, l.place, "Lifeline establishment to loot (s)",
+                    l.lifelineLootDelay, 1e9);
+            printHistogram(out, l.place, "Loot size (bytes)", l.lootSize, 1);
+            if (l.lootEncodingTime.getCount() > 0) {
+                printHistogram(out, l.place, "Loot encoding time (s)",
+                        l.lootEncodingTime, 1e9);
+                printHistogram(out, l.place, "Loot decoding time (s)",
+                        l.lootDecodingTime, 1e9);
+            }
         }
 
         if (System.getProperty(Configuration.GLBM_TUNERCLASS, null) != null) {
@@ -137,6 +258,32 @@ public class Logger {
         }
     }
 
+    /**
+     * Prints a line containing the count, mean and percentiles of the given
+     * histogram.
+     *
+     * @param out
+     *            the output stream to which the line is written
+     * @param place
+     *            place whose histogram is printed
+     * @param name
+     *            name of the histogram
+     * @param h
+     *            the histogram to print
+     * @param unit
+     *            value by which the recorded values are divided when printed
+     */
+    private static void printHistogram(PrintStream out, int place,
+            String name, Histogram h, double unit) {
+        out.println(place + ";" + name + ";" + h.getCount() + ";"
+                + h.getMean() / unit + ";"
+                + h.getValueAtPercentile(50) / unit + ";"
+                + h.getValueAtPercentile(90) / unit + ";"
+                + h.getValueAtPercentile(99) / unit + ";"
+                + h.getValueAtPercentile(99.9) / unit + ";"
+                + h.getMax() / unit + ";");
+    }
+
     /**
      * Prints the tuner data as a formatted CSV format The data is printed in
      * columns with the time stamps normalized on the first stamp of each place
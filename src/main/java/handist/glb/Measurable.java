@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+/**
+ * Optional interface for {@link Bag} implementations able to estimate the
+ * amount of work they contain.
+ * <p>
+ * When a computation is stopped before its completion, either because it was
+ * cancelled or because its deadline expired, the bags left on each place are
+ * measured with this interface to report how much of the computation remained
+ * unexplored (see {@link Logger#unexploredWork}). The unit of the estimate is
+ * chosen by the implementation (nodes, branches, tasks ...) but should be the
+ * same for all the bags of a computation as their estimates are summed.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public interface Measurable {
+
+    /**
+     * Gives an estimate of the work contained in this bag. This method is only
+     * called once the computation has stopped.
+     *
+     * @return non-negative estimate of the work this bag contains
+     */
+    public long workEstimate();
+}
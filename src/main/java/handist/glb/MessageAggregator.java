@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
+import java.util.concurrent.TimeUnit;
+
+import apgas.SerializableJob;
+
+/**
+ * Per-destination buffers in which a {@link GLBcomputer} coalesces its small
+ * control messages (steal requests, lifeline registrations and whispers)
+ * before sending them to another place as a single activity.
+ * <p>
+ * The first message placed in the empty buffer of a destination opens a
+ * window of a fixed duration. A <em>flusher</em> activity waits for this
+ * window to close, or for the buffer to reach its size threshold, before
+ * taking the whole content of the buffer and sending it. The messages whose
+ * activities need to be tracked by the enclosing {@code finish} (steal
+ * requests) are called <em>counted</em> and can only be sent by a flusher
+ * spawned within that {@code finish}. The other messages (whispers) may be
+ * sent by either kind of flusher.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+class MessageAggregator {
+
+    /**
+     * Buffer of the messages bound to one destination. Also serves as the
+     * {@link ManagedBlocker} on which the flushers wait.
+     */
+    static final class Buffer implements ManagedBlocker {
+
+        /**
+         * Messages buffered, the first {@link #size} entries are valid. Grows
+         * if messages keep arriving after the threshold is reached and before
+         * the flusher takes the buffer.
+         */
+        SerializableJob[] messages;
+
+        /** Number of messages after which the buffer is flushed */
+        final int threshold;
+
+        /** Number of messages currently buffered */
+        int size;
+
+        /** Indicates if some of the buffered messages are counted */
+        boolean counted;
+
+        /** Indicates if a counted flusher is pending for this buffer */
+        boolean countedFlusher;
+
+        /** Indicates if an uncounted flusher is pending for this buffer */
+        boolean uncountedFlusher;
+
+        /** Stamp at which the window opened by the first message closes */
+        long deadline;
+
+        /**
+         * Constructor
+         *
+         * @param threshold
+         *            number of messages after which the buffer is flushed
+         */
+        Buffer(int threshold) {
+            this.threshold = threshold;
+            messages = new SerializableJob[threshold];
+        }
+
+        @Override
+        public synchronized boolean block() throws InterruptedException {
+            long remaining;
+            while (size < threshold
+                    && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+
+        @Override
+        public synchronized boolean isReleasable() {
+            return size >= threshold
+                    || deadline - System.nanoTime() <= 0;
+        }
+    }
+
+    /** Buffers of each destination, indexed by place id */
+    final Buffer[] buffers;
+
+    /** Duration of the window opened by a first message in nanoseconds */
+    final long window;
+
+    /**
+     * Constructor
+     *
+     * @param places
+     *            number of places in the computation
+     * @param window
+     *            maximum time a message can stay in a buffer, in nanoseconds
+     * @param threshold
+     *            number of messages after which a buffer is sent without
+     *            waiting for the end of its window
+     */
+    MessageAggregator(int places, long window, int threshold) {
+        this.window = window;
+        buffers = new Buffer[places];
+        for (int i = 0; i < places; i++) {
+            buffers[i] = new Buffer(Math.max(1, threshold));
+        }
+    }
+
+    /**
+     * Places a message in the buffer of the specified destination.
+     *
+     * @param destination
+     *            id of the place on which the message is to be run
+     * @param message
+     *            the message
+     * @param counted
+     *            {@code true} if the message needs to be tracked by the
+     *            enclosing {@code finish}, {@code false} otherwise
+     * @return {@code true} if the caller needs to spawn a flusher of the same
+     *         kind as the message (see {@link #await(int)} and
+     *         {@link #take(int, boolean)}), {@code false} if a pending
+     *         flusher will send the message
+     */
+    boolean add(int destination, SerializableJob message, boolean counted) {
+        final Buffer b = buffers[destination];
+        synchronized (b) {
+            if (b.size == 0) {
+                b.deadline = System.nanoTime() + window;
+            }
+            if (b.size == b.messages.length) {
+                b.messages = Arrays.copyOf(b.messages, 2 * b.size);
+            }
+            b.messages[b.size++] = message;
+            b.counted |= counted;
+            if (b.size == b.threshold) {
+                b.notifyAll();
+            }
+
+            if (b.countedFlusher || (!counted && b.uncountedFlusher)) {
+                return false;
+            }
+            if (counted) {
+                b.countedFlusher = true;
+            } else {
+                b.uncountedFlusher = true;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Blocks the calling flusher until the buffer of the given destination
+     * is to be sent.
+     *
+     * @param destination
+     *            id of the place whose buffer is awaited
+     */
+    void await(int destination) {
+        try {
+            ForkJoinPool.managedBlock(buffers[destination]);
+        } catch (final InterruptedException e) {
+            // The buffer is sent early, which does not hurt
+        }
+    }
+
+    /**
+     * Takes the content of the buffer of the given destination. An uncounted
+     * flusher does not take a buffer containing counted messages, these are
+     * left for the counted flusher spawned alongside them.
+     *
+     * @param destination
+     *            id of the place whose buffer is taken
+     * @param counted
+     *            kind of the flusher calling this method
+     * @return the messages to send, or {@code null} if there is nothing this
+     *         flusher should send
+     */
+    SerializableJob[] take(int destination, boolean counted) {
+        final Buffer b = buffers[destination];
+        synchronized (b) {
+            if (counted) {
+                b.countedFlusher = false;
+            } else {
+                b.uncountedFlusher = false;
+            }
+            if (b.size == 0 || (b.counted && !counted)) {
+                return null;
+            }
+            final SerializableJob[] batch = Arrays.copyOf(b.messages, b.size);
+            Arrays.fill(b.messages, 0, b.size, null);
+            b.size = 0;
+            b.counted = false;
+            return batch;
+        }
+    }
+}
@@ -15,6 +15,11 @@ import java.io.PrintStream;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import handist.glb.util.Histogram;
+import handist.glb.util.Serialization;
 
 /**
  * Class used to log the runtime of the multithread global load balncer at each
@@ -23,6 +28,22 @@ import java.util.concurrent.atomic.AtomicLong;
  * It implements the {@link Serializable} interface to be transported
  * successfully after the computation has taken place to be gathered in a single
  * {@link Logger} instance.
+ * <p>
+ * The events signaled by the workers during the computation are recorded
+ * without taking any lock. Counters are {@link LongAdder} instances which
+ * spread concurrent increments over several cells. The number of running (and
+ * stealing) workers is kept together with the timestamp of the last change in
+ * a single {@code long} which is updated with a compare-and-set operation. The
+ * thread that succeeds in changing this value is the only one to account the
+ * elapsed interval to the corresponding worker count. The accumulated times are
+ * only copied into the plain arrays {@link #time} and {@link #timeStealing}
+ * when method {@link #aggregate()} is called prior to the transfer of this
+ * instance to place 0.
+ * <p>
+ * Timestamps are obtained with method {@link #now()}, which relies on
+ * {@link System#nanoTime()} unless a different clock was given to the
+ * constructor, as is done by the {@link GLBsimulator} to record the activity
+ * of simulated places against its simulated time.
  *
  * @author Patrick Finnerty
  * @see Logger
@@ -60,16 +81,55 @@ public class PlaceLogger implements Serializable {
         }
     }
 
+    /**
+     * Number of low-order bits used to store a worker count in members
+     * {@link #workerState} and {@link #stealingState}. The remaining high-order
+     * bits hold the timestamp of the last change relative to {@link #origin},
+     * which allows for computations lasting up to 78 hours.
+     */
+    private static final int COUNT_BITS = 16;
+
+    /** Mask used to extract the worker count out of a packed state */
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    /**
+     * Value held by {@link #workerState} until the first worker of the place
+     * starts
+     */
+    private static final long NOT_STARTED = -1L;
+
     /** Generated Serial Version UID */
     private static final long serialVersionUID = 2764081210591528731L;
 
+    /**
+     * Clock used to obtain timestamps, {@code null} to use
+     * {@link System#nanoTime()}. Not transferred with this instance as the
+     * timestamps are only taken during the computation.
+     */
+    private final transient LongSupplier clock;
+
+    /**
+     * Number of control messages sent by this place as part of an aggregated
+     * batch
+     *
+     * @see #batchesSent
+     */
+    public LongAdder batchedMessages = new LongAdder();
+
+    /**
+     * Number of aggregated batches of control messages sent by this place
+     *
+     * @see #batchedMessages
+     */
+    public LongAdder batchesSent = new LongAdder();
+
     /**
      * Counter for the number of times a place receives information from remote
      * hosts through the {@link Whisperer} mechanism. It is protected against
      * concurrent accesses as a single host may receive multiple information
      * from several hosts at the same time.
      */
-    public AtomicLong communicationReceived = new AtomicLong(0);
+    public LongAdder communicationReceived = new LongAdder();
 
     /**
      * Counter for the number of times a place shared local information with
@@ -79,23 +139,31 @@ public class PlaceLogger implements Serializable {
      */
     public Long communicationSent = new Long(0);
 
+    /**
+     * Number of bytes of the payloads sent by this place after they were
+     * passed to the compressor of the {@link GLBcomputer}
+     *
+     * @see #uncompressedBytes
+     */
+    public LongAdder compressedBytes = new LongAdder();
+
     /** Counter for the number of times the inter queue was emptied */
     public long interQueueEmptied = 0;
 
     /** Records the number of times some work was put into the inter queue */
-    public AtomicLong interQueueFed = new AtomicLong(0);
+    public LongAdder interQueueFed = new LongAdder();
 
     /** Records the number of times some work was taken from the inter queue */
-    public AtomicLong interQueueSplit = new AtomicLong(0);
+    public LongAdder interQueueSplit = new LongAdder();
 
     /** Counter for the number of times the intra queue was emptied */
-    public AtomicLong intraQueueEmptied = new AtomicLong(0);
+    public LongAdder intraQueueEmptied = new LongAdder();
 
     /**
      * Records the number of times some work was put into the intra queue by a
      * worker
      */
-    public AtomicLong intraQueueFedByWorker = new AtomicLong(0);
+    public LongAdder intraQueueFedByWorker = new LongAdder();
 
     /**
      * Records the number of times some work was put into the intra queue by a
@@ -104,39 +172,53 @@ public class PlaceLogger implements Serializable {
      * This happens when the answer from a lifeline reaches the host when
      * another one has already placed work back into it.
      */
-    public AtomicLong intraQueueFedByLifeline = new AtomicLong(0);
+    public LongAdder intraQueueFedByLifeline = new LongAdder();
 
     /** Records the number of times some work was taken from the intra queue */
-    public AtomicLong intraQueueSplit = new AtomicLong(0);
+    public LongAdder intraQueueSplit = new LongAdder();
 
-    /** Indicates if the logger was reset */
-    private boolean isReset = true;
-
-    /** Time stamp of the last event that was recorded */
+    /**
+     * Time stamp of the last event that was recorded. This member is set by
+     * method {@link #aggregate()}, use method {@link #lastWorkerEventStamp()}
+     * during the computation.
+     */
     public long lastEventTimeStamp;
 
-    /** Time stamp of the last event regarding worker stealing was recorded */
+    /**
+     * Time stamp of the last event regarding worker stealing was recorded. This
+     * member is set by method {@link #aggregate()}.
+     */
     public long lastWorkerStealingTimeStamp;
 
-    /** Timestamp used to track the yielding of a worker on the place */
-    private long lastYield;
+    /**
+     * Time in nanoseconds elapsed between the establishment of a lifeline by
+     * this place and the reception of loot through that lifeline, whether the
+     * lifeline was answered immediately or later on
+     */
+    public Histogram lifelineLootDelay = new Histogram();
+
+    /**
+     * Round-trip time in nanoseconds of the lifeline steals of this place that
+     * were answered immediately by their victim
+     */
+    public Histogram lifelineStealLatency = new Histogram();
 
     /** Number of lifeline steals attempted by this place */
-    public AtomicLong lifelineStealsAttempted = new AtomicLong(0);
+    public LongAdder lifelineStealsAttempted = new LongAdder();
 
     /** Number of lifeline steals other places attempted on this place */
-    public AtomicLong lifelineStealsReceived = new AtomicLong(0);
+    public LongAdder lifelineStealsReceived = new LongAdder();
 
     /**
      * Number of lifeline steals attempted by this place that were successful
      */
-    public AtomicLong lifelineStealsSuccess = new AtomicLong(0);
+    public LongAdder lifelineStealsSuccess = new LongAdder();
 
     /**
      * Number of lifeline steals attempted by other places on this place that
      * were successful
      */
-    public AtomicLong lifelineStealsSuffered = new AtomicLong(0);
+    public LongAdder lifelineStealsSuffered = new LongAdder();
 
     /**
      * Accumulated amount of time in nanoseconds during which the
@@ -169,11 +251,59 @@ public class PlaceLogger implements Serializable {
      */
     public int lifelineThreadWokenUp = 0;
 
+    /**
+     * Timestamp obtained with {@link #now()} when this instance was created.
+     * The timestamps packed in members {@link #workerState} and
+     * {@link #stealingState} are relative to this value.
+     */
+    private final long origin;
+
+    /**
+     * Time in nanoseconds taken to decode the loot received by this place as
+     * bytes, encoded by a {@link BagCodec} or serialized by the victim when
+     * compression is enabled
+     */
+    public Histogram lootDecodingTime = new Histogram();
+
+    /**
+     * Time in nanoseconds taken to turn the loot sent by this place into
+     * bytes, with its {@link BagCodec} or with the Java serialization when
+     * compression is enabled
+     */
+    public Histogram lootEncodingTime = new Histogram();
+
+    /**
+     * Size in bytes of the loot sent by this place to thieves. The size of
+     * loot serialized by the APGAS runtime is only measured if property
+     * {@value Configuration#GLBM_LOOT_SIZE} is set.
+     */
+    public Histogram lootSize = new Histogram();
+
     /**
      * Integer identifier of the place this logger is responsible for
      */
     public final int place;
 
+    /**
+     * Round-trip time in nanoseconds of the random steals of this place that
+     * were answered with some loot
+     */
+    public Histogram randomStealLatency = new Histogram();
+
+    /**
+     * Number of bytes of loot sent by this place through shared memory
+     *
+     * @see #sharedTransfers
+     */
+    public LongAdder sharedBytes = new LongAdder();
+
+    /**
+     * Number of times this place sent loot through shared memory
+     *
+     * @see #sharedBytes
+     */
+    public LongAdder sharedTransfers = new LongAdder();
+
     /**
      * Time stamp of when the place starts computing. Is used for a priori
      * correction in {@link Logger#addPlaceLogger(PlaceLogger)}.
@@ -181,24 +311,41 @@ public class PlaceLogger implements Serializable {
     long startTimeStamp;
 
     /** Number of random steals attempted by this place */
-    public AtomicLong stealsAttempted = new AtomicLong(0);
+    public LongAdder stealsAttempted = new LongAdder();
 
     /** Number of random steals that other places attempted on this place */
-    public AtomicLong stealsReceived = new AtomicLong(0);
+    public LongAdder stealsReceived = new LongAdder();
 
     /** Number of random steals attempted by this place that were successful */
-    public AtomicLong stealsSuccess = new AtomicLong(0);
+    public LongAdder stealsSuccess = new LongAdder();
 
     /**
      * Number of random steals that other places successfully attempted on this
      * place
      */
-    public AtomicLong stealsSuffered = new AtomicLong(0);
+    public LongAdder stealsSuffered = new LongAdder();
+
+    /**
+     * Number of workers stealing from the queues packed with the timestamp of
+     * the last change of this number.
+     *
+     * @see #transition(AtomicLong, LongAdder[], int)
+     */
+    private final transient AtomicLong stealingState;
+
+    /**
+     * Accumulated time spent with 'index' workers stealing from the queues
+     * during the computation. Copied into {@link #timeStealing} by method
+     * {@link #aggregate()}.
+     */
+    private final transient LongAdder[] stealingTimes;
 
     /**
      * Array that Tracks the time spent by the place running 'index' number of
      * workers. This information is gathered by computing the difference between
-     * timestamps obtained by calling {@link System#nanoTime()}.
+     * timestamps obtained by calling {@link System#nanoTime()}. The values are
+     * set by method {@link #aggregate()}, use method
+     * {@link #timeWithWorkers(int)} during the computation.
      *
      * @see #workerStarted()
      * @see #workerStopped()
@@ -207,7 +354,8 @@ public class PlaceLogger implements Serializable {
 
     /**
      * Array that indicates the time spent by the place with 'index' workers
-     * stealing from the queues.
+     * stealing from the queues. The values are set by method
+     * {@link #aggregate()}.
      *
      * @see #workerStealing()
      * @see #workerResumed()
@@ -223,23 +371,70 @@ public class PlaceLogger implements Serializable {
     /** Next free place in {@link #tuning} array */
     int tuningIndex = 0;
 
-    /** Indicates the number of workers tasks currently running on the place. */
+    /**
+     * Number of bytes of the payloads sent by this place before they were
+     * passed to the compressor of the {@link GLBcomputer}
+     *
+     * @see #compressedBytes
+     */
+    public LongAdder uncompressedBytes = new LongAdder();
+
+    /**
+     * Estimate of the work left on this place when the computation was
+     * cancelled, {@code -1} if the bags of the computation do not implement
+     * {@link Measurable}
+     */
+    public long unexploredWork = 0;
+
+    /**
+     * Accumulated time spent with 'index' workers running during the
+     * computation. Copied into {@link #time} by method {@link #aggregate()}.
+     */
+    private final transient LongAdder[] workerTimes;
+
+    /**
+     * Indicates the number of workers tasks running on the place when method
+     * {@link #aggregate()} was last called. Use method {@link #activeWorkers()}
+     * during the computation.
+     */
     public int workerCount = 0;
 
     /** Counts the number of times a worker was spawned */
-    public long workerSpawned = 0;
+    public LongAdder workerSpawned = new LongAdder();
+
+    /**
+     * Amount of work requested from the bags of the workers of this place. As
+     * bags may run out of work before completing the requested amount, this
+     * is an upper bound of the work actually processed.
+     */
+    public LongAdder workProcessed = new LongAdder();
+
+    /**
+     * Number of running workers packed with the timestamp of the last change of
+     * this number.
+     *
+     * @see #transition(AtomicLong, LongAdder[], int)
+     */
+    private final transient AtomicLong workerState;
 
     /**
      * Indicates how many of the worker tasks spawned are not working but
      * actually stealing work from the shared queues. At any given time, the
      * number of workers that are actually working is given by the difference
-     * between {@link #workerCount} and {@link #workerStealingCount}.
+     * between {@link #workerCount} and {@link #workerStealingCount}. This
+     * member is set by method {@link #aggregate()}.
      */
     public int workerStealingCount = 0;
 
-    /** Counter of the time spent yielding by workers on this place */
+    /**
+     * Counter of the time spent yielding by workers on this place. This member
+     * is set by method {@link #aggregate()}.
+     */
     public long yieldingTime = 0;
 
+    /** Accumulates the time spent yielding during the computation */
+    private final transient LongAdder yieldingTimes = new LongAdder();
+
     /**
      * Constructor
      *
@@ -254,9 +449,252 @@ public class PlaceLogger implements Serializable {
      *            recording activity for
      */
     public PlaceLogger(Configuration placeConfig, int placeId) {
+        this(placeConfig, placeId, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * Sets up a PlaceLogger whose timestamps are obtained from the given
+     * clock.
+     *
+     * @param placeConfig
+     *            Configuration instance containing the information of the
+     *            parameters used for the {@link GLBcomputer} during the
+     *            computation
+     * @param placeId
+     *            integer identifier of the place this PlaceLogger instance is
+     *            recording activity for
+     * @param timeSource
+     *            clock returning timestamps in nanoseconds, {@code null} to
+     *            use {@link System#nanoTime()}
+     */
+    PlaceLogger(Configuration placeConfig, int placeId,
+            LongSupplier timeSource) {
+        clock = timeSource;
         place = placeId;
         time = new long[placeConfig.x + 1];
         timeStealing = new long[placeConfig.x + 1];
+        workerTimes = new LongAdder[placeConfig.x + 1];
+        stealingTimes = new LongAdder[placeConfig.x + 1];
+        for (int i = 0; i <= placeConfig.x; i++) {
+            workerTimes[i] = new LongAdder();
+            stealingTimes[i] = new LongAdder();
+        }
+        origin = now();
+        workerState = new AtomicLong(NOT_STARTED);
+        stealingState = new AtomicLong(0);
+    }
+
+    /**
+     * Returns the number of workers currently running on the place.
+     *
+     * @return number of running workers
+     */
+    public int activeWorkers() {
+        final long state = workerState.get();
+        return state == NOT_STARTED ? 0 : (int) (state & COUNT_MASK);
+    }
+
+    /**
+     * Copies the values accumulated during the computation into the public
+     * members of this instance. Is called on each place before the instance is
+     * sent to place 0 to be gathered into a {@link Logger}.
+     */
+    void aggregate() {
+        for (int i = 0; i < time.length; i++) {
+            time[i] = workerTimes[i].sum();
+            timeStealing[i] = stealingTimes[i].sum();
+        }
+        yieldingTime = yieldingTimes.sum();
+
+        final long state = workerState.get();
+        if (state != NOT_STARTED) {
+            workerCount = (int) (state & COUNT_MASK);
+            lastEventTimeStamp = origin + (state >>> COUNT_BITS);
+            final long stealing = stealingState.get();
+            workerStealingCount = (int) (stealing & COUNT_MASK);
+            lastWorkerStealingTimeStamp = origin + (stealing >>> COUNT_BITS);
+        }
+    }
+
+    /**
+     * Returns the timestamp of the last change in the number of running
+     * workers, or {@code 0} if no worker has started yet.
+     *
+     * @return timestamp obtained with {@link #now()}
+     */
+    public long lastWorkerEventStamp() {
+        final long state = workerState.get();
+        return state == NOT_STARTED ? 0 : origin + (state >>> COUNT_BITS);
+    }
+
+    /**
+     * Creates the {@link PlaceLogger} implementation matching the
+     * instrumentation level of the given configuration.
+     *
+     * @param placeConfig
+     *            configuration of the {@link GLBcomputer}, member
+     *            {@link Configuration#instrumentation} decides the
+     *            implementation returned
+     * @param placeId
+     *            integer identifier of the place the logger records activity
+     *            for
+     * @return a new logger instance
+     */
+    static PlaceLogger newPlaceLogger(Configuration placeConfig, int placeId) {
+        return newPlaceLogger(placeConfig, placeId, null);
+    }
+
+    /**
+     * Creates the {@link PlaceLogger} implementation matching the
+     * instrumentation level of the given configuration, its timestamps being
+     * obtained from the given clock.
+     *
+     * @param placeConfig
+     *            configuration of the {@link GLBcomputer}, member
+     *            {@link Configuration#instrumentation} decides the
+     *            implementation returned
+     * @param placeId
+     *            integer identifier of the place the logger records activity
+     *            for
+     * @param clock
+     *            clock returning timestamps in nanoseconds, {@code null} to
+     *            use {@link System#nanoTime()}
+     * @return a new logger instance
+     */
+    static PlaceLogger newPlaceLogger(Configuration placeConfig, int placeId,
+            LongSupplier clock) {
+        switch (placeConfig.instrumentation) {
+        case Configuration.GLBM_INSTRUMENTATION_OFF:
+            return new SilentPlaceLogger(placeConfig, placeId, clock);
+        case Configuration.GLBM_INSTRUMENTATION_COUNTERS:
+            return new CountingPlaceLogger(placeConfig, placeId, clock);
+        default:
+            return new PlaceLogger(placeConfig, placeId, clock);
+        }
+    }
+
+    /**
+     * Indicates if this logger records the time spent by the place with each
+     * number of running and stealing workers. When it does not, members
+     * {@link #time}, {@link #timeStealing}, {@link #startTimeStamp} and
+     * {@link #lastEventTimeStamp} are left at 0.
+     *
+     * @return {@code true} if the worker times are recorded
+     */
+    boolean recordsTimings() {
+        return true;
+    }
+
+    /**
+     * Signals that a payload was passed to the compressor before being sent to
+     * a remote place
+     *
+     * @param uncompressed
+     *            size of the payload in bytes
+     * @param compressed
+     *            size of the frame produced by the compressor in bytes
+     */
+    void payloadCompressed(long uncompressed, long compressed) {
+        uncompressedBytes.add(uncompressed);
+        compressedBytes.add(compressed);
+    }
+
+    /**
+     * Signals that a batch of aggregated control messages was sent to a
+     * remote place
+     *
+     * @param messages
+     *            number of messages in the batch
+     */
+    void batchSent(int messages) {
+        batchesSent.increment();
+        batchedMessages.add(messages);
+    }
+
+    /**
+     * Signals that some loot was written into a shared memory ring for a
+     * place on the same host
+     *
+     * @param bytes
+     *            size of the loot in the ring
+     */
+    void lootShared(long bytes) {
+        sharedTransfers.increment();
+        sharedBytes.add(bytes);
+    }
+
+    /**
+     * Returns the current timestamp of the clock used by this logger. Tuners
+     * should use this method rather than {@link System#nanoTime()} so that
+     * they can also be used in simulations.
+     *
+     * @return current time in nanoseconds
+     */
+    public long now() {
+        return clock == null ? System.nanoTime() : clock.getAsLong();
+    }
+
+    /**
+     * Signals that some information was received through the {@link Whisperer}
+     * mechanism.
+     */
+    void informationReceived() {
+        communicationReceived.increment();
+    }
+
+    /**
+     * Signals that this place shared some information with other places
+     * through the {@link Whisperer} mechanism.
+     */
+    void informationSent() {
+        communicationSent++;
+    }
+
+    /** Signals that the inter queue was emptied by a worker */
+    void interQueueDepleted() {
+        interQueueEmptied++;
+    }
+
+    /** Signals that a worker put some work into the inter queue */
+    void interQueueFilled() {
+        interQueueFed.increment();
+    }
+
+    /** Signals that some work was taken from the inter queue */
+    void interQueueStolenFrom() {
+        interQueueSplit.increment();
+    }
+
+    /** Signals that the intra queue was emptied */
+    void intraQueueDepleted() {
+        intraQueueEmptied.increment();
+    }
+
+    /** Signals that some loot was merged into the intra queue */
+    void intraQueueFilledByLifeline() {
+        intraQueueFedByLifeline.increment();
+    }
+
+    /** Signals that a worker put some work into the intra queue */
+    void intraQueueFilledByWorker() {
+        intraQueueFedByWorker.increment();
+    }
+
+    /** Signals that some work was taken from the intra queue */
+    void intraQueueStolenFrom() {
+        intraQueueSplit.increment();
+    }
+
+    /**
+     * Signals that a worker processed its bag
+     *
+     * @param workAmount
+     *            amount of work requested from the bag
+     */
+    void workProcessed(int workAmount) {
+        workProcessed.add(workAmount);
     }
 
     /**
@@ -268,7 +706,7 @@ public class PlaceLogger implements Serializable {
      * thread ends.
      */
     synchronized void lifelineAnswerThreadActive() {
-        final long stamp = System.nanoTime();
+        final long stamp = now();
         lifelineThreadHold += stamp - lifelineThreadTimestamp;
         lifelineThreadTimestamp = stamp;
         lifelineThreadWokenUp++;
@@ -278,7 +716,7 @@ public class PlaceLogger implements Serializable {
      * Called when the lifeline answer thread ends its activity.
      */
     synchronized void lifelineAnswerThreadEnded() {
-        final long stamp = System.nanoTime();
+        final long stamp = now();
         lifelineThreadActive += stamp - lifelineThreadTimestamp;
 
     }
@@ -289,7 +727,7 @@ public class PlaceLogger implements Serializable {
      * until it is effectively scheduled in the thread pool.
      */
     synchronized void lifelineAnswerThreadHold() {
-        final long stamp = System.nanoTime();
+        final long stamp = now();
         lifelineThreadInactive += stamp - lifelineThreadTimestamp;
         lifelineThreadTimestamp = stamp;
     }
@@ -298,7 +736,7 @@ public class PlaceLogger implements Serializable {
      * Called when the lifeline answer thread becomes inactive.
      */
     synchronized void lifelineAnswerThreadInactive() {
-        final long stamp = System.nanoTime();
+        final long stamp = now();
         lifelineThreadActive += stamp - lifelineThreadTimestamp;
         lifelineThreadTimestamp = stamp;
     }
@@ -308,7 +746,91 @@ public class PlaceLogger implements Serializable {
      * started.
      */
     synchronized void lifelineAnswerThreadStarted() {
-        lifelineThreadTimestamp = System.nanoTime();
+        lifelineThreadTimestamp = now();
+    }
+
+    /** Signals that this place attempted to steal from one of its lifelines */
+    void lifelineStealAttempted() {
+        lifelineStealsAttempted.increment();
+    }
+
+    /** Signals that a remote place attempted a lifeline steal on this place */
+    void lifelineStealReceived() {
+        lifelineStealsReceived.increment();
+    }
+
+    /**
+     * Signals that this place received some loot from one of its lifelines
+     *
+     * @param latency
+     *            round-trip time of the steal in nanoseconds if the lifeline
+     *            was answered immediately, negative otherwise
+     * @param sinceEstablishment
+     *            time elapsed since the lifeline was established in
+     *            nanoseconds, negative if unknown
+     */
+    void lifelineStealSucceeded(long latency, long sinceEstablishment) {
+        lifelineStealsSuccess.increment();
+        if (latency >= 0) {
+            lifelineStealLatency.record(latency);
+        }
+        if (sinceEstablishment >= 0) {
+            lifelineLootDelay.record(sinceEstablishment);
+        }
+    }
+
+    /** Signals that this place sent some loot to a lifeline thief */
+    void lifelineStealSuffered() {
+        lifelineStealsSuffered.increment();
+    }
+
+    /**
+     * Signals that some loot received as bytes was decoded on this place.
+     *
+     * @param time
+     *            time taken by the decoding in nanoseconds
+     */
+    void lootDecoded(long time) {
+        lootDecodingTime.record(time);
+    }
+
+    /**
+     * Signals that some loot is about to be sent to a thief after being
+     * turned into bytes by this place.
+     *
+     * @param size
+     *            size of the encoding in bytes
+     * @param time
+     *            time taken by the encoding in nanoseconds
+     */
+    void lootEncoded(long size, long time) {
+        lootSize.record(size);
+        lootEncodingTime.record(time);
+    }
+
+    /**
+     * Signals that some loot is about to be sent to a thief. The loot is
+     * serialized to measure its size.
+     *
+     * @param loot
+     *            the loot sent
+     * @return the serialized size of the loot in bytes, or a negative value if
+     *         the size was not measured
+     */
+    long lootSent(Serializable loot) {
+        final long size = Serialization.sizeOf(loot);
+        if (size >= 0) {
+            lootSize.record(size);
+        }
+        return size;
+    }
+
+    /**
+     * Signals that the thread answering the lifelines was woken up by
+     * {@link GLBcomputer}.
+     */
+    void lifelineThreadWokenUp() {
+        lifelineThreadWokenUp++;
     }
 
     /**
@@ -349,92 +871,152 @@ public class PlaceLogger implements Serializable {
         out.println("Inactive (s) " + lifelineThreadInactive / 1e9);
         out.println("On Hold  (s) " + lifelineThreadHold / 1e9);
         out.println("Woken up a total of " + lifelineThreadWokenUp + " times");
-        out.println("------------------ Runtime -------------------");
-        for (int i = 0; i < time.length; i++) {
-            out.println("Time spent with " + i + " workers (s): "
-                    + (time[i] / 1e9));
+        if (recordsTimings()) {
+            out.println("------------------ Runtime -------------------");
+            for (int i = 0; i < time.length; i++) {
+                out.println("Time spent with " + i + " workers (s): "
+                        + (time[i] / 1e9));
+            }
+            out.println("Time spent yielding (s) " + yieldingTime / 1e9);
         }
-        out.println("Time spent yielding (s) " + yieldingTime / 1e9);
         out.println("----------------------------------------------");
     }
 
+    /** Signals that this place attempted to steal from a random victim */
+    void randomStealAttempted() {
+        stealsAttempted.increment();
+    }
+
+    /** Signals that a remote place attempted a random steal on this place */
+    void randomStealReceived() {
+        stealsReceived.increment();
+    }
+
+    /**
+     * Signals that this place received some loot from a random steal
+     *
+     * @param latency
+     *            round-trip time of the steal in nanoseconds, negative if
+     *            unknown
+     */
+    void randomStealSucceeded(long latency) {
+        stealsSuccess.increment();
+        if (latency >= 0) {
+            randomStealLatency.record(latency);
+        }
+    }
+
+    /** Signals that this place sent some loot to a random thief */
+    void randomStealSuffered() {
+        stealsSuffered.increment();
+    }
+
+    /**
+     * Returns the accumulated time spent with the specified number of workers
+     * running since the beginning of the computation. The interval elapsed
+     * since the last change in the number of workers is not included.
+     *
+     * @param workers
+     *            number of running workers
+     * @return time in nanoseconds
+     */
+    public long timeWithWorkers(int workers) {
+        return workerTimes[workers].sum();
+    }
+
+    /**
+     * Changes the count packed in the given state by the amount specified and
+     * accounts the time elapsed since the last change to the previous count.
+     * <p>
+     * The state is replaced using a compare-and-set operation. Only the thread
+     * that succeeds accounts the elapsed interval, guaranteeing that each
+     * interval is recorded exactly once without taking a lock.
+     *
+     * @param state
+     *            packed count and timestamp to update
+     * @param accumulator
+     *            accumulated time for each possible count
+     * @param delta
+     *            change in the count
+     * @return the timestamp recorded for this transition
+     */
+    private long transition(AtomicLong state, LongAdder[] accumulator,
+            int delta) {
+        for (;;) {
+            final long old = state.get();
+            final long stamp = now();
+            final long relative = stamp - origin;
+            final int count = (int) (old & COUNT_MASK);
+            if (state.compareAndSet(old,
+                    (relative << COUNT_BITS) | (count + delta))) {
+                accumulator[count].add(relative - (old >>> COUNT_BITS));
+                return stamp;
+            }
+        }
+    }
+
     /**
      * Signals that a worker that was stealing work from the shared queue was
      * able to steal some work and will now resume its computation
      */
-    synchronized void workerResumed() {
-        final long stamp = System.nanoTime();
-        timeStealing[workerStealingCount] += stamp
-                - lastWorkerStealingTimeStamp;
-        lastWorkerStealingTimeStamp = stamp;
-        workerStealingCount--;
+    void workerResumed() {
+        transition(stealingState, stealingTimes, -1);
     }
 
     /**
      * Signals that an extra worker has started working on the place.
      */
-    synchronized void workerStarted() {
-        final long stamp = System.nanoTime();
-        if (isReset) {
-            lastEventTimeStamp = stamp;
-            lastWorkerStealingTimeStamp = stamp;
+    void workerStarted() {
+        if (workerState.get() == NOT_STARTED) {
+            // First worker of the computation on this place, only one thread
+            // can be here as this first worker spawns the other ones
+            final long stamp = now();
+            stealingState.set((stamp - origin) << COUNT_BITS);
             startTimeStamp = stamp;
-            isReset = false;
+            workerState.set((stamp - origin) << COUNT_BITS);
         }
-        time[workerCount] += (stamp - lastEventTimeStamp);
-        lastEventTimeStamp = stamp;
-        workerSpawned++;
-        workerCount++;
+        transition(workerState, workerTimes, 1);
+        workerSpawned.increment();
     }
 
     /**
      * Signals that a worker has ran out of work and will now attempt to steal
      * from the shared queue.
      */
-    synchronized void workerStealing() {
-        final long stamp = System.nanoTime();
-        timeStealing[workerStealingCount] += stamp
-                - lastWorkerStealingTimeStamp;
-        lastWorkerStealingTimeStamp = stamp;
-        workerStealingCount++;
+    void workerStealing() {
+        transition(stealingState, stealingTimes, 1);
     }
 
     /**
      * Signals that a worker on the place has stopped running.
      */
-    synchronized void workerStopped() {
-        final long stamp = System.nanoTime();
-        time[workerCount] += stamp - lastEventTimeStamp;
-        timeStealing[workerStealingCount] += stamp
-                - lastWorkerStealingTimeStamp;
-        lastEventTimeStamp = stamp;
-        lastWorkerStealingTimeStamp = stamp;
-        workerCount--;
-        workerStealingCount--;
+    void workerStopped() {
+        transition(workerState, workerTimes, -1);
+        transition(stealingState, stealingTimes, -1);
     }
 
     /**
      * Method called when a worker starts yielding to allow for other activities
      * to be run by the place.
+     *
+     * @return timestamp of the beginning of the yield, to be given back to
+     *         method {@link #workerYieldStop(long)} by the same worker
      */
-    synchronized void workerYieldStart() {
-        final long stamp = System.nanoTime();
-        time[workerCount] += stamp - lastEventTimeStamp;
-        lastEventTimeStamp = stamp;
-        workerCount--;
-        lastYield = stamp;
+    long workerYieldStart() {
+        return transition(workerState, workerTimes, -1);
     }
 
     /**
      * Method called when a worker that was yielding resumes its normal
      * execution.
+     *
+     * @param yieldStart
+     *            timestamp returned by method {@link #workerYieldStart()} when
+     *            this worker started yielding
      */
-    synchronized void workerYieldStop() {
-        final long stamp = System.nanoTime();
-        time[workerCount] += (stamp - lastEventTimeStamp);
-        lastEventTimeStamp = stamp;
-        workerCount++;
-        yieldingTime += stamp - lastYield;
+    void workerYieldStop(long yieldStart) {
+        final long stamp = transition(workerState, workerTimes, 1);
+        yieldingTimes.add(stamp - yieldStart);
     }
 
 }
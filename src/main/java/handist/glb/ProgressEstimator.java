@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Estimates the total work and the remaining time of a computation whose
+ * initial bag implements {@link Estimable}.
+ * <p>
+ * Before the computation starts, a first round of random probes is performed
+ * on a copy of the initial bag (Knuth's estimator). More probes are performed
+ * at regular intervals during the computation, refining the estimated total
+ * work as the variance of the average decreases. At the same time, the work
+ * processed by the workers of all places is gathered. The ratio between the
+ * two gives the progress of the computation and the throughput of the workers
+ * gives the estimated remaining time.
+ * <p>
+ * The work processed is measured with the amounts requested from the bags
+ * with {@link Bag#process(int, handist.glb.util.Fold)}, which is an upper
+ * bound of the work actually performed. It is not recorded when the
+ * instrumentation is turned off with property
+ * {@value Configuration#GLBM_INSTRUMENTATION}, in which case only the
+ * estimated total work is available.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class ProgressEstimator {
+
+    /** Copy of the initial bag of the computation on which probes are made */
+    private final Estimable tree;
+
+    /** Random number generator used to perform the probes */
+    private final Random random;
+
+    /** Number of probes performed at each round */
+    private final int probesPerRound;
+
+    /** Number of probes performed so far */
+    private long probes;
+
+    /** Sum of the estimates returned by the probes performed so far */
+    private double sum;
+
+    /** Time stamp at which the computation started */
+    private final long start;
+
+    /** Work processed by all the places at the last update */
+    private long workProcessed;
+
+    /** Time stamp of the last update of {@link #workProcessed} */
+    private long updateStamp;
+
+    /**
+     * Performs a round of probes, refining the estimated total work.
+     */
+    synchronized void sample() {
+        for (int i = 0; i < probesPerRound; i++) {
+            sum += tree.probe(random);
+        }
+        probes += probesPerRound;
+    }
+
+    /**
+     * Records the work processed so far by the places
+     *
+     * @param processed
+     *            work processed by all places since the start of the
+     *            computation
+     */
+    synchronized void update(long processed) {
+        if (processed >= workProcessed) {
+            workProcessed = processed;
+            updateStamp = System.nanoTime();
+        }
+    }
+
+    /**
+     * Returns the estimated total work of the computation, the average of the
+     * probes performed so far
+     *
+     * @return estimated total work, {@code -1} if no probe was performed
+     */
+    public synchronized double getEstimatedWork() {
+        return probes == 0 ? -1 : sum / probes;
+    }
+
+    /**
+     * Returns the number of probes the estimated total work relies on
+     *
+     * @return number of probes performed so far
+     */
+    public synchronized long getProbes() {
+        return probes;
+    }
+
+    /**
+     * Returns the work processed by all places at the last update
+     *
+     * @return work processed since the start of the computation
+     */
+    public synchronized long getWorkProcessed() {
+        return workProcessed;
+    }
+
+    /**
+     * Returns the average throughput of the workers of all places since the
+     * start of the computation
+     *
+     * @return work processed per second, {@code 0} if unknown
+     */
+    public synchronized double getWorkProcessedPerSecond() {
+        if (updateStamp <= start) {
+            return 0;
+        }
+        return workProcessed * 1e9 / (updateStamp - start);
+    }
+
+    /**
+     * Returns the fraction of the estimated total work already processed. As
+     * the total work is only an estimate, the fraction is capped to 1.
+     *
+     * @return fraction between 0 and 1 of the computation processed
+     */
+    public synchronized double getProgress() {
+        final double estimate = getEstimatedWork();
+        if (estimate <= 0) {
+            return 0;
+        }
+        return Math.min(1, workProcessed / estimate);
+    }
+
+    /**
+     * Returns the estimated time left before the computation completes,
+     * assuming the throughput of the workers remains the same
+     *
+     * @return estimated remaining time, {@code null} if the throughput or the
+     *         total work are not known yet
+     */
+    public synchronized Duration getRemainingTime() {
+        final double rate = getWorkProcessedPerSecond();
+        final double estimate = getEstimatedWork();
+        if (rate <= 0 || estimate < 0) {
+            return null;
+        }
+        final double left = Math.max(0, estimate - workProcessed);
+        return Duration.ofNanos((long) (left / rate * 1e9));
+    }
+
+    @Override
+    public synchronized String toString() {
+        final Duration remaining = getRemainingTime();
+        return "Estimated work; " + getEstimatedWork() + "; Probes; " + probes
+                + "; Work processed; " + workProcessed + "; Progress (%); "
+                + getProgress() * 100 + "; Remaining time (s); "
+                + (remaining == null ? "unknown"
+                        : remaining.toMillis() / 1e3)
+                + ";";
+    }
+
+    /**
+     * Constructor
+     *
+     * @param initialWork
+     *            copy of the initial bag of the computation, kept by this
+     *            instance to perform probes during the computation
+     * @param probesPerRound
+     *            number of probes performed by each call to {@link #sample()}
+     * @param seed
+     *            seed of the random number generator used for the probes
+     */
+    ProgressEstimator(Estimable initialWork, int probesPerRound, long seed) {
+        tree = initialWork;
+        this.probesPerRound = probesPerRound;
+        random = new Random(seed);
+        start = System.nanoTime();
+        updateStamp = start;
+    }
+}
@@ -0,0 +1,447 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import handist.glb.PlaceLogger.TunerStamp;
+import handist.glb.util.Histogram;
+
+/**
+ * Writes the runtime information of a computation in machine-readable files.
+ * <p>
+ * A report consists of a JSON document containing the configuration, the
+ * timings and the information recorded by each place, along with normalized
+ * CSV files containing the same information with one value per line:
+ * <ul>
+ * <li><em>prefix</em>{@code -run.csv}: configuration and timings as
+ * {@code key,value} pairs
+ * <li><em>prefix</em>{@code -places.csv}: counters of each place as
+ * {@code place,counter,value} triplets
+ * <li><em>prefix</em>{@code -workers.csv}: time spent by each place with a
+ * given number of running and stealing workers, left without data rows if the
+ * instrumentation level does not record these times
+ * <li><em>prefix</em>{@code -histograms.csv}: summary of the steal latencies
+ * and loot sizes of each place
+ * <li><em>prefix</em>{@code -tuning.csv}: values of {@link Configuration#n}
+ * chosen by the tuner of each place
+ * </ul>
+ * All the durations are given in seconds. The files are written as a stream
+ * directly from the {@link Logger} instance.
+ * <p>
+ * Reports are written automatically in the directory given with property
+ * {@value Configuration#GLBM_REPORT} each time the logs of a computation are
+ * gathered with {@link GLBcomputer#getLog()}.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public final class Report {
+
+    /** Percentiles written for each histogram */
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    /** Labels used for the percentiles in {@link #PERCENTILES} */
+    private static final String[] PERCENTILE_LABELS = { "p50", "p90", "p99",
+            "p999" };
+
+    /** Counter used to give distinct names to the reports of this process */
+    private static final AtomicInteger REPORTS = new AtomicInteger(0);
+
+    /**
+     * Returns the configuration and timings of the computation as key/value
+     * pairs
+     *
+     * @param log
+     *            log of the computation
+     * @param conf
+     *            configuration of the computer
+     * @return ordered map of the values
+     */
+    private static Map<String, Object> runInformation(Logger log,
+            Configuration conf) {
+        final Map<String, Object> m = new LinkedHashMap<>();
+        m.put("places", conf.p);
+        m.put("workers", conf.x);
+        m.put("workUnit", conf.originalN);
+        m.put("randomSteals", conf.originalW);
+        m.put("lifelineStrategy", conf.z);
+        m.put("tuner", conf.tuner);
+        m.put("tuningInterval", conf.originalT / 1e9);
+        m.put("whisperInterval", conf.whisperInterval / 1e9);
+        m.put("instrumentation", conf.instrumentation);
+        m.put("traceCapacity", conf.traceCapacity);
+        m.put("initializationTime", log.initializationTime / 1e9);
+        m.put("computationTime", log.computationTime / 1e9);
+        m.put("resultGatheringTime", log.resultGatheringTime / 1e9);
+        m.put("cancelled", log.cancelled);
+        m.put("unexploredWork", log.unexploredWork);
+        m.put("estimatedWork", log.estimatedWork);
+        m.put("checkpoints", log.checkpoints);
+        m.put("checkpointTime", log.checkpointTime / 1e9);
+        return m;
+    }
+
+    /**
+     * Returns the counters of the given place as key/value pairs
+     *
+     * @param l
+     *            logger of the place
+     * @return ordered map of the counters
+     */
+    private static Map<String, Object> counters(PlaceLogger l) {
+        final Map<String, Object> m = new LinkedHashMap<>();
+        m.put("workerSpawned", l.workerSpawned.sum());
+        m.put("workProcessed", l.workProcessed.sum());
+        m.put("intraQueueSplit", l.intraQueueSplit.sum());
+        m.put("intraQueueFedByWorker", l.intraQueueFedByWorker.sum());
+        m.put("intraQueueFedByLifeline", l.intraQueueFedByLifeline.sum());
+        m.put("intraQueueEmptied", l.intraQueueEmptied.sum());
+        m.put("interQueueSplit", l.interQueueSplit.sum());
+        m.put("interQueueFed", l.interQueueFed.sum());
+        m.put("interQueueEmptied", l.interQueueEmptied);
+        m.put("randomStealsAttempted", l.stealsAttempted.sum());
+        m.put("randomStealsSuccess", l.stealsSuccess.sum());
+        m.put("randomStealsReceived", l.stealsReceived.sum());
+        m.put("randomStealsSuffered", l.stealsSuffered.sum());
+        m.put("lifelineStealsAttempted", l.lifelineStealsAttempted.sum());
+        m.put("lifelineStealsSuccess", l.lifelineStealsSuccess.sum());
+        m.put("lifelineStealsReceived", l.lifelineStealsReceived.sum());
+        m.put("lifelineStealsSuffered", l.lifelineStealsSuffered.sum());
+        m.put("lifelineThreadActive", l.lifelineThreadActive / 1e9);
+        m.put("lifelineThreadHold", l.lifelineThreadHold / 1e9);
+        m.put("lifelineThreadInactive", l.lifelineThreadInactive / 1e9);
+        m.put("lifelineThreadWokenUp", l.lifelineThreadWokenUp);
+        m.put("informationSent", l.communicationSent);
+        m.put("informationReceived", l.communicationReceived.sum());
+        m.put("uncompressedBytes", l.uncompressedBytes.sum());
+        m.put("compressedBytes", l.compressedBytes.sum());
+        m.put("batchesSent", l.batchesSent.sum());
+        m.put("batchedMessages", l.batchedMessages.sum());
+        m.put("sharedTransfers", l.sharedTransfers.sum());
+        m.put("sharedBytes", l.sharedBytes.sum());
+        m.put("yieldingTime", l.yieldingTime / 1e9);
+        return m;
+    }
+
+    /**
+     * Returns the histograms of the given place
+     *
+     * @param l
+     *            logger of the place
+     * @return ordered map of the histograms
+     */
+    private static Map<String, Histogram> histograms(PlaceLogger l) {
+        final Map<String, Histogram> m = new LinkedHashMap<>();
+        m.put("randomStealLatency", l.randomStealLatency);
+        m.put("lifelineStealLatency", l.lifelineStealLatency);
+        m.put("lifelineLootDelay", l.lifelineLootDelay);
+        m.put("lootSize", l.lootSize);
+        m.put("lootEncodingTime", l.lootEncodingTime);
+        m.put("lootDecodingTime", l.lootDecodingTime);
+        return m;
+    }
+
+    /**
+     * Returns the divisor applied to the values of the histogram of the given
+     * name
+     *
+     * @param name
+     *            name of the histogram
+     * @return 1 for sizes in bytes, 1e9 for durations in nanoseconds
+     */
+    private static double unit(String name) {
+        return name.equals("lootSize") ? 1 : 1e9;
+    }
+
+    /**
+     * Writes the JSON report of the computation to the given writer.
+     *
+     * @param log
+     *            log of the computation
+     * @param conf
+     *            configuration of the {@link GLBcomputer} that performed the
+     *            computation
+     * @param out
+     *            writer to which the document is written
+     * @throws IOException
+     *             if thrown by the writer
+     */
+    public static void writeJson(Logger log, Configuration conf, Writer out)
+            throws IOException {
+        out.write("{\n\"run\": ");
+        writeJsonObject(out, runInformation(log, conf));
+        out.write(",\n\"places\": [");
+        boolean first = true;
+        for (final PlaceLogger l : log.placeLogs) {
+            if (l == null) {
+                continue;
+            }
+            out.write(first ? "\n" : ",\n");
+            first = false;
+            out.write("{\"place\": " + l.place + ",\n\"counters\": ");
+            writeJsonObject(out, counters(l));
+            if (l.recordsTimings()) {
+                out.write(",\n\"workers\": {\"running\": ");
+                writeJsonSeconds(out, l.time);
+                out.write(", \"stealing\": ");
+                writeJsonSeconds(out, l.timeStealing);
+                out.write("}");
+            }
+            out.write(",\n\"histograms\": {");
+            boolean firstHistogram = true;
+            for (final Map.Entry<String, Histogram> e : histograms(l)
+                    .entrySet()) {
+                out.write(firstHistogram ? "" : ", ");
+                firstHistogram = false;
+                final Histogram h = e.getValue();
+                final double unit = unit(e.getKey());
+                out.write(jsonString(e.getKey()) + ": {\"count\": "
+                        + h.getCount() + ", \"mean\": " + h.getMean() / unit);
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    out.write(", \"" + PERCENTILE_LABELS[i] + "\": "
+                            + h.getValueAtPercentile(PERCENTILES[i]) / unit);
+                }
+                out.write(", \"max\": " + h.getMax() / unit + "}");
+            }
+            out.write("},\n\"tuning\": [");
+            final TunerStamp[] tuning = l.tuning;
+            for (int i = 0; i < l.tuningIndex; i++) {
+                out.write(i == 0 ? "" : ", ");
+                out.write("{\"time\": "
+                        + (tuning[i].stamp - tuning[0].stamp) / 1e9
+                        + ", \"n\": " + tuning[i].n + "}");
+            }
+            out.write("]}");
+        }
+        out.write("\n]\n}\n");
+        out.flush();
+    }
+
+    /**
+     * Writes the JSON report and the CSV files of the computation in the given
+     * directory. The name of each file starts with the given prefix.
+     *
+     * @param log
+     *            log of the computation
+     * @param conf
+     *            configuration of the {@link GLBcomputer} that performed the
+     *            computation
+     * @param directory
+     *            directory in which the files are written, created if
+     *            necessary
+     * @param prefix
+     *            prefix of the files names
+     * @throws IOException
+     *             if an I/O error occurs when writing the files
+     */
+    public static void write(Logger log, Configuration conf, Path directory,
+            String prefix) throws IOException {
+        Files.createDirectories(directory);
+        try (Writer out = Files.newBufferedWriter(
+                directory.resolve(prefix + ".json"), StandardCharsets.UTF_8)) {
+            writeJson(log, conf, out);
+        }
+
+        try (Writer out = Files.newBufferedWriter(
+                directory.resolve(prefix + "-run.csv"),
+                StandardCharsets.UTF_8)) {
+            out.write("key,value\n");
+            for (final Map.Entry<String, Object> e : runInformation(log, conf)
+                    .entrySet()) {
+                out.write(e.getKey() + "," + csvValue(e.getValue()) + "\n");
+            }
+        }
+
+        try (Writer places = Files.newBufferedWriter(
+                directory.resolve(prefix + "-places.csv"),
+                StandardCharsets.UTF_8);
+                Writer workers = Files.newBufferedWriter(
+                        directory.resolve(prefix + "-workers.csv"),
+                        StandardCharsets.UTF_8);
+                Writer histograms = Files.newBufferedWriter(
+                        directory.resolve(prefix + "-histograms.csv"),
+                        StandardCharsets.UTF_8);
+                Writer tuning = Files.newBufferedWriter(
+                        directory.resolve(prefix + "-tuning.csv"),
+                        StandardCharsets.UTF_8)) {
+            places.write("place,counter,value\n");
+            workers.write("place,state,workers,time\n");
+            histograms.write("place,histogram,count,mean");
+            for (final String label : PERCENTILE_LABELS) {
+                histograms.write("," + label);
+            }
+            histograms.write(",max\n");
+            tuning.write("place,time,n\n");
+
+            for (final PlaceLogger l : log.placeLogs) {
+                if (l == null) {
+                    continue;
+                }
+                for (final Map.Entry<String, Object> e : counters(l)
+                        .entrySet()) {
+                    places.write(l.place + "," + e.getKey() + ","
+                            + e.getValue() + "\n");
+                }
+                if (l.recordsTimings()) {
+                    for (int i = 0; i < l.time.length; i++) {
+                        workers.write(l.place + ",running," + i + ","
+                                + l.time[i] / 1e9 + "\n");
+                    }
+                    for (int i = 0; i < l.timeStealing.length; i++) {
+                        workers.write(l.place + ",stealing," + i + ","
+                                + l.timeStealing[i] / 1e9 + "\n");
+                    }
+                }
+                for (final Map.Entry<String, Histogram> e : histograms(l)
+                        .entrySet()) {
+                    final Histogram h = e.getValue();
+                    final double unit = unit(e.getKey());
+                    histograms.write(l.place + "," + e.getKey() + ","
+                            + h.getCount() + "," + h.getMean() / unit);
+                    for (final double p : PERCENTILES) {
+                        histograms.write(
+                                "," + h.getValueAtPercentile(p) / unit);
+                    }
+                    histograms.write("," + h.getMax() / unit + "\n");
+                }
+                for (int i = 0; i < l.tuningIndex; i++) {
+                    tuning.write(l.place + ","
+                            + (l.tuning[i].stamp - l.tuning[0].stamp) / 1e9
+                            + "," + l.tuning[i].n + "\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the report of the computation in the given directory, the files
+     * being named after a counter incremented for each report written by this
+     * process ({@code report-0.json}, {@code report-0-places.csv}, ...).
+     *
+     * @param log
+     *            log of the computation
+     * @param conf
+     *            configuration of the {@link GLBcomputer} that performed the
+     *            computation
+     * @param directory
+     *            directory in which the files are written
+     * @throws IOException
+     *             if an I/O error occurs when writing the files
+     */
+    public static void write(Logger log, Configuration conf, Path directory)
+            throws IOException {
+        write(log, conf, directory, "report-" + REPORTS.getAndIncrement());
+    }
+
+    /**
+     * Formats a value for the CSV files, quoting strings
+     *
+     * @param o
+     *            the value
+     * @return representation of the value
+     */
+    private static String csvValue(Object o) {
+        if (o instanceof String) {
+            return "\"" + ((String) o).replace("\"", "\"\"") + "\"";
+        }
+        return String.valueOf(o);
+    }
+
+    /**
+     * Escapes the given string for inclusion in a JSON document
+     *
+     * @param s
+     *            the string to escape
+     * @return the quoted and escaped string
+     */
+    private static String jsonString(String s) {
+        final StringBuilder b = new StringBuilder(s.length() + 2);
+        b.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            switch (c) {
+            case '"':
+                b.append("\\\"");
+                break;
+            case '\\':
+                b.append("\\\\");
+                break;
+            case '\n':
+                b.append("\\n");
+                break;
+            default:
+                if (c < 0x20) {
+                    b.append(String.format("\\u%04x", (int) c));
+                } else {
+                    b.append(c);
+                }
+            }
+        }
+        return b.append('"').toString();
+    }
+
+    /**
+     * Writes the given map as a JSON object
+     *
+     * @param out
+     *            the writer
+     * @param m
+     *            map of values, which are either strings or numbers
+     * @throws IOException
+     *             if thrown by the writer
+     */
+    private static void writeJsonObject(Writer out, Map<String, Object> m)
+            throws IOException {
+        out.write("{");
+        boolean first = true;
+        for (final Map.Entry<String, Object> e : m.entrySet()) {
+            out.write(first ? "" : ", ");
+            first = false;
+            final Object v = e.getValue();
+            out.write(jsonString(e.getKey()) + ": "
+                    + (v instanceof String ? jsonString((String) v)
+                            : String.valueOf(v)));
+        }
+        out.write("}");
+    }
+
+    /**
+     * Writes an array of durations in nanoseconds as a JSON array of seconds
+     *
+     * @param out
+     *            the writer
+     * @param nanos
+     *            the durations
+     * @throws IOException
+     *             if thrown by the writer
+     */
+    private static void writeJsonSeconds(Writer out, long[] nanos)
+            throws IOException {
+        out.write("[");
+        for (int i = 0; i < nanos.length; i++) {
+            out.write((i == 0 ? "" : ", ") + nanos[i] / 1e9);
+        }
+        out.write("]");
+    }
+
+    /** Private constructor, this class only contains static methods */
+    private Report() {
+    }
+}
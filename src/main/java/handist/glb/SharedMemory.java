@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Memory-mapped ring buffers through which a place transfers loot to the
+ * places running on the same host.
+ * <p>
+ * Each place creates an empty marker file in a host-local directory (typically
+ * {@code /dev/shm}) when it is set up. A place is considered co-located with
+ * another if it can see the marker of that place. The first time a place sends
+ * loot to a co-located place, it creates a ring file dedicated to that pair of
+ * places in the same directory. The loot is written into the ring and only its
+ * position is sent to the thief in a small <em>doorbell</em> message. The thief
+ * maps the same file and reads the loot in place.
+ * <p>
+ * Each ring has a single writer, the victim, and a single reader, the thief.
+ * The positions in the ring are counted in bytes since the ring was created.
+ * The first 8 bytes of the file hold the position up to which the reader has
+ * consumed the ring, which the writer reads to compute the free space. As the
+ * doorbells may be delivered out of order, the reader only advances this
+ * position once all the preceding loot has been read. A message which does not
+ * fit in the free space is not written in the ring, the caller then falls back
+ * to the regular transport.
+ * <p>
+ * The marker and the rings written by a place are deleted and unmapped by
+ * {@link #close()} when the computer is closed, and deleted when the JVM exits
+ * otherwise. The files of a process which crashed remain in the directory.
+ * They are all named {@code glb-<session>-*} and can be removed once no
+ * computation using this directory is running on the host.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+final class SharedMemory {
+
+    /**
+     * Ring buffer shared between a pair of places
+     */
+    static final class Ring {
+
+        /** The whole mapped file, header included */
+        final MappedByteBuffer buffer;
+
+        /** Capacity of the ring in bytes, header excluded */
+        final int capacity;
+
+        /**
+         * Reader side: end positions of the messages read, indexed by the
+         * position at which they start, which are not yet released because a
+         * preceding message has not been read yet
+         */
+        final HashMap<Long, Long> pending = new HashMap<>();
+
+        /** Reader side: position up to which the ring is released */
+        long released;
+
+        /** Writer side: position at which the next message is written */
+        long written;
+
+        /**
+         * Maps the given ring file
+         *
+         * @param path
+         *            the ring file
+         * @param capacity
+         *            capacity of the ring
+         * @param create
+         *            {@code true} for the writer, which creates the file
+         * @throws IOException
+         *             if the file could not be created or mapped
+         */
+        Ring(Path path, int capacity, boolean create) throws IOException {
+            this.capacity = capacity;
+            try (FileChannel channel = create
+                    ? FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                            StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(path, StandardOpenOption.READ,
+                            StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        HEADER + capacity);
+            }
+            if (create) {
+                path.toFile().deleteOnExit();
+            }
+        }
+
+        /**
+         * Unmaps the ring file. If the JVM does not allow mappings to be
+         * released explicitly, the mapping is released when the buffer is
+         * garbage collected.
+         */
+        void unmap() {
+            try {
+                final Class<?> unsafe = Class.forName("sun.misc.Unsafe");
+                final Method invokeCleaner = unsafe.getMethod("invokeCleaner",
+                        ByteBuffer.class);
+                final Field theUnsafe = unsafe.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Left to the garbage collector
+            }
+        }
+
+        /**
+         * Returns a view of the given section of the ring
+         *
+         * @param position
+         *            position of the section
+         * @param length
+         *            length of the section
+         * @return a buffer whose content is the section of the ring
+         */
+        ByteBuffer section(long position, int length) {
+            final ByteBuffer b = buffer.duplicate();
+            final int offset = HEADER + (int) (position % capacity);
+            b.limit(offset + length).position(offset);
+            return b.slice();
+        }
+    }
+
+    /**
+     * Size in bytes of the header of a ring file, kept at a cache line to avoid
+     * false sharing between the header and the first message
+     */
+    static final int HEADER = 64;
+
+    /** Capacity in bytes of each ring */
+    final int capacity;
+
+    /**
+     * Indicates for each place whether it runs on the same host as this place,
+     * {@code null} if its marker was not seen yet
+     */
+    final Boolean[] colocated;
+
+    /** Set once {@link #close()} is called */
+    volatile boolean closed;
+
+    /** Directory containing the files */
+    final String directory;
+
+    /** Id of this place */
+    final int home;
+
+    /** Rings from which this place reads, indexed by writer */
+    final Ring[] inbound;
+
+    /** Rings into which this place writes, indexed by reader */
+    final Ring[] outbound;
+
+    /** Name shared by all the files of the computer */
+    final String session;
+
+    /**
+     * Constructor. Creates the marker of this place.
+     *
+     * @param directory
+     *            host-local directory in which the files are created
+     * @param session
+     *            name identifying the files of the places of the same
+     *            computer, identical on every place
+     * @param home
+     *            id of this place
+     * @param places
+     *            number of places
+     * @param capacity
+     *            capacity of each ring in bytes
+     * @throws IOException
+     *             if the marker could not be created
+     */
+    SharedMemory(String directory, String session, int home, int places,
+            int capacity) throws IOException {
+        this.directory = directory;
+        this.session = session;
+        this.home = home;
+        this.capacity = capacity;
+        colocated = new Boolean[places];
+        inbound = new Ring[places];
+        outbound = new Ring[places];
+        final Path marker = Files.createFile(marker(home));
+        marker.toFile().deleteOnExit();
+    }
+
+    /**
+     * Deletes the marker of this place and the rings it writes into, and
+     * unmaps all the rings of this place. Loot can no longer be transferred
+     * through shared memory afterwards, {@link #write(int, int, Consumer)}
+     * returning {@code null}. Must not be called while loot is being read.
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int p = 0; p < outbound.length; p++) {
+            final Ring r = outbound[p];
+            if (r != null) {
+                synchronized (r) {
+                    r.unmap();
+                }
+                outbound[p] = null;
+                delete(ring(home, p));
+            }
+            if (inbound[p] != null) {
+                inbound[p].unmap();
+                inbound[p] = null;
+            }
+        }
+        delete(marker(home));
+    }
+
+    /**
+     * Deletes the given file if it exists
+     *
+     * @param path
+     *            file to delete
+     */
+    static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (final IOException e) {
+            // Deleted when the JVM exits
+        }
+    }
+
+    /**
+     * Returns the path of the marker of a place
+     *
+     * @param place
+     *            id of the place
+     * @return path of the marker
+     */
+    Path marker(int place) {
+        return Paths.get(directory, "glb-" + session + "-" + place);
+    }
+
+    /**
+     * Returns the path of the ring from a place to another
+     *
+     * @param writer
+     *            id of the place writing into the ring
+     * @param reader
+     *            id of the place reading from the ring
+     * @return path of the ring file
+     */
+    Path ring(int writer, int reader) {
+        return Paths.get(directory,
+                "glb-" + session + "-" + writer + "-" + reader + ".ring");
+    }
+
+    /**
+     * Indicates if the given place runs on the same host as this place. Only
+     * the presence of the marker of the place is remembered, its absence
+     * being checked again at the next call in case the place creates its
+     * marker later.
+     *
+     * @param place
+     *            id of a place
+     * @return {@code true} if loot can be written into a ring for this place
+     */
+    boolean isColocated(int place) {
+        final Boolean c = colocated[place];
+        if (c != null) {
+            return c;
+        }
+        if (place == home || !Files.exists(marker(place))) {
+            return false;
+        }
+        colocated[place] = true;
+        return true;
+    }
+
+    /**
+     * Writes a message into the ring bound to the given place
+     *
+     * @param destination
+     *            id of the place reading the message
+     * @param maxLength
+     *            upper bound on the length of the message
+     * @param writer
+     *            writes the message into the buffer it is given, leaving the
+     *            position of the buffer after the last byte written
+     * @return the positions to give to {@link #read(int, long, Function)}, the
+     *         position of the message in the ring and its actual length, or
+     *         {@code null} if the destination is not co-located or if the ring
+     *         does not have enough free space
+     */
+    long[] write(int destination, int maxLength, Consumer<ByteBuffer> writer) {
+        if (!isColocated(destination) || maxLength > capacity) {
+            return null;
+        }
+        Ring r = outbound[destination];
+        if (r == null) {
+            synchronized (this) {
+                r = outbound[destination];
+                if (closed) {
+                    return null;
+                } else if (r == null) {
+                    try {
+                        r = new Ring(ring(home, destination), capacity, true);
+                    } catch (final IOException e) {
+                        colocated[destination] = false;
+                        return null;
+                    }
+                    outbound[destination] = r;
+                }
+            }
+        }
+        synchronized (r) {
+            if (closed) {
+                return null;
+            }
+            final long from = r.written;
+            final int offset = (int) (from % capacity);
+            final long start = offset + maxLength > capacity
+                    ? from + capacity - offset
+                    : from;
+            // The ring is entirely free once everything written was released
+            final long released = r.buffer.getLong(0);
+            if (released != from && start + maxLength - released > capacity) {
+                return null;
+            }
+            final ByteBuffer section = r.section(start, maxLength);
+            writer.accept(section);
+            r.written = start + section.position();
+            return new long[] { from, start, section.position() };
+        }
+    }
+
+    /**
+     * Reads a message written into the ring by the given place and releases
+     * its space once it and all the preceding messages have been read
+     *
+     * @param <T>
+     *            type of the object read from the message
+     * @param source
+     *            id of the place which wrote the message
+     * @param message
+     *            positions returned by
+     *            {@link #write(int, int, Consumer)} on the source
+     * @param reader
+     *            reads the message from the buffer it is given, the buffer
+     *            cannot be used after this method returns
+     * @return the object returned by the reader
+     * @throws IllegalStateException
+     *             if {@link #close()} was called
+     */
+    <T> T read(int source, long[] message, Function<ByteBuffer, T> reader) {
+        Ring r;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Shared memory is closed");
+            }
+            r = inbound[source];
+            if (r == null) {
+                try {
+                    r = new Ring(ring(source, home), capacity, false);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                inbound[source] = r;
+            }
+        }
+        final T read = reader.apply(r.section(message[1], (int) message[2]));
+        synchronized (r) {
+            r.pending.put(message[0], message[1] + message[2]);
+            Long next;
+            while ((next = r.pending.remove(r.released)) != null) {
+                r.released = next;
+            }
+            r.buffer.putLong(0, r.released);
+        }
+        return read;
+    }
+}
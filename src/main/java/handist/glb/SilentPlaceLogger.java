@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import java.util.function.LongSupplier;
+
+/**
+ * {@link PlaceLogger} implementation used when the instrumentation level is
+ * set to {@value Configuration#GLBM_INSTRUMENTATION_OFF}. Every event signaled
+ * by the {@link GLBcomputer} is ignored, the logs obtained after the
+ * computation only contain the global timings measured on place 0 by
+ * {@link Logger}.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+class SilentPlaceLogger extends CountingPlaceLogger {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = 6020390932412693507L;
+
+    /**
+     * Constructor
+     *
+     * @param placeConfig
+     *            configuration of the {@link GLBcomputer}
+     * @param placeId
+     *            integer identifier of the place this logger records activity
+     *            for
+     * @param clock
+     *            clock returning timestamps in nanoseconds, {@code null} to
+     *            use {@link System#nanoTime()}
+     */
+    SilentPlaceLogger(Configuration placeConfig, int placeId, LongSupplier clock) {
+        super(placeConfig, placeId, clock);
+    }
+
+    @Override
+    void informationReceived() {
+    }
+
+    @Override
+    void informationSent() {
+    }
+
+    @Override
+    void interQueueDepleted() {
+    }
+
+    @Override
+    void interQueueFilled() {
+    }
+
+    @Override
+    void interQueueStolenFrom() {
+    }
+
+    @Override
+    void intraQueueDepleted() {
+    }
+
+    @Override
+    void intraQueueFilledByLifeline() {
+    }
+
+    @Override
+    void intraQueueFilledByWorker() {
+    }
+
+    @Override
+    void intraQueueStolenFrom() {
+    }
+
+    @Override
+    void workProcessed(int workAmount) {
+    }
+
+    @Override
+    void lifelineAnswerThreadActive() {
+    }
+
+    @Override
+    void lifelineStealAttempted() {
+    }
+
+    @Override
+    void lifelineStealReceived() {
+    }
+
+    @Override
+    void lifelineStealSucceeded(long latency, long sinceEstablishment) {
+    }
+
+    @Override
+    void lifelineStealSuffered() {
+    }
+
+    @Override
+    void lifelineThreadWokenUp() {
+    }
+
+    @Override
+    void payloadCompressed(long uncompressed, long compressed) {
+    }
+
+    @Override
+    void batchSent(int messages) {
+    }
+
+    @Override
+    void lootShared(long bytes) {
+    }
+
+    @Override
+    void randomStealAttempted() {
+    }
+
+    @Override
+    void randomStealReceived() {
+    }
+
+    @Override
+    void randomStealSucceeded(long latency) {
+    }
+
+    @Override
+    void randomStealSuffered() {
+    }
+
+    @Override
+    void workerStarted() {
+    }
+}
@@ -12,11 +12,15 @@
 package handist.glb.examples.nqueens;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.LinkedList;
+import java.util.Random;
 
 import handist.glb.Bag;
+import handist.glb.BagCodec;
+import handist.glb.Estimable;
 import handist.glb.examples.pentomino.Answer;
 
 /**
@@ -25,7 +29,8 @@ import handist.glb.examples.pentomino.Answer;
  * @author Patrick Finnerty
  *
  */
-public class BitNQueens implements Bag<BitNQueens, Answer>, Serializable {
+public class BitNQueens implements Bag<BitNQueens, Answer>,
+        BagCodec<BitNQueens>, Estimable, Serializable {
 
     /** Serial Version UID */
     private static final long serialVersionUID = -7839265072845647786L;
@@ -144,6 +149,70 @@ public class BitNQueens implements Bag<BitNQueens, Answer>, Serializable {
         reserve = new LinkedList<>();
     }
 
+    /**
+     * Decodes the fragments of exploration encoded by
+     * {@link #encode(ByteBuffer)}. The mask of each level is recomputed from
+     * the column, diagonal and anti-diagonal of the level.
+     */
+    @Override
+    public BitNQueens decode(ByteBuffer buffer) {
+        final BitNQueens loot = new BitNQueens();
+        loot.reserve = new LinkedList<>();
+        final int n = buffer.getInt();
+        for (int fragments = buffer.getInt(); fragments > 0; fragments--) {
+            final BitNQueens b = new BitNQueens();
+            b.stackAntiDiagonal = new int[n];
+            b.stackColumn = new int[n];
+            b.stackDiagonal = new int[n];
+            b.stackMask = new int[n];
+            b.treeLowerBound = new int[n];
+            b.treeUpperBound = new int[n];
+            b.depth = buffer.getInt();
+            for (int i = 0; i <= b.depth; i++) {
+                b.stackAntiDiagonal[i] = buffer.getInt();
+                b.stackColumn[i] = buffer.getInt();
+                b.stackDiagonal[i] = buffer.getInt();
+                b.stackMask[i] = b.stackAntiDiagonal[i] | b.stackColumn[i]
+                        | b.stackDiagonal[i];
+                b.treeLowerBound[i] = buffer.getInt();
+                b.treeUpperBound[i] = buffer.getInt();
+            }
+            loot.reserve.add(b);
+        }
+        return loot;
+    }
+
+    /**
+     * Encodes the fragments of exploration held in the reserve of this
+     * instance. Only the levels of each fragment up to its current depth are
+     * written, the deeper levels being overwritten before they are used.
+     */
+    @Override
+    public void encode(ByteBuffer buffer) {
+        buffer.putInt(reserve.isEmpty() ? 0
+                : reserve.peek().treeLowerBound.length);
+        buffer.putInt(reserve.size());
+        for (final BitNQueens b : reserve) {
+            buffer.putInt(b.depth);
+            for (int i = 0; i <= b.depth; i++) {
+                buffer.putInt(b.stackAntiDiagonal[i]);
+                buffer.putInt(b.stackColumn[i]);
+                buffer.putInt(b.stackDiagonal[i]);
+                buffer.putInt(b.treeLowerBound[i]);
+                buffer.putInt(b.treeUpperBound[i]);
+            }
+        }
+    }
+
+    @Override
+    public int encodedSize() {
+        int size = 8;
+        for (final BitNQueens b : reserve) {
+            size += 4 + 20 * Math.max(b.depth + 1, 0);
+        }
+        return size;
+    }
+
     /**
      * Resets this instance to start the whole computation. For computation
      * using the GLB, you should call {@link #initParallel()} instead of this
@@ -198,9 +267,8 @@ public class BitNQueens implements Bag<BitNQueens, Answer>, Serializable {
     public void merge(BitNQueens b) {
         if (depth < 0) {
             restore(b.reserve.poll());
-        } else {
-            reserve.addAll(b.reserve);
         }
+        reserve.addAll(b.reserve);
     }
 
     /*
@@ -219,6 +287,63 @@ public class BitNQueens implements Bag<BitNQueens, Answer>, Serializable {
         }
     }
 
+    /**
+     * Estimates the number of calls to {@link #step()} and
+     * {@link #restore(BitNQueens)} needed to complete the exploration held by
+     * this instance and its reserve, the unit of the work amount of
+     * {@link #process(int, Answer)}.
+     */
+    @Override
+    public double probe(Random random) {
+        double estimate = probeTree(random);
+        for (final BitNQueens b : reserve) {
+            if (b != this) { // See method initParallel
+                estimate += 1 + b.probeTree(random);
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Estimates the number of steps needed to complete the exploration
+     * described by the stacks of this instance, with a random descent from
+     * each level down to a leaf (Knuth's estimator).
+     *
+     * @param random
+     *            source of randomness used to choose the branches
+     * @return estimated number of calls to {@link #step()}
+     */
+    private double probeTree(Random random) {
+        double estimate = depth + 1; // Each level is eventually backtracked
+        for (int i = 0; i <= depth; i++) {
+            final int options = treeUpperBound[i] - treeLowerBound[i];
+            if (options < 1) {
+                continue;
+            }
+            int column = stackColumn[i];
+            int antiDiagonal = stackAntiDiagonal[i];
+            int diagonal = stackDiagonal[i];
+            int mask = stackMask[i];
+            int option = treeLowerBound[i] + random.nextInt(options);
+            double weight = options;
+            for (int level = i;; level++) {
+                estimate += weight; // The option is attempted
+                final int m = 1 << option;
+                if (0 != (m & mask) || level == N - 1) {
+                    break;
+                }
+                estimate += weight; // The next level is backtracked
+                column = column | m;
+                antiDiagonal = (antiDiagonal | m) << 1;
+                diagonal = (diagonal | m) >>> 1;
+                mask = column | antiDiagonal | diagonal;
+                weight *= N;
+                option = random.nextInt(N);
+            }
+        }
+        return estimate;
+    }
+
     /**
      * Takes the provided instance and updates the member of this instance to
      * continue the exploration of the provided instance
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.nqueens;
+
+import java.util.Arrays;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import handist.glb.Configuration;
+import handist.glb.GLBcomputer;
+import handist.glb.GLBfactory;
+import handist.glb.examples.pentomino.Answer;
+
+/**
+ * Benchmark measuring the overhead of the runtime instrumentation of the
+ * global load balancer. The same {@link BitNQueens} computation is run
+ * repeatedly with each of the instrumentation levels presented in
+ * {@link Configuration#GLBM_INSTRUMENTATION}. The runs are interleaved between
+ * the levels to even out the effects of the JIT compilation and of the machine
+ * load.
+ * <p>
+ * The overhead is most visible with a fine grain, which can be set with
+ * property {@value Configuration#GLBM_WORKUNIT}, for instance:
+ *
+ * <pre>
+ * java -Dglb.workunit=16 [...] InstrumentationOverhead -n 14 -r 10
+ * </pre>
+ *
+ * The computation time of each run is printed on the standard output followed
+ * by the average and minimum computation time of each level, relative to the
+ * level without instrumentation.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class InstrumentationOverhead {
+
+    /** Instrumentation levels compared by this benchmark */
+    private static final String[] LEVELS = {
+            Configuration.GLBM_INSTRUMENTATION_OFF,
+            Configuration.GLBM_INSTRUMENTATION_COUNTERS,
+            Configuration.GLBM_INSTRUMENTATION_FULL };
+
+    /**
+     * Prepares the various options that can be given to the program
+     *
+     * @return an {@link Options} instance containing all the possible options
+     *         that can be given to the main program
+     */
+    private static Options commandOptions() {
+        final Options opts = new Options();
+        opts.addRequiredOption("n", "boardwidth", true,
+                "board width (size of the problem)");
+        opts.addOption("r", "repetitions", true,
+                "number of runs for each instrumentation level (default 5)");
+        opts.addOption("w", "warmup", true,
+                "number of runs discarded for each level (default 1)");
+        return opts;
+    }
+
+    /**
+     * Launches the benchmark
+     *
+     * @param args
+     *            size of the problem, number of repetitions and warm-up runs
+     */
+    public static void main(String[] args) {
+        final Options programOptions = commandOptions();
+        final CommandLineParser parser = new DefaultParser();
+        CommandLine cmd = null;
+        try {
+            cmd = parser.parse(programOptions, args);
+        } catch (final ParseException e1) {
+            System.err.println(e1.getLocalizedMessage());
+            final HelpFormatter formatter = new HelpFormatter();
+            formatter.printHelp(
+                    "java [...] InstrumentationOverhead -n <integer> [-r <integer>] [-w <integer>]",
+                    programOptions);
+            return;
+        }
+
+        final int n = Integer.parseInt(cmd.getOptionValue('n'));
+        final int repetitions = Integer
+                .parseInt(cmd.getOptionValue('r', "5"));
+        final int warmups = Integer.parseInt(cmd.getOptionValue('w', "1"));
+
+        // One computing service per instrumentation level
+        final GLBcomputer[] computers = new GLBcomputer[LEVELS.length];
+        try {
+            for (int l = 0; l < LEVELS.length; l++) {
+                System.setProperty(Configuration.GLBM_INSTRUMENTATION,
+                        LEVELS[l]);
+                computers[l] = GLBfactory.setupGLB();
+            }
+        } catch (final ReflectiveOperationException e) {
+            System.err.println("Error while setting up the GLB.");
+            e.printStackTrace();
+            return;
+        }
+        System.out.println(computers[0].getConfiguration());
+
+        final long[] total = new long[LEVELS.length];
+        final long[] min = new long[LEVELS.length];
+        final long[] solutions = new long[LEVELS.length];
+        Arrays.fill(min, Long.MAX_VALUE);
+
+        System.out.println("Run;Instrumentation;Computation time (s);");
+        final int N = n; // Needs to be final for Serialization in the Lambda
+        for (int run = -warmups; run < repetitions; run++) {
+            for (int l = 0; l < LEVELS.length; l++) {
+                final BitNQueens problem = new BitNQueens(N);
+                problem.initParallel();
+
+                final Answer a = computers[l].compute(problem,
+                        () -> new Answer(N), () -> new BitNQueens(N));
+                final long time = computers[l].getLog().computationTime;
+                solutions[l] = a.solutions;
+
+                if (run >= 0) {
+                    total[l] += time;
+                    min[l] = Math.min(min[l], time);
+                    System.out.println(
+                            run + ";" + LEVELS[l] + ";" + time / 1e9 + ";");
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println(
+                "Instrumentation;Solutions;Average (s);Minimum (s);Average overhead (%);Minimum overhead (%);");
+        for (int l = 0; l < LEVELS.length; l++) {
+            final double average = (double) total[l] / repetitions;
+            final double reference = (double) total[0] / repetitions;
+            System.out.println(LEVELS[l] + ";" + solutions[l] + ";"
+                    + average / 1e9 + ";" + min[l] / 1e9 + ";"
+                    + (average - reference) * 100 / reference + ";"
+                    + (min[l] - min[0]) * 100.0 / min[0] + ";");
+        }
+    }
+}
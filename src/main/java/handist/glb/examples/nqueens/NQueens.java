@@ -12,11 +12,13 @@
 package handist.glb.examples.nqueens;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.LinkedList;
 
 import handist.glb.Bag;
+import handist.glb.BagCodec;
 import handist.glb.examples.pentomino.Answer;
 
 /**
@@ -30,7 +32,8 @@ import handist.glb.examples.pentomino.Answer;
  *
  * @author Patrick Finnerty
  */
-public class NQueens implements Bag<NQueens, Answer>, Serializable {
+public class NQueens
+        implements Bag<NQueens, Answer>, BagCodec<NQueens>, Serializable {
 
     /** Serial Verion UID */
     private static final long serialVersionUID = -5534970349376619082L;
@@ -271,6 +274,62 @@ public class NQueens implements Bag<NQueens, Answer>, Serializable {
         return high[level] - low[level];
     }
 
+    /**
+     * Decodes the fragments of exploration encoded by
+     * {@link #encode(ByteBuffer)}.
+     */
+    @Override
+    public NQueens decode(ByteBuffer buffer) {
+        final NQueens loot = new NQueens();
+        loot.reserve = new LinkedList<>();
+        for (int fragments = buffer.getInt(); fragments > 0; fragments--) {
+            final NQueens q = new NQueens();
+            q.N = buffer.getInt();
+            q.stack = new int[q.N];
+            q.nextNode = new int[q.N];
+            q.low = new int[q.N];
+            q.high = new int[q.N];
+            q.depth = buffer.getInt();
+            for (int i = 0; i <= q.depth; i++) {
+                q.stack[i] = buffer.getInt();
+                q.nextNode[i] = buffer.getInt();
+                q.low[i] = buffer.getInt();
+                q.high[i] = buffer.getInt();
+            }
+            loot.reserve.add(q);
+        }
+        return loot;
+    }
+
+    /**
+     * Encodes the fragments of exploration held in the reserve of this
+     * instance. Only the levels of each fragment up to its current depth are
+     * written, the deeper levels being overwritten before they are used.
+     */
+    @Override
+    public void encode(ByteBuffer buffer) {
+        buffer.putInt(reserve.size());
+        for (final NQueens q : reserve) {
+            buffer.putInt(q.N);
+            buffer.putInt(q.depth);
+            for (int i = 0; i <= q.depth; i++) {
+                buffer.putInt(q.stack[i]);
+                buffer.putInt(q.nextNode[i]);
+                buffer.putInt(q.low[i]);
+                buffer.putInt(q.high[i]);
+            }
+        }
+    }
+
+    @Override
+    public int encodedSize() {
+        int size = 4;
+        for (final NQueens q : reserve) {
+            size += 8 + 16 * Math.max(q.depth + 1, 0);
+        }
+        return size;
+    }
+
     /**
      * Set this instance to be in a state at which it contains the whole
      * problem.
@@ -12,11 +12,13 @@
 package handist.glb.examples.pentomino;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.LinkedList;
 
 import handist.glb.Bag;
+import handist.glb.BagCodec;
 import handist.glb.examples.pentomino.Piece.PieceType;
 
 /**
@@ -46,7 +48,8 @@ import handist.glb.examples.pentomino.Piece.PieceType;
  *
  * @author Patrick Finnerty
  */
-public class Pentomino implements Bag<Pentomino, Answer>, Serializable {
+public class Pentomino
+        implements Bag<Pentomino, Answer>, BagCodec<Pentomino>, Serializable {
 
     /**
      * Enumerator for the type of Pentomino being computed
@@ -371,6 +374,71 @@ public class Pentomino implements Bag<Pentomino, Answer>, Serializable {
         initPieces(type);
     }
 
+    /**
+     * Decodes the fragments of exploration encoded by
+     * {@link #encode(ByteBuffer)}. The type of the problem is that of this
+     * instance.
+     */
+    @Override
+    public Pentomino decode(ByteBuffer buffer) {
+        final Pentomino loot = new Pentomino(pentominoType);
+        for (int fragments = buffer.getInt(); fragments > 0; fragments--) {
+            final Pentomino p = new Pentomino(pentominoType);
+            p.additionalSymmetryRestriction = buffer.getInt();
+            p.placement = new PiecePlaced[NB_PIECE];
+            for (int i = 0; i < NB_PIECE; i++) {
+                final PiecePlaced pp = p.new PiecePlaced();
+                pp.variation = buffer.getInt();
+                pp.index = buffer.getInt();
+                p.placement[i] = pp;
+            }
+            p.stack = new int[NB_PIECE];
+            p.low = new int[NB_PIECE];
+            p.high = new int[NB_PIECE];
+            p.depth = buffer.getInt();
+            for (int i = 0; i <= p.depth; i++) {
+                p.stack[i] = buffer.getInt();
+                p.low[i] = buffer.getInt();
+                p.high[i] = buffer.getInt();
+            }
+            loot.reserve.add(p);
+        }
+        return loot;
+    }
+
+    /**
+     * Encodes the fragments of exploration held in the reserve of this
+     * instance. The placement of every piece is written but only the levels of
+     * the stack up to the current depth of each fragment.
+     */
+    @Override
+    public void encode(ByteBuffer buffer) {
+        buffer.putInt(reserve.size());
+        for (final Pentomino p : reserve) {
+            buffer.putInt(p.additionalSymmetryRestriction);
+            for (final PiecePlaced pp : p.placement) {
+                buffer.putInt(pp.variation);
+                buffer.putInt(pp.index);
+            }
+            buffer.putInt(p.depth);
+            for (int i = 0; i <= p.depth; i++) {
+                buffer.putInt(p.stack[i]);
+                buffer.putInt(p.low[i]);
+                buffer.putInt(p.high[i]);
+            }
+        }
+    }
+
+    @Override
+    public int encodedSize() {
+        int size = 4;
+        for (final Pentomino p : reserve) {
+            size += 8 + 8 * p.placement.length
+                    + 12 * Math.max(p.depth + 1, 0);
+        }
+        return size;
+    }
+
     /**
      * Helper method that gives the index in array {@link #placement} and
      * {@link #pieces} of the next piece which the exploration is going to try
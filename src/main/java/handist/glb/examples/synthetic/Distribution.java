@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.synthetic;
+
+/**
+ * Probability distributions used by the {@link SyntheticWorkload} to decide
+ * the cost and the number of children of each node.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public enum Distribution {
+
+    /** Every draw returns the mean */
+    CONSTANT,
+
+    /** Draws are uniformly distributed between 0 and twice the mean */
+    UNIFORM,
+
+    /**
+     * Draws follow an exponential distribution of the given mean rounded down,
+     * giving a few values much larger than the mean
+     */
+    EXPONENTIAL;
+
+    /**
+     * Converts a uniformly distributed value in [0,1) into a draw of this
+     * distribution
+     *
+     * @param mean
+     *            mean of the distribution
+     * @param u
+     *            value uniformly distributed between 0 (included) and 1
+     *            (excluded)
+     * @return the drawn value
+     */
+    public int draw(double mean, double u) {
+        switch (this) {
+        case UNIFORM:
+            return (int) (u * (2 * mean + 1));
+        case EXPONENTIAL:
+            return (int) Math.min(Integer.MAX_VALUE, -mean * Math.log1p(-u));
+        default:
+            return (int) mean;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.synthetic;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import handist.glb.GLBcomputer;
+import handist.glb.GLBfactory;
+import handist.glb.Logger;
+
+/**
+ * Launcher for a parallel exploration of a synthetic tree using the global load
+ * balancer library. The parameters of the tree are described in
+ * {@link SyntheticWorkload}. For instance, the following command explores a
+ * tree in which most of the work is concentrated in the sub-tree of the first
+ * child of the root, the cost of the nodes varying greatly:
+ *
+ * <pre>
+ * java [...] ParallelSynthetic -d 8 -b 4 -H 4 -c 2000 -C EXPONENTIAL
+ * </pre>
+ *
+ * If option {@code -v} is given, the tree is also explored sequentially and
+ * the results of both explorations are compared.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class ParallelSynthetic {
+
+    /**
+     * Prepares the various options that can be given to the program
+     *
+     * @return an {@link Options} instance containing all the possible options
+     *         that can be given to the main program
+     */
+    static Options commandOptions() {
+        final Options opts = new Options();
+        opts.addRequiredOption("d", "depth", true, "depth of the tree");
+        opts.addOption("b", "branching", true,
+                "mean number of children of a node (default 4)");
+        opts.addOption("B", "branchingDistribution", true,
+                "CONSTANT, UNIFORM or EXPONENTIAL (default CONSTANT)");
+        opts.addOption("c", "cost", true,
+                "mean number of iterations to process a node (default 1000)");
+        opts.addOption("C", "costDistribution", true,
+                "CONSTANT, UNIFORM or EXPONENTIAL (default CONSTANT)");
+        opts.addOption("H", "hotspot", true,
+                "extra depth of the sub-tree of the first child of the root (default 0)");
+        opts.addOption("p", "spikePeriod", true,
+                "period in levels of the cost spikes (default 0, no spikes)");
+        opts.addOption("f", "spikeFactor", true,
+                "cost multiplier of the spike levels (default 10)");
+        opts.addOption("z", "nodeBytes", true,
+                "serialized size in bytes of each pending node (default 0)");
+        opts.addOption("s", "seed", true, "seed of the tree (default 0)");
+        opts.addOption("v", "verify", false,
+                "checks the result against a sequential exploration");
+        return opts;
+    }
+
+    /**
+     * Builds the workload described by the command line
+     *
+     * @param cmd
+     *            parsed command line
+     * @return the corresponding workload
+     */
+    static SyntheticWorkload parseWorkload(CommandLine cmd) {
+        return new SyntheticWorkload(
+                Long.parseLong(cmd.getOptionValue('s', "0")),
+                Integer.parseInt(cmd.getOptionValue('d')),
+                Double.parseDouble(cmd.getOptionValue('b', "4")),
+                Distribution.valueOf(cmd.getOptionValue('B', "CONSTANT")),
+                Double.parseDouble(cmd.getOptionValue('c', "1000")),
+                Distribution.valueOf(cmd.getOptionValue('C', "CONSTANT")),
+                Integer.parseInt(cmd.getOptionValue('H', "0")),
+                Integer.parseInt(cmd.getOptionValue('p', "0")),
+                Integer.parseInt(cmd.getOptionValue('f', "10")),
+                Integer.parseInt(cmd.getOptionValue('z', "0")));
+    }
+
+    /**
+     * Launches a parallel exploration of a synthetic tree
+     *
+     * @param args
+     *            parameters of the tree
+     */
+    public static void main(String[] args) {
+        final Options programOptions = commandOptions();
+        final CommandLineParser parser = new DefaultParser();
+        CommandLine cmd = null;
+        SyntheticWorkload w;
+        try {
+            cmd = parser.parse(programOptions, args);
+            w = parseWorkload(cmd);
+        } catch (final ParseException | IllegalArgumentException e1) {
+            System.err.println(e1.getLocalizedMessage());
+            final HelpFormatter formatter = new HelpFormatter();
+            formatter.printHelp("java [...] ParallelSynthetic -d <integer>",
+                    programOptions);
+            return;
+        }
+
+        GLBcomputer c;
+        try {
+            c = GLBfactory.setupGLB();
+        } catch (final ReflectiveOperationException e) {
+            System.err.println("Error while setting up the GLB.");
+            e.printStackTrace();
+            return;
+        }
+        System.out.println(c.getConfiguration());
+        System.out.println(w);
+
+        final SyntheticBag tree = new SyntheticBag(w);
+        tree.init();
+
+        final SyntheticWorkload W = w; // Final for Serialization in the Lambda
+        final SyntheticResult r = c.compute(tree, () -> new SyntheticResult(),
+                () -> new SyntheticBag(W));
+
+        final Logger l = c.getLog();
+
+        System.out.println("Nodes;" + r.nodes + "; Checksum;" + r.checksum
+                + ";");
+        System.out.println("Computation time (s);" + (l.initializationTime
+                + l.computationTime + l.resultGatheringTime) / 1e9 + ";");
+
+        if (cmd.hasOption('v')) {
+            final SyntheticBag sequential = new SyntheticBag(w);
+            sequential.init();
+            final SyntheticResult expected = new SyntheticResult();
+            while (!sequential.isEmpty()) {
+                sequential.process(Integer.MAX_VALUE, expected);
+            }
+            sequential.submit(expected);
+            final boolean ok = expected.nodes == r.nodes
+                    && expected.checksum == r.checksum;
+            System.out.println("Sequential;" + expected + ";"
+                    + (ok ? "OK" : "MISMATCH") + ";");
+        }
+
+        l.print(System.err);
+    }
+}
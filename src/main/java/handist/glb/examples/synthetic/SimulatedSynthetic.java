@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.synthetic;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import handist.glb.GLBfactory;
+import handist.glb.GLBsimulator;
+import handist.glb.Logger;
+import handist.glb.simulation.CostModel;
+import handist.glb.simulation.NetworkModel;
+
+/**
+ * Launcher for a simulated exploration of a synthetic tree on a large number
+ * of places with {@link GLBsimulator}. On top of the options of
+ * {@link ParallelSynthetic} describing the tree, the number of simulated
+ * places and the characteristics of the simulated network are given on the
+ * command line. For instance, the following command simulates the exploration
+ * on 4096 places linked by a network with a latency of 5 microseconds and a
+ * bandwidth of 1000 MB/s, each node of the tree taking 2 microseconds to
+ * process:
+ *
+ * <pre>
+ * java [...] SimulatedSynthetic -P 4096 -l 5 -w 1000 -u 2000 -d 10 -b 4 -H 6
+ * </pre>
+ *
+ * The GLB settings (lifeline strategy, tuner, work unit, ...) of the simulated
+ * places are set with the usual properties presented in
+ * {@link handist.glb.Configuration}. A single worker is used on each
+ * simulated place unless property {@code glb.workers} is set.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class SimulatedSynthetic {
+
+    /**
+     * Prepares the various options that can be given to the program
+     *
+     * @return an {@link Options} instance containing all the possible options
+     *         that can be given to the main program
+     */
+    private static Options commandOptions() {
+        final Options opts = ParallelSynthetic.commandOptions();
+        opts.addRequiredOption("P", "places", true,
+                "number of simulated places");
+        opts.addOption("l", "latency", true,
+                "latency of the simulated network in microseconds (default 10)");
+        opts.addOption("w", "bandwidth", true,
+                "bandwidth of the simulated network in MB/s, 0 for unlimited (default 0)");
+        opts.addOption("u", "unitCost", true,
+                "simulated time in nanoseconds to process a node, 0 to use the measured time (default 0)");
+        return opts;
+    }
+
+    /**
+     * Launches a simulated exploration of a synthetic tree
+     *
+     * @param args
+     *            parameters of the tree and of the simulation
+     */
+    public static void main(String[] args) {
+        final Options programOptions = commandOptions();
+        final CommandLineParser parser = new DefaultParser();
+        int places;
+        NetworkModel network;
+        CostModel cost;
+        SyntheticWorkload w;
+        try {
+            final CommandLine cmd = parser.parse(programOptions, args);
+            w = ParallelSynthetic.parseWorkload(cmd);
+            places = Integer.parseInt(cmd.getOptionValue('P'));
+            network = new NetworkModel(
+                    Long.parseLong(cmd.getOptionValue('l', "10")) * 1000,
+                    Long.parseLong(cmd.getOptionValue('w', "0")) * 1000000);
+            final long unitCost = Long.parseLong(cmd.getOptionValue('u', "0"));
+            cost = unitCost > 0 ? CostModel.perWorkUnit(unitCost)
+                    : CostModel.measured(1);
+        } catch (final ParseException | IllegalArgumentException e1) {
+            System.err.println(e1.getLocalizedMessage());
+            final HelpFormatter formatter = new HelpFormatter();
+            formatter.printHelp(
+                    "java [...] SimulatedSynthetic -P <integer> -d <integer>",
+                    programOptions);
+            return;
+        }
+
+        GLBsimulator s;
+        try {
+            s = GLBfactory.setupSimulator(places, network, cost);
+        } catch (final ReflectiveOperationException e) {
+            System.err.println("Error while setting up the simulator.");
+            e.printStackTrace();
+            return;
+        }
+        System.out.println(s.getConfiguration());
+        System.out.println(network);
+        System.out.println(w);
+
+        final SyntheticBag tree = new SyntheticBag(w);
+        tree.init();
+
+        final long start = System.nanoTime();
+        final SyntheticResult r = s.compute(tree, () -> new SyntheticResult(),
+                () -> new SyntheticBag(w));
+        final long wallTime = System.nanoTime() - start;
+
+        final Logger l = s.getLog();
+
+        System.out.println("Nodes;" + r.nodes + "; Checksum;" + r.checksum
+                + ";");
+        System.out.println(
+                "Simulated time (s);" + l.computationTime / 1e9 + ";");
+        System.out.println("Events;" + s.getEventCount() + "; Wall time (s);"
+                + wallTime / 1e9 + ";");
+
+        l.print(System.err);
+    }
+}
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.synthetic;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import handist.glb.Bag;
+import handist.glb.BagCodec;
+
+/**
+ * {@link Bag} exploring the synthetic tree described by a
+ * {@link SyntheticWorkload}.
+ * <p>
+ * The pending nodes are kept in a stack explored in depth-first order. When
+ * the bag is split, the bottom half of the stack (the nodes closest to the root
+ * which hold the largest sub-trees) is given away. As the cost and children of
+ * each node only depend on its hash, the {@link SyntheticResult} obtained is
+ * the same regardless of how the tree was split and on how many workers it was
+ * explored, allowing to check the correctness of the load balancer.
+ * <p>
+ * When serialized, each pending node is followed by
+ * {@link SyntheticWorkload#nodeBytes} bytes of padding, controlling the size of
+ * the messages exchanged between places. The same padding is kept when the
+ * bag is encoded with its {@link BagCodec}.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class SyntheticBag implements Bag<SyntheticBag, SyntheticResult>,
+        BagCodec<SyntheticBag>, Serializable {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = -2958260451553826437L;
+
+    /** Initial size of the arrays containing the pending nodes */
+    private static final int INITIAL_SIZE = 64;
+
+    /**
+     * Performs the given number of iterations of a xorshift generator
+     *
+     * @param seed
+     *            initial state of the generator
+     * @param iterations
+     *            number of iterations to perform
+     * @return final state of the generator
+     */
+    static long spin(long seed, int iterations) {
+        long x = seed | 1;
+        for (int i = 0; i < iterations; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+        }
+        return x;
+    }
+
+    /** Sum of the outcomes of the nodes processed by this bag */
+    long checksum;
+
+    /**
+     * Depth of each pending node shifted by one bit, the lowest bit indicating
+     * if the node belongs to the hot spot
+     */
+    transient int[] depths;
+
+    /** Hash of each pending node */
+    transient long[] hashes;
+
+    /** Number of nodes processed by this bag */
+    long processed;
+
+    /** Number of pending nodes */
+    transient int size;
+
+    /** Parameters of the tree explored */
+    final SyntheticWorkload workload;
+
+    /**
+     * Constructor
+     * <p>
+     * Creates an empty bag. Method {@link #init()} needs to be called to place
+     * the root of the tree in the bag.
+     *
+     * @param w
+     *            parameters of the tree to explore
+     */
+    public SyntheticBag(SyntheticWorkload w) {
+        workload = w;
+        hashes = new long[INITIAL_SIZE];
+        depths = new int[INITIAL_SIZE];
+    }
+
+    /**
+     * Decodes the pending nodes encoded by {@link #encode(ByteBuffer)}. The
+     * workload of the returned bag is that of this instance.
+     */
+    @Override
+    public SyntheticBag decode(ByteBuffer buffer) {
+        final SyntheticBag loot = new SyntheticBag(workload);
+        loot.processed = buffer.getLong();
+        loot.checksum = buffer.getLong();
+        final int nodes = buffer.getInt();
+        loot.ensureCapacity(nodes);
+        for (int i = 0; i < nodes; i++) {
+            loot.hashes[i] = buffer.getLong();
+            loot.depths[i] = buffer.getInt();
+            buffer.position(buffer.position() + workload.nodeBytes);
+        }
+        loot.size = nodes;
+        return loot;
+    }
+
+    /**
+     * Encodes the pending nodes followed by
+     * {@link SyntheticWorkload#nodeBytes} bytes of padding each
+     */
+    @Override
+    public void encode(ByteBuffer buffer) {
+        buffer.putLong(processed);
+        buffer.putLong(checksum);
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(hashes[i]);
+            buffer.putInt(depths[i]);
+            buffer.position(buffer.position() + workload.nodeBytes);
+        }
+    }
+
+    @Override
+    public int encodedSize() {
+        return 20 + (12 + workload.nodeBytes) * size;
+    }
+
+    /**
+     * Places the root of the tree in the bag
+     */
+    public void init() {
+        push(workload.rootHash(), 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean isSplittable() {
+        return size > 1;
+    }
+
+    @Override
+    public void merge(SyntheticBag b) {
+        ensureCapacity(size + b.size);
+        System.arraycopy(b.hashes, 0, hashes, size, b.size);
+        System.arraycopy(b.depths, 0, depths, size, b.size);
+        size += b.size;
+        processed += b.processed;
+        checksum += b.checksum;
+    }
+
+    @Override
+    public void process(int workAmount, SyntheticResult sharedObject) {
+        while (workAmount-- > 0 && size > 0) {
+            size--;
+            final long hash = hashes[size];
+            final int depth = depths[size];
+            final int level = depth >>> 1;
+            final boolean hot = (depth & 1) == 1;
+
+            checksum += spin(hash, workload.cost(hash, level));
+            processed++;
+
+            final int children = workload.children(hash, level, hot);
+            for (int i = children - 1; i >= 0; i--) {
+                // The first child of the root is the top of the hot spot
+                final boolean childHot = level == 0 ? i == 0 : hot;
+                push(workload.childHash(hash, i),
+                        ((level + 1) << 1) | (childHot ? 1 : 0));
+            }
+        }
+    }
+
+    @Override
+    public SyntheticBag split(boolean takeAll) {
+        final SyntheticBag loot = new SyntheticBag(workload);
+        final int given = (takeAll && size == 1) ? 1 : size / 2;
+        if (given > 0) {
+            loot.ensureCapacity(given);
+            System.arraycopy(hashes, 0, loot.hashes, 0, given);
+            System.arraycopy(depths, 0, loot.depths, 0, given);
+            loot.size = given;
+            size -= given;
+            System.arraycopy(hashes, given, hashes, 0, size);
+            System.arraycopy(depths, given, depths, 0, size);
+        }
+        return loot;
+    }
+
+    @Override
+    public void submit(SyntheticResult r) {
+        r.nodes += processed;
+        r.checksum += checksum;
+    }
+
+    @Override
+    public String toString() {
+        return "Pending: " + size + " Processed: " + processed;
+    }
+
+    /**
+     * Grows the arrays of pending nodes if needed to hold the given number of
+     * nodes
+     *
+     * @param capacity
+     *            number of nodes the arrays should be able to hold
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > hashes.length) {
+            final int newSize = Math.max(capacity, hashes.length * 2);
+            hashes = Arrays.copyOf(hashes, newSize);
+            depths = Arrays.copyOf(depths, newSize);
+        }
+    }
+
+    /**
+     * Pushes a node on top of the stack of pending nodes
+     *
+     * @param hash
+     *            hash of the node
+     * @param depth
+     *            depth of the node shifted by one bit with the hot spot flag
+     */
+    private void push(long hash, int depth) {
+        ensureCapacity(size + 1);
+        hashes[size] = hash;
+        depths[size] = depth;
+        size++;
+    }
+
+    /**
+     * Restores the pending nodes of a serialized bag
+     *
+     * @param in
+     *            input stream
+     * @throws IOException
+     *             if thrown by the input stream
+     * @throws ClassNotFoundException
+     *             if thrown by the input stream
+     */
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        size = in.readInt();
+        hashes = new long[Math.max(size, INITIAL_SIZE)];
+        depths = new int[Math.max(size, INITIAL_SIZE)];
+        final byte[] padding = new byte[workload.nodeBytes];
+        for (int i = 0; i < size; i++) {
+            hashes[i] = in.readLong();
+            depths[i] = in.readInt();
+            in.readFully(padding);
+        }
+    }
+
+    /**
+     * Writes the pending nodes followed by {@link SyntheticWorkload#nodeBytes}
+     * bytes of padding each
+     *
+     * @param out
+     *            output stream
+     * @throws IOException
+     *             if thrown by the output stream
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        final byte[] padding = new byte[workload.nodeBytes];
+        for (int i = 0; i < size; i++) {
+            out.writeLong(hashes[i]);
+            out.writeInt(depths[i]);
+            out.write(padding);
+        }
+    }
+}
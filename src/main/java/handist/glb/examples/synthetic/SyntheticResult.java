@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.synthetic;
+
+import java.io.Serializable;
+
+import handist.glb.util.Fold;
+
+/**
+ * Result of the exploration of a synthetic tree
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class SyntheticResult implements Fold<SyntheticResult>, Serializable {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = -3541405452946722431L;
+
+    /**
+     * Sum of the outcomes of the computation of each node. Only depends on the
+     * workload, allowing to check the exploration was performed correctly.
+     */
+    public long checksum;
+
+    /** Number of nodes processed */
+    public long nodes;
+
+    @Override
+    public void fold(SyntheticResult r) {
+        nodes += r.nodes;
+        checksum += r.checksum;
+    }
+
+    @Override
+    public String toString() {
+        return "Nodes: " + nodes + " Checksum: " + checksum;
+    }
+}
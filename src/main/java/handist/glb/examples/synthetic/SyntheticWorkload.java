@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.synthetic;
+
+import java.io.Serializable;
+
+/**
+ * Parameters of a synthetic tree exploration used to evaluate the load balancer
+ * against a controlled amount of imbalance.
+ * <p>
+ * Each node of the tree is identified by a 64 bit hash computed from the hash
+ * of its parent and its rank among its siblings. The cost and the number of
+ * children of a node are drawn from their {@link Distribution} using this
+ * hash, making the tree and the result of its exploration entirely determined
+ * by the parameters, regardless of the order in which the nodes are processed
+ * and of the way the tree is split between workers.
+ * <p>
+ * The following parameters control the shape of the tree:
+ * <ul>
+ * <li>{@link #depth}: depth below which nodes have no children
+ * <li>{@link #branching} and {@link #branchingDistribution}: number of children
+ * of the nodes above {@link #depth}. The root always has {@link #branching}
+ * (rounded up) children so that the tree does not degenerate.
+ * <li>{@link #cost} and {@link #costDistribution}: number of iterations of a
+ * xorshift generator performed to process a node
+ * <li>{@link #hotSpotDepth}: the subtree of the first child of the root
+ * extends this many levels deeper than the rest of the tree, concentrating
+ * most of the work in a small part of the initial tree
+ * <li>{@link #spikePeriod} and {@link #spikeFactor}: the cost of the nodes at
+ * every {@link #spikePeriod}<em>th</em> level is multiplied by
+ * {@link #spikeFactor}, alternating phases of cheap and expensive nodes
+ * <li>{@link #nodeBytes}: number of bytes each pending node occupies once
+ * serialized, controlling the size of the loot exchanged between places
+ * </ul>
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class SyntheticWorkload implements Serializable {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = 1788342153549071893L;
+
+    /**
+     * Mixes the bits of the given value (finalizer of the SplitMix64
+     * generator)
+     *
+     * @param z
+     *            value to mix
+     * @return a hash of the value
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Converts a hash into a value uniformly distributed in [0,1)
+     *
+     * @param hash
+     *            the hash to convert
+     * @return a value between 0 (included) and 1 (excluded)
+     */
+    static double uniform(long hash) {
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    /** Mean number of children of a node */
+    public final double branching;
+
+    /** Distribution of the number of children of a node */
+    public final Distribution branchingDistribution;
+
+    /** Mean number of iterations needed to process a node */
+    public final double cost;
+
+    /** Distribution of the cost of a node */
+    public final Distribution costDistribution;
+
+    /** Depth below which nodes do not have any children */
+    public final int depth;
+
+    /** Extra depth of the subtree of the first child of the root */
+    public final int hotSpotDepth;
+
+    /** Number of bytes each pending node occupies in the serialized bags */
+    public final int nodeBytes;
+
+    /** Seed of the tree */
+    public final long seed;
+
+    /** Cost multiplier applied to the nodes of the spike levels */
+    public final int spikeFactor;
+
+    /** Period in levels of the cost spikes, 0 to disable */
+    public final int spikePeriod;
+
+    /**
+     * Constructor
+     *
+     * @param treeSeed
+     *            seed of the tree
+     * @param treeDepth
+     *            depth below which nodes do not have any children
+     * @param meanBranching
+     *            mean number of children of a node
+     * @param branchingDist
+     *            distribution of the number of children of a node
+     * @param meanCost
+     *            mean number of iterations needed to process a node
+     * @param costDist
+     *            distribution of the cost of a node
+     * @param hotSpot
+     *            extra depth of the subtree of the first child of the root
+     * @param period
+     *            period in levels of the cost spikes, 0 to disable
+     * @param factor
+     *            cost multiplier of the nodes of the spike levels
+     * @param bytes
+     *            number of bytes each pending node occupies in the serialized
+     *            bags
+     */
+    public SyntheticWorkload(long treeSeed, int treeDepth,
+            double meanBranching, Distribution branchingDist, double meanCost,
+            Distribution costDist, int hotSpot, int period, int factor,
+            int bytes) {
+        seed = treeSeed;
+        depth = treeDepth;
+        branching = meanBranching;
+        branchingDistribution = branchingDist;
+        cost = meanCost;
+        costDistribution = costDist;
+        hotSpotDepth = hotSpot;
+        spikePeriod = period;
+        spikeFactor = factor;
+        nodeBytes = bytes;
+    }
+
+    /**
+     * Computes the hash of a child node
+     *
+     * @param parentHash
+     *            hash of the parent
+     * @param rank
+     *            rank of the child among its siblings
+     * @return hash of the child
+     */
+    long childHash(long parentHash, int rank) {
+        return mix(parentHash + (rank + 1) * 0x9e3779b97f4a7c15L);
+    }
+
+    /**
+     * Returns the number of children of a node
+     *
+     * @param hash
+     *            hash of the node
+     * @param level
+     *            depth of the node, the root being at depth 0
+     * @param hot
+     *            indicates if the node belongs to the hot spot
+     * @return number of children of the node
+     */
+    int children(long hash, int level, boolean hot) {
+        final int limit = hot ? depth + hotSpotDepth : depth;
+        if (level >= limit) {
+            return 0;
+        } else if (level == 0) {
+            return (int) Math.max(1, Math.ceil(branching));
+        }
+        return branchingDistribution.draw(branching, uniform(hash));
+    }
+
+    /**
+     * Returns the number of iterations needed to process a node
+     *
+     * @param hash
+     *            hash of the node
+     * @param level
+     *            depth of the node
+     * @return cost of the node
+     */
+    int cost(long hash, int level) {
+        final int c = costDistribution.draw(cost, uniform(mix(hash)));
+        if (spikePeriod > 0 && level % spikePeriod == spikePeriod - 1) {
+            return c * spikeFactor;
+        }
+        return c;
+    }
+
+    /**
+     * Returns the hash of the root of the tree
+     *
+     * @return hash of the root
+     */
+    long rootHash() {
+        return mix(seed + 0x9e3779b97f4a7c15L);
+    }
+
+    @Override
+    public String toString() {
+        return "Seed: " + seed + " Depth: " + depth + " Branching: "
+                + branchingDistribution + "(" + branching + ") Cost: "
+                + costDistribution + "(" + cost + ") Hot spot depth: "
+                + hotSpotDepth + " Spikes: x" + spikeFactor + " every "
+                + spikePeriod + " levels Node bytes: " + nodeBytes;
+    }
+}
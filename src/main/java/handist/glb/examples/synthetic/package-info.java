@@ -0,0 +1,20 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+/**
+ * Package containing a synthetic workload whose amount of imbalance can be
+ * controlled, used to evaluate the scheduling features of the global load
+ * balancer in benchmarks and tests.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+package handist.glb.examples.synthetic;
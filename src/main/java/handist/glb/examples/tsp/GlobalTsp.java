@@ -11,6 +11,8 @@
  ******************************************************************************/
 package handist.glb.examples.tsp;
 
+import java.time.Duration;
+
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -45,6 +47,10 @@ public class GlobalTsp {
                 "subset of cities to take for the problem");
         opts.addOption("q", "quiet", false,
                 "disables the whisper of newly found bounds between hosts");
+        opts.addOption("d", "deadline", true,
+                "time limit in seconds after which the best tour found so far is given");
+        opts.addOption("i", "snapshot-interval", true,
+                "interval in seconds at which the best tour length found so far is printed");
         return opts;
     }
 
@@ -68,7 +74,7 @@ public class GlobalTsp {
             System.err.println(e1.getLocalizedMessage());
             final HelpFormatter formatter = new HelpFormatter();
             formatter.printHelp(
-                    "java [...] GlobalTSP -f <problem file> [-s <integer>] [-q]",
+                    "java [...] GlobalTSP -f <problem file> [-s <integer>] [-q] [-d <seconds>] [-i <seconds>]",
                     programOptions);
             return;
         }
@@ -85,6 +91,11 @@ public class GlobalTsp {
         GLBcomputer computer;
 
         final boolean whisper = !cmd.hasOption('q');
+        final Duration deadline = cmd.hasOption('d')
+                ? Duration.ofMillis(
+                        (long) (Double.parseDouble(cmd.getOptionValue('d'))
+                                * 1000))
+                : null;
         final String filePath = cmd.getOptionValue('f');
         try {
             if (cmd.hasOption('s')) {
@@ -113,15 +124,26 @@ public class GlobalTsp {
 
         final TspProblem pb = problem;
 
+        if (cmd.hasOption('i')) {
+            final long start = System.nanoTime();
+            computer.setSnapshotListener(
+                    (TspResult r) -> System.out.println("Snapshot;"
+                            + (System.nanoTime() - start) / 1e9 + ";Length;"
+                            + r.bestSolution + ";PathsCount;"
+                            + r.paths.size() + ";"),
+                    Duration.ofMillis((long) (Double
+                            .parseDouble(cmd.getOptionValue('i')) * 1000)));
+        }
+
         // Computation
         TspResult t;
         if (whisper) {
             t = computer.computeWhisperedResult(transport,
                     () -> new TspResult(), () -> new TspBag(pb),
-                    () -> new TspWhisperer());
+                    () -> new TspBag(pb), () -> new TspWhisperer(), deadline);
         } else {
             t = computer.compute(transport, () -> new TspResult(),
-                    () -> new TspBag(pb));
+                    () -> new TspBag(pb), deadline);
         }
 
         // Print the solution on stdout
@@ -13,11 +13,14 @@ package handist.glb.examples.tsp;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.LinkedList;
 
 import handist.glb.Bag;
+import handist.glb.BagCodec;
+import handist.glb.Measurable;
 
 /**
  * TSP implementation following the global load balancer's {@link Bag}
@@ -26,7 +29,8 @@ import handist.glb.Bag;
  * @author Patrick Finnerty
  *
  */
-public class TspBag implements Bag<TspBag, TspResult>, Serializable {
+public class TspBag implements Bag<TspBag, TspResult>, BagCodec<TspBag>,
+        Measurable, Serializable {
 
     /** Serial Version UID */
     private static final long serialVersionUID = -8573121302967870892L;
@@ -219,6 +223,75 @@ public class TspBag implements Bag<TspBag, TspResult>, Serializable {
         }
     }
 
+    /**
+     * Decodes the partial explorations encoded by {@link #encode(ByteBuffer)}.
+     * The costs are recomputed with the {@link #ADJ_MATRIX} of this instance,
+     * which therefore needs to be initialized with the problem.
+     */
+    @Override
+    public TspBag decode(ByteBuffer buffer) {
+        final TspBag transport = new TspBag();
+        for (int fragments = buffer.getInt(); fragments > 0; fragments--) {
+            final TspBag b = new TspBag(TOTAL_NB_CITIES);
+            b.index = buffer.getInt();
+            for (int i = 0; i < TOTAL_NB_CITIES; i++) {
+                final NextNode[] candidates = b.nextNodes[i];
+                for (int k = 0; k < candidates.length; k++) {
+                    candidates[k] = new NextNode();
+                }
+                if (i < b.index) {
+                    b.path[i] = buffer.get();
+                    b.cost[i] = i == 0 ? 0
+                            : b.cost[i - 1]
+                                    + ADJ_MATRIX[b.path[i - 1]][b.path[i]];
+                    b.low[i] = buffer.get();
+                    b.high[i] = buffer.get();
+                    final int[] distances = ADJ_MATRIX[b.path[i]];
+                    for (final NextNode n : candidates) {
+                        final byte node = buffer.get();
+                        n.set(node, distances[node]);
+                    }
+                }
+            }
+            transport.reserve.add(b);
+        }
+        return transport;
+    }
+
+    /**
+     * Encodes the partial explorations held in the reserve of this instance.
+     * Only the cities of the path and of the candidates up to the current
+     * index of each exploration are written, the costs being derived from the
+     * adjacency matrix of the problem when decoding.
+     */
+    @Override
+    public void encode(ByteBuffer buffer) {
+        buffer.putInt(reserve.size());
+        for (final TspBag b : reserve) {
+            buffer.putInt(b.index);
+            for (int i = 0; i < b.index; i++) {
+                buffer.put(b.path[i]);
+                buffer.put((byte) b.low[i]);
+                buffer.put((byte) b.high[i]);
+                for (final NextNode n : b.nextNodes[i]) {
+                    buffer.put(n.node);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int encodedSize() {
+        int size = 4;
+        for (final TspBag b : reserve) {
+            size += 4;
+            for (int i = 0; i < b.index; i++) {
+                size += 3 + b.nextNodes[i].length;
+            }
+        }
+        return size;
+    }
+
     /**
      * Performs one step in the current exploration.
      *
@@ -520,4 +593,18 @@ public class TspBag implements Bag<TspBag, TspResult>, Serializable {
         return false;
     }
 
+    /**
+     * Estimates the work left in this bag as the number of branches of the
+     * exploration tree which remain to be explored, including those of the
+     * partial explorations kept in the {@link #reserve}.
+     */
+    @Override
+    public long workEstimate() {
+        long branches = leaves();
+        for (final TspBag b : reserve) {
+            branches += b.leaves();
+        }
+        return branches;
+    }
+
 }
@@ -45,6 +45,12 @@ public class TspResult implements Fold<TspResult>, Serializable {
      */
     private boolean newValueToShare;
 
+    /**
+     * Number of paths of length {@link #bestSolution} already returned by
+     * method {@link #delta()}
+     */
+    private int pathsInSnapshots;
+
     /**
      * Counts the number of nodes in the exploration trasversed by workers
      */
@@ -66,6 +72,22 @@ public class TspResult implements Fold<TspResult>, Serializable {
         nodesExplored += r.nodesExplored;
     }
 
+    /**
+     * Returns the best bound held by this instance along with the paths of
+     * that length found since the previous call to this method. Folding these
+     * deltas keeps the shortest length and accumulates the paths of that
+     * length, the number of nodes explored only being known at the end of the
+     * computation.
+     */
+    @Override
+    public synchronized TspResult delta() {
+        final TspResult d = new TspResult();
+        d.bestSolution = bestSolution;
+        d.paths.addAll(paths.subList(pathsInSnapshots, paths.size()));
+        pathsInSnapshots = paths.size();
+        return d;
+    }
+
     /**
      * Indicates if this instance contains a better bound then the value held
      * the least time method {@link #getInformation()} was called.
@@ -100,6 +122,7 @@ public class TspResult implements Fold<TspResult>, Serializable {
         if (info < bestSolution) {
             bestSolution = info;
             paths.clear();
+            pathsInSnapshots = 0;
             newValueToShare = true;
         }
     }
@@ -116,6 +139,7 @@ public class TspResult implements Fold<TspResult>, Serializable {
         if (length < bestSolution) {
             bestSolution = length;
             paths.clear();
+            pathsInSnapshots = 0;
             paths.add(path);
             newValueToShare = true;
         } else if (length == bestSolution) {
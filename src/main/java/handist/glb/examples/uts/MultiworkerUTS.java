@@ -13,9 +13,11 @@ package handist.glb.examples.uts;
 
 import java.io.PrintStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Random;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -25,7 +27,9 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 
 import handist.glb.Bag;
+import handist.glb.BagCodec;
 import handist.glb.Configuration;
+import handist.glb.Estimable;
 import handist.glb.GLBcomputer;
 import handist.glb.GLBfactory;
 import handist.glb.Logger;
@@ -42,7 +46,8 @@ import handist.glb.util.SerializableSupplier;
  *
  * @author Patrick Finnerty
  */
-public class MultiworkerUTS implements Bag<MultiworkerUTS, Sum>, Serializable {
+public class MultiworkerUTS implements Bag<MultiworkerUTS, Sum>,
+        BagCodec<MultiworkerUTS>, Estimable, Serializable {
 
     /** Branching factor */
     protected final double den;
@@ -248,6 +253,46 @@ public class MultiworkerUTS implements Bag<MultiworkerUTS, Sum>, Serializable {
         md = getMessageDigest();
     }
 
+    /**
+     * Decodes the nodes encoded by {@link #encode(ByteBuffer)}. The density
+     * used by the returned instance is that of this instance.
+     */
+    @Override
+    public MultiworkerUTS decode(ByteBuffer buffer) {
+        final int nodes = buffer.getInt();
+        final MultiworkerUTS loot = new MultiworkerUTS(Math.max(nodes, 1), den);
+        loot.exploredNodes = buffer.getLong();
+        buffer.get(loot.hash, 0, nodes * 20);
+        for (int i = 0; i < nodes; i++) {
+            loot.depth[i] = buffer.getInt();
+            loot.lower[i] = buffer.getInt();
+            loot.upper[i] = buffer.getInt();
+        }
+        loot.currentDepth = nodes;
+        return loot;
+    }
+
+    /**
+     * Encodes the nodes held by this instance up to {@link #currentDepth}
+     * along with the number of nodes explored.
+     */
+    @Override
+    public void encode(ByteBuffer buffer) {
+        buffer.putInt(currentDepth);
+        buffer.putLong(exploredNodes);
+        buffer.put(hash, 0, currentDepth * 20);
+        for (int i = 0; i < currentDepth; i++) {
+            buffer.putInt(depth[i]);
+            buffer.putInt(lower[i]);
+            buffer.putInt(upper[i]);
+        }
+    }
+
+    @Override
+    public int encodedSize() {
+        return 12 + 32 * currentDepth;
+    }
+
     /**
      * Generates the seed and the children nodes of node being currently
      * explored.
@@ -272,19 +317,7 @@ public class MultiworkerUTS implements Bag<MultiworkerUTS, Sum>, Serializable {
         md.digest(hash, offset, 20);
 
         // Determine the number of child nodes based on the generated seed
-
-        // v is the pseudo-random positive integer made out of the 4 bytes in
-        // the
-        // hash array generated by the message digest just above
-        final int v = ((0x7f & hash[offset + 16]) << 24)
-                | ((0xff & hash[offset + 17]) << 16)
-                | ((0xff & hash[offset + 18]) << 8)
-                | (0xff & hash[offset + 19]);
-
-        final int n = (int) (Math.log(1.0 - v / 2147483648.0) / den);
-        // 2.147.483.648 is written as 1 followed by 63 zeros in binary : -1.
-        // v / 2.147.483.648 is then in the range (-2147483647,0]
-        // n is then a positive integer, sometimes = 0, sometimes greater.
+        final int n = children(hash, offset);
         if (n > 0) {
             if (d > 1) { // Bound for the tree depth
                 // We create node size
@@ -298,6 +331,30 @@ public class MultiworkerUTS implements Bag<MultiworkerUTS, Sum>, Serializable {
         }
     }
 
+    /**
+     * Computes the number of children of the node whose seed was written in
+     * the given array at the given offset.
+     *
+     * @param h
+     *            array containing the seed of the node
+     * @param offset
+     *            index of the first of the 20 bytes of the seed in the array
+     * @return number of children of the node
+     */
+    private int children(byte[] h, int offset) {
+        // v is the pseudo-random positive integer made out of the 4 bytes in
+        // the
+        // hash array generated by the message digest just above
+        final int v = ((0x7f & h[offset + 16]) << 24)
+                | ((0xff & h[offset + 17]) << 16)
+                | ((0xff & h[offset + 18]) << 8) | (0xff & h[offset + 19]);
+
+        // 2.147.483.648 is written as 1 followed by 63 zeros in binary : -1.
+        // v / 2.147.483.648 is then in the range (-2147483647,0]
+        // n is then a positive integer, sometimes = 0, sometimes greater.
+        return (int) (Math.log(1.0 - v / 2147483648.0) / den);
+    }
+
     /**
      * Explores one node on the tree and returns.
      *
@@ -440,6 +497,52 @@ public class MultiworkerUTS implements Bag<MultiworkerUTS, Sum>, Serializable {
         out.println();
     }
 
+    /**
+     * Estimates the number of nodes left to explore with a random descent from
+     * each level of the exploration down to a leaf. The estimate is expressed
+     * in calls to {@link #expand(MessageDigest)}, the unit of the work amount
+     * of {@link #process(int, Sum)}.
+     */
+    @Override
+    public double probe(Random random) {
+        final MessageDigest m = getMessageDigest();
+        final byte[] h = new byte[24];
+        double estimate = 0;
+        try {
+            for (int i = 0; i < currentDepth; i++) {
+                final int remaining = upper[i] - lower[i];
+                if (remaining < 1) {
+                    continue;
+                }
+                System.arraycopy(hash, i * 20, h, 0, 20);
+                int d = depth[i];
+                int id = lower[i] + random.nextInt(remaining);
+                double weight = remaining;
+                for (;;) {
+                    estimate += weight; // The node is expanded once
+                    h[20] = (byte) (id >> 24);
+                    h[21] = (byte) (id >> 16);
+                    h[22] = (byte) (id >> 8);
+                    h[23] = (byte) id;
+                    m.update(h, 0, 24);
+                    m.digest(h, 0, 20);
+                    final int n = children(h, 0);
+                    if (n <= 0 || d <= 1) {
+                        // The children of the last level are counted without
+                        // being expanded
+                        break;
+                    }
+                    weight *= n;
+                    id = random.nextInt(n);
+                    d--;
+                }
+            }
+        } catch (final DigestException e) {
+            e.printStackTrace();
+        }
+        return estimate;
+    }
+
     /**
      * Performs node exploration until either the "work-amount" of nodes is
      * explored or the tree exploration is finished. The second parameter is
@@ -13,6 +13,7 @@ package handist.glb.examples.uts;
 
 import java.io.PrintStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -25,6 +26,7 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 
 import handist.glb.Bag;
+import handist.glb.BagCodec;
 import handist.glb.Configuration;
 import handist.glb.GLBcomputer;
 import handist.glb.GLBfactory;
@@ -43,8 +45,8 @@ import handist.glb.util.SerializableSupplier;
  *
  * @author Patrick Finnerty
  */
-public class MultiworkerUTSsplit1
-        implements Bag<MultiworkerUTSsplit1, Sum>, Serializable {
+public class MultiworkerUTSsplit1 implements Bag<MultiworkerUTSsplit1, Sum>,
+        BagCodec<MultiworkerUTSsplit1>, Serializable {
 
     /** Branching factor */
     protected final double den;
@@ -250,6 +252,46 @@ public class MultiworkerUTSsplit1
         md = getMessageDigest();
     }
 
+    /**
+     * Decodes the nodes encoded by {@link #encode(ByteBuffer)}. The density
+     * used by the returned instance is that of this instance.
+     */
+    @Override
+    public MultiworkerUTSsplit1 decode(ByteBuffer buffer) {
+        final int nodes = buffer.getInt();
+        final MultiworkerUTSsplit1 loot = new MultiworkerUTSsplit1(Math.max(nodes, 1), den);
+        loot.exploredNodes = buffer.getLong();
+        buffer.get(loot.hash, 0, nodes * 20);
+        for (int i = 0; i < nodes; i++) {
+            loot.depth[i] = buffer.getInt();
+            loot.lower[i] = buffer.getInt();
+            loot.upper[i] = buffer.getInt();
+        }
+        loot.currentDepth = nodes;
+        return loot;
+    }
+
+    /**
+     * Encodes the nodes held by this instance up to {@link #currentDepth}
+     * along with the number of nodes explored.
+     */
+    @Override
+    public void encode(ByteBuffer buffer) {
+        buffer.putInt(currentDepth);
+        buffer.putLong(exploredNodes);
+        buffer.put(hash, 0, currentDepth * 20);
+        for (int i = 0; i < currentDepth; i++) {
+            buffer.putInt(depth[i]);
+            buffer.putInt(lower[i]);
+            buffer.putInt(upper[i]);
+        }
+    }
+
+    @Override
+    public int encodedSize() {
+        return 12 + 32 * currentDepth;
+    }
+
     /**
      * Generates the seed and the children nodes of node being currently
      * explored.
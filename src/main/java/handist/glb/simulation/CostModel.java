@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.simulation;
+
+import handist.glb.Bag;
+import handist.glb.GLBsimulator;
+
+/**
+ * Decides the simulated time taken by a worker to process a fraction of its
+ * {@link Bag} in a {@link GLBsimulator}.
+ * <p>
+ * The bags are actually processed by the simulator. The time measured during
+ * this processing can be used as is (or scaled) to replay the behavior of an
+ * actual bag, or replaced by a fixed cost per unit of work to obtain a
+ * deterministic simulation.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+@FunctionalInterface
+public interface CostModel {
+
+    /**
+     * Returns a cost model which charges a fixed amount of time for each unit
+     * of work requested to a bag. The simulation is then deterministic.
+     *
+     * @param nanos
+     *            simulated time in nanoseconds per unit of work
+     * @return a cost model ignoring the measured time
+     */
+    public static CostModel perWorkUnit(long nanos) {
+        return (measured, workAmount) -> workAmount * nanos;
+    }
+
+    /**
+     * Returns a cost model which uses the time measured when processing the
+     * bag, divided by the given factor. A factor greater than 1 simulates a
+     * faster processor than the one running the simulation.
+     *
+     * @param speedup
+     *            factor by which the measured time is divided
+     * @return a cost model scaling the measured time
+     */
+    public static CostModel measured(double speedup) {
+        return (measured, workAmount) -> (long) (measured / speedup);
+    }
+
+    /**
+     * Computes the simulated time taken by a call to
+     * {@link Bag#process(int, handist.glb.util.Fold)}
+     *
+     * @param measured
+     *            time measured during the actual call in nanoseconds
+     * @param workAmount
+     *            amount of work requested from the bag
+     * @return simulated duration of the call in nanoseconds
+     */
+    public long processTime(long measured, int workAmount);
+}
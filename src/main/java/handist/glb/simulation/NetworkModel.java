@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.simulation;
+
+import java.io.Serializable;
+
+import handist.glb.GLBsimulator;
+
+/**
+ * Cost model of the messages exchanged between the places simulated by a
+ * {@link GLBsimulator}. The time needed for a message to reach its destination
+ * is the latency of the network plus the time needed to transfer the
+ * serialized message at the bandwidth of the network.
+ * <p>
+ * The same model is used by {@link handist.glb.GLBcomputer} to emulate a
+ * cluster network between places running on a single host, as set with
+ * properties {@link handist.glb.Configuration#GLBM_EMULATION_LATENCY} and
+ * {@link handist.glb.Configuration#GLBM_EMULATION_BANDWIDTH}.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class NetworkModel implements Serializable {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = -4187265304417730581L;
+
+    /**
+     * Bandwidth of the network in bytes per second, 0 or less for an infinite
+     * bandwidth
+     */
+    public final long bandwidth;
+
+    /** Latency of the network in nanoseconds */
+    public final long latency;
+
+    /**
+     * Constructor
+     *
+     * @param latencyNanos
+     *            latency of the network in nanoseconds
+     * @param bytesPerSecond
+     *            bandwidth of the network in bytes per second, 0 for an
+     *            infinite bandwidth
+     */
+    public NetworkModel(long latencyNanos, long bytesPerSecond) {
+        latency = latencyNanos;
+        bandwidth = bytesPerSecond;
+    }
+
+    /**
+     * Indicates if the size of the messages is taken into account by this
+     * model
+     *
+     * @return {@code true} if the bandwidth of the network is finite
+     */
+    public boolean isBandwidthLimited() {
+        return bandwidth > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Latency: " + latency / 1e3 + "us Bandwidth: "
+                + (isBandwidthLimited() ? bandwidth / 1e6 + "MB/s" : "infinite");
+    }
+
+    /**
+     * Computes the time needed for a message of the given size to reach its
+     * destination
+     *
+     * @param bytes
+     *            size of the message in bytes
+     * @return transfer time in nanoseconds
+     */
+    public long transferTime(long bytes) {
+        if (!isBandwidthLimited() || bytes <= 0) {
+            return latency;
+        }
+        return latency + (long) (bytes * 1e9 / bandwidth);
+    }
+}
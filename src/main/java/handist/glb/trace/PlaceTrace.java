@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.trace;
+
+import java.io.Serializable;
+
+/**
+ * Events recorded on a single place during a computation. Each worker of the
+ * place records the events it is responsible for in its own
+ * {@link TraceBuffer} without any synchronization. The events related to the
+ * communication between places, which can be recorded by any thread of the
+ * place, are kept in a separate buffer.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class PlaceTrace implements Serializable {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = 5934577151303318163L;
+
+    /**
+     * Buffer containing the events related to the communication with remote
+     * places
+     */
+    public final TraceBuffer protocol;
+
+    /**
+     * Timestamp obtained with {@link System#nanoTime()} when this instance was
+     * created, just before the computation started. Used as the origin of the
+     * timeline of this place.
+     */
+    public final long origin;
+
+    /** Integer identifier of the place whose events are recorded */
+    public final int place;
+
+    /** Buffers of each worker, the index being the worker's identifier */
+    public final TraceBuffer[] workers;
+
+    /**
+     * Constructor
+     *
+     * @param placeId
+     *            identifier of the place whose events are recorded
+     * @param workerCount
+     *            number of workers on the place
+     * @param capacity
+     *            number of events each buffer can hold
+     */
+    public PlaceTrace(int placeId, int workerCount, int capacity) {
+        place = placeId;
+        workers = new TraceBuffer[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new TraceBuffer(capacity);
+        }
+        protocol = new TraceBuffer(capacity);
+        origin = System.nanoTime();
+    }
+
+    /**
+     * Records an event related to the communication with a remote place. May
+     * be called concurrently by several threads.
+     *
+     * @param type
+     *            type of the event
+     * @param peer
+     *            remote place involved in the event
+     * @param value
+     *            value associated with the event
+     */
+    public void protocolEvent(TraceEvent type, int peer, long value) {
+        protocol.recordShared(type, System.nanoTime(), peer, value);
+    }
+
+    /**
+     * Records an event of a worker. Should only be called by the worker whose
+     * identifier is given as parameter.
+     *
+     * @param worker
+     *            identifier of the worker
+     * @param type
+     *            type of the event
+     * @param stamp
+     *            timestamp of the event
+     * @param value
+     *            value associated with the event
+     */
+    public void workerEvent(int worker, TraceEvent type, long stamp,
+            long value) {
+        workers[worker].record(type, stamp, -1, value);
+    }
+}
@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.trace;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Events recorded by all the places of a computation. Instances are obtained
+ * by calling method {@link handist.glb.GLBcomputer#getTrace()} after a
+ * computation was made with tracing enabled.
+ * <p>
+ * The events can be exported in the
+ * <a href="https://docs.google.com/document/d/1CvAClvFfyA5R-PhYUmn5OOQtYMH4h6I0nSsKchNAySU">Trace
+ * Event Format</a> understood by the {@code chrome://tracing} page of Chromium
+ * based browsers and by <a href="https://ui.perfetto.dev">Perfetto</a>. Each
+ * place appears as a process whose threads are the workers of the place, the
+ * communication events are displayed in an additional "protocol" thread.
+ * <p>
+ * As the clocks of the Java processes are not synchronized, the timeline of
+ * each place starts when the place was prepared for the computation.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class Trace {
+
+    /** Trace of each place, the index being the place identifier */
+    public final PlaceTrace[] places;
+
+    /**
+     * Constructor
+     *
+     * @param placeCount
+     *            number of places in the computation
+     */
+    public Trace(int placeCount) {
+        places = new PlaceTrace[placeCount];
+    }
+
+    /**
+     * Sets the trace of a place
+     *
+     * @param t
+     *            trace recorded by a place
+     */
+    public synchronized void addPlaceTrace(PlaceTrace t) {
+        places[t.place] = t;
+    }
+
+    /**
+     * Writes the events of the given buffer
+     *
+     * @param out
+     *            output to write into
+     * @param place
+     *            trace of the place the buffer belongs to
+     * @param tid
+     *            thread identifier used for the events of this buffer
+     * @param buffer
+     *            buffer whose events are written
+     * @param first
+     *            indicates if no event was written before
+     * @return {@code false} if some event was written, {@code first} otherwise
+     * @throws IOException
+     *             if thrown by the output
+     */
+    private boolean exportBuffer(Writer out, PlaceTrace place, int tid,
+            TraceBuffer buffer, boolean first) throws IOException {
+        for (int i = 0; i < buffer.size(); i++) {
+            if (!first) {
+                out.write(",\n");
+            }
+            first = false;
+            final TraceEvent type = buffer.type(i);
+            final long value = buffer.value(i);
+            out.write("{\"name\":\"");
+            out.write(type.label);
+            out.write("\",\"pid\":");
+            out.write(Integer.toString(place.place));
+            out.write(",\"tid\":");
+            out.write(Integer.toString(tid));
+            out.write(",\"ts\":");
+            out.write(micros(buffer.stamp(i) - place.origin));
+            if (type == TraceEvent.PROCESS) {
+                out.write(",\"ph\":\"X\",\"dur\":");
+                out.write(micros(value));
+                out.write("}");
+            } else {
+                out.write(",\"ph\":\"i\",\"s\":\"t\",\"args\":{\"peer\":");
+                out.write(Integer.toString(buffer.peer(i)));
+                out.write(",\"value\":");
+                out.write(Long.toString(value));
+                out.write("}}");
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Writes all the events recorded in the Trace Event Format to the
+     * specified file.
+     *
+     * @param file
+     *            path to the file to create or overwrite
+     * @throws IOException
+     *             if an I/O error occurs when writing the file
+     */
+    public void exportChromeTrace(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file,
+                StandardCharsets.UTF_8)) {
+            exportChromeTrace(out);
+        }
+    }
+
+    /**
+     * Writes all the events recorded in the Trace Event Format to the given
+     * output. The output is not closed by this method.
+     *
+     * @param out
+     *            the output on which the JSON document is written
+     * @throws IOException
+     *             if thrown by the output
+     */
+    public void exportChromeTrace(Writer out) throws IOException {
+        out.write("{\"displayTimeUnit\":\"ns\",\"traceEvents\":[\n");
+        boolean first = true;
+        for (final PlaceTrace p : places) {
+            if (p == null) {
+                continue;
+            }
+            // Names of the process and threads
+            first = metadata(out, "process_name", p.place, 0, "Place " + p.place,
+                    first);
+            for (int w = 0; w < p.workers.length; w++) {
+                first = metadata(out, "thread_name", p.place, w, "Worker " + w,
+                        first);
+            }
+            first = metadata(out, "thread_name", p.place, p.workers.length,
+                    "Protocol", first);
+
+            // Events
+            for (int w = 0; w < p.workers.length; w++) {
+                first = exportBuffer(out, p, w, p.workers[w], first);
+            }
+            first = exportBuffer(out, p, p.workers.length, p.protocol, first);
+        }
+        out.write("\n]}\n");
+        out.flush();
+    }
+
+    /**
+     * Returns the total number of events that were lost because the buffers
+     * were too small to hold the whole computation.
+     *
+     * @return number of events overwritten in the buffers
+     */
+    public long lostEvents() {
+        long lost = 0;
+        for (final PlaceTrace p : places) {
+            if (p != null) {
+                for (final TraceBuffer b : p.workers) {
+                    lost += b.lost();
+                }
+                lost += p.protocol.lost();
+            }
+        }
+        return lost;
+    }
+
+    /**
+     * Writes a metadata event naming a process or a thread
+     *
+     * @param out
+     *            output to write into
+     * @param kind
+     *            "process_name" or "thread_name"
+     * @param pid
+     *            process identifier
+     * @param tid
+     *            thread identifier
+     * @param name
+     *            name to give
+     * @param first
+     *            indicates if no event was written before
+     * @return {@code false}
+     * @throws IOException
+     *             if thrown by the output
+     */
+    private boolean metadata(Writer out, String kind, int pid, int tid,
+            String name, boolean first) throws IOException {
+        if (!first) {
+            out.write(",\n");
+        }
+        out.write("{\"name\":\"" + kind + "\",\"ph\":\"M\",\"pid\":" + pid
+                + ",\"tid\":" + tid + ",\"args\":{\"name\":\"" + name
+                + "\"}}");
+        return false;
+    }
+
+    /**
+     * Converts a duration in nanoseconds into the microseconds used by the
+     * Trace Event Format
+     *
+     * @param nanos
+     *            duration in nanoseconds
+     * @return string representation of the duration in microseconds
+     */
+    private static String micros(long nanos) {
+        return Double.toString(nanos / 1e3);
+    }
+}
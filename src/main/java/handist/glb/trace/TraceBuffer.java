@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.trace;
+
+import java.io.Serializable;
+
+/**
+ * Ring buffer in which timestamped events are recorded in a compact binary
+ * form. Each event occupies two {@code long} values:
+ * <ol>
+ * <li>the timestamp of the event obtained with {@link System#nanoTime()}
+ * <li>the type of the event (8 high-order bits), the identifier of a remote
+ * place involved in the event (next 24 bits) and a value whose meaning depends
+ * on the type of the event (32 low-order bits)
+ * </ol>
+ * When the buffer is full, the oldest events are overwritten.
+ * <p>
+ * A {@link TraceBuffer} is meant to be written by a single thread. Method
+ * {@link #recordShared(TraceEvent, long, int, long)} should be used when
+ * multiple threads may record events concurrently.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TraceBuffer implements Serializable {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = -2698133608891580009L;
+
+    /** Mask used to extract the value out of the second word of an event */
+    private static final long VALUE_MASK = 0xFFFFFFFFL;
+
+    /** Mask used to extract the remote place out of the second word */
+    private static final long PEER_MASK = 0xFFFFFFL;
+
+    /** Events recorded, two {@code long}s per event */
+    final long[] data;
+
+    /** Total number of events recorded since the buffer was created */
+    long recorded;
+
+    /**
+     * Constructor
+     *
+     * @param capacity
+     *            maximum number of events kept in the buffer
+     */
+    public TraceBuffer(int capacity) {
+        data = new long[2 * capacity];
+        recorded = 0;
+    }
+
+    /**
+     * Returns the number of events the buffer can hold.
+     *
+     * @return capacity of the buffer
+     */
+    public int capacity() {
+        return data.length / 2;
+    }
+
+    /**
+     * Returns the number of events currently held in the buffer
+     *
+     * @return number of events that can be read with {@link #stamp(int)},
+     *         {@link #type(int)}, {@link #peer(int)} and {@link #value(int)}
+     */
+    public int size() {
+        return (int) Math.min(recorded, capacity());
+    }
+
+    /**
+     * Returns the number of events that were overwritten because the buffer
+     * was full.
+     *
+     * @return number of events lost
+     */
+    public long lost() {
+        return recorded - size();
+    }
+
+    /**
+     * Index in {@link #data} of the i-th oldest event held in the buffer
+     *
+     * @param i
+     *            index of the event, 0 being the oldest one
+     * @return index of the first word of this event
+     */
+    private int offset(int i) {
+        final long first = recorded - size();
+        return (int) (((first + i) % capacity()) * 2);
+    }
+
+    /**
+     * Returns the identifier of the remote place involved in the i-th oldest
+     * event
+     *
+     * @param i
+     *            index of the event, 0 being the oldest one
+     * @return id of a place, or {@code -1} if no remote place was involved
+     */
+    public int peer(int i) {
+        return (int) ((data[offset(i) + 1] >>> 32) & PEER_MASK) - 1;
+    }
+
+    /**
+     * Records an event in the buffer
+     *
+     * @param type
+     *            type of the event
+     * @param stamp
+     *            timestamp of the event obtained with {@link System#nanoTime()}
+     * @param peer
+     *            identifier of the remote place involved in the event or
+     *            {@code -1} if not relevant
+     * @param value
+     *            value associated with the event, saturated to
+     *            {@code 2^32 - 1}
+     */
+    public void record(TraceEvent type, long stamp, int peer, long value) {
+        final int index = (int) ((recorded % capacity()) * 2);
+        data[index] = stamp;
+        data[index + 1] = ((long) type.ordinal() << 56)
+                | ((peer + 1L) & PEER_MASK) << 32
+                | Math.min(Math.max(value, 0), VALUE_MASK);
+        recorded++;
+    }
+
+    /**
+     * Records an event in the buffer while guaranteeing mutual exclusion with
+     * other threads calling this method.
+     *
+     * @param type
+     *            type of the event
+     * @param stamp
+     *            timestamp of the event obtained with {@link System#nanoTime()}
+     * @param peer
+     *            identifier of the remote place involved in the event or
+     *            {@code -1} if not relevant
+     * @param value
+     *            value associated with the event
+     */
+    public synchronized void recordShared(TraceEvent type, long stamp,
+            int peer, long value) {
+        record(type, stamp, peer, value);
+    }
+
+    /**
+     * Returns the timestamp of the i-th oldest event
+     *
+     * @param i
+     *            index of the event, 0 being the oldest one
+     * @return timestamp obtained with {@link System#nanoTime()}
+     */
+    public long stamp(int i) {
+        return data[offset(i)];
+    }
+
+    /**
+     * Returns the type of the i-th oldest event
+     *
+     * @param i
+     *            index of the event, 0 being the oldest one
+     * @return the type of the event
+     */
+    public TraceEvent type(int i) {
+        return TraceEvent.values()[(int) (data[offset(i) + 1] >>> 56)];
+    }
+
+    /**
+     * Returns the value associated with the i-th oldest event
+     *
+     * @param i
+     *            index of the event, 0 being the oldest one
+     * @return value of the event, its meaning depends on the event's type
+     */
+    public long value(int i) {
+        return data[offset(i) + 1] & VALUE_MASK;
+    }
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.trace;
+
+/**
+ * Types of the events recorded in a {@link TraceBuffer}. The meaning of the
+ * value associated with each event is detailed for each type.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public enum TraceEvent {
+    /**
+     * A worker processed a slice of its bag. The timestamp is the beginning of
+     * the slice and the value its duration in nanoseconds.
+     */
+    PROCESS("process"),
+    /**
+     * A worker split its bag to spawn a new worker (value 0), feed the intra
+     * place queue (value 1) or feed the inter place queue (value 2).
+     */
+    SPLIT("split"),
+    /**
+     * A worker merged some work taken from the intra place queue (value 1) or
+     * the inter place queue (value 2) into its bag.
+     */
+    MERGE("merge"),
+    /**
+     * This place sent a random steal request to the remote place.
+     */
+    STEAL_SENT("steal sent"),
+    /**
+     * This place received a steal request from the remote place. The value is
+     * 1 if the request came through a lifeline, 0 for a random steal.
+     */
+    STEAL_RECEIVED("steal received"),
+    /**
+     * This place established a lifeline on the remote place.
+     */
+    LIFELINE_ESTABLISHED("lifeline established"),
+    /**
+     * This place sent some loot to the remote place. The value is the size of
+     * the loot in bytes as sent: encoded, compressed or serialized, -1 if it
+     * was not measured.
+     */
+    LOOT_SENT("loot sent"),
+    /**
+     * This place received some loot from the remote place (-1 for a random
+     * steal whose victim is not known). The value is the size of the loot in
+     * bytes, the same as that of the matching {@link #LOOT_SENT} event.
+     */
+    LOOT_RECEIVED("loot received");
+
+    /** Name displayed in the exported traces */
+    public final String label;
+
+    /**
+     * Constructor
+     *
+     * @param name
+     *            name displayed in the exported traces
+     */
+    private TraceEvent(String name) {
+        label = name;
+    }
+}
@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+/**
+ * Package containing the event tracing facility of the global load balancer.
+ * <p>
+ * When property {@value handist.glb.Configuration#GLBM_TRACE} is set, each
+ * place records the activity of its workers and its exchanges with remote
+ * places in {@link handist.glb.trace.TraceBuffer}s. After the computation, the
+ * buffers of all places can be gathered into a {@link handist.glb.trace.Trace}
+ * which can be exported for visual timeline analysis.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+package handist.glb.trace;
@@ -96,13 +96,11 @@ public class MergeEmptyTuner implements Tuner, Serializable {
      */
     @Override
     public long placeLaunched(PlaceLogger l, Configuration c) {
-        lastCallTimestamp = System.nanoTime();
-        oldIntraQueueFed = l.intraQueueFedByWorker.get()
-                + l.intraQueueFedByLifeline.get();
-        oldIntraQueueEmptied = l.intraQueueEmptied.get();
-        synchronized (l) {
-            oldMaxWorkerAccumulatedTime = l.time[l.time.length - 1];
-        }
+        lastCallTimestamp = l.now();
+        oldIntraQueueFed = l.intraQueueFedByWorker.sum()
+                + l.intraQueueFedByLifeline.sum();
+        oldIntraQueueEmptied = l.intraQueueEmptied.sum();
+        oldMaxWorkerAccumulatedTime = l.timeWithWorkers(c.x);
         lastDecision = 0;
 
         l.NvalueTuned(lastCallTimestamp, c.n);
@@ -120,21 +118,17 @@ public class MergeEmptyTuner implements Tuner, Serializable {
     @Override
     public long tune(PlaceLogger l, Configuration c, GLBcomputer g) {
         // Computing the data required
-        final long stamp = System.nanoTime();
-        long maxWorkerStamp;
-        boolean atMaximum;
-        synchronized (l) {
-            maxWorkerStamp = l.time[l.time.length - 1];
-            atMaximum = l.workerCount == c.x;
-        }
+        final long stamp = l.now();
+        final long maxWorkerStamp = l.timeWithWorkers(c.x);
+        final boolean atMaximum = l.activeWorkers() == c.x;
         long timeMaxWorker = maxWorkerStamp - oldMaxWorkerAccumulatedTime;
         if (atMaximum) {
-            timeMaxWorker += (stamp - l.lastEventTimeStamp);
+            timeMaxWorker += (stamp - l.lastWorkerEventStamp());
         }
 
-        final long newEmpty = l.intraQueueEmptied.get();
-        final long newFeed = l.intraQueueFedByWorker.get()
-                + l.intraQueueFedByLifeline.get();
+        final long newEmpty = l.intraQueueEmptied.sum();
+        final long newFeed = l.intraQueueFedByWorker.sum()
+                + l.intraQueueFedByLifeline.sum();
 
         // Computing the indicators chosen
         final long empty = newEmpty - oldIntraQueueEmptied;
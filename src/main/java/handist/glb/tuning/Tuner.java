@@ -45,7 +45,7 @@ public interface Tuner {
      * @param c
      *            the {@link Configuration} instance used by the GLB
      * @return the timestamp at which the method was called using
-     *         {@link System#nanoTime()}
+     *         {@link PlaceLogger#now()}
      */
     public long placeLaunched(PlaceLogger l, Configuration c);
 
@@ -58,7 +58,7 @@ public interface Tuner {
      * are modified.
      * <p>
      * This method should return the result of a call to
-     * {@link System#nanoTime()} made within the call to tune. This allows the
+     * {@link PlaceLogger#now()} made within the call to tune. This allows the
      * GLB to block the thread that runs the tuner until it is time to run the
      * tuner again.
      *
@@ -69,9 +69,10 @@ public interface Tuner {
      *            instance in which modifications to the parameters of the GLB
      *            can be registered
      * @param g
-     *            local computer on which the tuner may act
+     *            local computer on which the tuner may act, {@code null} when
+     *            the tuner is used by a {@link handist.glb.GLBsimulator}
      * @return the timestamp at which the method was called using
-     *         {@link System#nanoTime()}
+     *         {@link PlaceLogger#now()}
      */
     public long tune(PlaceLogger l, Configuration c, GLBcomputer g);
 
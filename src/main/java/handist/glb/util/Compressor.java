@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.util;
+
+import java.util.Arrays;
+
+/**
+ * Compressor of the payloads exchanged between places, using a pure-Java
+ * implementation of a byte-oriented LZ77 scheme in the spirit of LZ4.
+ * <p>
+ * Each call to {@link #compress(byte[])} produces a frame whose first byte
+ * indicates if the remainder is compressed or stored as is. Payloads smaller
+ * than the threshold given to the constructor are stored. Larger payloads are
+ * compressed, the compressed form being kept only if it saves at least an
+ * eighth of the original size. The compressor is adaptive: when a compression
+ * does not pay off, the following payloads are stored without attempting to
+ * compress them, the number of payloads skipped doubling with each consecutive
+ * failure up to {@value #MAX_BACKOFF}. A successful compression resets this
+ * back-off.
+ * <p>
+ * The compressed format is a succession of sequences, each made of a token
+ * byte holding the number of literals (high 4 bits) and the length of the
+ * match minus {@value #MIN_MATCH} (low 4 bits), the extension bytes of these
+ * lengths when the value 15 is reached, the literals, and the offset of the
+ * match on 2 bytes. The last sequence only contains literals.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public final class Compressor {
+
+    /** First byte of a frame containing a compressed payload */
+    private static final byte COMPRESSED = 1;
+
+    /** Number of bits of the hash of the 4-byte sequences */
+    private static final int HASH_BITS = 14;
+
+    /**
+     * Number of bytes at the end of the input which are always encoded as
+     * literals
+     */
+    private static final int LAST_LITERALS = 5;
+
+    /**
+     * Maximum number of payloads stored without attempting to compress them
+     * after compressions failed to pay off
+     */
+    public static final int MAX_BACKOFF = 64;
+
+    /** Maximum distance between a match and the sequence it repeats */
+    private static final int MAX_OFFSET = 0xFFFF;
+
+    /** Minimum length of a match */
+    private static final int MIN_MATCH = 4;
+
+    /** First byte of a frame containing a payload stored as is */
+    private static final byte STORED = 0;
+
+    /**
+     * Decodes a frame produced by {@link #compress(byte[])}.
+     *
+     * @param frame
+     *            the frame to decode
+     * @return the original payload
+     * @throws IllegalArgumentException
+     *             if the frame is malformed
+     */
+    public static byte[] decompress(byte[] frame) {
+        if (frame[0] == STORED) {
+            return Arrays.copyOfRange(frame, 1, frame.length);
+        }
+        if (frame[0] != COMPRESSED) {
+            throw new IllegalArgumentException("Unknown frame type");
+        }
+        final byte[] out = new byte[readInt(frame, 1)];
+        int s = 5;
+        int d = 0;
+        for (;;) {
+            final int token = frame[s++] & 0xFF;
+            int literals = token >>> 4;
+            if (literals == 15) {
+                int b;
+                do {
+                    b = frame[s++] & 0xFF;
+                    literals += b;
+                } while (b == 255);
+            }
+            System.arraycopy(frame, s, out, d, literals);
+            s += literals;
+            d += literals;
+            if (s == frame.length) {
+                break;
+            }
+            final int offset = (frame[s] & 0xFF) | (frame[s + 1] & 0xFF) << 8;
+            s += 2;
+            int length = token & 0x0F;
+            if (length == 15) {
+                int b;
+                do {
+                    b = frame[s++] & 0xFF;
+                    length += b;
+                } while (b == 255);
+            }
+            length += MIN_MATCH;
+            if (offset == 0 || offset > d || d + length > out.length) {
+                throw new IllegalArgumentException("Malformed frame");
+            }
+            // Byte per byte as the match may overlap the bytes it writes
+            for (int m = d - offset, end = d + length; d < end;) {
+                out[d++] = out[m++];
+            }
+        }
+        if (d != out.length) {
+            throw new IllegalArgumentException("Truncated frame");
+        }
+        return out;
+    }
+
+    /**
+     * Computes the index in the hash table of the 4-byte sequence given as
+     * parameter
+     *
+     * @param sequence
+     *            4 bytes of the input
+     * @return index in the hash table
+     */
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_BITS);
+    }
+
+    /**
+     * Reads 4 bytes in little-endian order
+     *
+     * @param b
+     *            array to read from
+     * @param i
+     *            index of the first byte
+     * @return the integer read
+     */
+    private static int readInt(byte[] b, int i) {
+        return (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8
+                | (b[i + 2] & 0xFF) << 16 | (b[i + 3] & 0xFF) << 24;
+    }
+
+    /**
+     * Writes the extension bytes of a length which did not fit in its 4 bits
+     * of the token
+     *
+     * @param out
+     *            output array
+     * @param d
+     *            index at which to write
+     * @param remainder
+     *            length minus 15
+     * @return index following the bytes written
+     */
+    private static int writeLength(byte[] out, int d, int remainder) {
+        while (remainder >= 255) {
+            out[d++] = (byte) 255;
+            remainder -= 255;
+        }
+        out[d++] = (byte) remainder;
+        return d;
+    }
+
+    /**
+     * Writes a sequence made of some literals and a match, or of literals only
+     * if the length of the match is 0.
+     *
+     * @param in
+     *            input array
+     * @param anchor
+     *            index of the first literal in the input
+     * @param literals
+     *            number of literals
+     * @param offset
+     *            distance between the match and the bytes it repeats
+     * @param match
+     *            length of the match, 0 for the last sequence
+     * @param out
+     *            output array
+     * @param d
+     *            index at which to write the sequence
+     * @return index following the sequence written
+     */
+    private static int writeSequence(byte[] in, int anchor, int literals,
+            int offset, int match, byte[] out, int d) {
+        final int matchCode = match == 0 ? 0 : match - MIN_MATCH;
+        final int token = d++;
+        out[token] = (byte) (Math.min(literals, 15) << 4
+                | Math.min(matchCode, 15));
+        if (literals >= 15) {
+            d = writeLength(out, d, literals - 15);
+        }
+        System.arraycopy(in, anchor, out, d, literals);
+        d += literals;
+        if (match > 0) {
+            out[d++] = (byte) offset;
+            out[d++] = (byte) (offset >>> 8);
+            if (matchCode >= 15) {
+                d = writeLength(out, d, matchCode - 15);
+            }
+        }
+        return d;
+    }
+
+    /** Number of payloads left to store before attempting a compression */
+    private int skipped = 0;
+
+    /**
+     * Number of payloads to store without compressing them after the next
+     * compression failing to pay off
+     */
+    private int backoff = 1;
+
+    /** Minimum size of the payloads to compress */
+    private final int threshold;
+
+    /**
+     * Constructor
+     *
+     * @param minimumSize
+     *            minimum size in bytes of the payloads to compress
+     */
+    public Compressor(int minimumSize) {
+        threshold = minimumSize;
+    }
+
+    /**
+     * Decides if the compression of the next payload above the threshold
+     * should be attempted
+     *
+     * @return {@code true} if the payload should be compressed
+     */
+    private synchronized boolean attempt() {
+        if (skipped > 0) {
+            skipped--;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Encodes the given payload into a frame, compressing it if it is larger
+     * than the threshold and if the compression pays off.
+     *
+     * @param payload
+     *            the bytes to compress
+     * @return the frame containing the payload
+     * @see #decompress(byte[])
+     */
+    public byte[] compress(byte[] payload) {
+        if (payload.length >= threshold && attempt()) {
+            final byte[] compressed = lz(payload);
+            final boolean paid = compressed.length <= payload.length
+                    - payload.length / 8;
+            outcome(paid);
+            if (paid) {
+                return compressed;
+            }
+        }
+        final byte[] frame = new byte[payload.length + 1];
+        frame[0] = STORED;
+        System.arraycopy(payload, 0, frame, 1, payload.length);
+        return frame;
+    }
+
+    /**
+     * Compresses the given bytes into a frame
+     *
+     * @param in
+     *            bytes to compress
+     * @return the compressed frame
+     */
+    private byte[] lz(byte[] in) {
+        final int n = in.length;
+        final byte[] out = new byte[n + n / 255 + 16];
+        out[0] = COMPRESSED;
+        out[1] = (byte) n;
+        out[2] = (byte) (n >>> 8);
+        out[3] = (byte) (n >>> 16);
+        out[4] = (byte) (n >>> 24);
+        int d = 5;
+
+        // Positions + 1 of the last occurrence of each hash, 0 if none
+        final int[] table = new int[1 << HASH_BITS];
+        final int end = n - LAST_LITERALS;
+        int anchor = 0;
+        int i = 0;
+        while (i + MIN_MATCH <= end) {
+            final int sequence = readInt(in, i);
+            final int h = hash(sequence);
+            final int candidate = table[h] - 1;
+            table[h] = i + 1;
+            if (candidate < 0 || i - candidate > MAX_OFFSET
+                    || readInt(in, candidate) != sequence) {
+                i++;
+                continue;
+            }
+            int start = i;
+            int from = candidate;
+            int length = MIN_MATCH;
+            while (start + length < end
+                    && in[from + length] == in[start + length]) {
+                length++;
+            }
+            while (start > anchor && from > 0
+                    && in[start - 1] == in[from - 1]) {
+                start--;
+                from--;
+                length++;
+            }
+            d = writeSequence(in, anchor, start - anchor, start - from, length,
+                    out, d);
+            i = start + length;
+            anchor = i;
+            if (d >= n) {
+                break; // Will not pay off, no need to continue
+            }
+        }
+        d = writeSequence(in, anchor, n - anchor, 0, 0, out, d);
+        return Arrays.copyOf(out, d);
+    }
+
+    /**
+     * Records the outcome of a compression and adjusts the number of payloads
+     * to store without compression
+     *
+     * @param paid
+     *            {@code true} if the compression paid off
+     */
+    private synchronized void outcome(boolean paid) {
+        if (paid) {
+            backoff = 1;
+        } else {
+            skipped = backoff;
+            backoff = Math.min(backoff * 2, MAX_BACKOFF);
+        }
+    }
+}
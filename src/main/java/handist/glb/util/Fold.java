@@ -75,4 +75,24 @@ public interface Fold<R extends Fold<?> & Serializable> {
      */
     public void fold(R r);
 
+    /**
+     * Returns the part of the result accumulated in this instance since the
+     * previous call to this method, or since its creation for the first call.
+     * Folding all the deltas returned by an instance into an empty result
+     * should yield the content of this instance at the time of the last call.
+     * <p>
+     * This method is used by the {@link handist.glb.GLBcomputer} to stream
+     * partial results to a {@link SnapshotListener} while the computation is
+     * in progress. It is called concurrently with the workers of the place
+     * which use this instance as their shared object, the implementation is
+     * therefore responsible for the necessary synchronization. The default
+     * implementation returns {@code null}, meaning this result does not
+     * support snapshots.
+     *
+     * @return the part of the result accumulated since the previous call, or
+     *         {@code null} if snapshots are not supported
+     */
+    public default R delta() {
+        return null;
+    }
 }
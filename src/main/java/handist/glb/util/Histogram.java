@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.util;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of positive {@code long} values with log-linear buckets. Values
+ * below {@value #SUB_BUCKETS} are counted exactly. Above that, each power of
+ * two is split into {@value #SUB_BUCKETS} buckets of equal width, which bounds
+ * the relative error of the reported values to about 3%.
+ * <p>
+ * Values can be recorded concurrently by several threads without any locking.
+ * Recording a value consists of a few bit operations and an atomic increment,
+ * the memory footprint being fixed regardless of the range of the values
+ * recorded.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class Histogram implements Serializable {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = 3866398140232683540L;
+
+    /** Number of bits used to distinguish values within a power of two */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /** Number of buckets each power of two is divided into */
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Total number of buckets needed to cover all positive longs */
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * Computes the index of the bucket in which the given value is counted
+     *
+     * @param value
+     *            positive value
+     * @return index of the corresponding bucket
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Computes the highest value counted in the given bucket
+     *
+     * @param index
+     *            index of a bucket
+     * @return highest value counted in that bucket
+     */
+    static long bucketHighestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        final long lowest = ((long) (index % SUB_BUCKETS + SUB_BUCKETS)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /** Number of values recorded in each bucket */
+    private final AtomicLongArray counts;
+
+    /** Highest value recorded */
+    private final AtomicLong max;
+
+    /** Sum of the values recorded */
+    private final AtomicLong sum;
+
+    /** Total number of values recorded */
+    private final AtomicLong total;
+
+    /**
+     * Constructor
+     * <p>
+     * Creates an empty histogram.
+     */
+    public Histogram() {
+        counts = new AtomicLongArray(BUCKETS);
+        max = new AtomicLong(0);
+        sum = new AtomicLong(0);
+        total = new AtomicLong(0);
+    }
+
+    /**
+     * Adds the values recorded in the given histogram to this instance.
+     *
+     * @param h
+     *            histogram whose values are added to this instance
+     */
+    public void add(Histogram h) {
+        for (int i = 0; i < BUCKETS; i++) {
+            final long c = h.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        sum.addAndGet(h.sum.get());
+        total.addAndGet(h.total.get());
+        max.accumulateAndGet(h.max.get(), Math::max);
+    }
+
+    /**
+     * Returns the number of values recorded into this histogram
+     *
+     * @return number of values recorded
+     */
+    public long getCount() {
+        return total.get();
+    }
+
+    /**
+     * Returns the highest value recorded into this histogram
+     *
+     * @return the highest value recorded, 0 if no value was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the average of the values recorded into this histogram
+     *
+     * @return the mean value, 0 if no value was recorded
+     */
+    public double getMean() {
+        final long count = total.get();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values
+     * fall. The value returned is the highest value of the bucket containing
+     * the percentile and is therefore within the precision of the histogram
+     * above the exact percentile.
+     *
+     * @param percentile
+     *            percentage between 0 and 100
+     * @return value at the given percentile, 0 if no value was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        final long count = total.get();
+        if (count == 0) {
+            return 0;
+        }
+        final double p = Math.min(Math.max(percentile, 0d), 100d);
+        final long rank = Math.max(1, (long) Math.ceil(p / 100d * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketHighestValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Records a value into this histogram. Negative values are recorded as 0.
+     *
+     * @param value
+     *            the value to record
+     */
+    public void record(long value) {
+        final long v = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(v));
+        sum.addAndGet(v);
+        total.incrementAndGet();
+        long m = max.get();
+        while (v > m && !max.compareAndSet(m, v)) {
+            m = max.get();
+        }
+    }
+}
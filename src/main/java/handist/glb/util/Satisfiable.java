@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.util;
+
+/**
+ * Optional interface for {@link Fold} implementations allowing a computation
+ * to stop as soon as a satisfying answer has been found, for instance the
+ * first solution of a puzzle or a tour within a target length.
+ * <p>
+ * When the result instance of a place implements this interface, the workers
+ * of that place check method {@link #isSatisfied()} after each call to
+ * {@link handist.glb.Bag#process(int, Fold)}. As soon as it returns
+ * {@code true}, the computation is cancelled on every place as if
+ * {@link handist.glb.GLBcomputer#cancel()} had been called, and the partial
+ * result gathered from the places is returned.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public interface Satisfiable {
+
+    /**
+     * Indicates if the result held by this instance is sufficient for the
+     * computation to stop. Called frequently by the workers of the place, this
+     * method should be cheap.
+     *
+     * @return {@code true} if the computation can be stopped
+     */
+    public boolean isSatisfied();
+}
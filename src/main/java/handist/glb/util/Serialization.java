@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+/**
+ * Utility methods related to the serialization of the objects exchanged
+ * between places.
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public final class Serialization {
+
+    /**
+     * {@link OutputStream} which discards the bytes written into it and only
+     * counts them.
+     */
+    private static final class CountingStream extends OutputStream {
+        /** Number of bytes written so far */
+        long count = 0;
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+    }
+
+    /**
+     * Computes the number of bytes taken by the given object once serialized
+     * with the default Java serialization. The actual size transferred between
+     * places may differ if the APGAS runtime is configured to use a different
+     * serialization mechanism, but this gives a consistent measure of the
+     * amount of data carried by the object.
+     * <p>
+     * This method performs a full serialization of the object and should
+     * therefore only be used for instrumentation purposes.
+     *
+     * @param o
+     *            the object whose size is to be computed
+     * @return the size in bytes of the serialized object, or {@code -1} if the
+     *         object could not be serialized
+     */
+    public static long sizeOf(Serializable o) {
+        final CountingStream counter = new CountingStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+            out.writeObject(o);
+        } catch (final IOException e) {
+            return -1;
+        }
+        return counter.count;
+    }
+
+    /**
+     * Serializes the given object into an array of bytes with the default Java
+     * serialization.
+     *
+     * @param o
+     *            the object to serialize
+     * @return the bytes of the serialized object
+     * @throws IOException
+     *             if the object could not be serialized
+     * @see #fromBytes(byte[])
+     */
+    public static byte[] toBytes(Serializable o) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes an object from the bytes produced by method
+     * {@link #toBytes(Serializable)}.
+     *
+     * @param bytes
+     *            the serialized object
+     * @return the deserialized object
+     * @throws IOException
+     *             if the bytes do not contain a valid serialized object
+     * @throws ClassNotFoundException
+     *             if the class of the serialized object cannot be found
+     */
+    public static Object fromBytes(byte[] bytes)
+            throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Creates a deep copy of the given object by serializing and deserializing
+     * it with the default Java serialization.
+     *
+     * @param <T>
+     *            type of the object to copy
+     * @param o
+     *            the object to copy
+     * @return a copy of the object, or {@code null} if the object could not be
+     *         serialized
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Serializable> T copy(T o) {
+        try {
+            return (T) fromBytes(toBytes(o));
+        } catch (IOException | ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /** Private constructor, this class only contains static methods */
+    private Serialization() {
+    }
+}
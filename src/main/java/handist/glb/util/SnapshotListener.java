@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.util;
+
+import java.io.Serializable;
+
+/**
+ * Listener receiving the running aggregate of the results of a computation
+ * while it is in progress. The listener is set on the
+ * {@link handist.glb.GLBcomputer} instance a computation is launched from with
+ * method {@link handist.glb.GLBcomputer#setSnapshotListener(SnapshotListener)}.
+ * At the configured interval, each place submits the result it accumulated
+ * since the previous snapshot (method {@link Fold#delta()}). These deltas are
+ * folded along a reduction tree into place 0 where they are added to the
+ * running aggregate passed to this listener.
+ * <p>
+ * Only the results which the bags place into the shared object of their place
+ * during the computation appear in the snapshots. The results held by the
+ * bags themselves until {@link handist.glb.Bag#submit(Fold)} is called at the
+ * end of the computation are not part of the snapshots.
+ *
+ * @param <R>
+ *            type of the result of the computation
+ * @author Patrick Finnerty
+ *
+ */
+public interface SnapshotListener<R extends Fold<R> & Serializable> {
+
+    /**
+     * Called each time a snapshot of the computation is taken. The given
+     * instance is the running aggregate kept by the library. It is not
+     * modified while this method runs but will be modified by the next
+     * snapshots and should therefore not be kept by the implementation.
+     *
+     * @param aggregate
+     *            aggregate of all the deltas received since the computation
+     *            started
+     */
+    public void snapshot(R aggregate);
+}
@@ -0,0 +1,364 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import static apgas.Constructs.*;
+import static org.junit.Assert.*;
+
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import apgas.Configuration;
+import apgas.Place;
+import handist.glb.util.Fold;
+import handist.glb.util.Satisfiable;
+
+/**
+ * Test class for the cancellation of the computations of {@link GLBcomputer}
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TestCancellation {
+
+    /**
+     * Bag counting the integers contained in a number of intervals
+     */
+    static class Intervals
+            implements Bag<Intervals, Count>, Measurable, Serializable {
+
+        /** Serial version UID */
+        private static final long serialVersionUID = -5303233071005016779L;
+
+        /** Intervals yet to count, lower bound included, upper bound excluded */
+        final ArrayList<long[]> intervals = new ArrayList<>();
+
+        @Override
+        public boolean isEmpty() {
+            return intervals.isEmpty();
+        }
+
+        @Override
+        public boolean isSplittable() {
+            return intervals.size() > 1
+                    || intervals.size() == 1 && width(intervals.get(0)) > 1;
+        }
+
+        @Override
+        public void merge(Intervals b) {
+            intervals.addAll(b.intervals);
+        }
+
+        @Override
+        public void process(int workAmount, Count sharedObject) {
+            long n = workAmount;
+            while (n > 0 && !intervals.isEmpty()) {
+                final long[] last = intervals.get(intervals.size() - 1);
+                final long k = Math.min(n, width(last));
+                last[0] += k;
+                n -= k;
+                sharedObject.counted.add(k);
+                if (width(last) == 0) {
+                    intervals.remove(intervals.size() - 1);
+                }
+            }
+        }
+
+        @Override
+        public Intervals split(boolean takeAll) {
+            final Intervals loot = new Intervals();
+            if (intervals.size() > 1) {
+                // Give away the oldest half of the intervals
+                final int half = intervals.size() / 2;
+                loot.intervals.addAll(intervals.subList(0, half));
+                intervals.subList(0, half).clear();
+            } else if (width(intervals.get(0)) > 1) {
+                final long[] interval = intervals.get(0);
+                final long middle = interval[0] + width(interval) / 2;
+                loot.intervals.add(new long[] { middle, interval[1] });
+                interval[1] = middle;
+            } else if (takeAll) {
+                loot.intervals.addAll(intervals);
+                intervals.clear();
+            }
+            return loot;
+        }
+
+        @Override
+        public void submit(Count r) {
+            // The integers are counted as they are processed
+        }
+
+        @Override
+        public long workEstimate() {
+            long integers = 0;
+            for (final long[] interval : intervals) {
+                integers += width(interval);
+            }
+            return integers;
+        }
+
+        /**
+         * Number of integers in the given interval
+         *
+         * @param interval
+         *            the interval
+         * @return number of integers yet to count in the interval
+         */
+        static long width(long[] interval) {
+            return interval[1] - interval[0];
+        }
+
+        /**
+         * Creates a bag containing the integers between 0 included and the
+         * specified bound excluded
+         *
+         * @param bound
+         *            upper bound of the interval
+         */
+        Intervals(long bound) {
+            intervals.add(new long[] { 0, bound });
+        }
+
+        /** Creates an empty bag */
+        Intervals() {
+        }
+    }
+
+    /**
+     * Number of integers counted, satisfied once a target has been reached
+     */
+    static class Count implements Fold<Count>, Satisfiable, Serializable {
+
+        /** Serial version UID */
+        private static final long serialVersionUID = 4402451826102453616L;
+
+        /** Integers counted so far */
+        final LongAdder counted = new LongAdder();
+
+        /** Number of integers after which the computation can stop */
+        final long target;
+
+        /** Integers counted already returned by method {@link #delta()} */
+        long reported;
+
+        @Override
+        public synchronized Count delta() {
+            final long c = counted.sum();
+            final Count d = new Count(target);
+            d.counted.add(c - reported);
+            reported = c;
+            return d;
+        }
+
+        @Override
+        public void fold(Count r) {
+            counted.add(r.counted.sum());
+        }
+
+        @Override
+        public boolean isSatisfied() {
+            return counted.sum() >= target;
+        }
+
+        /**
+         * Constructor
+         *
+         * @param t
+         *            number of integers after which the computation can stop
+         */
+        Count(long t) {
+            target = t;
+        }
+    }
+
+    /** Number of integers in the interval which is never fully counted */
+    static final long HUGE = 1L << 50;
+
+    /**
+     * Sets the number of places to use to 1.
+     */
+    @BeforeClass
+    public static void setupBefore() {
+        System.setProperty(Configuration.APGAS_PLACES, "1");
+        System.setProperty(Configuration.APGAS_THREADS, "2");
+    }
+
+    /**
+     * Checks that a computation whose result becomes satisfied stops and
+     * returns the partial count
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testSatisfiedResult() throws Exception {
+        final GLBcomputer c = GLBfactory.setupGLB();
+        final long target = 1000000;
+        final Count r = c.compute(new Intervals(HUGE), () -> new Count(target),
+                () -> new Intervals());
+
+        assertTrue(c.isCancelled());
+        assertTrue(r.counted.sum() >= target);
+        assertTrue(r.counted.sum() < HUGE);
+    }
+
+    /**
+     * Cancels a running computation from another thread and checks that the
+     * computer can be used for a complete computation afterwards
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testExternalCancellation() throws Exception {
+        final GLBcomputer c = GLBfactory.setupGLB();
+        final CompletableFuture<Count> cancelled = c.computeAsync(
+                new Intervals(HUGE), () -> new Count(Long.MAX_VALUE),
+                () -> new Intervals());
+        Thread.sleep(500);
+        c.cancel();
+        final long partial = cancelled.get().counted.sum();
+        assertTrue(c.isCancelled());
+        assertTrue(partial > 0);
+        assertTrue(partial < HUGE);
+
+        final Count complete = c.compute(new Intervals(1000000),
+                () -> new Count(Long.MAX_VALUE), () -> new Intervals());
+        assertFalse(c.isCancelled());
+        assertEquals(1000000, complete.counted.sum());
+    }
+
+    /**
+     * Checks that a computation stopped by its deadline returns its partial
+     * count and reports exactly the number of integers left uncounted
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testDeadline() throws Exception {
+        final GLBcomputer c = GLBfactory.setupGLB();
+        final Count r = c.compute(new Intervals(HUGE),
+                () -> new Count(Long.MAX_VALUE), () -> new Intervals(),
+                Duration.ofMillis(500));
+
+        final Logger l = c.getLog();
+        assertTrue(l.cancelled);
+        assertTrue(r.counted.sum() > 0);
+        assertEquals(HUGE, r.counted.sum() + l.unexploredWork);
+    }
+
+    /**
+     * Checks that the snapshots of a running computation are passed to the
+     * listener with a growing count which never exceeds the final result
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testSnapshots() throws Exception {
+        final GLBcomputer c = GLBfactory.setupGLB();
+        final List<Long> snapshots = Collections
+                .synchronizedList(new ArrayList<>());
+        c.setSnapshotListener((Count a) -> snapshots.add(a.counted.sum()),
+                Duration.ofMillis(100));
+        final Count r = c.compute(new Intervals(HUGE),
+                () -> new Count(Long.MAX_VALUE), () -> new Intervals(),
+                Duration.ofMillis(1000));
+
+        assertTrue(snapshots.size() >= 2);
+        long previous = 0;
+        for (final long s : snapshots) {
+            assertTrue(s >= previous);
+            previous = s;
+        }
+        assertTrue(previous > 0);
+        assertTrue(previous <= r.counted.sum());
+    }
+
+    /**
+     * Checks that the work processed gathered over the reduction tree for the
+     * progress estimation matches the sum of the counters of every place
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testWorkProcessedBelow() throws Exception {
+        final GLBcomputer c = GLBfactory.setupGLB();
+        c.compute(new Intervals(1000000), () -> new Count(Long.MAX_VALUE),
+                () -> new Intervals());
+
+        long processed = 0;
+        for (final Place p : places()) {
+            processed += at(p, () -> c.logger.workProcessed.sum());
+        }
+        assertTrue(processed >= 1000000);
+        assertEquals(processed, c.workProcessedBelow());
+    }
+
+    /**
+     * Checks that a computation paused for checkpoints completes with the
+     * exact count and that restarting it from its last checkpoint counts the
+     * integers remaining at that point, giving the same final count. The
+     * restart is performed a second time with fewer workers running than the
+     * number of worker bags in the checkpoint.
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testCheckpoint() throws Exception {
+        final Path directory = Files.createTempDirectory("glb-checkpoint");
+        System.setProperty(handist.glb.Configuration.GLBM_CHECKPOINT,
+                directory.toString());
+        System.setProperty(handist.glb.Configuration.GLBM_CHECKPOINT_INTERVAL,
+                "100000000");
+        final GLBcomputer c;
+        try {
+            c = GLBfactory.setupGLB();
+        } finally {
+            System.clearProperty(handist.glb.Configuration.GLBM_CHECKPOINT);
+            System.clearProperty(
+                    handist.glb.Configuration.GLBM_CHECKPOINT_INTERVAL);
+        }
+        final long bound = 1L << 31;
+        final Count r = c.compute(new Intervals(bound),
+                () -> new Count(Long.MAX_VALUE), () -> new Intervals());
+
+        assertFalse(c.isCancelled());
+        assertEquals(bound, r.counted.sum());
+        assertTrue(c.getLog().checkpoints > 0);
+
+        final Count restarted = c.restart(() -> new Count(Long.MAX_VALUE),
+                () -> new Intervals(), () -> new Intervals());
+        assertFalse(c.isCancelled());
+        assertEquals(bound, restarted.counted.sum());
+
+        c.setCommunicationThreads(1);
+        final Count limited = c.restart(() -> new Count(Long.MAX_VALUE),
+                () -> new Intervals(), () -> new Intervals());
+        assertFalse(c.isCancelled());
+        assertEquals(bound, limited.counted.sum());
+    }
+}
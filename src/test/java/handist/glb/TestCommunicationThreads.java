@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import static apgas.Constructs.*;
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import apgas.Configuration;
+import handist.glb.TestCancellation.Count;
+import handist.glb.TestCancellation.Intervals;
+
+/**
+ * Test class for the threads reserved to the load balancing protocol with
+ * {@link GLBcomputer#setCommunicationThreads(int)}
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TestCommunicationThreads {
+
+    /** Number of threads of the pool of each place */
+    static final int THREADS = 2;
+
+    /**
+     * Sets the number of places to use to 1 and the number of threads to
+     * {@value #THREADS}.
+     */
+    @BeforeClass
+    public static void setupBefore() {
+        System.setProperty(Configuration.APGAS_PLACES, "1");
+        System.setProperty(Configuration.APGAS_THREADS, "" + THREADS);
+    }
+
+    /**
+     * Bag recording the largest number of worker bags processed concurrently
+     * on this place
+     */
+    static class ConcurrentIntervals extends Intervals {
+
+        /** Serial version UID */
+        private static final long serialVersionUID = 8117446383201718432L;
+
+        /** Number of bags being processed */
+        static final AtomicInteger active = new AtomicInteger();
+
+        /** Largest value reached by {@link #active} */
+        static final AtomicInteger maxActive = new AtomicInteger();
+
+        @Override
+        public void process(int workAmount, Count sharedObject) {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                super.process(workAmount, sharedObject);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Checks that with {@value #THREADS} threads and one thread reserved for
+     * the protocol, a single worker runs at any time during a computation,
+     * which still completes, and that no worker can be reserved once this
+     * limit is reached
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testReserveWorker() throws Exception {
+        final GLBcomputer c = GLBfactory.setupGLB();
+        assumeTrue(places().size() == 1
+                && c.POOL.getParallelism() == THREADS);
+        c.setCommunicationThreads(1);
+        assertEquals(1, c.workerLimit);
+
+        ConcurrentIntervals.maxActive.set(0);
+        final Count r = c.compute(new Intervals(1L << 28),
+                () -> new Count(Long.MAX_VALUE),
+                () -> new ConcurrentIntervals());
+        assertEquals(1L << 28, r.counted.sum());
+        assertEquals(1, ConcurrentIntervals.maxActive.get());
+
+        // All the workers have stopped, their bags are available
+        assertEquals(0, c.workerCount);
+        assertNotNull(c.reserveWorker());
+        assertNull(c.reserveWorker());
+        assertEquals(1, c.workerCount);
+    }
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import apgas.Configuration;
+
+/**
+ * Test class for the registration of the {@link GLBPlaceMXBean} of the
+ * {@link GLBcomputer}s
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TestGLBPlace {
+
+    /**
+     * Sets the number of places to use to 1.
+     */
+    @BeforeClass
+    public static void setupBefore() {
+        System.setProperty(Configuration.APGAS_PLACES, "1");
+    }
+
+    /**
+     * Checks that the MBeans of computers sharing the places are registered
+     * side by side and that closing a computer only unregisters its own MBean
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup
+     */
+    @Test
+    public void testRegisterAndClose() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName pattern = new ObjectName(
+                "handist.glb:type=GLBPlace,*");
+        final int before = server.queryNames(pattern, null).size();
+        final GLBcomputer first = GLBfactory.setupGLB();
+        final GLBcomputer second = GLBfactory.setupGLB();
+
+        GLBPlace.register(first, "first");
+        GLBPlace.register(second, "second");
+        assertEquals(before + 2, server.queryNames(pattern, null).size());
+        final ObjectName name = GLBPlace.objectName("second",
+                second.HOME.id);
+        assertEquals(second.mbeanName, name);
+        assertEquals(second.HOME.id, server.getAttribute(name, "Place"));
+
+        first.close();
+        assertNull(first.mbeanName);
+        assertEquals(before + 1, server.queryNames(pattern, null).size());
+        assertTrue(server.isRegistered(name));
+
+        second.close();
+        assertEquals(before, server.queryNames(pattern, null).size());
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import handist.glb.examples.synthetic.Distribution;
+import handist.glb.examples.synthetic.SyntheticBag;
+import handist.glb.examples.synthetic.SyntheticResult;
+import handist.glb.examples.synthetic.SyntheticWorkload;
+import handist.glb.simulation.CostModel;
+import handist.glb.simulation.NetworkModel;
+import handist.glb.tuning.SplitMergeTuner;
+import handist.glb.util.HypercubeStrategy;
+
+/**
+ * Test class for {@link GLBsimulator}
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TestGLBsimulator {
+
+    /** Imbalanced workload used by the tests */
+    private static final SyntheticWorkload IMBALANCED = new SyntheticWorkload(
+            7, 6, 3, Distribution.EXPONENTIAL, 5, Distribution.UNIFORM, 4, 0,
+            1, 32);
+
+    /**
+     * Simulates the exploration of {@link #IMBALANCED}
+     *
+     * @param s
+     *            the simulator used
+     * @return result of the exploration
+     */
+    private static SyntheticResult simulate(GLBsimulator s) {
+        final SyntheticBag tree = new SyntheticBag(IMBALANCED);
+        tree.init();
+        return s.compute(tree, () -> new SyntheticResult(),
+                () -> new SyntheticBag(IMBALANCED));
+    }
+
+    /**
+     * Creates a simulator of 512 places with 2 workers each
+     *
+     * @param withTuner
+     *            indicates if each place uses a {@link SplitMergeTuner}
+     * @return the simulator
+     */
+    private static GLBsimulator simulator(boolean withTuner) {
+        return new GLBsimulator(512, 2, 8, 1, new HypercubeStrategy(),
+                100000, withTuner ? () -> new SplitMergeTuner() : null,
+                Configuration.GLBM_INSTRUMENTATION_FULL,
+                new NetworkModel(2000, 1000000000), CostModel.perWorkUnit(1000));
+    }
+
+    /**
+     * Checks that the simulated computation finds the same result as a
+     * sequential exploration and that the work spreads to remote places
+     */
+    @Test
+    public void testResult() {
+        final SyntheticBag sequential = new SyntheticBag(IMBALANCED);
+        sequential.init();
+        final SyntheticResult expected = new SyntheticResult();
+        while (!sequential.isEmpty()) {
+            sequential.process(Integer.MAX_VALUE, expected);
+        }
+        sequential.submit(expected);
+
+        final GLBsimulator s = simulator(false);
+        final SyntheticResult r = simulate(s);
+        assertEquals(expected.nodes, r.nodes);
+        assertEquals(expected.checksum, r.checksum);
+
+        final Logger l = s.getLog();
+        assertTrue(l.computationTime > 0);
+        int thieves = 0;
+        for (final PlaceLogger p : l.placeLogs) {
+            if (p.stealsSuccess.sum() + p.lifelineStealsSuccess.sum() > 0) {
+                thieves++;
+            }
+        }
+        assertTrue(thieves > 1);
+    }
+
+    /**
+     * Checks that two simulations with a fixed cost model take the same
+     * simulated time, including when tuners adjust the work unit
+     */
+    @Test
+    public void testDeterminism() {
+        for (final boolean tuned : new boolean[] { false, true }) {
+            final GLBsimulator first = simulator(tuned);
+            simulate(first);
+            final GLBsimulator second = simulator(tuned);
+            simulate(second);
+            assertEquals(first.getEventCount(), second.getEventCount());
+            assertEquals(first.getLog().computationTime,
+                    second.getLog().computationTime);
+        }
+    }
+}
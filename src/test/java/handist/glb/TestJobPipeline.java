@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import static apgas.Constructs.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import apgas.Configuration;
+import handist.glb.TestCancellation.Count;
+import handist.glb.TestCancellation.Intervals;
+
+/**
+ * Test class for the {@link JobPipeline} of {@link GLBcomputer}
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TestJobPipeline {
+
+    /** Counted down when the worker of a job other than the first one runs */
+    static final CountDownLatch NEXT_JOB_STARTED = new CountDownLatch(1);
+
+    /**
+     * Set once the result of place 1 for the first job has reached place 0,
+     * after which the first job can complete
+     */
+    static volatile boolean firstGathered;
+
+    /**
+     * Indicates if the first job had completed when the next job started,
+     * {@code null} if the next job has not started yet
+     */
+    static volatile Boolean firstCompletedBeforeNext;
+
+    /**
+     * Result of the first job. Its deserialization on place 0, which precedes
+     * the completion of the first job, waits for the next job to start.
+     */
+    static class GatedCount extends Count {
+
+        /** Serial version UID */
+        private static final long serialVersionUID = -3166870349283146502L;
+
+        /**
+         * Constructor
+         *
+         * @param t
+         *            number of integers after which the computation can stop
+         */
+        GatedCount(long t) {
+            super(t);
+        }
+
+        /**
+         * Waits for the next job to start before completing the
+         * deserialization of the result on place 0
+         *
+         * @param in
+         *            stream from which the result is read
+         * @throws IOException
+         *             if thrown by the stream
+         * @throws ClassNotFoundException
+         *             if thrown by the stream
+         */
+        private void readObject(ObjectInputStream in)
+                throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            if (here().id == 0) {
+                try {
+                    NEXT_JOB_STARTED.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    // Proceed with the gather
+                }
+                firstGathered = true;
+            }
+        }
+    }
+
+    /**
+     * Worker bag recording the start of the jobs whose result is not a
+     * {@link GatedCount}
+     */
+    static class SignallingIntervals extends Intervals {
+
+        /** Serial version UID */
+        private static final long serialVersionUID = 6203496125787436716L;
+
+        @Override
+        public void process(int workAmount, Count sharedObject) {
+            if (!(sharedObject instanceof GatedCount) && !isEmpty()
+                    && firstCompletedBeforeNext == null) {
+                firstCompletedBeforeNext = firstGathered;
+                NEXT_JOB_STARTED.countDown();
+            }
+            super.process(workAmount, sharedObject);
+        }
+    }
+
+    /**
+     * Sets the number of places to use to 2.
+     */
+    @BeforeClass
+    public static void setupBefore() {
+        System.setProperty(Configuration.APGAS_PLACES, "2");
+        System.setProperty(Configuration.APGAS_THREADS, "2");
+    }
+
+    /**
+     * Checks that a job of the pipeline starts before the result of the
+     * previous job has been gathered
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testGatherOverlapsNextJob() throws Exception {
+        final GLBcomputer c = GLBfactory.setupGLB();
+        final JobPipeline<Count, Intervals> pipeline = c.openPipeline(
+                () -> new Intervals(), () -> new SignallingIntervals());
+
+        final long bound = 1L << 20;
+        final CompletableFuture<Count> first = pipeline
+                .submit(new Intervals(bound), () -> new GatedCount(bound));
+        final CompletableFuture<Count> second = pipeline
+                .submit(new Intervals(bound), () -> new Count(bound));
+        assertNotNull(pipeline.close().get());
+
+        assertEquals(bound, first.get().counted.sum());
+        assertEquals(bound, second.get().counted.sum());
+        assertEquals(Boolean.FALSE, firstCompletedBeforeNext);
+    }
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import apgas.Configuration;
+import handist.glb.TestCancellation.Count;
+import handist.glb.TestCancellation.Intervals;
+
+/**
+ * Test class for the {@link Logger} gathered at the end of a computation
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TestLogger {
+
+    /**
+     * Sets the number of places to use to 2.
+     */
+    @BeforeClass
+    public static void setupBefore() {
+        System.setProperty(Configuration.APGAS_PLACES, "2");
+    }
+
+    /**
+     * Checks that the logs of a computation whose instrumentation level does
+     * not record the worker times do not report the places as idle
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testCountersOnly() throws Exception {
+        System.setProperty(handist.glb.Configuration.GLBM_INSTRUMENTATION,
+                handist.glb.Configuration.GLBM_INSTRUMENTATION_COUNTERS);
+        final GLBcomputer c;
+        try {
+            c = GLBfactory.setupGLB();
+        } finally {
+            System.clearProperty(
+                    handist.glb.Configuration.GLBM_INSTRUMENTATION);
+        }
+        final Count r = c.compute(new Intervals(1L << 24),
+                () -> new Count(Long.MAX_VALUE), () -> new Intervals());
+        assertEquals(1L << 24, r.counted.sum());
+
+        final Logger log = c.getLog();
+        for (final PlaceLogger l : log.placeLogs) {
+            assertFalse(l.recordsTimings());
+            for (final long t : l.time) {
+                assertEquals(0, t);
+            }
+        }
+
+        final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        log.print(new PrintStream(printed));
+        assertFalse(printed.toString().contains("WORKER DATA"));
+
+        final StringWriter json = new StringWriter();
+        Report.writeJson(log, c.getConfiguration(), json);
+        assertFalse(json.toString().contains("\"workers\": {"));
+    }
+}
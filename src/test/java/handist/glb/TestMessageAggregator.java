@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import apgas.SerializableJob;
+
+/**
+ * Test class for {@link MessageAggregator}
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TestMessageAggregator {
+
+    /** Message used to fill the buffers */
+    static final SerializableJob MESSAGE = () -> {
+    };
+
+    /**
+     * Checks that messages bound to the same place are sent by a single
+     * flusher and that a full buffer does not wait for the end of its window
+     */
+    @Test
+    public void testCoalescing() {
+        final MessageAggregator aggregator = new MessageAggregator(2,
+                60_000_000_000L, 3);
+        assertTrue(aggregator.add(1, MESSAGE, true));
+        assertFalse(aggregator.add(1, MESSAGE, true));
+        assertFalse(aggregator.add(1, MESSAGE, false));
+        aggregator.await(1);
+        assertEquals(3, aggregator.take(1, true).length);
+        assertNull(aggregator.take(0, true));
+        assertTrue(aggregator.add(1, MESSAGE, true));
+    }
+
+    /**
+     * Checks that messages keep being accepted after the threshold is reached
+     * and before the flusher takes the buffer
+     */
+    @Test
+    public void testPastThreshold() {
+        final MessageAggregator aggregator = new MessageAggregator(2,
+                60_000_000_000L, 1);
+        assertTrue(aggregator.add(1, MESSAGE, true));
+        for (int i = 0; i < 10; i++) {
+            assertFalse(aggregator.add(1, MESSAGE, i % 2 == 0));
+        }
+        aggregator.await(1);
+        assertEquals(11, aggregator.take(1, true).length);
+        assertTrue(aggregator.add(1, MESSAGE, true));
+        aggregator.await(1);
+        assertEquals(1, aggregator.take(1, true).length);
+    }
+
+    /**
+     * Checks that an uncounted flusher leaves counted messages to the counted
+     * flusher spawned alongside them
+     */
+    @Test
+    public void testCountedMessages() {
+        final MessageAggregator aggregator = new MessageAggregator(2, 1000,
+                16);
+        assertTrue(aggregator.add(0, MESSAGE, false));
+        assertTrue(aggregator.add(0, MESSAGE, true));
+        aggregator.await(0);
+        assertNull(aggregator.take(0, false));
+        assertEquals(2, aggregator.take(0, true).length);
+        assertTrue(aggregator.add(1, MESSAGE, false));
+        assertFalse(aggregator.add(1, MESSAGE, false));
+    }
+}
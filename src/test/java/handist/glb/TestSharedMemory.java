@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link SharedMemory}
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TestSharedMemory {
+
+    /**
+     * Checks that messages written by one place are read back by another,
+     * that the ring refuses messages exceeding its free space and that space
+     * is only released once all the preceding messages have been read
+     */
+    @Test
+    public void testRing() throws IOException {
+        final Path directory = Files.createTempDirectory("glb");
+        directory.toFile().deleteOnExit();
+        final String session = UUID.randomUUID().toString();
+        final SharedMemory victim = new SharedMemory(directory.toString(),
+                session, 0, 3, 100);
+        final SharedMemory thief = new SharedMemory(directory.toString(),
+                session, 1, 3, 100);
+        assertTrue(victim.isColocated(1));
+        assertFalse(victim.isColocated(2));
+        assertNull(victim.write(2, 10, b -> b.putInt(2)));
+
+        final long[] first = victim.write(1, 40, b -> b.putLong(1));
+        final long[] second = victim.write(1, 40, b -> b.putLong(2));
+        assertEquals(8, first[2]);
+        assertNull(victim.write(1, 90, b -> b.putLong(3)));
+
+        assertEquals(2L, (long) thief.read(0, second, ByteBuffer::getLong));
+        assertNull(victim.write(1, 90, b -> b.putLong(3)));
+        assertEquals(1L, (long) thief.read(0, first, ByteBuffer::getLong));
+        final long[] third = victim.write(1, 90, b -> b.putLong(3));
+        assertNotNull(third);
+        assertEquals(3L, (long) thief.read(0, third, ByteBuffer::getLong));
+    }
+
+    /**
+     * Checks that a place whose marker appears after a first check is
+     * recognized as co-located
+     */
+    @Test
+    public void testLateMarker() throws IOException {
+        final Path directory = Files.createTempDirectory("glb");
+        directory.toFile().deleteOnExit();
+        final String session = UUID.randomUUID().toString();
+        final SharedMemory victim = new SharedMemory(directory.toString(),
+                session, 0, 2, 100);
+        assertFalse(victim.isColocated(1));
+
+        final SharedMemory thief = new SharedMemory(directory.toString(),
+                session, 1, 2, 100);
+        assertTrue(victim.isColocated(1));
+        victim.close();
+        thief.close();
+    }
+
+    /**
+     * Checks that closing the places deletes their marker and their rings and
+     * that no more loot is written afterwards
+     */
+    @Test
+    public void testClose() throws IOException {
+        final Path directory = Files.createTempDirectory("glb");
+        directory.toFile().deleteOnExit();
+        final String session = UUID.randomUUID().toString();
+        final SharedMemory victim = new SharedMemory(directory.toString(),
+                session, 0, 2, 100);
+        final SharedMemory thief = new SharedMemory(directory.toString(),
+                session, 1, 2, 100);
+        final long[] message = victim.write(1, 40, b -> b.putLong(1));
+        assertEquals(1L, (long) thief.read(0, message, ByteBuffer::getLong));
+        assertTrue(Files.exists(victim.ring(0, 1)));
+
+        victim.close();
+        thief.close();
+        assertFalse(Files.exists(victim.marker(0)));
+        assertFalse(Files.exists(thief.marker(1)));
+        assertFalse(Files.exists(victim.ring(0, 1)));
+        assertNull(victim.write(1, 40, b -> b.putLong(2)));
+    }
+}
@@ -13,6 +13,9 @@ package handist.glb.examples.nqueens;
 
 import static org.junit.Assert.*;
 
+import java.nio.ByteBuffer;
+import java.util.Random;
+
 import org.junit.Test;
 
 /**
@@ -90,4 +93,105 @@ public class TestBitNQueens {
                     SOLUTIONS, resultFound);
         }
     }
+
+    /**
+     * Checks that the loot encoded and decoded with the codec of
+     * {@link BitNQueens} leads to the same result as the original loot
+     */
+    @Test
+    public void testCodec() {
+        for (int firstStep = 0; firstStep < 260; firstStep += 10) {
+            final BitNQueens firstWorker = new BitNQueens(PROBLEM_SIZE);
+            final BitNQueens secondWorker = new BitNQueens(PROBLEM_SIZE);
+            firstWorker.init();
+            firstWorker.process(firstStep, null);
+            while (firstWorker.isSplittable()) {
+                final BitNQueens loot = firstWorker.split(false);
+                final byte[] bytes = loot.toBytes();
+                assertTrue(bytes.length <= loot.encodedSize());
+                secondWorker.merge(secondWorker.decode(ByteBuffer.wrap(bytes)));
+                firstWorker.process(1, null);
+            }
+            while (!firstWorker.isEmpty()) {
+                firstWorker.process(1, null);
+            }
+            while (!secondWorker.isEmpty()) {
+                secondWorker.process(1, null);
+            }
+            assertEquals(
+                    "If making " + firstStep + " first steps, things go wrong.",
+                    SOLUTIONS, firstWorker.solutionsFound
+                            + secondWorker.solutionsFound);
+        }
+    }
+
+    /**
+     * Checks that the average of the probes of instances at various stages of
+     * their exploration matches the number of steps left to complete them
+     */
+    @Test
+    public void testProbe() {
+        final Random random = new Random(42);
+        for (int firstStep = 0; firstStep < 200; firstStep += 50) {
+            final BitNQueens problem = new BitNQueens(PROBLEM_SIZE);
+            problem.init();
+            problem.process(firstStep, null);
+
+            final int probes = 100000;
+            double sum = 0;
+            for (int i = 0; i < probes; i++) {
+                sum += problem.probe(random);
+            }
+
+            int steps = 0;
+            while (!problem.isEmpty()) {
+                problem.process(1, null);
+                steps++;
+            }
+            assertEquals(steps, sum / probes, steps * 0.02);
+        }
+    }
+
+    /**
+     * Checks that merging loot made of several fragments into a bag whose
+     * exploration is complete keeps all the fragments
+     */
+    @Test
+    public void testMergeIntoExhausted() {
+        int checked = 0;
+        for (int firstStep = 0; firstStep < 260; firstStep += 10) {
+            final BitNQueens firstWorker = new BitNQueens(PROBLEM_SIZE);
+            firstWorker.init();
+            firstWorker.process(firstStep, null);
+            if (!firstWorker.isSplittable()) {
+                continue;
+            }
+            final BitNQueens loot = firstWorker.split(false);
+            if (firstWorker.isSplittable()) {
+                loot.merge(firstWorker.split(false));
+            }
+            if (loot.reserve.size() < 2) {
+                continue;
+            }
+
+            final BitNQueens secondWorker = new BitNQueens(PROBLEM_SIZE);
+            while (!secondWorker.isEmpty()) {
+                secondWorker.process(1, null);
+            }
+            secondWorker.merge(loot);
+
+            while (!firstWorker.isEmpty()) {
+                firstWorker.process(1, null);
+            }
+            while (!secondWorker.isEmpty()) {
+                secondWorker.process(1, null);
+            }
+            assertEquals(
+                    "If making " + firstStep + " first steps, things go wrong.",
+                    SOLUTIONS,
+                    firstWorker.solutionsFound + secondWorker.solutionsFound);
+            checked++;
+        }
+        assertTrue(checked > 0);
+    }
 }
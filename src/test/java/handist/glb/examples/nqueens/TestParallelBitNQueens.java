@@ -13,12 +13,18 @@ package handist.glb.examples.nqueens;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import apgas.Configuration;
 import handist.glb.GLBcomputer;
 import handist.glb.GLBfactory;
+import handist.glb.JobPipeline;
+import handist.glb.Logger;
 import handist.glb.examples.pentomino.Answer;
 
 /**
@@ -66,4 +72,115 @@ public class TestParallelBitNQueens {
         assertEquals(SOLUTIONS_TO_10QUEENS, a.solutions);
     }
 
+    /**
+     * Submits two computations asynchronously and checks that each of them
+     * gives its own result and log
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testAsynchronousComputations() throws Exception {
+        final GLBcomputer c = GLBfactory.setupGLB();
+
+        final BitNQueens first = new BitNQueens(PROBLEM_SIZE);
+        first.initParallel();
+        final CompletableFuture<Answer> firstAnswer = c.computeAsync(first,
+                () -> new Answer(PROBLEM_SIZE),
+                () -> new BitNQueens(PROBLEM_SIZE));
+        final CompletableFuture<Logger> firstLog = c.getLogAsync();
+
+        final BitNQueens second = new BitNQueens(8);
+        second.initParallel();
+        final CompletableFuture<Answer> secondAnswer = c.computeAsync(second,
+                () -> new Answer(8), () -> new BitNQueens(8));
+
+        assertEquals(SOLUTIONS_TO_10QUEENS, firstAnswer.get().solutions);
+        assertEquals(92, secondAnswer.get().solutions);
+        assertNotSame(firstLog.get(), c.getLogAsync().get());
+    }
+
+    /**
+     * Performs several computations in a {@link JobPipeline} and checks that
+     * each of them gives the expected result
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testPipeline() throws Exception {
+        final GLBcomputer c = GLBfactory.setupGLB();
+        final JobPipeline<Answer, BitNQueens> pipeline = c.openPipeline(
+                () -> new BitNQueens(PROBLEM_SIZE),
+                () -> new BitNQueens(PROBLEM_SIZE));
+
+        final List<CompletableFuture<Answer>> answers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final BitNQueens problem = new BitNQueens(PROBLEM_SIZE);
+            problem.initParallel();
+            answers.add(pipeline.submit(problem,
+                    () -> new Answer(PROBLEM_SIZE)));
+        }
+        final Logger l = pipeline.close().get();
+
+        for (final CompletableFuture<Answer> a : answers) {
+            assertEquals(SOLUTIONS_TO_10QUEENS, a.get().solutions);
+        }
+        assertNotNull(l);
+    }
+
+    /**
+     * Runs two computations concurrently on computers sharing the workers of
+     * the places
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testSharedComputers() throws Exception {
+        final GLBcomputer[] c = GLBfactory.setupSharedGLB(0.5, 0.5);
+
+        final BitNQueens large = new BitNQueens(PROBLEM_SIZE);
+        large.initParallel();
+        final CompletableFuture<Answer> largeAnswer = c[0].computeAsync(large,
+                () -> new Answer(PROBLEM_SIZE),
+                () -> new BitNQueens(PROBLEM_SIZE));
+
+        final BitNQueens small = new BitNQueens(8);
+        small.initParallel();
+        final CompletableFuture<Answer> smallAnswer = c[1].computeAsync(small,
+                () -> new Answer(8), () -> new BitNQueens(8));
+
+        assertEquals(92, smallAnswer.get().solutions);
+        assertEquals(SOLUTIONS_TO_10QUEENS, largeAnswer.get().solutions);
+        assertEquals(c[0].getConfiguration().x, c[1].getConfiguration().x);
+    }
+
+    /**
+     * Runs two computations concurrently on computers sharing the places with
+     * a single worker per place each. The worker of each computer yields its
+     * thread to activities which may belong to the other computer.
+     *
+     * @throws Exception
+     *             if such exception is thrown during GLB setup / execution
+     */
+    @Test
+    public void testSharedComputersSingleWorker() throws Exception {
+        final GLBcomputer[] c = GLBfactory.setupSharedGLB(0.01, 0.01);
+
+        final BitNQueens first = new BitNQueens(PROBLEM_SIZE);
+        first.initParallel();
+        final CompletableFuture<Answer> firstAnswer = c[0].computeAsync(first,
+                () -> new Answer(PROBLEM_SIZE),
+                () -> new BitNQueens(PROBLEM_SIZE));
+
+        final BitNQueens second = new BitNQueens(PROBLEM_SIZE);
+        second.initParallel();
+        final CompletableFuture<Answer> secondAnswer = c[1].computeAsync(
+                second, () -> new Answer(PROBLEM_SIZE),
+                () -> new BitNQueens(PROBLEM_SIZE));
+
+        assertEquals(SOLUTIONS_TO_10QUEENS, firstAnswer.get().solutions);
+        assertEquals(SOLUTIONS_TO_10QUEENS, secondAnswer.get().solutions);
+    }
 }
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.examples.synthetic;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link SyntheticBag}
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TestSyntheticBag {
+
+    /** Imbalanced workload used by the tests */
+    private static final SyntheticWorkload IMBALANCED = new SyntheticWorkload(
+            42, 6, 3, Distribution.EXPONENTIAL, 50, Distribution.UNIFORM, 3, 3,
+            5, 16);
+
+    /**
+     * Explores the given workload sequentially
+     *
+     * @param w
+     *            workload to explore
+     * @return result of the exploration
+     */
+    private static SyntheticResult explore(SyntheticWorkload w) {
+        final SyntheticBag bag = new SyntheticBag(w);
+        bag.init();
+        final SyntheticResult r = new SyntheticResult();
+        while (!bag.isEmpty()) {
+            bag.process(1, r);
+        }
+        bag.submit(r);
+        return r;
+    }
+
+    /**
+     * Serializes and deserializes a bag as done when it is sent to a remote
+     * place
+     *
+     * @param b
+     *            the bag to copy
+     * @return the copy of the bag
+     * @throws Exception
+     *             if thrown during the serialization
+     */
+    private static SyntheticBag roundTrip(SyntheticBag b) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(b);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (SyntheticBag) in.readObject();
+        }
+    }
+
+    /**
+     * Checks the number of nodes of a regular tree and of a tree with a hot
+     * spot
+     */
+    @Test
+    public void testTreeShape() {
+        final SyntheticWorkload regular = new SyntheticWorkload(0, 4, 3,
+                Distribution.CONSTANT, 10, Distribution.CONSTANT, 0, 0, 1, 0);
+        assertEquals(121, explore(regular).nodes);
+
+        // 7 nodes down to depth 2, plus 4 + 8 nodes under the first child of
+        // the root
+        final SyntheticWorkload hotSpot = new SyntheticWorkload(0, 2, 2,
+                Distribution.CONSTANT, 10, Distribution.CONSTANT, 2, 0, 1, 0);
+        assertEquals(19, explore(hotSpot).nodes);
+    }
+
+    /**
+     * Checks that the exploration is deterministic and depends on the seed
+     */
+    @Test
+    public void testDeterministic() {
+        final SyntheticResult first = explore(IMBALANCED);
+        final SyntheticResult second = explore(IMBALANCED);
+        assertEquals(first.nodes, second.nodes);
+        assertEquals(first.checksum, second.checksum);
+
+        final SyntheticWorkload otherSeed = new SyntheticWorkload(43, 6, 3,
+                Distribution.EXPONENTIAL, 50, Distribution.UNIFORM, 3, 3, 5,
+                16);
+        assertNotEquals(first.checksum, explore(otherSeed).checksum);
+    }
+
+    /**
+     * Checks that random splits, merges and serializations between several
+     * workers lead to the same result as the sequential exploration
+     *
+     * @throws Exception
+     *             if thrown during the serialization of the bags
+     */
+    @Test
+    public void testSplitting() throws Exception {
+        final SyntheticResult expected = explore(IMBALANCED);
+        assertTrue(expected.nodes > 100);
+
+        final Random random = new Random(1);
+        final SyntheticBag[] workers = new SyntheticBag[4];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new SyntheticBag(IMBALANCED);
+        }
+        workers[0].init();
+
+        boolean remaining = true;
+        while (remaining) {
+            final int victim = random.nextInt(workers.length);
+            final int thief = random.nextInt(workers.length);
+            if (victim != thief && !workers[victim].isEmpty()) {
+                final SyntheticBag loot = workers[victim]
+                        .split(random.nextBoolean());
+                workers[thief].merge(roundTrip(loot));
+            }
+            remaining = false;
+            for (final SyntheticBag w : workers) {
+                w.process(random.nextInt(5) + 1, null);
+                remaining |= !w.isEmpty();
+            }
+        }
+
+        final SyntheticResult r = new SyntheticResult();
+        for (final SyntheticBag w : workers) {
+            w.submit(r);
+        }
+        assertEquals(expected.nodes, r.nodes);
+        assertEquals(expected.checksum, r.checksum);
+    }
+
+    /**
+     * Checks that the serialized size of a bag grows with the number of bytes
+     * per node
+     *
+     * @throws IOException
+     *             if thrown during the serialization
+     */
+    @Test
+    public void testNodeBytes() throws IOException {
+        final int[] sizes = new int[2];
+        final int[] nodeBytes = { 0, 100 };
+        for (int i = 0; i < 2; i++) {
+            final SyntheticBag bag = new SyntheticBag(new SyntheticWorkload(0,
+                    4, 3, Distribution.CONSTANT, 10, Distribution.CONSTANT, 0,
+                    0, 1, nodeBytes[i]));
+            bag.init();
+            bag.process(3, null);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(bag);
+            }
+            sizes[i] = bytes.size();
+        }
+        // 3 nodes processed from the root leaves 7 pending nodes, the stream
+        // adding a few bytes of block headers
+        final int difference = sizes[1] - sizes[0];
+        assertTrue(difference >= 7 * 100 && difference < 7 * 100 + 16);
+    }
+}
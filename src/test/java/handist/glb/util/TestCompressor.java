@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import handist.glb.examples.pentomino.Answer;
+
+/**
+ * Test class for {@link Compressor}
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TestCompressor {
+
+    /**
+     * Checks that payloads of various sizes and redundancies are restored
+     * exactly after being compressed
+     */
+    @Test
+    public void testRoundTrip() {
+        final Random random = new Random(42);
+        final Compressor compressor = new Compressor(0);
+        for (int size = 0; size < 70000; size = size * 2 + 1) {
+            for (int alphabet : new int[] { 1, 4, 256 }) {
+                final byte[] payload = new byte[size];
+                for (int i = 0; i < size; i++) {
+                    payload[i] = (byte) random.nextInt(alphabet);
+                }
+                final byte[] frame = compressor.compress(payload);
+                assertArrayEquals(payload, Compressor.decompress(frame));
+            }
+        }
+    }
+
+    /**
+     * Checks that a serialized result made of long arrays is compressed, that
+     * random bytes are stored as is and that payloads below the threshold are
+     * not compressed
+     */
+    @Test
+    public void testAdaptive() throws Exception {
+        final Answer answer = new Answer(1000);
+        for (int i = 0; i < 1000; i++) {
+            answer.nodes[i] = i * 1000;
+        }
+        final byte[] serialized = Serialization.toBytes(answer);
+        final Compressor compressor = new Compressor(1024);
+        assertTrue(compressor.compress(serialized).length < serialized.length
+                / 2);
+
+        final byte[] random = new byte[4096];
+        new Random(42).nextBytes(random);
+        assertEquals(random.length + 1, compressor.compress(random).length);
+
+        final byte[] small = new byte[512];
+        assertEquals(small.length + 1, compressor.compress(small).length);
+    }
+}
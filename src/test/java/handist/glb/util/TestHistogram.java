@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * This file is part of the Handy Tools for Distributed Computing project
+ * HanDist (https:/github.com/handist)
+ *
+ * This file is licensed to You under the Eclipse Public License (EPL);
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 	https://www.opensource.org/licenses/eclipse-1.0.php
+ *
+ * (C) copyright CS29 Fine 2018-2021
+ ******************************************************************************/
+package handist.glb.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link Histogram}
+ *
+ * @author Patrick Finnerty
+ *
+ */
+public class TestHistogram {
+
+    /**
+     * Checks that every value falls in a bucket whose highest value is within
+     * the precision of the histogram
+     */
+    @Test
+    public void testBucketPrecision() {
+        long value = 0;
+        while (value >= 0) {
+            final int index = Histogram.bucketIndex(value);
+            final long highest = Histogram.bucketHighestValue(index);
+            assertTrue(highest >= value);
+            assertTrue(highest - value <= value / Histogram.SUB_BUCKETS);
+            if (index > 0) {
+                assertTrue(Histogram.bucketHighestValue(index - 1) < value);
+            }
+            value = value < 1000 ? value + 1 : value + value / 7;
+        }
+        final int last = Histogram.bucketIndex(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, Histogram.bucketHighestValue(last));
+    }
+
+    /**
+     * Checks that values below the number of sub-buckets are counted exactly
+     */
+    @Test
+    public void testExactSmallValues() {
+        final Histogram h = new Histogram();
+        for (int i = 0; i < Histogram.SUB_BUCKETS; i++) {
+            h.record(i);
+        }
+        assertEquals(Histogram.SUB_BUCKETS, h.getCount());
+        assertEquals(0, h.getValueAtPercentile(0));
+        assertEquals(Histogram.SUB_BUCKETS / 2 - 1, h.getValueAtPercentile(50));
+        assertEquals(Histogram.SUB_BUCKETS - 1, h.getValueAtPercentile(100));
+        assertEquals(Histogram.SUB_BUCKETS - 1, h.getMax());
+    }
+
+    /**
+     * Checks the percentiles, mean and merging of histograms
+     */
+    @Test
+    public void testPercentiles() {
+        final Histogram first = new Histogram();
+        final Histogram second = new Histogram();
+        for (long i = 1; i <= 5000; i++) {
+            first.record(i * 1000);
+            second.record((i + 5000) * 1000);
+        }
+        first.add(second);
+
+        assertEquals(10000, first.getCount());
+        assertEquals(5000500d, first.getMean(), 1e-6);
+        assertEquals(10000000, first.getMax());
+        final long median = first.getValueAtPercentile(50);
+        assertTrue(median >= 5000000 && median <= 5000000 * 1.04);
+        final long p99 = first.getValueAtPercentile(99);
+        assertTrue(p99 >= 9900000 && p99 <= 9900000 * 1.04);
+    }
+
+    /**
+     * Checks that an empty histogram returns 0 and negative values are
+     * recorded as 0
+     */
+    @Test
+    public void testEmptyAndNegative() {
+        final Histogram h = new Histogram();
+        assertEquals(0, h.getValueAtPercentile(99));
+        assertEquals(0d, h.getMean(), 0d);
+        h.record(-5);
+        assertEquals(1, h.getCount());
+        assertEquals(0, h.getMax());
+    }
+}